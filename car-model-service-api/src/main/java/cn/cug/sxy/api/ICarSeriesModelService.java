@@ -2,9 +2,11 @@ package cn.cug.sxy.api;
 
 import cn.cug.sxy.api.dto.CarModelCreateRequestDTO;
 import cn.cug.sxy.api.dto.CarSeriesCreateRequestDTO;
+import cn.cug.sxy.api.dto.VinBatchQueryRequestDTO;
 import cn.cug.sxy.api.response.Response;
 import cn.cug.sxy.api.vo.CarModelVO;
 import cn.cug.sxy.api.vo.CarSeriesVO;
+import cn.cug.sxy.api.vo.VinQueryResultVO;
 
 import java.util.List;
 
@@ -55,4 +57,12 @@ public interface ICarSeriesModelService {
      */
     Response<List<CarModelVO>> queryModelsBySeriesId(Long seriesId);
 
+    /**
+     * 根据VIN码批量查询车型
+     *
+     * @param requestDTO VIN码列表
+     * @return 各VIN码的查询结果
+     */
+    Response<List<VinQueryResultVO>> queryModelsByVins(VinBatchQueryRequestDTO requestDTO);
+
 }
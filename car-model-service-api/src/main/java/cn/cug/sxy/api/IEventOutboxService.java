@@ -0,0 +1,32 @@
+package cn.cug.sxy.api;
+
+import cn.cug.sxy.api.dto.ArchivedTaskQueryRequestDTO;
+import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ArchivedTaskPageVO;
+import cn.cug.sxy.api.vo.OutboxRelayMetricsVO;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 11:10
+ * @Description 事件发件箱服务接口
+ * @Author jerryhotton
+ */
+
+public interface IEventOutboxService {
+
+    /**
+     * 查询发件箱投递中继指标
+     *
+     * @return 积压、延迟与吞吐指标
+     */
+    Response<OutboxRelayMetricsVO> queryRelayMetrics();
+
+    /**
+     * 查询归档任务（按ID倒序游标分页）
+     *
+     * @param requestDTO 查询条件
+     * @return 归档任务分页
+     */
+    Response<ArchivedTaskPageVO> queryArchivedTasks(ArchivedTaskQueryRequestDTO requestDTO);
+
+}
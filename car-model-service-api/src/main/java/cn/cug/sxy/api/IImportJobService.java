@@ -0,0 +1,32 @@
+package cn.cug.sxy.api;
+
+import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 14:15
+ * @Description 导入任务服务接口
+ * @Author jerryhotton
+ */
+
+public interface IImportJobService {
+
+    /**
+     * 查询导入任务状态与进度
+     *
+     * @param jobId 任务ID
+     * @return 导入任务
+     */
+    Response<ImportJobVO> queryJob(String jobId);
+
+    /**
+     * 下载导入结果报告
+     *
+     * @param jobId 任务ID
+     * @return 结果报告（CSV）
+     */
+    ResponseEntity<byte[]> downloadReport(String jobId);
+
+}
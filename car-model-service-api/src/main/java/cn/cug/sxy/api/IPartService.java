@@ -4,6 +4,7 @@ import cn.cug.sxy.api.dto.ChangePartStatusRequestDTO;
 import cn.cug.sxy.api.dto.PartCreateRequestDTO;
 import cn.cug.sxy.api.dto.PartUpdateRequestDTO;
 import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
 import cn.cug.sxy.api.vo.PartBindHourResultVO;
 import cn.cug.sxy.api.vo.PartDetailVO;
 import cn.cug.sxy.api.vo.PartVO;
@@ -106,6 +107,15 @@ public interface IPartService {
      */
     Response<List<PartBindHourResultVO>> batchBindHours(MultipartFile file, String creator);
 
+    /**
+     * 异步批量绑定备件工时关系
+     *
+     * @param file    Excel文件，包含备件编码和工时代码
+     * @param creator 创建人
+     * @return 导入任务，通过导入任务接口查询进度与结果报告
+     */
+    Response<ImportJobVO> batchBindHoursAsync(MultipartFile file, String creator);
+
     /**
      * 解绑工时
      *
@@ -0,0 +1,41 @@
+package cn.cug.sxy.api;
+
+import cn.cug.sxy.api.dto.SearchRequestDTO;
+import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.SearchHitVO;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 14:00
+ * @Description 名称检索服务接口：统一检索结构节点、备件、配置项与车型系列名称
+ * @Author jerryhotton
+ */
+
+public interface ISearchService {
+
+    /**
+     * 按名称、英文名、编码或拼音全拼/首字母检索，按相关度降序
+     *
+     * @param requestDTO 检索条件
+     * @return 命中列表
+     */
+    Response<List<SearchHitVO>> search(SearchRequestDTO requestDTO);
+
+    /**
+     * 前缀补全
+     *
+     * @param requestDTO 检索条件，关键字作为前缀
+     * @return 命中列表
+     */
+    Response<List<SearchHitVO>> suggest(SearchRequestDTO requestDTO);
+
+    /**
+     * 全量重建本节点的名称检索索引
+     *
+     * @return 索引文档数
+     */
+    Response<Integer> rebuildIndex();
+
+}
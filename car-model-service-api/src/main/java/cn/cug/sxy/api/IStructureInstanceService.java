@@ -31,6 +31,22 @@ public interface IStructureInstanceService {
      */
     Response<InstanceDetailVO> getInstanceDetail(Long instanceId);
 
+    /**
+     * 按车辆配置获取裁剪后的实例结构树：仅保留适用的用法节点及其祖先节点
+     *
+     * @param requestDTO 匹配请求DTO
+     * @return 实例详情VO
+     */
+    Response<InstanceDetailVO> getFilteredTree(UsageMatchRequestDTO requestDTO);
+
+    /**
+     * 根据VIN码查询车型已发布实例中适用的结构树及备件
+     *
+     * @param requestDTO VIN码备件树查询请求DTO
+     * @return VIN码备件树VO
+     */
+    Response<VinPartsTreeVO> getVinPartsTree(VinPartsTreeRequestDTO requestDTO);
+
     /**
      * 查询实例列表
      *
@@ -128,4 +144,13 @@ public interface IStructureInstanceService {
      */
     Response<InstanceCompareResultVO> compareInstances(Long instanceId1, Long instanceId2);
 
+    /**
+     * 检查实例相对模板的结构偏离
+     *
+     * @param instanceId 实例ID
+     * @param templateId 模板ID
+     * @return 实例差异VO（以模板为原值）
+     */
+    Response<InstanceCompareResultVO> compareInstanceWithTemplate(Long instanceId, Long templateId);
+
 }
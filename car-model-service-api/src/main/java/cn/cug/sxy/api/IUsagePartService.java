@@ -4,6 +4,7 @@ import cn.cug.sxy.api.dto.ClearPartsRequestDTO;
 import cn.cug.sxy.api.dto.UnBindPartRequestDTO;
 import cn.cug.sxy.api.dto.UsageBindPartRequestDTO;
 import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
 import cn.cug.sxy.api.vo.UsageBindPartResultVO;
 import cn.cug.sxy.api.vo.UsagePartVO;
 import org.springframework.http.ResponseEntity;
@@ -61,6 +62,16 @@ public interface IUsagePartService {
      */
     Response<List<UsageBindPartResultVO>> batchUpload(Long usageId, MultipartFile file);
 
+    /**
+     * 异步批量上传备件
+     *
+     * @param usageId 用法ID
+     * @param file    Excel文件
+     * @param creator 提交人
+     * @return 导入任务，通过导入任务接口查询进度与结果报告
+     */
+    Response<ImportJobVO> batchUploadAsync(Long usageId, MultipartFile file, String creator);
+
     /**
      * 上传模板
      *
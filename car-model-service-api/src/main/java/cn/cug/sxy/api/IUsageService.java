@@ -1,11 +1,13 @@
 package cn.cug.sxy.api;
 
 import cn.cug.sxy.api.dto.UsageCreateRequestDTO;
+import cn.cug.sxy.api.dto.UsageMatchRequestDTO;
 import cn.cug.sxy.api.dto.UsageUpdateRequestDTO;
 import cn.cug.sxy.api.response.Response;
 import cn.cug.sxy.api.vo.UsageBaseVO;
 import cn.cug.sxy.api.vo.UsageCreationVO;
 import cn.cug.sxy.api.vo.UsageDetailVO;
+import cn.cug.sxy.api.vo.UsageMatchVO;
 
 import java.util.List;
 
@@ -51,6 +53,22 @@ public interface IUsageService {
      */
     Response<UsageDetailVO> getUsageDetail(Long usageId);
 
+    /**
+     * 批量查询用法详情
+     *
+     * @param usageIds 用法ID列表
+     * @return 用法详情列表，不存在的用法不返回
+     */
+    Response<List<UsageDetailVO>> getUsageDetails(List<Long> usageIds);
+
+    /**
+     * 按车辆配置匹配实例中适用的用法
+     *
+     * @param requestDTO 匹配请求DTO
+     * @return 匹配结果
+     */
+    Response<UsageMatchVO> matchUsages(UsageMatchRequestDTO requestDTO);
+
     /**
      * 更新用法
      *
@@ -3,6 +3,7 @@ package cn.cug.sxy.api;
 import cn.cug.sxy.api.dto.WorkHourCreateRequestDTO;
 import cn.cug.sxy.api.dto.WorkHourUpdateRequestDTO;
 import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
 import cn.cug.sxy.api.vo.WorkHourBatchUploadResultVO;
 import cn.cug.sxy.api.vo.WorkHourTreeVO;
 import cn.cug.sxy.api.vo.WorkHourVO;
@@ -46,6 +47,28 @@ public interface IWorkHourService {
      */
     Response<List<WorkHourBatchUploadResultVO>> batchUploadSubWorkHours(MultipartFile file, Long parentId, String creator);
 
+    /**
+     * 批量上传子工时
+     *
+     * @param file         Excel文件
+     * @param parentId     父工时ID
+     * @param creator      创建人
+     * @param allOrNothing 是否整批事务（任一行失败则全部不写入）
+     * @return 批量上传结果列表
+     */
+    Response<List<WorkHourBatchUploadResultVO>> batchUploadSubWorkHours(MultipartFile file, Long parentId, String creator, Boolean allOrNothing);
+
+    /**
+     * 异步批量上传子工时
+     *
+     * @param file         Excel文件
+     * @param parentId     父工时ID
+     * @param creator      创建人
+     * @param allOrNothing 是否整批事务（任一行失败则全部不写入）
+     * @return 导入任务，通过导入任务接口查询进度与结果报告
+     */
+    Response<ImportJobVO> batchUploadSubWorkHoursAsync(MultipartFile file, Long parentId, String creator, Boolean allOrNothing);
+
     /**
      * 上传工时批量上传模板
      *
@@ -0,0 +1,47 @@
+package cn.cug.sxy.api.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/17 11:20
+ * @Description 归档任务查询请求DTO
+ * @Author jerryhotton
+ */
+
+@Data
+public class ArchivedTaskQueryRequestDTO implements Serializable {
+
+    /**
+     * 消息ID
+     */
+    private String messageId;
+    /**
+     * 消息主题
+     */
+    private String topic;
+    /**
+     * 任务状态
+     */
+    private String state;
+    /**
+     * 创建时间下限（含）
+     */
+    private LocalDateTime startTime;
+    /**
+     * 创建时间上限（不含）
+     */
+    private LocalDateTime endTime;
+    /**
+     * 游标：上一页返回的 nextCursor，首页为空
+     */
+    private Long lastId;
+    /**
+     * 每页条数
+     */
+    private Integer pageSize;
+
+}
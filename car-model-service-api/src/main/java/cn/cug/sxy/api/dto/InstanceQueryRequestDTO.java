@@ -42,5 +42,17 @@ public class InstanceQueryRequestDTO implements Serializable {
      * 每页条数
      */
     private Integer pageSize;
+    /**
+     * 是否使用游标分页；为 true 或携带 cursor 时忽略 pageNo
+     */
+    private Boolean cursorMode;
+    /**
+     * 续页令牌：上一页返回的 nextCursor，首页为空
+     */
+    private String cursor;
+    /**
+     * 游标分页时是否返回总数（短期缓存），默认不返回
+     */
+    private Boolean withTotal;
 
 }
@@ -0,0 +1,35 @@
+package cn.cug.sxy.api.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 14:05
+ * @Description 名称检索请求DTO
+ * @Author jerryhotton
+ */
+
+@Data
+public class SearchRequestDTO implements Serializable {
+
+    /**
+     * 关键字（补全时为前缀）
+     */
+    private String keyword;
+    /**
+     * 文档类型：INSTANCE_NODE、PART、CONFIG_ITEM、CAR_SERIES，为空时不限
+     */
+    private List<String> docTypes;
+    /**
+     * 结构实例ID，只约束结构实例节点，为空时不限
+     */
+    private Long instanceId;
+    /**
+     * 最大返回条数
+     */
+    private Integer limit;
+
+}
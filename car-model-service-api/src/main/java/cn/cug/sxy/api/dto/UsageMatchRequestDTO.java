@@ -0,0 +1,33 @@
+package cn.cug.sxy.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/11 11:00
+ * @Description 按车辆配置匹配用法请求DTO
+ * @Author jerryhotton
+ */
+
+@Data
+public class UsageMatchRequestDTO {
+
+    /**
+     * 实例ID
+     */
+    @NotNull(message = "实例ID不能为空")
+    private Long instanceId;
+    /**
+     * 车辆配置项ID列表
+     */
+    @NotNull(message = "配置项列表不能为空")
+    private List<Long> configItemIds;
+    /**
+     * 是否忽略车辆配置未涉及的类别，默认严格匹配
+     */
+    private Boolean ignoreUnspecifiedCategories;
+
+}
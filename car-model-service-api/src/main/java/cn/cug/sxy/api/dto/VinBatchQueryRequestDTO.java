@@ -0,0 +1,24 @@
+package cn.cug.sxy.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/9 11:10
+ * @Description VIN码批量查询请求DTO
+ * @Author jerryhotton
+ */
+
+@Data
+public class VinBatchQueryRequestDTO {
+
+    /**
+     * VIN码列表
+     */
+    @NotEmpty(message = "VIN码列表不能为空")
+    private List<String> vins;
+
+}
@@ -0,0 +1,32 @@
+package cn.cug.sxy.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/12 11:10
+ * @Description VIN码备件树查询请求DTO
+ * @Author jerryhotton
+ */
+
+@Data
+public class VinPartsTreeRequestDTO {
+
+    /**
+     * VIN码
+     */
+    @NotBlank(message = "VIN码不能为空")
+    private String vin;
+    /**
+     * 已知的车辆配置项ID列表，可为空；VIN动力类型对应的配置项会自动补充
+     */
+    private List<Long> configItemIds;
+    /**
+     * 是否忽略车辆配置未涉及的类别，默认忽略（VIN仅能确定部分配置）
+     */
+    private Boolean ignoreUnspecifiedCategories;
+
+}
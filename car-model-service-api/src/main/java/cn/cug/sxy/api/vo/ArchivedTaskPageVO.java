@@ -0,0 +1,37 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/17 11:30
+ * @Description 归档任务游标分页VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedTaskPageVO implements Serializable {
+
+    /**
+     * 归档任务列表（按ID倒序）
+     */
+    private List<ArchivedTaskVO> tasks;
+    /**
+     * 下一页游标，作为下次请求的 lastId
+     */
+    private Long nextCursor;
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasMore;
+
+}
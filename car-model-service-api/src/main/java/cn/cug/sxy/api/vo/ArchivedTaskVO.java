@@ -0,0 +1,65 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/17 11:25
+ * @Description 归档任务VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedTaskVO implements Serializable {
+
+    /**
+     * 任务ID
+     */
+    private Long id;
+    /**
+     * 消息ID
+     */
+    private String messageId;
+    /**
+     * 消息主题
+     */
+    private String topic;
+    /**
+     * 消息内容
+     */
+    private String message;
+    /**
+     * 任务状态
+     */
+    private String state;
+    /**
+     * 重试次数
+     */
+    private Integer retryCount;
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedTime;
+    /**
+     * 归档时间
+     */
+    private LocalDateTime archivedTime;
+
+}
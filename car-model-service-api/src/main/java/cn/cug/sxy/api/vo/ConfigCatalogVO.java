@@ -0,0 +1,38 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/10 14:20
+ * @Description 配置目录VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConfigCatalogVO implements Serializable {
+
+    /**
+     * 目录版本号，下次请求时回传以判断是否变化
+     */
+    private Long version;
+    /**
+     * 快照构建时间
+     */
+    private LocalDateTime builtTime;
+    /**
+     * 可用的配置类别（含可用的配置项）
+     */
+    private List<ConfigCategoryVO> categories;
+
+}
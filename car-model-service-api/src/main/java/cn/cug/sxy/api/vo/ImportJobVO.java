@@ -0,0 +1,84 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 14:10
+ * @Description 导入任务VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobVO {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+    /**
+     * 任务类型
+     */
+    private String jobType;
+    /**
+     * 任务类型名称
+     */
+    private String jobTypeName;
+    /**
+     * 任务状态：CREATE-已提交、PROCESSING-处理中、COMPLETED-完成、FAILED-失败
+     */
+    private String state;
+    /**
+     * 原始文件名
+     */
+    private String fileName;
+    /**
+     * 文件大小
+     */
+    private Long fileSize;
+    /**
+     * 总行数（处理中为已处理行数）
+     */
+    private Integer totalRows;
+    /**
+     * 成功行数
+     */
+    private Integer successRows;
+    /**
+     * 失败行数
+     */
+    private Integer failedRows;
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+    /**
+     * 结果报告是否可下载
+     */
+    private Boolean reportReady;
+    /**
+     * 提交人
+     */
+    private String creator;
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+    /**
+     * 开始处理时间
+     */
+    private LocalDateTime startedTime;
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedTime;
+
+}
@@ -41,5 +41,13 @@ public class InstanceBasePageVO implements Serializable {
      * 总页数
      */
     private Integer totalPages;
+    /**
+     * 下一页续页令牌（游标分页）
+     */
+    private String nextCursor;
+    /**
+     * 是否还有下一页（游标分页）
+     */
+    private Boolean hasMore;
 
 }
@@ -33,6 +33,10 @@ public class InstanceCompareResultVO implements Serializable {
      * 修改的节点
      */
     private List<InstanceNodeDiffVO> modified;
+    /**
+     * 移动的节点（父节点变化）
+     */
+    private List<InstanceNodeDiffVO> moved;
     /**
      * 新增的节点数量
      */
@@ -45,5 +49,9 @@ public class InstanceCompareResultVO implements Serializable {
      * 修改的节点数量
      */
     private Integer totalModified;
+    /**
+     * 移动的节点数量
+     */
+    private Integer totalMoved;
 
 }
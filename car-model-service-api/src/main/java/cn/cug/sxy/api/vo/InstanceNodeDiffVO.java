@@ -34,9 +34,17 @@ public class InstanceNodeDiffVO implements Serializable {
      */
     private String nodeType;
     /**
-     * 差异类型：added, removed, modified
+     * 差异类型：added, removed, moved, modified
      */
     private String diffType;
+    /**
+     * 原父节点编码，根节点或新增节点为null
+     */
+    private String oldParentCode;
+    /**
+     * 新父节点编码，根节点或删除节点为null
+     */
+    private String newParentCode;
     /**
      * 变更的字段列表，仅当diffType为modified时有值
      */
@@ -73,5 +73,9 @@ public class InstanceNodeTreeVO implements Serializable {
      * 子节点列表
      */
     private List<InstanceNodeTreeVO> children;
+    /**
+     * 用法备件，仅VIN码备件查询时USAGE节点有值
+     */
+    private List<UsagePartVO> parts;
 
 }
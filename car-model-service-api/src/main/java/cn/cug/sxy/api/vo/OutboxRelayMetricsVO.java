@@ -0,0 +1,64 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 11:05
+ * @Description 发件箱投递中继指标VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxRelayMetricsVO {
+
+    /**
+     * 待发布消息数
+     */
+    private Long pendingCount;
+    /**
+     * 最早待发布消息的等待时长（毫秒）
+     */
+    private Long lagMillis;
+    /**
+     * 最近一分钟每秒发布条数
+     */
+    private Double publishedPerSecond;
+    /**
+     * 本实例累计发布数
+     */
+    private Long publishedTotal;
+    /**
+     * 本实例累计失败数
+     */
+    private Long failedTotal;
+    /**
+     * 本实例累计未确认数
+     */
+    private Long unconfirmedTotal;
+    /**
+     * 本实例累计投递批次数
+     */
+    private Long batchTotal;
+    /**
+     * 最近一批认领的消息数
+     */
+    private Integer lastBatchSize;
+    /**
+     * 最近一批耗时（毫秒）
+     */
+    private Long lastBatchMillis;
+    /**
+     * 最近一次投递时间
+     */
+    private LocalDateTime lastRelayTime;
+
+}
@@ -0,0 +1,48 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 14:10
+ * @Description 名称检索命中VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHitVO implements Serializable {
+
+    /**
+     * 文档类型
+     */
+    private String docType;
+    /**
+     * 业务主键
+     */
+    private Long docId;
+    /**
+     * 所属结构实例ID（仅结构实例节点）
+     */
+    private Long instanceId;
+    /**
+     * 名称
+     */
+    private String name;
+    /**
+     * 命中的字段原文
+     */
+    private String matchedText;
+    /**
+     * 相关度得分
+     */
+    private Double score;
+
+}
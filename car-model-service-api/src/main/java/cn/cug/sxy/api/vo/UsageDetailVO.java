@@ -21,6 +21,10 @@ import java.util.List;
 @NoArgsConstructor
 public class UsageDetailVO implements Serializable {
 
+    /**
+     * 用法ID
+     */
+    private Long usageId;
     /**
      * 配置组合列表
      */
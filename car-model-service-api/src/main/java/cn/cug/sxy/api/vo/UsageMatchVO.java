@@ -0,0 +1,37 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/11 11:05
+ * @Description 用法匹配结果VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UsageMatchVO implements Serializable {
+
+    /**
+     * 实例ID
+     */
+    private Long instanceId;
+    /**
+     * 实例内可用用法总数
+     */
+    private Integer totalUsageCount;
+    /**
+     * 适用的用法ID列表（按结构树顺序）
+     */
+    private List<Long> matchedUsageIds;
+
+}
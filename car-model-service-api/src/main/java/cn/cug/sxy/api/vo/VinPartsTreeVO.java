@@ -0,0 +1,53 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/12 11:15
+ * @Description VIN码备件树VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VinPartsTreeVO implements Serializable {
+
+    /**
+     * VIN码解析结果
+     */
+    private VinQueryResultVO vinQueryResult;
+    /**
+     * 车型当前生效的已发布实例
+     */
+    private InstanceBaseVO instance;
+    /**
+     * 参与匹配的车辆配置项ID
+     */
+    private List<Long> configItemIds;
+    /**
+     * 裁剪后的结构树，USAGE节点附带备件
+     */
+    private List<InstanceNodeTreeVO> nodeTree;
+    /**
+     * 实例内用法总数
+     */
+    private Integer totalUsageCount;
+    /**
+     * 适用用法数
+     */
+    private Integer matchedUsageCount;
+    /**
+     * 备件条目数
+     */
+    private Integer partCount;
+
+}
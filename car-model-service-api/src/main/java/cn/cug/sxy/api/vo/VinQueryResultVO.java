@@ -0,0 +1,52 @@
+package cn.cug.sxy.api.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/9 11:12
+ * @Description VIN码查询结果VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VinQueryResultVO implements Serializable {
+
+    /**
+     * VIN码
+     */
+    private String vin;
+    /**
+     * 是否查询成功
+     */
+    private Boolean success;
+    /**
+     * 车型编码
+     */
+    private String modelCode;
+    /**
+     * 车型名称
+     */
+    private String modelName;
+    /**
+     * 品牌
+     */
+    private String brand;
+    /**
+     * 动力类型
+     */
+    private String powerType;
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
+}
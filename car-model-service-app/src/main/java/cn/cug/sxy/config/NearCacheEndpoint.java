@@ -0,0 +1,50 @@
+package cn.cug.sxy.config;
+
+import cn.cug.sxy.infrastructure.redis.NearCacheManager;
+import com.google.common.cache.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ * @Date 2025/10/9 15:10
+ * @Description 本地近端缓存监控端点（/actuator/nearcache）：按区域输出条目数与命中/未命中/淘汰统计
+ * @Author jerryhotton
+ */
+
+@Component
+@Endpoint(id = "nearcache")
+public class NearCacheEndpoint {
+
+    private final NearCacheManager nearCacheManager;
+
+    public NearCacheEndpoint(NearCacheManager nearCacheManager) {
+        this.nearCacheManager = nearCacheManager;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> regions() {
+        Map<String, Long> sizes = nearCacheManager.getSizes();
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+        nearCacheManager.getStats().forEach((prefix, stats) -> regions.put(prefix, toMap(sizes.get(prefix), stats)));
+
+        return regions;
+    }
+
+    private Map<String, Object> toMap(Long size, CacheStats stats) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        region.put("size", size);
+        region.put("requestCount", stats.requestCount());
+        region.put("hitCount", stats.hitCount());
+        region.put("missCount", stats.missCount());
+        region.put("hitRate", stats.hitRate());
+        region.put("evictionCount", stats.evictionCount());
+
+        return region;
+    }
+
+}
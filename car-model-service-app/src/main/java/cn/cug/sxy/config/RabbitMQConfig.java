@@ -31,11 +31,9 @@ import java.util.Map;
 public class RabbitMQConfig {
 
     private final RabbitMQConfigProperties properties;
-    private final ITaskService taskService;
 
-    public RabbitMQConfig(RabbitMQConfigProperties properties, ITaskService taskService) {
+    public RabbitMQConfig(RabbitMQConfigProperties properties) {
         this.properties = properties;
-        this.taskService = taskService;
     }
 
     @Bean
@@ -132,64 +130,23 @@ public class RabbitMQConfig {
                 return super.createMessage(object, messageProperties);
             }
         });
-        // 开启发送确认模式
+        // 发送确认与退回只记录日志：发件箱消息的状态由投递中继按 CorrelationData 的确认结果批量更新
         template.setConfirmCallback((correlationData, ack, cause) -> {
             if (ack) {
                 log.debug("消息发送确认成功，correlationData: {}", correlationData);
-                // 更新数据库中的任务状态为已发布
-                if (correlationData != null && correlationData.getId() != null) {
-                    updateTaskToPublished(correlationData.getId());
-                }
             } else {
                 log.error("消息发送确认失败，correlationData: {}, cause: {}", correlationData, cause);
-                // 更新数据库中的任务状态为失败
-                if (correlationData != null && correlationData.getId() != null) {
-                    updateTaskToFailed(correlationData.getId(), "发送确认失败: " + cause);
-                }
-            }
-        });
-        // 开启返回确认模式
-        template.setReturnsCallback(returned -> {
-            log.error("消息路由失败，message: {}, replyCode: {}, replyText: {}, exchange: {}, routingKey: {}",
-                    returned.getMessage(), returned.getReplyCode(), returned.getReplyText(),
-                    returned.getExchange(), returned.getRoutingKey());
-            // 从消息中提取messageId并更新任务状态
-            String messageId = extractMessageIdFromMessage(returned.getMessage());
-            if (messageId != null) {
-                updateTaskToFailed(messageId, "消息路由失败: " + returned.getReplyText());
             }
         });
+        template.setReturnsCallback(returned -> log.error("消息路由失败，messageId: {}, replyCode: {}, replyText: {}, exchange: {}, routingKey: {}",
+                extractMessageIdFromMessage(returned.getMessage()), returned.getReplyCode(), returned.getReplyText(),
+                returned.getExchange(), returned.getRoutingKey()));
         // 设置强制路由（确保消息能被路由到队列）
         template.setMandatory(true);
 
         return template;
     }
 
-    /**
-     * 更新任务状态为已发布
-     */
-    private void updateTaskToPublished(String messageId) {
-        try {
-            taskService.publishTask(messageId);
-            log.info("任务发布成功，messageId: {}", messageId);
-        } catch (Exception e) {
-            log.error("更新任务发布状态失败，messageId: {}", messageId, e);
-        }
-    }
-
-    /**
-     * 更新任务状态为失败
-     */
-    private void updateTaskToFailed(String messageId, String errorMessage) {
-        try {
-            // 这里需要注入TaskService，暂时用日志记录
-            taskService.failTask(messageId);
-            log.error("任务发布失败，messageId: {}, error: {}", messageId, errorMessage);
-        } catch (Exception e) {
-            log.error("更新任务失败状态失败，messageId: {}", messageId, e);
-        }
-    }
-
     /**
      * 从消息中提取messageId
      */
@@ -222,6 +179,29 @@ public class RabbitMQConfig {
         return factory;
     }
 
+    /**
+     * 批量消费监听器容器工厂
+     * 消费者攒满 batchSize 条或等待 receiveTimeout 后整批交给监听器
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
+        RabbitMQConfigProperties.BatchConsumer batchConsumer = properties.getBatchConsumer();
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(new Jackson2JsonMessageConverter());
+        factory.setConcurrentConsumers(2);
+        factory.setMaxConcurrentConsumers(5);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchConsumer.getBatchSize());
+        factory.setReceiveTimeout(batchConsumer.getReceiveTimeoutMillis());
+        // 预取数量不小于批大小，否则每批只能等到超时
+        factory.setPrefetchCount(Math.max(10, batchConsumer.getBatchSize()));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+
+        return factory;
+    }
+
     @Bean
     public ConnectionFactory connectionFactory() {
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory();
@@ -229,6 +209,9 @@ public class RabbitMQConfig {
         connectionFactory.setPort(properties.getPort());
         connectionFactory.setUsername(properties.getUsername());
         connectionFactory.setPassword(properties.getPassword());
+        // 开启发布确认与退回，投递中继据此判断消息是否到达队列
+        connectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+        connectionFactory.setPublisherReturns(true);
         return connectionFactory;
     }
 
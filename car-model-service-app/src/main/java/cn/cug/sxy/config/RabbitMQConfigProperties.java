@@ -26,6 +26,20 @@ public class RabbitMQConfigProperties {
 
     private Map<String, MqModuleProperties> modules;
 
+    private BatchConsumer batchConsumer = new BatchConsumer();
+
+    @Data
+    public static class BatchConsumer {
+        /**
+         * 每批最多消息数
+         */
+        private int batchSize = 50;
+        /**
+         * 攒批等待时间（毫秒），超时后不足一批也交给监听器
+         */
+        private long receiveTimeoutMillis = 1000;
+    }
+
     @Data
     public static class MqModuleProperties {
         private String exchange;
@@ -0,0 +1,197 @@
+package cn.cug.sxy.test.domain.event;
+
+import cn.cug.sxy.domain.event.adapter.port.IDelayedQueuePort;
+import cn.cug.sxy.domain.event.model.valobj.DelayedMessage;
+import cn.cug.sxy.domain.event.model.valobj.HierarchicalTimingWheel;
+import cn.cug.sxy.domain.event.service.DelayedDeliveryService;
+import cn.cug.sxy.domain.event.service.IMessagePersistenceService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/18 14:10
+ * @Description 延迟投递：分层时间轮按各自延迟到期、10 万待投递项只装载预取窗口、多节点各项只投递一次
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class DelayedDeliveryServiceTest {
+
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 256;
+    private static final int PENDING_COUNT = 100_000;
+
+    @Test
+    public void test_timingWheel_100kMessagesExpireWithinOneTick() {
+        Random random = new Random(20250918L);
+        long start = 1_000_000L;
+        // 延迟 0~1 小时，覆盖三层
+        long horizon = 3_600_000L;
+        HierarchicalTimingWheel timingWheel = new HierarchicalTimingWheel(TICK_MILLIS, WHEEL_SIZE, start);
+        Map<String, Long> dueAtById = new HashMap<>(PENDING_COUNT * 2);
+        for (int i = 0; i < PENDING_COUNT; i++) {
+            DelayedMessage message = new DelayedMessage("m-" + i, start + TICK_MILLIS + (long) (random.nextDouble() * horizon));
+            dueAtById.put(message.getMessageId(), message.getDueAtMillis());
+            Assertions.assertTrue(timingWheel.add(message));
+        }
+        Assertions.assertEquals(3, timingWheel.levels());
+
+        long buildStart = System.nanoTime();
+        int expiredCount = 0;
+        for (long now = start; now <= start + horizon + 2 * TICK_MILLIS; now += TICK_MILLIS) {
+            for (DelayedMessage message : timingWheel.advance(now)) {
+                long dueAt = dueAtById.remove(message.getMessageId());
+                Assertions.assertTrue(now >= dueAt, "提前到期 " + message);
+                Assertions.assertTrue(now < dueAt + TICK_MILLIS, "超过一个刻度才到期 " + message);
+                expiredCount++;
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        log.info("分层时间轮 定时项:{} 模拟时长:{}ms 推进耗时:{}ms", PENDING_COUNT, horizon, elapsedMillis);
+
+        Assertions.assertEquals(PENDING_COUNT, expiredCount);
+        Assertions.assertEquals(0, timingWheel.size());
+        Assertions.assertTrue(dueAtById.isEmpty());
+    }
+
+    @Test
+    public void test_releaseDue_honorsPerMessageDelay() throws Exception {
+        InMemoryDelayedQueuePort queuePort = new InMemoryDelayedQueuePort();
+        Map<String, Long> releasedAt = new ConcurrentHashMap<>();
+        DelayedDeliveryService deliveryService = createService(queuePort, recordingPersistence(releasedAt));
+        Map<String, Long> delays = Map.of("d-0", 0L, "d-40", 40L, "d-120", 120L, "d-300", 300L);
+        long scheduledAt = System.currentTimeMillis();
+        delays.forEach(deliveryService::schedule);
+
+        while (releasedAt.size() < delays.size() && System.currentTimeMillis() - scheduledAt < 2_000) {
+            deliveryService.releaseDue();
+            Thread.sleep(TICK_MILLIS);
+        }
+
+        Assertions.assertEquals(delays.keySet(), releasedAt.keySet());
+        delays.forEach((messageId, delay) -> {
+            long actual = releasedAt.get(messageId) - scheduledAt;
+            log.info("延迟投递 messageId:{} 期望:{}ms 实际:{}ms", messageId, delay, actual);
+            Assertions.assertTrue(actual >= delay, messageId + " 提前投递");
+            // 刻度 + 轮询间隔 + 调度抖动
+            Assertions.assertTrue(actual < delay + 100, messageId + " 投递过晚");
+        });
+        Assertions.assertEquals(0, deliveryService.getPendingCount());
+    }
+
+    @Test
+    public void test_releaseDue_100kPendingLoadsOnlyPrefetchWindowInBatches() {
+        InMemoryDelayedQueuePort queuePort = new InMemoryDelayedQueuePort();
+        long now = System.currentTimeMillis();
+        int overdue = 1_200;
+        for (int i = 0; i < PENDING_COUNT; i++) {
+            long dueAt = i < overdue ? now - 1 : now + 60_000 + i;
+            queuePort.add(new DelayedMessage("p-" + i, dueAt));
+        }
+        IMessagePersistenceService messagePersistenceService = Mockito.mock(IMessagePersistenceService.class);
+        Mockito.when(messagePersistenceService.requeueForPublish(Mockito.anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        DelayedDeliveryService deliveryService = createService(queuePort, messagePersistenceService);
+
+        int released = deliveryService.releaseDue();
+
+        Assertions.assertEquals(overdue, released);
+        Assertions.assertEquals(PENDING_COUNT - overdue, deliveryService.getPendingCount());
+        // 500 + 500 + 200 三次批量放回
+        Mockito.verify(messagePersistenceService, Mockito.times(3)).requeueForPublish(Mockito.anyList());
+        Assertions.assertEquals(1, queuePort.findDueCalls);
+    }
+
+    @Test
+    public void test_releaseDue_twoNodesReleaseEachMessageOnce() throws Exception {
+        InMemoryDelayedQueuePort queuePort = new InMemoryDelayedQueuePort();
+        Map<String, Integer> releaseCounts = new ConcurrentHashMap<>();
+        IMessagePersistenceService messagePersistenceService = Mockito.mock(IMessagePersistenceService.class);
+        Mockito.when(messagePersistenceService.requeueForPublish(Mockito.anyList())).thenAnswer(invocation -> {
+            List<String> messageIds = invocation.getArgument(0);
+            messageIds.forEach(messageId -> releaseCounts.merge(messageId, 1, Integer::sum));
+            return messageIds.size();
+        });
+        DelayedDeliveryService nodeA = createService(queuePort, messagePersistenceService);
+        DelayedDeliveryService nodeB = createService(queuePort, messagePersistenceService);
+        for (int i = 0; i < 1_000; i++) {
+            (i % 2 == 0 ? nodeA : nodeB).schedule("n-" + i, i % 50);
+        }
+
+        long start = System.currentTimeMillis();
+        while (releaseCounts.size() < 1_000 && System.currentTimeMillis() - start < 2_000) {
+            nodeA.releaseDue();
+            nodeB.releaseDue();
+            Thread.sleep(TICK_MILLIS);
+        }
+
+        Assertions.assertEquals(1_000, releaseCounts.size());
+        Assertions.assertTrue(releaseCounts.values().stream().allMatch(count -> count == 1));
+    }
+
+    private DelayedDeliveryService createService(IDelayedQueuePort queuePort, IMessagePersistenceService messagePersistenceService) {
+        return new DelayedDeliveryService(queuePort, messagePersistenceService,
+                TICK_MILLIS, WHEEL_SIZE, 2_000, 500, 5_000, 500, 1_000, false);
+    }
+
+    private IMessagePersistenceService recordingPersistence(Map<String, Long> releasedAt) {
+        IMessagePersistenceService messagePersistenceService = Mockito.mock(IMessagePersistenceService.class);
+        Mockito.when(messagePersistenceService.requeueForPublish(Mockito.anyList())).thenAnswer(invocation -> {
+            List<String> messageIds = invocation.getArgument(0);
+            long now = System.currentTimeMillis();
+            messageIds.forEach(messageId -> releasedAt.put(messageId, now));
+            return messageIds.size();
+        });
+
+        return messagePersistenceService;
+    }
+
+    /**
+     * 内存延迟队列，语义与 Redis 有序集合一致
+     */
+    private static class InMemoryDelayedQueuePort implements IDelayedQueuePort {
+
+        private final Map<String, Long> scores = new HashMap<>();
+
+        private int findDueCalls;
+
+        @Override
+        public synchronized void add(DelayedMessage message) {
+            scores.put(message.getMessageId(), message.getDueAtMillis());
+        }
+
+        @Override
+        public synchronized void addAll(Collection<DelayedMessage> messages) {
+            messages.forEach(this::add);
+        }
+
+        @Override
+        public synchronized List<DelayedMessage> findDue(long dueBeforeMillis, int limit) {
+            findDueCalls++;
+            return scores.entrySet().stream()
+                    .filter(entry -> entry.getValue() <= dueBeforeMillis)
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(limit)
+                    .map(entry -> new DelayedMessage(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+
+        @Override
+        public synchronized List<String> claim(Collection<String> messageIds) {
+            return messageIds.stream().filter(messageId -> scores.remove(messageId) != null).toList();
+        }
+
+        @Override
+        public synchronized long size() {
+            return scores.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+package cn.cug.sxy.test.domain.event;
+
+import cn.cug.sxy.domain.event.adapter.repository.ITaskRepository;
+import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayResult;
+import cn.cug.sxy.domain.event.service.OutboxRelayService;
+import cn.cug.sxy.types.event.BaseEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 14:20
+ * @Description 发件箱投递中继：确认窗口内流水线发送，按确认结果分别批量落库，整批等待有上限
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class OutboxRelayServiceTest {
+
+    private static final int BATCH_SIZE = 200;
+
+    @Test
+    public void test_relayBatch_confirmedMarkedPublishedInOneUpdate() {
+        List<TaskEntity> tasks = createTasks("ok", BATCH_SIZE);
+        ITaskRepository taskRepository = Mockito.mock(ITaskRepository.class);
+        Mockito.when(taskRepository.claimUnpublishedTasks(Mockito.eq(BATCH_SIZE), Mockito.any())).thenReturn(tasks);
+        RabbitTemplate rabbitTemplate = confirmingTemplate();
+        OutboxRelayService relayService = createRelayService(taskRepository, rabbitTemplate);
+
+        OutboxRelayResult result = relayService.relayBatch();
+
+        Assertions.assertEquals(BATCH_SIZE, result.getClaimed());
+        Assertions.assertEquals(BATCH_SIZE, result.getPublished());
+        Mockito.verify(taskRepository).completeRelay(Mockito.any(),
+                Mockito.eq(tasks.stream().map(TaskEntity::getMessageId).toList()), Mockito.eq(List.of()), Mockito.eq(List.of()));
+        Mockito.verify(taskRepository, Mockito.never()).updateState(Mockito.any());
+        Assertions.assertEquals(BATCH_SIZE, relayService.getMetrics().getPublishedTotal());
+        log.info("发件箱投递 条数:{} 耗时:{}ms", result.getClaimed(), result.getElapsedMillis());
+    }
+
+    @Test
+    public void test_relayBatch_returnedFailedAndUnconfirmedLeftPending() {
+        List<TaskEntity> tasks = new ArrayList<>();
+        tasks.addAll(createTasks("ok", 3));
+        tasks.addAll(createTasks("returned", 1));
+        tasks.addAll(createTasks("nack", 1));
+        tasks.addAll(createTasks("timeout", 1));
+        ITaskRepository taskRepository = Mockito.mock(ITaskRepository.class);
+        Mockito.when(taskRepository.claimUnpublishedTasks(Mockito.eq(BATCH_SIZE), Mockito.any())).thenReturn(tasks);
+        OutboxRelayService relayService = createRelayService(taskRepository, confirmingTemplate());
+
+        OutboxRelayResult result = relayService.relayBatch();
+
+        Assertions.assertEquals(3, result.getPublished());
+        Assertions.assertEquals(1, result.getFailed());
+        Assertions.assertEquals(2, result.getUnconfirmed());
+        Mockito.verify(taskRepository).completeRelay(Mockito.any(), Mockito.eq(List.of("ok-0", "ok-1", "ok-2")),
+                Mockito.eq(List.of("returned-0")), Mockito.eq(List.of("nack-0", "timeout-0")));
+    }
+
+    @Test
+    public void test_relayBatch_totalWaitBoundedAndLeaseReleased() {
+        List<TaskEntity> tasks = new ArrayList<>();
+        tasks.addAll(createTasks("timeout", 5));
+        tasks.addAll(createTasks("ok", 2));
+        ITaskRepository taskRepository = Mockito.mock(ITaskRepository.class);
+        Mockito.when(taskRepository.claimUnpublishedTasks(Mockito.eq(BATCH_SIZE), Mockito.any())).thenReturn(tasks);
+        OutboxRelayService relayService = createRelayService(taskRepository, confirmingTemplate());
+        ReflectionTestUtils.setField(relayService, "confirmWindow", 1);
+        ReflectionTestUtils.setField(relayService, "batchTimeoutMillis", 300L);
+
+        OutboxRelayResult result = relayService.relayBatch();
+
+        // 单条超时 200ms，逐条等待需 1s 以上；整批截止后剩余任务不再发送
+        Assertions.assertTrue(result.getElapsedMillis() < 600, "elapsed " + result.getElapsedMillis());
+        Assertions.assertEquals(0, result.getPublished());
+        Assertions.assertEquals(7, result.getUnconfirmed());
+        ArgumentCaptor<LocalDateTime> claimLease = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(taskRepository).claimUnpublishedTasks(Mockito.eq(BATCH_SIZE), claimLease.capture());
+        Assertions.assertTrue(claimLease.getValue().isAfter(LocalDateTime.now()));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> released = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(taskRepository).completeRelay(Mockito.eq(claimLease.getValue()), Mockito.eq(List.of()),
+                Mockito.eq(List.of()), released.capture());
+        Assertions.assertEquals(tasks.stream().map(TaskEntity::getMessageId).collect(Collectors.toSet()),
+                new HashSet<>(released.getValue()));
+    }
+
+    private OutboxRelayService createRelayService(ITaskRepository taskRepository, RabbitTemplate rabbitTemplate) {
+        OutboxRelayService relayService = new OutboxRelayService(taskRepository, rabbitTemplate);
+        ReflectionTestUtils.setField(relayService, "defaultExchange", "default.exchange");
+        ReflectionTestUtils.setField(relayService, "defaultRoutingKey", "default");
+        ReflectionTestUtils.setField(relayService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(relayService, "confirmWindow", 50);
+        ReflectionTestUtils.setField(relayService, "confirmTimeoutMillis", 200L);
+        ReflectionTestUtils.setField(relayService, "batchTimeoutMillis", 5000L);
+        ReflectionTestUtils.setField(relayService, "leaseMillis", 30000L);
+
+        return relayService;
+    }
+
+    /**
+     * 模拟 Broker：按消息ID前缀异步确认、拒绝、退回或不确认
+     */
+    private RabbitTemplate confirmingTemplate() {
+        RabbitTemplate rabbitTemplate = Mockito.mock(RabbitTemplate.class);
+        Mockito.doAnswer(invocation -> {
+            String exchange = invocation.getArgument(0);
+            String routingKey = invocation.getArgument(1);
+            CorrelationData correlationData = invocation.getArgument(4);
+            String messageId = correlationData.getId();
+            if (messageId.startsWith("timeout")) {
+                return null;
+            }
+            if (messageId.startsWith("returned")) {
+                correlationData.setReturned(new ReturnedMessage(new Message(new byte[0]), 312, "NO_ROUTE", exchange, routingKey));
+            }
+            boolean ack = !messageId.startsWith("nack");
+            CompletableFuture.runAsync(() -> correlationData.getFuture()
+                    .complete(new CorrelationData.Confirm(ack, ack ? null : "nack")));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(Mockito.anyString(), Mockito.anyString(), Mockito.any(Object.class),
+                Mockito.any(MessagePostProcessor.class), Mockito.any(CorrelationData.class));
+
+        return rabbitTemplate;
+    }
+
+    private List<TaskEntity> createTasks(String prefix, int count) {
+        List<TaskEntity> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BaseEvent.EventMessage<String> eventMessage = BaseEvent.EventMessage.<String>builder()
+                    .id(prefix + "-" + i)
+                    .topic("outbox")
+                    .timestamp(LocalDateTime.now())
+                    .data("payload")
+                    .build();
+            tasks.add(TaskEntity.create(eventMessage, "file.upload.exchange", "file.upload"));
+        }
+
+        return tasks;
+    }
+
+}
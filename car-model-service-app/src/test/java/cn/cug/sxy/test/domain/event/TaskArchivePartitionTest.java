@@ -0,0 +1,59 @@
+package cn.cug.sxy.test.domain.event;
+
+import cn.cug.sxy.domain.event.adapter.repository.ITaskRepository;
+import cn.cug.sxy.domain.event.service.TaskArchiveService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/10/9 14:40
+ * @Description 归档表分区预建：从最后一个已建分区连续补到当前月之后的若干个月
+ * @Author jerryhotton
+ */
+
+public class TaskArchivePartitionTest {
+
+    private final ITaskRepository taskRepository = Mockito.mock(ITaskRepository.class);
+
+    private final TaskArchiveService taskArchiveService = new TaskArchiveService(taskRepository);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(taskArchiveService, "partitionMonthsAhead", 2);
+    }
+
+    @Test
+    public void test_ensurePartitions_firstDeployStartsAtCurrentMonth() {
+        YearMonth current = YearMonth.now();
+        Mockito.when(taskRepository.findArchivePartitionMonths()).thenReturn(List.of());
+
+        Assertions.assertEquals(3, taskArchiveService.ensurePartitions());
+        Mockito.verify(taskRepository).addArchivePartitions(List.of(current, current.plusMonths(1), current.plusMonths(2)));
+    }
+
+    @Test
+    public void test_ensurePartitions_continuesAfterLastPartition() {
+        YearMonth current = YearMonth.now();
+        Mockito.when(taskRepository.findArchivePartitionMonths()).thenReturn(List.of(current.minusMonths(1), current));
+
+        Assertions.assertEquals(2, taskArchiveService.ensurePartitions());
+        Mockito.verify(taskRepository).addArchivePartitions(List.of(current.plusMonths(1), current.plusMonths(2)));
+    }
+
+    @Test
+    public void test_ensurePartitions_skipsWhenAlreadyAhead() {
+        YearMonth current = YearMonth.now();
+        Mockito.when(taskRepository.findArchivePartitionMonths()).thenReturn(List.of(current, current.plusMonths(1), current.plusMonths(2)));
+
+        Assertions.assertEquals(0, taskArchiveService.ensurePartitions());
+        Mockito.verify(taskRepository, Mockito.never()).addArchivePartitions(Mockito.any());
+    }
+
+}
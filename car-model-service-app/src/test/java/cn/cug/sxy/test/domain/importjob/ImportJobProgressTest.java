@@ -0,0 +1,89 @@
+package cn.cug.sxy.test.domain.importjob;
+
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.importjob.adapter.repository.IImportJobRepository;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportRowResult;
+import cn.cug.sxy.domain.importjob.service.ImportJobManageService;
+import cn.cug.sxy.domain.importjob.service.handler.IImportJobHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/10/9 10:30
+ * @Description 导入任务进度：处理中每批结果累计后写回任务记录，完成时以最终结果为准
+ * @Author jerryhotton
+ */
+
+public class ImportJobProgressTest {
+
+    private final IImportJobRepository importJobRepository = Mockito.mock(IImportJobRepository.class);
+
+    private final IImportJobHandler handler = Mockito.mock(IImportJobHandler.class);
+
+    private ImportJobManageService importJobManageService;
+
+    @AfterEach
+    public void tearDown() {
+        if (importJobManageService != null) {
+            importJobManageService.destroy();
+        }
+    }
+
+    @Test
+    public void test_handle_reportsProgressWhileProcessing() throws Exception {
+        // 记录每次以处理中状态写回时的进度快照
+        List<int[]> progressSnapshots = new CopyOnWriteArrayList<>();
+        Mockito.when(importJobRepository.updateIfState(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            ImportJobEntity job = invocation.getArgument(0);
+            if (TaskState.PROCESSING.equals(invocation.getArgument(1))) {
+                progressSnapshots.add(new int[]{job.getTotalRows(), job.getSuccessRows(), job.getFailedRows()});
+            }
+            return true;
+        });
+        Mockito.when(importJobRepository.stageSourceFile(Mockito.any(), Mockito.any())).thenReturn("import/source");
+        Mockito.when(importJobRepository.findByJobId(Mockito.any())).thenAnswer(invocation -> {
+            ImportJobEntity job = ImportJobEntity.create(ImportJobType.PART_HOUR_BINDING, null, "tester",
+                    "binding.xlsx", "application/vnd.ms-excel", 10L);
+            job.setJobId(invocation.getArgument(0));
+            return job;
+        });
+        List<ImportRowResult> firstBatch = List.of(row(2, true), row(3, false));
+        List<ImportRowResult> secondBatch = List.of(row(4, true));
+        Mockito.when(handler.jobType()).thenReturn(ImportJobType.PART_HOUR_BINDING);
+        Mockito.when(handler.handle(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            Consumer<List<ImportRowResult>> progressListener = invocation.getArgument(2);
+            progressListener.accept(firstBatch);
+            progressListener.accept(secondBatch);
+            return List.of(firstBatch.get(0), firstBatch.get(1), secondBatch.get(0));
+        });
+        importJobManageService = new ImportJobManageService(importJobRepository, List.of(handler), 1, 1, 1, 300, 20, 0);
+
+        importJobManageService.submitPartHourBindingImport(
+                new MockMultipartFile("file", "binding.xlsx", "application/vnd.ms-excel", new byte[10]), "tester");
+
+        Mockito.verify(importJobRepository, Mockito.timeout(2000))
+                .update(Mockito.argThat(job -> TaskState.COMPLETED.equals(job.getState())));
+        Assertions.assertEquals(2, progressSnapshots.size());
+        Assertions.assertArrayEquals(new int[]{2, 1, 1}, progressSnapshots.get(0));
+        Assertions.assertArrayEquals(new int[]{3, 2, 1}, progressSnapshots.get(1));
+    }
+
+    private ImportRowResult row(int rowNumber, boolean success) {
+        return ImportRowResult.builder()
+                .rowNumber(rowNumber)
+                .businessKey("P" + rowNumber)
+                .success(success)
+                .build();
+    }
+
+}
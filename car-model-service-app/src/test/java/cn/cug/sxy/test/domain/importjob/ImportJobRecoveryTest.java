@@ -0,0 +1,95 @@
+package cn.cug.sxy.test.domain.importjob;
+
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.importjob.adapter.repository.IImportJobRepository;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.domain.importjob.service.ImportJobManageService;
+import cn.cug.sxy.domain.importjob.service.handler.IImportJobHandler;
+import cn.cug.sxy.types.enums.ResponseCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/30 10:20
+ * @Description 导入任务恢复：心跳过期的已提交任务重新排队并只处理一次，心跳过期的处理中任务置为失败
+ * @Author jerryhotton
+ */
+
+public class ImportJobRecoveryTest {
+
+    private final IImportJobRepository importJobRepository = Mockito.mock(IImportJobRepository.class);
+
+    private final IImportJobHandler handler = Mockito.mock(IImportJobHandler.class);
+
+    private ImportJobManageService importJobManageService;
+
+    @AfterEach
+    public void tearDown() {
+        if (importJobManageService != null) {
+            importJobManageService.destroy();
+        }
+    }
+
+    @Test
+    public void test_recoverStaleJobs_requeuesCreateAndFailsProcessing() throws Exception {
+        ImportJobEntity created = job();
+        ImportJobEntity processing = job();
+        processing.markAsProcessing();
+        Mockito.when(handler.jobType()).thenReturn(ImportJobType.PART_HOUR_BINDING);
+        Mockito.when(importJobRepository.findStaleJobs(Mockito.eq(TaskState.CREATE), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(List.of(created));
+        Mockito.when(importJobRepository.findStaleJobs(Mockito.eq(TaskState.PROCESSING), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(List.of(processing));
+        Mockito.when(importJobRepository.updateIfState(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(true);
+        Mockito.when(importJobRepository.findByJobId(created.getJobId())).thenReturn(job(created.getJobId()));
+        Mockito.when(handler.handle(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(List.of());
+        importJobManageService = new ImportJobManageService(importJobRepository, List.of(handler), 1, 1, 1, 300, 20, 2000);
+
+        Assertions.assertEquals(2, importJobManageService.recoverStaleJobs());
+
+        Assertions.assertEquals(TaskState.FAILED, processing.getState());
+        Assertions.assertEquals(ResponseCode.IMPORT_JOB_INTERRUPTED.getInfo(), processing.getErrorMessage());
+        Mockito.verify(importJobRepository).updateIfState(Mockito.eq(processing), Mockito.eq(TaskState.PROCESSING), Mockito.notNull());
+        Mockito.verify(importJobRepository).removeSourceFile(processing);
+        Mockito.verify(importJobRepository).updateIfState(Mockito.eq(created), Mockito.eq(TaskState.CREATE), Mockito.notNull());
+        // 工作线程以条件更新认领后才处理
+        Mockito.verify(importJobRepository, Mockito.timeout(2000))
+                .updateIfState(Mockito.argThat(job -> created.getJobId().equals(job.getJobId())), Mockito.eq(TaskState.CREATE), Mockito.isNull());
+        Mockito.verify(handler, Mockito.timeout(2000)).handle(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void test_recoverStaleJobs_skipsJobClaimedByOtherNode() throws Exception {
+        ImportJobEntity created = job();
+        Mockito.when(handler.jobType()).thenReturn(ImportJobType.PART_HOUR_BINDING);
+        Mockito.when(importJobRepository.findStaleJobs(Mockito.eq(TaskState.CREATE), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(List.of(created));
+        Mockito.when(importJobRepository.findStaleJobs(Mockito.eq(TaskState.PROCESSING), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(List.of());
+        Mockito.when(importJobRepository.updateIfState(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(false);
+        importJobManageService = new ImportJobManageService(importJobRepository, List.of(handler), 1, 1, 1, 300, 20, 2000);
+
+        Assertions.assertEquals(0, importJobManageService.recoverStaleJobs());
+        Mockito.verify(importJobRepository, Mockito.never()).findByJobId(Mockito.any());
+        Mockito.verify(handler, Mockito.never()).handle(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    private ImportJobEntity job() {
+        return ImportJobEntity.create(ImportJobType.PART_HOUR_BINDING, new HashMap<>(), "tester",
+                "binding.xlsx", "application/vnd.ms-excel", 10L);
+    }
+
+    private ImportJobEntity job(String jobId) {
+        ImportJobEntity job = job();
+        job.setJobId(jobId);
+        return job;
+    }
+
+}
@@ -0,0 +1,146 @@
+package cn.cug.sxy.test.domain.search;
+
+import cn.cug.sxy.domain.search.model.valobj.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 15:00
+ * @Description 名称检索倒排索引：排序、拼音全拼/首字母、前缀补全、范围过滤与增量更新
+ * @Author jerryhotton
+ */
+
+public class NameSearchIndexTest {
+
+    private static final Map<String, PinyinForms> PINYIN = Map.of(
+            "前刹车片", new PinyinForms("qianshachepian", "qscp"),
+            "刹车片", new PinyinForms("shachepian", "scp"),
+            "刹车盘", new PinyinForms("shachepan", "scp"),
+            "后视镜", new PinyinForms("houshijing", "hsj"));
+
+    @Test
+    public void test_search_ranksExactThenPrefixThenContains() {
+        NameSearchIndex index = newIndex();
+        index.putAll(List.of(
+                node(1L, 10L, "前刹车片", "Front Brake Pad"),
+                node(2L, 10L, "刹车片", "Brake Pad"),
+                part(3L, "刹车盘", "BP-1001"),
+                part(4L, "后视镜", "MR-2001")));
+
+        List<SearchHit> hits = index.search("刹车片", null, null, 10);
+        Assertions.assertEquals(List.of(2L, 1L), docIds(hits));
+        Assertions.assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+
+        // 英文名按词首命中，与大小写无关
+        Assertions.assertEquals(List.of(2L, 1L), docIds(index.search("BRAKE", null, null, 10)));
+        // 编码
+        Assertions.assertEquals(List.of(3L), docIds(index.search("bp-10", null, null, 10)));
+        // 单字
+        Assertions.assertEquals(Set.of(1L, 2L, 3L), new HashSet<>(docIds(index.search("刹", null, null, 10))));
+        Assertions.assertTrue(index.search("离合器", null, null, 10).isEmpty());
+    }
+
+    @Test
+    public void test_search_pinyinFullAndInitials() {
+        NameSearchIndex index = newIndex();
+        index.putAll(List.of(
+                node(1L, 10L, "前刹车片", null),
+                node(2L, 10L, "刹车片", null),
+                part(3L, "刹车盘", "BP-1001"),
+                part(4L, "后视镜", "MR-2001")));
+
+        List<SearchHit> initials = index.search("scp", null, null, 10);
+        Assertions.assertEquals(List.of(2L, 3L, 1L), docIds(initials));
+        Assertions.assertEquals("刹车片", initials.get(0).getMatchedText());
+        Assertions.assertEquals(List.of(1L, 2L), docIds(index.search("shache pian", null, null, 10)).stream().sorted().toList());
+        Assertions.assertEquals(List.of(4L), docIds(index.search("hsj", null, null, 10)));
+    }
+
+    @Test
+    public void test_suggest_prefixAndWordStart() {
+        NameSearchIndex index = newIndex();
+        index.putAll(List.of(
+                node(1L, 10L, "前刹车片", "Front Brake Pad"),
+                node(2L, 10L, "刹车片", "Brake Pad"),
+                part(3L, "刹车盘", "BP-1001")));
+
+        Assertions.assertEquals(List.of(2L, 3L), docIds(index.suggest("刹车", null, null, 10)));
+        Assertions.assertEquals(List.of(2L, 1L), docIds(index.suggest("bra", null, null, 10)));
+        // 补全只接受前缀，片段中间命中不返回
+        Assertions.assertTrue(index.suggest("车片", null, null, 10).isEmpty());
+        Assertions.assertEquals(1, index.suggest("刹车", null, null, 1).size());
+    }
+
+    @Test
+    public void test_filtersAndIncrementalUpdates() {
+        NameSearchIndex index = newIndex();
+        index.putAll(List.of(
+                node(1L, 10L, "前刹车片", null),
+                node(2L, 20L, "刹车片", null),
+                part(3L, "刹车盘", "BP-1001")));
+
+        // 范围只约束实例节点，备件不受影响
+        Assertions.assertEquals(Set.of(2L, 3L), new HashSet<>(docIds(index.search("刹车", null, 20L, 10))));
+        Assertions.assertEquals(List.of(3L), docIds(index.search("刹车", EnumSet.of(SearchDocType.PART), null, 10)));
+
+        // 改名后旧名称不再命中
+        index.put(part(3L, "后视镜", "BP-1001"));
+        Assertions.assertEquals(List.of(3L), docIds(index.search("hsj", null, null, 10)));
+        Assertions.assertFalse(docIds(index.search("刹车", null, null, 10)).contains(3L));
+
+        index.remove(SearchDocType.INSTANCE_NODE, 1L);
+        Assertions.assertEquals(List.of(2L), docIds(index.search("刹车", null, null, 10)));
+
+        // 整体替换范围
+        index.replaceScope(SearchDocType.INSTANCE_NODE, 20L, List.of(node(5L, 20L, "刹车盘", null)));
+        Assertions.assertEquals(List.of(5L), docIds(index.search("刹车", null, null, 10)));
+        Assertions.assertEquals(2, index.size());
+    }
+
+    @Test
+    public void test_compaction_keepsResultsAfterManyUpdates() {
+        NameSearchIndex index = newIndex();
+        for (int round = 0; round < 200; round++) {
+            List<SearchDocument> docs = new ArrayList<>();
+            for (long id = 1; id <= 100; id++) {
+                docs.add(part(id, "备件" + round + "号" + id, "P" + round + "-" + id));
+            }
+            index.putAll(docs);
+        }
+
+        Assertions.assertEquals(100, index.size());
+        Assertions.assertEquals(List.of(42L), docIds(index.search("备件199号42", null, null, 10)));
+        Assertions.assertTrue(index.search("备件198号", null, null, 10).isEmpty());
+    }
+
+    private NameSearchIndex newIndex() {
+        return new NameSearchIndex(PINYIN::get);
+    }
+
+    private SearchDocument node(Long id, Long instanceId, String name, String nameEn) {
+        return SearchDocument.builder()
+                .docType(SearchDocType.INSTANCE_NODE)
+                .docId(id)
+                .scopeId(instanceId)
+                .name(name)
+                .aliases(nameEn == null ? List.of() : List.of(nameEn))
+                .build();
+    }
+
+    private SearchDocument part(Long id, String name, String code) {
+        return SearchDocument.builder()
+                .docType(SearchDocType.PART)
+                .docId(id)
+                .name(name)
+                .aliases(List.of(code))
+                .build();
+    }
+
+    private List<Long> docIds(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getDocId).toList();
+    }
+
+}
@@ -0,0 +1,98 @@
+package cn.cug.sxy.test.domain.structure;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceRepository;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureTemplateNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceCode;
+import cn.cug.sxy.domain.structure.model.valobj.NodeType;
+import cn.cug.sxy.domain.structure.model.valobj.TemplateId;
+import cn.cug.sxy.domain.structure.model.valobj.TemplateNodeId;
+import cn.cug.sxy.domain.structure.service.IInstanceNodeCloneService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/20 15:40
+ * @Description 实例节点树批量克隆基准测试（合成1k/10k/50k节点树）
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@SpringBootTest
+public class InstanceNodeCloneServiceTest {
+
+    private static final int FAN_OUT = 8;
+
+    @Resource
+    private IInstanceNodeCloneService instanceNodeCloneService;
+
+    @Resource
+    private IInstanceRepository instanceRepository;
+
+    @Resource
+    private IInstanceNodeRepository instanceNodeRepository;
+
+    @Test
+    public void test_cloneBenchmark() {
+        for (int size : new int[]{1_000, 10_000, 50_000}) {
+            List<StructureTemplateNodeEntity> templateNodes = buildSyntheticTemplateTree(size);
+            // 模板 -> 实例
+            StructureInstanceEntity instance = createInstance("BENCH_T_" + size);
+            long start = System.currentTimeMillis();
+            List<StructureInstanceNodeEntity> clonedNodes = instanceNodeCloneService.cloneFromTemplate(
+                    templateNodes, instance.getId(), "benchmark");
+            log.info("模板克隆 节点数:{} 耗时:{}ms", clonedNodes.size(), System.currentTimeMillis() - start);
+            // 实例 -> 新版本实例
+            StructureInstanceEntity newVersion = createInstance("BENCH_I_" + size);
+            start = System.currentTimeMillis();
+            List<StructureInstanceNodeEntity> copiedNodes = instanceNodeCloneService.cloneFromInstance(
+                    clonedNodes, newVersion.getId(), "benchmark");
+            log.info("实例克隆 节点数:{} 耗时:{}ms", copiedNodes.size(), System.currentTimeMillis() - start);
+            // 清理数据
+            instanceNodeRepository.deleteByInstanceId(instance.getId());
+            instanceNodeRepository.deleteByInstanceId(newVersion.getId());
+            instanceRepository.deleteById(instance.getId());
+            instanceRepository.deleteById(newVersion.getId());
+        }
+    }
+
+    private StructureInstanceEntity createInstance(String code) {
+        StructureInstanceEntity instance = StructureInstanceEntity.create(
+                new InstanceCode(code + "_" + System.currentTimeMillis()), code, "benchmark",
+                null, null, "1.0", "benchmark");
+        return instanceRepository.save(instance);
+    }
+
+    /**
+     * 构建满 FAN_OUT 叉的合成模板树，节点ID从1开始连续分配
+     */
+    private List<StructureTemplateNodeEntity> buildSyntheticTemplateTree(int size) {
+        TemplateId templateId = new TemplateId(1L);
+        List<StructureTemplateNodeEntity> nodes = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            StructureTemplateNodeEntity node;
+            if (i == 1) {
+                node = StructureTemplateNodeEntity.createRoot(templateId, NodeType.CATEGORY,
+                        "N" + i, "节点" + i, "node" + i, 1, "benchmark");
+                node.setCategoryId(1L);
+            } else {
+                TemplateNodeId parentId = new TemplateNodeId((i - 2) / FAN_OUT + 1);
+                node = StructureTemplateNodeEntity.createChild(templateId, parentId, NodeType.GROUP,
+                        "N" + i, "节点" + i, "node" + i, (int) ((i - 2) % FAN_OUT) + 1, "benchmark");
+                node.setGroupId(1L);
+            }
+            node.setId(new TemplateNodeId(i));
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+}
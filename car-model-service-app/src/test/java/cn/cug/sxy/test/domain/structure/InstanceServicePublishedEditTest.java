@@ -0,0 +1,121 @@
+package cn.cug.sxy.test.domain.structure;
+
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceRepository;
+import cn.cug.sxy.domain.structure.adapter.repository.ITemplateNodeRepository;
+import cn.cug.sxy.domain.structure.adapter.repository.ITemplateRepository;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.*;
+import cn.cug.sxy.domain.structure.service.*;
+import cn.cug.sxy.domain.usage.service.IUsageMatchingService;
+import cn.cug.sxy.types.exception.AppException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/29 10:30
+ * @Description 已发布实例禁止单节点修改：修改被拒绝，全树读取仍与快照一致；取消发布后可修改
+ * @Author jerryhotton
+ */
+
+public class InstanceServicePublishedEditTest {
+
+    private final InstanceId instanceId = new InstanceId(10L);
+
+    private final InstanceNodeId nodeId = new InstanceNodeId(100L);
+
+    private final IInstanceRepository instanceRepository = Mockito.mock(IInstanceRepository.class);
+
+    private final IInstanceNodeRepository instanceNodeRepository = Mockito.mock(IInstanceNodeRepository.class);
+
+    private final IInstanceSnapshotService instanceSnapshotService = Mockito.mock(IInstanceSnapshotService.class);
+
+    private final IUsageMatchingService usageMatchingService = Mockito.mock(IUsageMatchingService.class);
+
+    private final InstanceService instanceService = new InstanceService(
+            instanceRepository, instanceNodeRepository,
+            Mockito.mock(ITemplateRepository.class), Mockito.mock(ITemplateNodeRepository.class),
+            Mockito.mock(IInstanceNodeCloneService.class), instanceSnapshotService,
+            Mockito.mock(IInstanceTreeHashService.class), Mockito.mock(ISearchIndexService.class), usageMatchingService);
+
+    @Test
+    public void test_nodeEditsOnPublishedInstance_rejectedAndTreeUnchanged() {
+        StructureInstanceEntity instance = instance();
+        instance.publish(LocalDateTime.now());
+        StructureInstanceNodeEntity node = node();
+        InstanceTreeSnapshot snapshot = InstanceTreeSnapshot.builder()
+                .instanceId(instanceId)
+                .etag("etag-1")
+                .nodes(List.of(node))
+                .build();
+        Mockito.when(instanceRepository.findById(instanceId)).thenReturn(Optional.of(instance));
+        Mockito.when(instanceNodeRepository.findById(nodeId)).thenReturn(Optional.of(node));
+        Mockito.when(instanceSnapshotService.getOrBuild(instanceId)).thenReturn(snapshot);
+
+        Assertions.assertThrows(AppException.class, () -> instanceService.addNode(
+                instanceId, nodeId, "新节点", null, NodeType.CATEGORY.getCode(), 1L, null, null, 0, "tester"));
+        Assertions.assertThrows(AppException.class, () -> instanceService.updateNodeInfo(nodeId, "改名", null, null));
+        Assertions.assertThrows(AppException.class, () -> instanceService.moveNode(nodeId, null, 0));
+        Assertions.assertThrows(AppException.class, () -> instanceService.deleteNodeAndChildren(nodeId));
+        Assertions.assertThrows(AppException.class, () -> instanceService.importNodeTree(
+                instanceId, null, List.of(node()), "tester"));
+
+        Mockito.verify(instanceNodeRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(instanceNodeRepository, Mockito.never()).update(Mockito.any());
+        Mockito.verify(instanceNodeRepository, Mockito.never()).updateParentId(Mockito.any(), Mockito.any());
+        Mockito.verify(instanceNodeRepository, Mockito.never()).deleteSubTree(Mockito.any());
+        Mockito.verify(instanceNodeRepository, Mockito.never()).saveBatch(Mockito.any());
+        Mockito.verify(usageMatchingService, Mockito.never()).evictMatchIndexes();
+
+        Map<String, Object> tree = instanceService.getInstanceWithFullTree(instanceId);
+        Assertions.assertEquals(List.of(node), tree.get("nodes"));
+        Assertions.assertEquals("原名", node.getNodeName());
+    }
+
+    @Test
+    public void test_nodeEditsAfterUnpublish_allowed() {
+        StructureInstanceEntity instance = instance();
+        StructureInstanceNodeEntity node = node();
+        Mockito.when(instanceRepository.findById(instanceId)).thenReturn(Optional.of(instance));
+        Mockito.when(instanceNodeRepository.findById(nodeId)).thenReturn(Optional.of(node));
+        Mockito.when(instanceNodeRepository.update(Mockito.any())).thenReturn(1);
+
+        Assertions.assertTrue(instanceService.updateNodeInfo(nodeId, "改名", null, null));
+        Assertions.assertEquals("改名", node.getNodeName());
+    }
+
+    @Test
+    public void test_deleteUsageSubtree_evictsMatchIndexes() {
+        Mockito.when(instanceRepository.findById(instanceId)).thenReturn(Optional.of(instance()));
+        Mockito.when(instanceNodeRepository.findById(nodeId)).thenReturn(Optional.of(node()));
+        Mockito.when(instanceNodeRepository.deleteSubTree(nodeId)).thenReturn(3);
+
+        Assertions.assertEquals(3, instanceService.deleteNodeAndChildren(nodeId));
+        Mockito.verify(usageMatchingService).evictMatchIndexes();
+    }
+
+    private StructureInstanceEntity instance() {
+        StructureInstanceEntity instance = StructureInstanceEntity.create(
+                new InstanceCode("INS_PUB"), "已发布实例", null, null, null, "1.0", "tester");
+        instance.setId(instanceId);
+        return instance;
+    }
+
+    private StructureInstanceNodeEntity node() {
+        StructureInstanceNodeEntity node = StructureInstanceNodeEntity.createRoot(
+                instanceId, NodeType.CATEGORY, "S1", "原名", null, 0, "tester");
+        node.setId(nodeId);
+        node.updatePathAndLevel(String.valueOf(nodeId.getId()), 0);
+        return node;
+    }
+
+}
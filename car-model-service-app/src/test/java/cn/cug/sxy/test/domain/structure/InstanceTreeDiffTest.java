@@ -0,0 +1,187 @@
+package cn.cug.sxy.test.domain.structure;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.*;
+import cn.cug.sxy.domain.structure.service.InstanceTreeHashService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/22 15:20
+ * @Description 实例结构比较：默克尔子树哈希剪枝、移动识别，以及写入后沿祖先链增量维护哈希
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class InstanceTreeDiffTest {
+
+    private static final int FAN_OUT = 8;
+    private static final int DEPTH = 5;
+
+    @Test
+    public void test_diff_singleLeafChangeSkipsIdenticalSubtrees() {
+        List<MerkleNode> left = buildTree();
+        List<MerkleNode> right = new ArrayList<>(left);
+        MerkleNode leaf = right.get(right.size() - 1);
+        right.set(right.size() - 1, leaf.toBuilder().nodeName("改名").build());
+
+        List<NodeChange> changes = new ArrayList<>();
+        Tree leftTree = hashed(left);
+        Tree rightTree = hashed(right);
+        int visited = MerkleTreeDiffer.diff(leftTree.roots, leftTree::children, rightTree.roots, rightTree::children, changes::add);
+
+        log.info("结构比较 节点:{} 展开节点对:{}", left.size(), visited);
+        Assertions.assertEquals(1, changes.size());
+        Assertions.assertEquals(NodeChangeType.MODIFIED, changes.get(0).getChangeType());
+        Assertions.assertEquals(leaf.getNodeCode(), changes.get(0).getNodeCode());
+        // 只沿根到该叶子的路径展开
+        Assertions.assertEquals(DEPTH + 1, visited);
+    }
+
+    @Test
+    public void test_diff_movedAddedRemoved() {
+        List<MerkleNode> left = new ArrayList<>(List.of(
+                node(1L, null, "ROOT"), node(2L, 1L, "A"), node(3L, 1L, "B"),
+                node(4L, 2L, "A1"), node(5L, 4L, "A1X"), node(6L, 3L, "B1")));
+        List<MerkleNode> right = new ArrayList<>(List.of(
+                node(1L, null, "ROOT"), node(2L, 1L, "A"), node(3L, 1L, "B"),
+                // A1 连同子节点从 A 移到 B 下，B1 被删除，新增 B2
+                node(4L, 3L, "A1"), node(5L, 4L, "A1X"), node(7L, 3L, "B2")));
+
+        List<NodeChange> changes = new ArrayList<>();
+        Tree leftTree = hashed(left);
+        Tree rightTree = hashed(right);
+        MerkleTreeDiffer.diff(leftTree.roots, leftTree::children, rightTree.roots, rightTree::children, changes::add);
+
+        Map<String, NodeChange> byCode = new HashMap<>();
+        changes.forEach(change -> byCode.put(change.getNodeCode(), change));
+        Assertions.assertEquals(3, changes.size());
+        Assertions.assertEquals(NodeChangeType.MOVED, byCode.get("A1").getChangeType());
+        Assertions.assertEquals("A", byCode.get("A1").getOldParentCode());
+        Assertions.assertEquals("B", byCode.get("A1").getNewParentCode());
+        Assertions.assertEquals(NodeChangeType.REMOVED, byCode.get("B1").getChangeType());
+        Assertions.assertEquals(NodeChangeType.ADDED, byCode.get("B2").getChangeType());
+    }
+
+    @Test
+    public void test_refreshFrom_matchesFullRebuild() {
+        Map<Long, StructureInstanceNodeEntity> store = new LinkedHashMap<>();
+        for (MerkleNode node : buildTree()) {
+            store.put(node.getId(), StructureInstanceNodeEntity.builder()
+                    .id(new InstanceNodeId(node.getId()))
+                    .instanceId(new InstanceId(1L))
+                    .parentId(node.getParentId() == null ? null : new InstanceNodeId(node.getParentId()))
+                    .nodeType(node.getNodeType())
+                    .nodeCode(node.getNodeCode())
+                    .nodeName(node.getNodeName())
+                    .groupId(node.getRefId())
+                    .build());
+        }
+        IInstanceNodeRepository repository = inMemoryRepository(store);
+        InstanceTreeHashService hashService = new InstanceTreeHashService(repository);
+        Assertions.assertEquals(store.size(), hashService.rebuild(new InstanceId(1L)));
+
+        // 修改一个叶子后增量刷新，只回写叶子到根这一条链
+        StructureInstanceNodeEntity leaf = store.values().stream().reduce((a, b) -> b).orElseThrow();
+        leaf.update("改名", null);
+        Mockito.clearInvocations(repository);
+        hashService.refreshFrom(leaf.getId());
+        Mockito.verify(repository, Mockito.times(DEPTH + 1)).updateSubtreeHashBatch(Mockito.anyList());
+
+        Map<Long, String> incremental = new HashMap<>();
+        store.values().forEach(node -> incremental.put(node.getId().getId(), node.getSubtreeHash()));
+        Assertions.assertEquals(MerkleTreeDiffer.hashAll(store.values().stream().map(MerkleNode::of).toList()), incremental);
+    }
+
+    /**
+     * 满 FAN_OUT 叉树，深度 DEPTH（根为第 0 层）
+     */
+    private List<MerkleNode> buildTree() {
+        List<MerkleNode> nodes = new ArrayList<>();
+        long nextId = 1;
+        nodes.add(node(nextId++, null, "N1"));
+        List<MerkleNode> level = List.of(nodes.get(0));
+        for (int depth = 1; depth <= DEPTH; depth++) {
+            List<MerkleNode> nextLevel = new ArrayList<>();
+            for (MerkleNode parent : level) {
+                for (int i = 0; i < FAN_OUT; i++) {
+                    MerkleNode child = node(nextId, parent.getId(), "N" + nextId);
+                    nextId++;
+                    nextLevel.add(child);
+                }
+            }
+            nodes.addAll(nextLevel);
+            level = nextLevel;
+        }
+
+        return nodes;
+    }
+
+    private MerkleNode node(Long id, Long parentId, String code) {
+        return MerkleNode.builder()
+                .id(id)
+                .parentId(parentId)
+                .nodeType(NodeType.GROUP)
+                .nodeCode(code)
+                .nodeName("节点" + code)
+                .refId(id)
+                .build();
+    }
+
+    private Tree hashed(List<MerkleNode> nodes) {
+        Map<Long, String> hashes = MerkleTreeDiffer.hashAll(nodes);
+        Tree tree = new Tree();
+        for (MerkleNode node : nodes) {
+            MerkleNode hashedNode = node.withSubtreeHash(hashes.get(node.getId()));
+            if (node.getParentId() == null) {
+                tree.roots.add(hashedNode);
+            } else {
+                tree.childrenMap.computeIfAbsent(node.getParentId(), k -> new ArrayList<>()).add(hashedNode);
+            }
+        }
+
+        return tree;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IInstanceNodeRepository inMemoryRepository(Map<Long, StructureInstanceNodeEntity> store) {
+        Function<Object, Long> idOf = arg -> ((InstanceNodeId) arg).getId();
+        return Mockito.mock(IInstanceNodeRepository.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "findById":
+                    return Optional.ofNullable(store.get(idOf.apply(args[0])));
+                case "findByParentId":
+                    Long parentId = idOf.apply(args[0]);
+                    return store.values().stream()
+                            .filter(node -> node.getParentId() != null && parentId.equals(node.getParentId().getId()))
+                            .toList();
+                case "findByInstanceId":
+                    return new ArrayList<>(store.values());
+                case "updateSubtreeHashBatch":
+                    return ((List<StructureInstanceNodeEntity>) args[0]).size();
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    private static class Tree {
+
+        private final List<MerkleNode> roots = new ArrayList<>();
+        private final Map<Long, List<MerkleNode>> childrenMap = new HashMap<>();
+
+        List<MerkleNode> children(MerkleNode node) {
+            return childrenMap.getOrDefault(node.getId(), Collections.emptyList());
+        }
+
+    }
+
+}
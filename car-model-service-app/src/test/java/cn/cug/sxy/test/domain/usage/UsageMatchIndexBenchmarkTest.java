@@ -0,0 +1,158 @@
+package cn.cug.sxy.test.domain.usage;
+
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
+import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.entity.UsageConfigCombinationEntity;
+import cn.cug.sxy.domain.usage.model.valobj.*;
+import cn.cug.sxy.types.enums.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/11 15:10
+ * @Description 用法匹配索引基准：10 万配置组合下的构建耗时、单次匹配耗时，并与逐项比较结果核对
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class UsageMatchIndexBenchmarkTest {
+
+    private static final int CATEGORY_COUNT = 24;
+    private static final int ITEMS_PER_CATEGORY = 12;
+    private static final int USAGE_COUNT = 40_000;
+    private static final int COMBINATION_COUNT = 100_000;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURE_ROUNDS = 5_000;
+
+    @Test
+    public void test_match_100kCombinations() {
+        Random random = new Random(20250911L);
+        ConfigCatalogSnapshot catalog = buildCatalog();
+        List<UsageId> usageIds = new ArrayList<>(USAGE_COUNT);
+        for (int i = 1; i <= USAGE_COUNT; i++) {
+            usageIds.add(new UsageId((long) i));
+        }
+        Map<UsageId, List<UsageConfigCombinationEntity>> combinationsByUsageId = new HashMap<>();
+        for (int c = 0; c < COMBINATION_COUNT; c++) {
+            UsageId usageId = usageIds.get(random.nextInt(USAGE_COUNT));
+            combinationsByUsageId.computeIfAbsent(usageId, key -> new ArrayList<>())
+                    .add(UsageConfigCombinationEntity.create(usageId, "C" + c, 0, randomCombination(catalog, random)));
+        }
+
+        long buildStart = System.nanoTime();
+        UsageMatchIndex index = UsageMatchIndex.build(new InstanceId(1L), catalog, usageIds, combinationsByUsageId);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        List<List<ConfigItemId>> vehicles = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            vehicles.add(randomVehicle(catalog, random));
+        }
+        // 与逐项比较的结果核对
+        for (List<ConfigItemId> vehicle : vehicles.subList(0, 8)) {
+            Assertions.assertEquals(naiveMatch(usageIds, combinationsByUsageId, vehicle), index.match(vehicle, null));
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            index.match(vehicles.get(i % vehicles.size()), null);
+        }
+        long matchedTotal = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            matchedTotal += index.match(vehicles.get(i % vehicles.size()), null).size();
+        }
+        long avgMicros = (System.nanoTime() - start) / MEASURE_ROUNDS / 1_000;
+        log.info("用法匹配索引 用法:{} 组合:{} 构建:{}ms 单次匹配平均:{}us 平均适用用法:{}",
+                index.getUsageCount(), index.getCombinationCount(), buildMillis, avgMicros, matchedTotal / MEASURE_ROUNDS);
+        Assertions.assertEquals(COMBINATION_COUNT, index.getCombinationCount());
+    }
+
+    @Test
+    public void test_match_ignoreUnspecifiedCategories() {
+        ConfigCatalogSnapshot catalog = buildCatalog();
+        ConfigItemEntity engine = catalog.getItems(new ConfigCategoryId(1L)).get(0);
+        ConfigItemEntity trim = catalog.getItems(new ConfigCategoryId(2L)).get(0);
+        UsageId usageId = new UsageId(1L);
+        Map<UsageId, List<UsageConfigCombinationEntity>> combinationsByUsageId = Map.of(usageId, List.of(
+                UsageConfigCombinationEntity.create(usageId, "C", 0, List.of(engine.getId(), trim.getId()))));
+        UsageMatchIndex index = UsageMatchIndex.build(new InstanceId(1L), catalog, List.of(usageId), combinationsByUsageId);
+
+        // 严格匹配：未指定内饰类别时不适用
+        Assertions.assertTrue(index.match(List.of(engine.getId()), null).isEmpty());
+        // 忽略未指定类别：仅比较动力类别
+        Assertions.assertEquals(Set.of(usageId), index.match(List.of(engine.getId()), Set.of(engine.getCategoryId())));
+    }
+
+    private ConfigCatalogSnapshot buildCatalog() {
+        List<ConfigCategoryEntity> categories = new ArrayList<>();
+        List<ConfigItemEntity> items = new ArrayList<>();
+        long itemId = 1;
+        for (long categoryId = 1; categoryId <= CATEGORY_COUNT; categoryId++) {
+            categories.add(ConfigCategoryEntity.builder()
+                    .id(new ConfigCategoryId(categoryId))
+                    .categoryCode("CATEGORY_" + categoryId)
+                    .sortOrder((int) categoryId)
+                    .status(Status.ENABLED)
+                    .build());
+            for (int i = 0; i < ITEMS_PER_CATEGORY; i++, itemId++) {
+                items.add(ConfigItemEntity.builder()
+                        .id(new ConfigItemId(itemId))
+                        .categoryId(new ConfigCategoryId(categoryId))
+                        .itemCode(String.format("ITEM_%04d", itemId))
+                        .status(Status.ENABLED)
+                        .build());
+            }
+        }
+
+        return ConfigCatalogSnapshot.build(1L, categories, items);
+    }
+
+    /**
+     * 随机组合：1~3 个不同类别的配置项，类别集中在前 6 个以提高命中率
+     */
+    private List<ConfigItemId> randomCombination(ConfigCatalogSnapshot catalog, Random random) {
+        int size = 1 + random.nextInt(3);
+        Set<Integer> categoryIndexes = new LinkedHashSet<>();
+        while (categoryIndexes.size() < size) {
+            categoryIndexes.add(random.nextInt(6));
+        }
+        List<ConfigItemId> itemIds = new ArrayList<>();
+        for (int categoryIndex : categoryIndexes) {
+            List<ConfigItemEntity> items = catalog.getItems(catalog.getCategories().get(categoryIndex).getId());
+            itemIds.add(items.get(random.nextInt(3)).getId());
+        }
+
+        return itemIds;
+    }
+
+    /**
+     * 随机车辆配置：每个类别选一个配置项
+     */
+    private List<ConfigItemId> randomVehicle(ConfigCatalogSnapshot catalog, Random random) {
+        List<ConfigItemId> itemIds = new ArrayList<>();
+        for (ConfigCategoryEntity category : catalog.getCategories()) {
+            List<ConfigItemEntity> items = catalog.getItems(category.getId());
+            itemIds.add(items.get(random.nextInt(3)).getId());
+        }
+
+        return itemIds;
+    }
+
+    private Set<UsageId> naiveMatch(List<UsageId> usageIds, Map<UsageId, List<UsageConfigCombinationEntity>> combinationsByUsageId,
+                                    List<ConfigItemId> vehicle) {
+        Set<UsageId> matched = new LinkedHashSet<>();
+        for (UsageId usageId : usageIds) {
+            List<UsageConfigCombinationEntity> combinations = combinationsByUsageId.getOrDefault(usageId, Collections.emptyList());
+            if (combinations.isEmpty() || combinations.stream().anyMatch(c -> vehicle.containsAll(c.getConfigItemIds()))) {
+                matched.add(usageId);
+            }
+        }
+
+        return matched;
+    }
+
+}
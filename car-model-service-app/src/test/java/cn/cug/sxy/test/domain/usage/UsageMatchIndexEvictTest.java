@@ -0,0 +1,111 @@
+package cn.cug.sxy.test.domain.usage;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.NodeType;
+import cn.cug.sxy.domain.usage.adapter.port.IUsageMatchSyncPort;
+import cn.cug.sxy.domain.usage.adapter.repository.IUsageConfigCombinationRepository;
+import cn.cug.sxy.domain.usage.model.valobj.ConfigCatalogSnapshot;
+import cn.cug.sxy.domain.usage.service.IConfigCatalogService;
+import cn.cug.sxy.domain.usage.service.UsageMatchingService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/30 15:30
+ * @Description 用法匹配索引跨节点失效：本节点失效时递增版本并广播，收到更高版本信号或比对到更高全局版本时清空索引
+ * @Author jerryhotton
+ */
+
+public class UsageMatchIndexEvictTest {
+
+    private final InstanceId instanceId = new InstanceId(10L);
+
+    private final IInstanceNodeRepository instanceNodeRepository = Mockito.mock(IInstanceNodeRepository.class);
+
+    private final IConfigCatalogService configCatalogService = Mockito.mock(IConfigCatalogService.class);
+
+    private final IUsageMatchSyncPort usageMatchSyncPort = Mockito.mock(IUsageMatchSyncPort.class);
+
+    @Test
+    public void test_evictSignalFromOtherNode_rebuildsIndex() {
+        UsageMatchingService service = createService(60_000);
+        ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+        Mockito.verify(usageMatchSyncPort).subscribeEvict(listener.capture());
+
+        Assertions.assertSame(service.getMatchIndex(instanceId), service.getMatchIndex(instanceId));
+        verifyBuilds(1);
+
+        // 本节点发出的信号版本不高于已知版本，不重复清空
+        Mockito.when(usageMatchSyncPort.nextVersion()).thenReturn(6L);
+        service.evictMatchIndexes();
+        Mockito.verify(usageMatchSyncPort).publishEvict(6L);
+        listener.getValue().accept(6L);
+        service.getMatchIndex(instanceId);
+        service.getMatchIndex(instanceId);
+        verifyBuilds(2);
+
+        listener.getValue().accept(7L);
+        service.getMatchIndex(instanceId);
+        verifyBuilds(3);
+    }
+
+    @Test
+    public void test_missedSignal_coveredByVersionCheck() {
+        UsageMatchingService service = createService(0);
+        service.getMatchIndex(instanceId);
+        service.getMatchIndex(instanceId);
+        verifyBuilds(1);
+
+        Mockito.when(usageMatchSyncPort.currentVersion()).thenReturn(8L);
+        service.getMatchIndex(instanceId);
+        verifyBuilds(2);
+    }
+
+    @Test
+    public void test_evictInTransaction_deferredUntilCommit() {
+        UsageMatchingService service = createService(60_000);
+        service.getMatchIndex(instanceId);
+        Mockito.when(usageMatchSyncPort.nextVersion()).thenReturn(6L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.evictMatchIndexes();
+            // 提交前仍使用原索引，也不递增版本
+            service.getMatchIndex(instanceId);
+            verifyBuilds(1);
+            Mockito.verify(usageMatchSyncPort, Mockito.never()).nextVersion();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verify(usageMatchSyncPort).publishEvict(6L);
+        service.getMatchIndex(instanceId);
+        verifyBuilds(2);
+    }
+
+    private UsageMatchingService createService(long versionCheckIntervalMillis) {
+        Mockito.when(usageMatchSyncPort.currentVersion()).thenReturn(5L);
+        Mockito.when(configCatalogService.getSnapshot()).thenReturn(ConfigCatalogSnapshot.build(1L, List.of(), List.of()));
+        Mockito.when(instanceNodeRepository.findByInstanceIdAndNodeType(instanceId, NodeType.USAGE)).thenReturn(List.of());
+        UsageMatchingService service = new UsageMatchingService(instanceNodeRepository,
+                Mockito.mock(IUsageConfigCombinationRepository.class), configCatalogService, usageMatchSyncPort,
+                200, 300, versionCheckIntervalMillis);
+        service.afterPropertiesSet();
+        return service;
+    }
+
+    private void verifyBuilds(int times) {
+        Mockito.verify(instanceNodeRepository, Mockito.times(times)).findByInstanceIdAndNodeType(instanceId, NodeType.USAGE);
+    }
+
+}
@@ -0,0 +1,102 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.infrastructure.adapter.repository.AbstractRepository;
+import cn.cug.sxy.infrastructure.redis.CacheLoadPolicy;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 17:20
+ * @Description 缓存回源并发测试：统计并发未命中时的数据库调用次数
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@SpringBootTest
+public class AbstractRepositoryCacheLoadTest {
+
+    private static final int CONCURRENCY = 50;
+
+    @Resource
+    private CountingRepository countingRepository;
+
+    @Resource
+    private IRedisService redisService;
+
+    @Test
+    public void test_singleFlightAndNullCaching() throws Exception {
+        String cacheKey = "cache_load_test:" + UUID.randomUUID();
+        AtomicInteger dbCalls = new AtomicInteger();
+        // 模拟慢查询且数据不存在
+        Supplier<String> slowMissingQuery = () -> {
+            dbCalls.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return countingRepository.load(cacheKey, slowMissingQuery);
+            }));
+        }
+        startLatch.countDown();
+        for (Future<String> future : futures) {
+            Assertions.assertNull(future.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        log.info("并发回源 线程数:{} 数据库调用次数:{}", CONCURRENCY, dbCalls.get());
+        Assertions.assertEquals(1, dbCalls.get());
+        // 空值已被缓存，再次查询不会回源
+        Assertions.assertNull(countingRepository.load(cacheKey, slowMissingQuery));
+        Assertions.assertEquals(1, dbCalls.get());
+        redisService.remove(cacheKey);
+    }
+
+    @TestConfiguration
+    static class CountingRepositoryConfig {
+
+        @Bean
+        public CountingRepository countingRepository() {
+            return new CountingRepository();
+        }
+
+    }
+
+    static class CountingRepository extends AbstractRepository {
+
+        @Override
+        protected CacheLoadPolicy cacheLoadPolicy() {
+            return CacheLoadPolicy.builder()
+                    .distributedLock(true)
+                    .nullValueTtlMillis(60000)
+                    .build();
+        }
+
+        public String load(String cacheKey, Supplier<String> call) {
+            return getDataFromCacheOrDB(cacheKey, 60000, call);
+        }
+
+    }
+
+}
@@ -0,0 +1,144 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.infrastructure.dao.po.InstanceStructureNodePO;
+import cn.cug.sxy.infrastructure.dao.po.WorkHourPO;
+import cn.cug.sxy.infrastructure.redis.codec.CompactBinaryCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/28 14:10
+ * @Description 紧凑二进制编码：往返一致、大值压缩、兼容存量 JSON、结构变化按未命中处理
+ * @Author jerryhotton
+ */
+
+public class CompactBinaryCodecTest {
+
+    private final Codec json = new JsonJacksonCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    public void test_roundTrip_objectsAndLists() throws IOException {
+        CompactBinaryCodec codec = new CompactBinaryCodec(json, List.of(InstanceStructureNodePO.class, WorkHourPO.class), 0);
+
+        List<InstanceStructureNodePO> nodes = nodes(3);
+        nodes.get(1).setNodeNameEn(null);
+        nodes.get(2).setNodeName("制动系统-后 🚗");
+        Assertions.assertEquals(nodes, roundTrip(codec, nodes));
+        Assertions.assertEquals(nodes.get(0), roundTrip(codec, nodes.get(0)));
+
+        WorkHourPO workHour = WorkHourPO.builder()
+                .id(-5L)
+                .code("WH-01")
+                .standardHours(new BigDecimal("-12.345"))
+                .stepOrder(Integer.MIN_VALUE)
+                .updatedTime(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999))
+                .build();
+        Assertions.assertEquals(List.of(workHour), roundTrip(codec, List.of(workHour)));
+
+        // 未注册类型、空列表与空值标记交给 JSON
+        Assertions.assertEquals("@@CACHE_NULL@@", roundTrip(codec, "@@CACHE_NULL@@"));
+        Assertions.assertEquals(42L, ((Number) roundTrip(codec, 42L)).longValue());
+        Assertions.assertEquals(List.of(), roundTrip(codec, new ArrayList<>()));
+    }
+
+    @Test
+    public void test_compressesLargeValues_andShrinksComparedToJson() throws IOException {
+        List<InstanceStructureNodePO> nodes = nodes(2000);
+        CompactBinaryCodec plain = new CompactBinaryCodec(json, List.of(InstanceStructureNodePO.class), 0);
+        CompactBinaryCodec compressed = new CompactBinaryCodec(json, List.of(InstanceStructureNodePO.class), 1024);
+
+        byte[] jsonBytes = encode(json, nodes);
+        byte[] plainBytes = encode(plain, nodes);
+        byte[] compressedBytes = encode(compressed, nodes);
+        Assertions.assertEquals(0x01, plainBytes[1]);
+        Assertions.assertEquals(0x11, compressedBytes[1]);
+        Assertions.assertTrue(plainBytes.length * 3 < jsonBytes.length);
+        Assertions.assertTrue(compressedBytes.length < plainBytes.length);
+        Assertions.assertEquals(nodes, decode(compressed, compressedBytes));
+
+        // 小值不压缩
+        Assertions.assertEquals(0x01, encode(compressed, nodes.get(0))[1]);
+
+        // JSON 格式同样可压缩，压缩帧外仍能正常读取
+        CompactBinaryCodec jsonCompressed = new CompactBinaryCodec(json, List.of(), 1024);
+        byte[] jsonCompressedBytes = encode(jsonCompressed, nodes);
+        Assertions.assertEquals((byte) 0xC5, jsonCompressedBytes[0]);
+        Assertions.assertTrue(jsonCompressedBytes.length < jsonBytes.length);
+        Assertions.assertEquals(nodes, decode(jsonCompressed, jsonCompressedBytes));
+    }
+
+    @Test
+    public void test_readsLegacyJson_andTreatsSchemaChangeAsMiss() throws IOException {
+        CompactBinaryCodec codec = new CompactBinaryCodec(json, List.of(InstanceStructureNodePO.class), 1024);
+        List<InstanceStructureNodePO> nodes = nodes(10);
+
+        Assertions.assertEquals(nodes, decode(codec, encode(json, nodes)));
+        Assertions.assertEquals("etag-1", decode(codec, encode(json, "etag-1")));
+
+        // 写入方与读取方结构不一致（此处以未注册模拟），读取结果为空
+        CompactBinaryCodec other = new CompactBinaryCodec(json, List.of(WorkHourPO.class), 1024);
+        Assertions.assertNull(decode(other, encode(codec, nodes)));
+        Assertions.assertNull(decode(other, encode(codec, nodes.get(0))));
+    }
+
+    static List<InstanceStructureNodePO> nodes(int count) {
+        LocalDateTime now = LocalDateTime.of(2025, 9, 28, 14, 10, 30, 123_000_000);
+        List<InstanceStructureNodePO> nodes = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            InstanceStructureNodePO node = new InstanceStructureNodePO();
+            node.setId(100000L + i);
+            node.setInstanceId(88L);
+            node.setParentId(i <= 10 ? null : 100000L + i / 10);
+            node.setNodeType(i <= 10 ? "SYSTEM" : "USAGE");
+            node.setNodeCode("N" + i);
+            node.setNodeName("制动系统-" + i);
+            node.setNodeNameEn("Brake System " + i);
+            node.setSortOrder(i % 10);
+            node.setCategoryId((long) (i % 7));
+            node.setGroupId((long) (i % 31));
+            node.setUsageId(i <= 10 ? null : 5000L + i);
+            node.setNodePath("/" + (100000L + i / 10) + "/" + (100000L + i));
+            node.setNodeLevel(i <= 10 ? 1 : 2);
+            node.setSubtreeHash(Long.toHexString(i * 0x9E3779B97F4A7C15L));
+            node.setStatus("ENABLED");
+            node.setCreator("admin");
+            node.setCreatedTime(now.minusDays(i % 30));
+            node.setUpdatedTime(now);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    static byte[] encode(Codec codec, Object value) throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(value);
+        try {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } finally {
+            buf.release();
+        }
+    }
+
+    static Object decode(Codec codec, byte[] bytes) throws IOException {
+        return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(bytes), null);
+    }
+
+    private Object roundTrip(Codec codec, Object value) throws IOException {
+        return decode(codec, encode(codec, value));
+    }
+
+}
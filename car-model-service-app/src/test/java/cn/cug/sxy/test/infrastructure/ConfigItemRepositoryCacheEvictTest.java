@@ -0,0 +1,42 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.domain.usage.model.valobj.ConfigCategoryId;
+import cn.cug.sxy.infrastructure.adapter.repository.ConfigItemRepository;
+import cn.cug.sxy.infrastructure.dao.IConfigItemDao;
+import cn.cug.sxy.infrastructure.redis.NearCacheManager;
+import cn.cug.sxy.types.common.Constants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/10/9 11:00
+ * @Description 配置项按类别删除：不区分状态失效类别下全部配置项的缓存
+ * @Author jerryhotton
+ */
+
+public class ConfigItemRepositoryCacheEvictTest {
+
+    private final IConfigItemDao configItemDao = Mockito.mock(IConfigItemDao.class);
+
+    private final NearCacheManager nearCacheManager = Mockito.mock(NearCacheManager.class);
+
+    private final ConfigItemRepository configItemRepository = new ConfigItemRepository(configItemDao, nearCacheManager);
+
+    @Test
+    public void test_deleteByCategoryId_invalidatesDisabledItems() {
+        // 配置项 2 已停用，也需要失效
+        Mockito.when(configItemDao.selectIdsByCategoryId(10L)).thenReturn(List.of(1L, 2L));
+        Mockito.when(configItemDao.deleteByCategoryId(10L)).thenReturn(2);
+
+        Assertions.assertEquals(2, configItemRepository.deleteByCategoryId(new ConfigCategoryId(10L)));
+        Mockito.verify(nearCacheManager).invalidate(List.of(
+                Constants.RedisKey.CONFIG_ITEM_BY_ID_KEY + 1L,
+                Constants.RedisKey.CONFIG_ITEM_BY_ID_KEY + 2L));
+        Mockito.verify(configItemDao, Mockito.never()).selectEnabledByCategoryId(Mockito.any());
+    }
+
+}
@@ -0,0 +1,131 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.domain.workhour.model.valobj.WorkHourExcelData;
+import cn.cug.sxy.infrastructure.local.excel.ExcelUtils;
+import cn.cug.sxy.infrastructure.local.excel.WorkHourExcelRowParser;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/3 10:30
+ * @Description Excel 流式读取与 XSSFWorkbook 全量读取的峰值堆内存对比
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class ExcelUtilsStreamingReadTest {
+
+    private static final int ROW_COUNT = 100_000;
+
+    @Test
+    public void test_peakHeapBenchmark() throws Exception {
+        MockMultipartFile file = buildWorkHourFile(ROW_COUNT);
+        log.info("测试文件 行数:{} 大小:{}KB", ROW_COUNT, file.getSize() / 1024);
+        // 原实现：XSSFWorkbook 加载整个 DOM
+        long domPeak = measurePeakHeap(() -> {
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(file.getBytes()))) {
+                Assertions.assertEquals(ROW_COUNT, workbook.getSheetAt(0).getLastRowNum());
+            }
+        });
+        // 流式读取：按批次消费，不保留解析结果
+        AtomicInteger consumed = new AtomicInteger();
+        long streamingPeak = measurePeakHeap(() -> ExcelUtils.readExcel(file, new WorkHourExcelRowParser(),
+                ExcelUtils.DEFAULT_BATCH_SIZE, batch -> consumed.addAndGet(batch.size())));
+        Assertions.assertEquals(ROW_COUNT, consumed.get());
+        log.info("峰值堆内存增量 XSSFWorkbook:{}MB 流式读取:{}MB", domPeak / 1024 / 1024, streamingPeak / 1024 / 1024);
+    }
+
+    @Test
+    public void test_rowLimit() throws Exception {
+        MockMultipartFile file = buildWorkHourFile(20);
+        Assertions.assertThrows(AppException.class, () -> ExcelUtils.readExcel(file, new WorkHourExcelRowParser(),
+                ExcelUtils.DEFAULT_BATCH_SIZE, 10, batch -> {
+                }));
+        Assertions.assertEquals(20, ExcelUtils.readExcel(file, new WorkHourExcelRowParser()).size());
+    }
+
+    @Test
+    public void test_numericCellsMatchWorkbookRead() throws Exception {
+        MockMultipartFile file = buildWorkHourFile(3);
+        WorkHourExcelData first = ExcelUtils.readExcel(file, new WorkHourExcelRowParser()).get(0);
+        Assertions.assertEquals("WH000001", first.getCode());
+        Assertions.assertEquals("1.5", first.getStandardHours());
+        Assertions.assertEquals("1", first.getStepOrder());
+    }
+
+    private MockMultipartFile buildWorkHourFile(int rows) throws Exception {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(500);
+        try {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("工时代码");
+            header.createCell(1).setCellValue("工时描述");
+            header.createCell(2).setCellValue("标准工时");
+            header.createCell(3).setCellValue("步骤顺序");
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(String.format("WH%06d", i));
+                row.createCell(1).setCellValue("拆装工时描述-" + i);
+                row.createCell(2).setCellValue(1.5);
+                row.createCell(3).setCellValue(i % 10);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            return new MockMultipartFile("file", "work_hour.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 采样线程轮询堆使用量，返回相对执行前基线的峰值增量
+     */
+    private long measurePeakHeap(ThrowingRunnable task) throws Exception {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memoryBean.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(memoryBean.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+        try {
+            task.run();
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+        return peak.get() - baseline;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+}
@@ -0,0 +1,251 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
+import cn.cug.sxy.domain.structure.model.valobj.NodeType;
+import cn.cug.sxy.infrastructure.adapter.repository.AbstractRepository;
+import cn.cug.sxy.infrastructure.adapter.repository.InstanceNodeRepository;
+import cn.cug.sxy.infrastructure.dao.IInstanceNodeClosureDao;
+import cn.cug.sxy.infrastructure.dao.IInstanceStructureNodeDao;
+import cn.cug.sxy.infrastructure.dao.po.InstanceStructureNodePO;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.infrastructure.redis.NearCacheManager;
+import cn.cug.sxy.types.enums.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/24 15:30
+ * @Description 实例节点闭包表：写入、移动、删除后闭包关系与父子关系保持一致，子树查询不受ID前缀干扰
+ * @Author jerryhotton
+ */
+
+public class InstanceNodeClosureTest {
+
+    private final Map<Long, InstanceStructureNodePO> nodes = new LinkedHashMap<>();
+    private final List<long[]> closure = new ArrayList<>();
+    private InstanceNodeRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        IRedisService redisService = Mockito.mock(IRedisService.class);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(Mockito.mock(TransactionStatus.class)));
+        repository = new InstanceNodeRepository(nodeDao(), closureDao(), redisService, transactionTemplate);
+        // 缓存基类按字段注入，这里直接填充，使查询全部回源到内存数据
+        ReflectionTestUtils.setField(repository, AbstractRepository.class, "redisService", redisService, IRedisService.class);
+        ReflectionTestUtils.setField(repository, AbstractRepository.class, "nearCacheManager",
+                Mockito.mock(NearCacheManager.class), NearCacheManager.class);
+    }
+
+    @Test
+    public void test_descendants_notConfusedByIdPrefix() {
+        StructureInstanceNodeEntity root = repository.save(node(null));
+        List<StructureInstanceNodeEntity> children = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            children.add(node(root.getId()));
+        }
+        repository.saveBatch(children);
+        // ID 为 2 与 23 的节点路径分别为 1-2、1-23，前缀匹配会把后者误判为前者的后代
+        StructureInstanceNodeEntity node2 = children.get(0);
+        StructureInstanceNodeEntity node23 = children.get(21);
+        Assertions.assertEquals(2L, node2.getId().getId());
+        Assertions.assertEquals(23L, node23.getId().getId());
+        StructureInstanceNodeEntity leaf = repository.save(node(node2.getId()));
+        repository.save(node(node23.getId()));
+
+        Assertions.assertEquals(List.of(leaf.getId().getId()), ids(repository.findDescendants(node2.getId(), null)));
+        Assertions.assertEquals(25, repository.findDescendants(root.getId(), 1).size());
+        Assertions.assertEquals(27, repository.findDescendants(root.getId(), null).size());
+        Assertions.assertEquals(28, repository.findSubTree(root.getId()).size());
+        assertClosureConsistent();
+    }
+
+    @Test
+    public void test_moveSubtree_relinksAncestorChain() {
+        StructureInstanceNodeEntity root = repository.save(node(null));
+        StructureInstanceNodeEntity a = repository.save(node(root.getId()));
+        StructureInstanceNodeEntity b = repository.save(node(root.getId()));
+        StructureInstanceNodeEntity a1 = repository.save(node(a.getId()));
+        StructureInstanceNodeEntity a1x = repository.save(node(a1.getId()));
+
+        // 将 a1 连同子节点移到 b 下
+        Assertions.assertEquals(1, repository.updateParentId(a1.getId(), b.getId()));
+        Assertions.assertEquals(List.of(root.getId().getId(), b.getId().getId(), a1.getId().getId()),
+                ids(repository.findAncestors(a1x.getId())));
+        Assertions.assertTrue(repository.isAncestor(b.getId(), a1x.getId()));
+        Assertions.assertFalse(repository.isAncestor(a.getId(), a1x.getId()));
+        Assertions.assertEquals(List.of(a1.getId().getId()), ids(repository.findDescendants(b.getId(), 1)));
+        // 移到自身后代下会形成循环，服务层据此拒绝
+        Assertions.assertTrue(repository.isAncestor(a1.getId(), a1x.getId()));
+
+        // 移为根节点
+        Assertions.assertEquals(1, repository.updateParentId(a1.getId(), null));
+        Assertions.assertEquals(List.of(a1.getId().getId()), ids(repository.findAncestors(a1x.getId())));
+        assertClosureConsistent();
+    }
+
+    @Test
+    public void test_deleteSubTree_removesNodesAndLinks() {
+        StructureInstanceNodeEntity root = repository.save(node(null));
+        StructureInstanceNodeEntity a = repository.save(node(root.getId()));
+        StructureInstanceNodeEntity b = repository.save(node(root.getId()));
+        repository.save(node(a.getId()));
+        repository.save(node(b.getId()));
+
+        Assertions.assertEquals(2, repository.deleteSubTree(a.getId()));
+        Assertions.assertEquals(Set.of(root.getId().getId(), b.getId().getId(), b.getId().getId() + 2), nodes.keySet());
+        assertClosureConsistent();
+    }
+
+    /**
+     * 闭包表应恰好等于沿 parent_id 逐级回溯得到的（祖先, 后代, 层级差）集合
+     */
+    private void assertClosureConsistent() {
+        Set<String> expected = new HashSet<>();
+        for (InstanceStructureNodePO po : nodes.values()) {
+            int depth = 0;
+            Long ancestorId = po.getId();
+            while (ancestorId != null) {
+                expected.add(ancestorId + ":" + po.getId() + ":" + depth++);
+                ancestorId = nodes.get(ancestorId).getParentId();
+            }
+        }
+        Set<String> actual = closure.stream().map(row -> row[0] + ":" + row[1] + ":" + row[2]).collect(Collectors.toSet());
+        Assertions.assertEquals(closure.size(), actual.size());
+        Assertions.assertEquals(expected, actual);
+    }
+
+    private StructureInstanceNodeEntity node(InstanceNodeId parentId) {
+        return StructureInstanceNodeEntity.builder()
+                .instanceId(new InstanceId(1L))
+                .parentId(parentId)
+                .nodeType(NodeType.GROUP)
+                .nodeCode("N" + (nodes.size() + 1))
+                .sortOrder(0)
+                .status(Status.ENABLED)
+                .build();
+    }
+
+    private List<Long> ids(List<StructureInstanceNodeEntity> entities) {
+        return entities.stream().map(entity -> entity.getId().getId()).toList();
+    }
+
+    /**
+     * 按闭包关系取出与节点相连的节点：resultColumn 为 1 时取后代，为 0 时取祖先
+     */
+    private List<InstanceStructureNodePO> linked(long nodeId, int resultColumn, int depthFrom, Integer depthTo,
+                                                 Comparator<long[]> order) {
+        int otherColumn = 1 - resultColumn;
+        return closure.stream()
+                .filter(row -> row[otherColumn] == nodeId && row[2] >= depthFrom && (depthTo == null || row[2] <= depthTo))
+                .sorted(order)
+                .map(row -> nodes.get(row[resultColumn]))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private IInstanceStructureNodeDao nodeDao() {
+        return Mockito.mock(IInstanceStructureNodeDao.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "insert":
+                    return insertNode((InstanceStructureNodePO) args[0]);
+                case "batchInsert":
+                    ((List<InstanceStructureNodePO>) args[0]).forEach(this::insertNode);
+                    return ((List<?>) args[0]).size();
+                case "selectById":
+                    return nodes.get((Long) args[0]);
+                case "updateParentId":
+                    InstanceStructureNodePO po = (InstanceStructureNodePO) args[0];
+                    nodes.get(po.getId()).setParentId(po.getParentId());
+                    return 1;
+                case "selectDescendants":
+                    return linked((Long) args[0], 1, 1, (Integer) args[1], Comparator.comparingLong(row -> row[2]));
+                case "selectDescendantKeys":
+                    return linked((Long) args[0], 1, 1, null, Comparator.comparingLong(row -> row[2]));
+                case "selectAncestors":
+                    return linked((Long) args[0], 0, 1, null, Comparator.comparingLong(row -> -row[2]));
+                case "deleteByIds":
+                    int count = 0;
+                    for (Long id : (List<Long>) args[0]) {
+                        count += nodes.remove(id) == null ? 0 : 1;
+                    }
+                    return count;
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private IInstanceNodeClosureDao closureDao() {
+        return Mockito.mock(IInstanceNodeClosureDao.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "insertForNodes":
+                    List<long[]> rows = new ArrayList<>();
+                    for (Long id : (List<Long>) args[0]) {
+                        Long parentId = nodes.get(id).getParentId();
+                        closure.stream()
+                                .filter(row -> parentId != null && row[1] == parentId)
+                                .forEach(row -> rows.add(new long[]{row[0], id, row[2] + 1}));
+                        rows.add(new long[]{id, id, 0});
+                    }
+                    closure.addAll(rows);
+                    return rows.size();
+                case "deleteOuterLinks":
+                    Set<Long> subtree = subtree((Long) args[0]);
+                    int before = closure.size();
+                    closure.removeIf(row -> subtree.contains(row[1]) && !subtree.contains(row[0]));
+                    return before - closure.size();
+                case "insertOuterLinks":
+                    List<long[]> links = new ArrayList<>();
+                    for (long[] sup : closure) {
+                        if (sup[1] != (Long) args[1]) {
+                            continue;
+                        }
+                        for (long[] sub : closure) {
+                            if (sub[0] == (Long) args[0]) {
+                                links.add(new long[]{sup[0], sub[1], sup[2] + sub[2] + 1});
+                            }
+                        }
+                    }
+                    closure.addAll(links);
+                    return links.size();
+                case "deleteByNodeIds":
+                    Collection<Long> ids = (List<Long>) args[0];
+                    int size = closure.size();
+                    closure.removeIf(row -> ids.contains(row[0]) || ids.contains(row[1]));
+                    return size - closure.size();
+                case "countLink":
+                    return (int) closure.stream().filter(row -> row[0] == (Long) args[0] && row[1] == (Long) args[1]).count();
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    private int insertNode(InstanceStructureNodePO po) {
+        po.setId((long) nodes.size() + 1);
+        nodes.put(po.getId(), po);
+        return 1;
+    }
+
+    private Set<Long> subtree(long nodeId) {
+        return closure.stream().filter(row -> row[0] == nodeId).map(row -> row[1]).collect(Collectors.toSet());
+    }
+
+}
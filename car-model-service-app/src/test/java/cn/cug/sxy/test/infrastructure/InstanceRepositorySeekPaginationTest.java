@@ -0,0 +1,114 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceEntity;
+import cn.cug.sxy.domain.structure.model.valobj.StructureInstancePageVO;
+import cn.cug.sxy.infrastructure.adapter.repository.InstanceRepository;
+import cn.cug.sxy.infrastructure.dao.IInstanceStructureDao;
+import cn.cug.sxy.infrastructure.dao.po.InstanceStructurePO;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.types.enums.Status;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/19 14:00
+ * @Description 实例游标分页：逐页续读不重不漏（含创建时间相同的行），条件变化时拒绝旧令牌
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class InstanceRepositorySeekPaginationTest {
+
+    private static final int ROW_COUNT = 1_003;
+    private static final int PAGE_SIZE = 50;
+
+    @Test
+    public void test_seek_walkAllPagesWithoutGapsOrDuplicates() {
+        List<InstanceStructurePO> rows = createRows();
+        AtomicInteger seekQueries = new AtomicInteger();
+        InstanceRepository repository = new InstanceRepository(seekDao(rows, seekQueries), Mockito.mock(IRedisService.class));
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        StructureInstancePageVO page;
+        do {
+            page = repository.findInstancesBySeek(null, null, Status.ENABLED, null, null, cursor, PAGE_SIZE, false);
+            page.getInstances().forEach(instance -> visited.add(instance.getId().getId()));
+            Assertions.assertNull(page.getTotal());
+            cursor = page.getNextCursor();
+        } while (page.getHasMore());
+
+        List<Long> expected = rows.stream()
+                .filter(row -> Status.ENABLED.getCode().equals(row.getStatus()))
+                .sorted(Comparator.comparing(InstanceStructurePO::getCreatedTime).thenComparing(InstanceStructurePO::getId).reversed())
+                .map(InstanceStructurePO::getId)
+                .toList();
+        log.info("游标分页 行数:{} 每页:{} 查询次数:{}", expected.size(), PAGE_SIZE, seekQueries.get());
+        Assertions.assertEquals(expected, visited);
+        Assertions.assertEquals((expected.size() + PAGE_SIZE - 1) / PAGE_SIZE, seekQueries.get());
+    }
+
+    @Test
+    public void test_seek_cursorBoundToFilter() {
+        InstanceRepository repository = new InstanceRepository(seekDao(createRows(), new AtomicInteger()), Mockito.mock(IRedisService.class));
+        StructureInstancePageVO first = repository.findInstancesBySeek(null, null, Status.ENABLED, null, null, null, PAGE_SIZE, false);
+
+        Assertions.assertTrue(first.getHasMore());
+        Assertions.assertThrows(AppException.class, () ->
+                repository.findInstancesBySeek(null, "发动机", Status.ENABLED, null, null, first.getNextCursor(), PAGE_SIZE, false));
+        Assertions.assertThrows(AppException.class, () ->
+                repository.findInstancesBySeek(null, null, Status.ENABLED, null, null, "not-a-cursor", PAGE_SIZE, false));
+    }
+
+    /**
+     * 每 7 行共用一个创建时间，验证以 ID 作为次级排序键时不会漏行
+     */
+    private List<InstanceStructurePO> createRows() {
+        LocalDateTime base = LocalDateTime.of(2025, 9, 1, 0, 0);
+        List<InstanceStructurePO> rows = new ArrayList<>(ROW_COUNT);
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            InstanceStructurePO po = new InstanceStructurePO();
+            po.setId((long) i);
+            po.setInstanceCode("INS-" + i);
+            po.setInstanceName("实例" + i);
+            po.setVersion("1.0");
+            po.setStatus(i % 10 == 0 ? Status.DELETED.getCode() : Status.ENABLED.getCode());
+            po.setCreatedTime(base.plusSeconds(i / 7));
+            rows.add(po);
+        }
+
+        return rows;
+    }
+
+    /**
+     * 按 SQL 语义在内存中执行条件过滤、(created_time, id) 倒序与定位谓词
+     */
+    private IInstanceStructureDao seekDao(List<InstanceStructurePO> rows, AtomicInteger seekQueries) {
+        IInstanceStructureDao dao = Mockito.mock(IInstanceStructureDao.class);
+        Mockito.when(dao.selectByConditionSeek(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt())).thenAnswer(invocation -> {
+            seekQueries.incrementAndGet();
+            InstanceStructurePO condition = invocation.getArgument(0);
+            LocalDateTime cursorTime = invocation.getArgument(1);
+            Long cursorId = invocation.getArgument(2);
+            int limit = invocation.getArgument(3);
+            return rows.stream()
+                    .filter(row -> condition.getStatus() == null || condition.getStatus().equals(row.getStatus()))
+                    .filter(row -> cursorTime == null || row.getCreatedTime().isBefore(cursorTime)
+                            || (row.getCreatedTime().isEqual(cursorTime) && row.getId() < cursorId))
+                    .sorted(Comparator.comparing(InstanceStructurePO::getCreatedTime).thenComparing(InstanceStructurePO::getId).reversed())
+                    .limit(limit)
+                    .toList();
+        });
+
+        return dao;
+    }
+
+}
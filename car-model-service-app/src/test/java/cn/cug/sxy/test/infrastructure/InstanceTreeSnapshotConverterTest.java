@@ -0,0 +1,72 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceTreeSnapshot;
+import cn.cug.sxy.domain.structure.model.valobj.NodeType;
+import cn.cug.sxy.infrastructure.converter.InstanceTreeSnapshotConverter;
+import cn.cug.sxy.types.enums.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/30 14:00
+ * @Description 实例全树快照编码：往返保留子树哈希等节点字段
+ * @Author jerryhotton
+ */
+
+public class InstanceTreeSnapshotConverterTest {
+
+    @Test
+    public void test_roundTrip_keepsSubtreeHash() {
+        InstanceId instanceId = new InstanceId(10L);
+        LocalDateTime now = LocalDateTime.of(2025, 9, 30, 14, 0, 0, 123_000_000);
+        StructureInstanceNodeEntity root = StructureInstanceNodeEntity.builder()
+                .id(new InstanceNodeId(100L))
+                .instanceId(instanceId)
+                .nodeType(NodeType.CATEGORY)
+                .nodeCode("S1")
+                .nodeName("制动系统")
+                .sortOrder(0)
+                .nodePath("100")
+                .nodeLevel(0)
+                .subtreeHash("9e3779b97f4a7c15")
+                .status(Status.ENABLED)
+                .creator("tester")
+                .createdTime(now)
+                .updatedTime(now)
+                .build();
+        StructureInstanceNodeEntity child = StructureInstanceNodeEntity.builder()
+                .id(new InstanceNodeId(101L))
+                .instanceId(instanceId)
+                .parentId(root.getId())
+                .nodeType(NodeType.USAGE)
+                .nodeCode("U1")
+                .nodeName("前制动")
+                .usageId(5001L)
+                .nodePath("100/101")
+                .nodeLevel(1)
+                .status(Status.ENABLED)
+                .build();
+        InstanceTreeSnapshot snapshot = InstanceTreeSnapshot.builder()
+                .instanceId(instanceId)
+                .nodes(List.of(root, child))
+                .watermark(now)
+                .build();
+
+        InstanceTreeSnapshot decoded = InstanceTreeSnapshotConverter.toSnapshot(InstanceTreeSnapshotConverter.toBytes(snapshot), "etag-1");
+
+        Assertions.assertEquals("etag-1", decoded.getEtag());
+        Assertions.assertEquals(now, decoded.getWatermark());
+        Assertions.assertEquals("9e3779b97f4a7c15", decoded.getNodes().get(0).getSubtreeHash());
+        Assertions.assertNull(decoded.getNodes().get(1).getSubtreeHash());
+        Assertions.assertEquals(5001L, decoded.getNodes().get(1).getUsageId());
+        Assertions.assertEquals(root.getId(), decoded.getNodes().get(1).getParentId());
+    }
+
+}
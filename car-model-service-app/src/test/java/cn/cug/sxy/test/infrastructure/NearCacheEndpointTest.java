@@ -0,0 +1,37 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.config.NearCacheEndpoint;
+import cn.cug.sxy.infrastructure.redis.NearCacheManager;
+import com.google.common.cache.CacheStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+
+/**
+ * @version 1.0
+ * @Date 2025/10/9 15:20
+ * @Description 本地近端缓存监控端点：按区域合并条目数与命中统计
+ * @Author jerryhotton
+ */
+
+public class NearCacheEndpointTest {
+
+    @Test
+    public void test_regions_mergesSizeAndStats() {
+        NearCacheManager nearCacheManager = Mockito.mock(NearCacheManager.class);
+        Mockito.when(nearCacheManager.getStats()).thenReturn(Map.of("part:", new CacheStats(3, 1, 0, 0, 0, 2)));
+        Mockito.when(nearCacheManager.getSizes()).thenReturn(Map.of("part:", 5L));
+
+        Map<String, Object> region = new NearCacheEndpoint(nearCacheManager).regions().get("part:");
+
+        Assertions.assertEquals(5L, region.get("size"));
+        Assertions.assertEquals(4L, region.get("requestCount"));
+        Assertions.assertEquals(3L, region.get("hitCount"));
+        Assertions.assertEquals(1L, region.get("missCount"));
+        Assertions.assertEquals(0.75, region.get("hitRate"));
+        Assertions.assertEquals(2L, region.get("evictionCount"));
+    }
+
+}
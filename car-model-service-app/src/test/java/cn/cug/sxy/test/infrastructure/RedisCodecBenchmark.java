@@ -0,0 +1,84 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.infrastructure.dao.po.InstanceStructureNodePO;
+import cn.cug.sxy.infrastructure.redis.codec.CompactBinaryCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/28 15:00
+ * @Description Redis 值编码基准：实例节点列表在 JSON、紧凑二进制、紧凑二进制+LZ4 下的编解码耗时与字节数
+ * 字节数在准备阶段输出；通过 main 方法运行，不随单元测试执行
+ * @Author jerryhotton
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisCodecBenchmark {
+
+    @Param({"1000", "10000"})
+    private int nodeCount;
+
+    @Param({"json", "compact", "compact_lz4"})
+    private String codecName;
+
+    private Codec codec;
+
+    private List<InstanceStructureNodePO> nodes;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        Codec json = new JsonJacksonCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+        codec = switch (codecName) {
+            case "compact" -> new CompactBinaryCodec(json, List.of(InstanceStructureNodePO.class), 0);
+            case "compact_lz4" -> new CompactBinaryCodec(json, List.of(InstanceStructureNodePO.class), 1024);
+            default -> json;
+        };
+        nodes = CompactBinaryCodecTest.nodes(nodeCount);
+        encoded = CompactBinaryCodecTest.encode(codec, nodes);
+        System.out.printf("%n编码:%s 节点数:%d 字节数:%d%n", codecName, nodeCount, encoded.length);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        ByteBuf buf = codec.getValueEncoder().encode(nodes);
+        try {
+            return buf.readableBytes();
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(encoded), null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RedisCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,221 @@
+package cn.cug.sxy.test.infrastructure;
+
+import cn.cug.sxy.domain.series.model.valobj.VinCode;
+import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
+import cn.cug.sxy.infrastructure.adapter.port.DefaultVinQueryPort;
+import cn.cug.sxy.infrastructure.adapter.port.VinQueryCircuitBreaker;
+import cn.cug.sxy.infrastructure.adapter.port.config.VinQueryPortConfig;
+import cn.cug.sxy.infrastructure.gateway.ICarServiceGateway;
+import cn.cug.sxy.infrastructure.gateway.dto.VinQueryRequestDTO;
+import cn.cug.sxy.infrastructure.gateway.dto.VinQueryResponseDTO;
+import cn.cug.sxy.infrastructure.gateway.response.Response;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.types.common.Constants;
+import cn.cug.sxy.types.enums.ResponseCode;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Request;
+import okio.Timeout;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import retrofit2.Call;
+import retrofit2.Callback;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/9 16:40
+ * @Description VIN码批量查询压测：使用本地桩替代厂商接口，统计并发上限、缓存命中与熔断
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@SpringBootTest
+public class VinQueryPortLoadTest {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_CONCURRENCY = 8;
+    private static final long LATENCY_MILLIS = 50;
+
+    @Resource
+    private IRedisService redisService;
+
+    @Test
+    public void test_batchQuery_boundedConcurrencyAndCache() throws Exception {
+        StubCarServiceGateway gateway = new StubCarServiceGateway(LATENCY_MILLIS, 0.2);
+        DefaultVinQueryPort port = new DefaultVinQueryPort(newConfig(), redisService, gateway);
+        List<VinCode> vinCodes = randomVinCodes(BATCH_SIZE);
+        try {
+            long start = System.currentTimeMillis();
+            Map<VinCode, VinQueryResult> results = port.queryByVins(vinCodes);
+            long elapsed = System.currentTimeMillis() - start;
+            long successCount = results.values().stream().filter(VinQueryResult::isSuccess).count();
+            log.info("批量查询 数量:{} 成功:{} 耗时:{}ms 上游调用:{} 最大并发:{} 串行预计耗时:{}ms",
+                    BATCH_SIZE, successCount, elapsed, gateway.calls.get(), gateway.maxInFlight.get(),
+                    BATCH_SIZE * LATENCY_MILLIS);
+            Assertions.assertEquals(BATCH_SIZE, results.size());
+            Assertions.assertTrue(gateway.maxInFlight.get() <= MAX_CONCURRENCY);
+            Assertions.assertTrue(elapsed < BATCH_SIZE * LATENCY_MILLIS);
+
+            // 再次查询，成功结果全部命中缓存
+            int callsBefore = gateway.calls.get();
+            Map<VinCode, VinQueryResult> cachedResults = port.queryByVins(vinCodes);
+            long cachedSuccessCount = cachedResults.values().stream().filter(VinQueryResult::isSuccess).count();
+            log.info("缓存查询 成功:{} 新增上游调用:{}", cachedSuccessCount, gateway.calls.get() - callsBefore);
+            Assertions.assertTrue(cachedSuccessCount >= successCount);
+            Assertions.assertTrue(gateway.calls.get() - callsBefore <= BATCH_SIZE - successCount);
+        } finally {
+            port.destroy();
+            redisService.remove(vinCodes.stream()
+                    .map(vinCode -> Constants.RedisKey.VIN_QUERY_RESULT_KEY + vinCode.getCode())
+                    .toList());
+        }
+    }
+
+    @Test
+    public void test_circuitBreaker_fastFail() throws Exception {
+        StubCarServiceGateway gateway = new StubCarServiceGateway(10, 1.0);
+        VinQueryPortConfig config = newConfig();
+        config.setMaxRetries(1);
+        DefaultVinQueryPort port = new DefaultVinQueryPort(config, redisService, gateway);
+        try {
+            Map<VinCode, VinQueryResult> results = port.queryByVins(randomVinCodes(50));
+            log.info("上游持续异常 上游调用:{} 熔断状态:{}", gateway.calls.get(), port.getCircuitState());
+            Assertions.assertTrue(results.values().stream().noneMatch(VinQueryResult::isSuccess));
+            Assertions.assertEquals(VinQueryCircuitBreaker.State.OPEN, port.getCircuitState());
+            Assertions.assertTrue(gateway.calls.get() < 50);
+        } finally {
+            port.destroy();
+        }
+    }
+
+    private VinQueryPortConfig newConfig() {
+        VinQueryPortConfig config = new VinQueryPortConfig();
+        config.getPorts().put("default", new VinQueryPortConfig.PortConfig());
+        config.setMaxConcurrency(MAX_CONCURRENCY);
+        config.setRetryBaseDelayMillis(20);
+        config.setRetryMaxDelayMillis(200);
+        config.setCacheTtlHours(1);
+        config.getCircuitBreaker().setFailureThreshold(MAX_CONCURRENCY);
+
+        return config;
+    }
+
+    private List<VinCode> randomVinCodes(int count) {
+        List<VinCode> vinCodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vinCodes.add(new VinCode(String.format("LT%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L))));
+        }
+
+        return vinCodes;
+    }
+
+    /**
+     * 厂商接口本地桩：固定延迟，按比例抛出网络异常
+     */
+    static class StubCarServiceGateway implements ICarServiceGateway {
+
+        private final long latencyMillis;
+        private final double failureRate;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        StubCarServiceGateway(long latencyMillis, double failureRate) {
+            this.latencyMillis = latencyMillis;
+            this.failureRate = failureRate;
+        }
+
+        @Override
+        public Call<Response<VinQueryResponseDTO>> queryCarModelByVin(VinQueryRequestDTO vinQueryRequestDTO) {
+            return new StubCall(this);
+        }
+
+        private retrofit2.Response<Response<VinQueryResponseDTO>> invoke() throws IOException {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMillis);
+                if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                    throw new IOException("stub connection reset");
+                }
+                VinQueryResponseDTO responseDTO = new VinQueryResponseDTO();
+                responseDTO.setModelCode("MODEL_STUB");
+                responseDTO.setModelName("测试车型");
+                responseDTO.setBrand("测试品牌");
+                responseDTO.setPowerType("gasoline");
+
+                return retrofit2.Response.success(Response.<VinQueryResponseDTO>builder()
+                        .code(ResponseCode.SUCCESS.getCode())
+                        .info(ResponseCode.SUCCESS.getInfo())
+                        .data(responseDTO)
+                        .build());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+    }
+
+    static class StubCall implements Call<Response<VinQueryResponseDTO>> {
+
+        private final StubCarServiceGateway gateway;
+        private volatile boolean executed;
+
+        StubCall(StubCarServiceGateway gateway) {
+            this.gateway = gateway;
+        }
+
+        @Override
+        public retrofit2.Response<Response<VinQueryResponseDTO>> execute() throws IOException {
+            executed = true;
+            return gateway.invoke();
+        }
+
+        @Override
+        public void enqueue(Callback<Response<VinQueryResponseDTO>> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return false;
+        }
+
+        @Override
+        public Call<Response<VinQueryResponseDTO>> clone() {
+            return new StubCall(gateway);
+        }
+
+        @Override
+        public Request request() {
+            return new Request.Builder().url("http://localhost/api/v1/vin/query_car_model_by_vin").build();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+    }
+
+}
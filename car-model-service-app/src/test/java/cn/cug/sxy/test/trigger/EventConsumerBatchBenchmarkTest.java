@@ -0,0 +1,240 @@
+package cn.cug.sxy.test.trigger;
+
+import cn.cug.sxy.domain.event.adapter.repository.ITaskRepository;
+import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.event.service.IMessagePersistenceService;
+import cn.cug.sxy.domain.event.service.IRetryStateManager;
+import cn.cug.sxy.domain.event.service.MessagePersistenceService;
+import cn.cug.sxy.domain.event.service.MessageStateSynchronizer;
+import cn.cug.sxy.domain.event.service.strategy.SyncFromDatabaseStrategy;
+import cn.cug.sxy.trigger.listener.AbstractEventConsumer;
+import cn.cug.sxy.types.event.BaseEvent;
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/15 10:20
+ * @Description 事件消费吞吐基准：内存任务表（模拟数据库往返延迟）+ 模拟信道，对比逐条消费与批量消费
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class EventConsumerBatchBenchmarkTest {
+
+    private static final int MESSAGE_COUNT = 2_000;
+    private static final int BATCH_SIZE = 50;
+    /**
+     * 模拟一次数据库往返耗时
+     */
+    private static final long DB_ROUND_TRIP_NANOS = 200_000;
+
+    @Test
+    public void test_throughput_singleVsBatch() throws Exception {
+        // 逐条消费
+        AtomicInteger singleRoundTrips = new AtomicInteger();
+        Map<String, TaskEntity> singleTasks = createTasks(MESSAGE_COUNT);
+        BenchmarkConsumer singleConsumer = createConsumer(singleTasks, singleRoundTrips, messageId -> true);
+        Channel singleChannel = Mockito.mock(Channel.class);
+        long singleStart = System.nanoTime();
+        long tag = 1;
+        for (String messageId : singleTasks.keySet()) {
+            MessageProperties properties = new MessageProperties();
+            properties.setDeliveryTag(tag++);
+            singleConsumer.consume(eventMessage(messageId), new Message(new byte[0], properties), singleChannel);
+        }
+        long singleMillis = (System.nanoTime() - singleStart) / 1_000_000;
+
+        // 批量消费
+        AtomicInteger batchRoundTrips = new AtomicInteger();
+        Map<String, TaskEntity> batchTasks = createTasks(MESSAGE_COUNT);
+        BenchmarkConsumer batchConsumer = createConsumer(batchTasks, batchRoundTrips, messageId -> true);
+        Channel batchChannel = Mockito.mock(Channel.class);
+        List<String> messageIds = new ArrayList<>(batchTasks.keySet());
+        long batchStart = System.nanoTime();
+        for (int from = 0; from < messageIds.size(); from += BATCH_SIZE) {
+            batchConsumer.consumeBatch(batchMessages(messageIds.subList(from, Math.min(from + BATCH_SIZE, messageIds.size())), from + 1), batchChannel);
+        }
+        long batchMillis = (System.nanoTime() - batchStart) / 1_000_000;
+
+        log.info("事件消费吞吐 消息:{} 逐条:{}ms({}条/s, 数据库往返{}次) 批量(每批{}):{}ms({}条/s, 数据库往返{}次)",
+                MESSAGE_COUNT, singleMillis, MESSAGE_COUNT * 1000L / Math.max(1, singleMillis), singleRoundTrips.get(),
+                BATCH_SIZE, batchMillis, MESSAGE_COUNT * 1000L / Math.max(1, batchMillis), batchRoundTrips.get());
+
+        Mockito.verify(singleChannel, Mockito.times(MESSAGE_COUNT)).basicAck(Mockito.anyLong(), Mockito.eq(false));
+        Mockito.verify(batchChannel, Mockito.times(MESSAGE_COUNT / BATCH_SIZE)).basicAck(Mockito.anyLong(), Mockito.eq(true));
+        Mockito.verify(batchChannel, Mockito.never()).basicAck(Mockito.anyLong(), Mockito.eq(false));
+        Assertions.assertTrue(batchTasks.values().stream().allMatch(task -> TaskState.COMPLETED.equals(task.getState())));
+        Assertions.assertEquals(3 * MESSAGE_COUNT, singleRoundTrips.get());
+        Assertions.assertEquals(3 * MESSAGE_COUNT / BATCH_SIZE, batchRoundTrips.get());
+    }
+
+    @Test
+    public void test_batch_failureFallsBackToRetry() throws Exception {
+        Map<String, TaskEntity> tasks = createTasks(5);
+        List<String> messageIds = new ArrayList<>(tasks.keySet());
+        String failedId = messageIds.get(2);
+        AtomicInteger roundTrips = new AtomicInteger();
+        BenchmarkConsumer consumer = createConsumer(tasks, roundTrips, messageId -> !messageId.equals(failedId));
+        Mockito.when(consumer.retryStateManager().evaluateRetry(Mockito.any(), Mockito.anyString()))
+                .thenReturn(new IRetryStateManager.RetryContext(failedId, "test", 0, 3, 1000, "业务处理失败",
+                        IRetryStateManager.RetryDecision.RETRY));
+        Mockito.when(consumer.retryStateManager().executeRetry(Mockito.any(), Mockito.any())).thenReturn(true);
+        Channel channel = Mockito.mock(Channel.class);
+
+        consumer.consumeBatch(batchMessages(messageIds, 1), channel);
+
+        // 失败消息先经重试逻辑单条确认，成功消息以最大投递标签一次确认
+        Mockito.verify(channel).basicAck(3L, false);
+        Mockito.verify(channel).basicAck(5L, true);
+        Mockito.verify(channel, Mockito.never()).basicNack(Mockito.anyLong(), Mockito.anyBoolean(), Mockito.anyBoolean());
+        for (String messageId : messageIds) {
+            TaskState expected = messageId.equals(failedId) ? TaskState.PROCESSING : TaskState.COMPLETED;
+            Assertions.assertEquals(expected, tasks.get(messageId).getState());
+        }
+    }
+
+    @Test
+    public void test_batch_prepareFailureRetriesEachMessage() throws Exception {
+        Map<String, TaskEntity> tasks = createTasks(3);
+        List<String> messageIds = new ArrayList<>(tasks.keySet());
+        MessageStateSynchronizer messageStateSynchronizer = Mockito.mock(MessageStateSynchronizer.class);
+        Mockito.when(messageStateSynchronizer.syncMessageStates(Mockito.any())).thenThrow(new IllegalStateException("数据库不可用"));
+        IRetryStateManager retryStateManager = Mockito.mock(IRetryStateManager.class);
+        Mockito.when(retryStateManager.evaluateRetry(Mockito.any(), Mockito.anyString()))
+                .thenReturn(new IRetryStateManager.RetryContext("any", "test", 0, 3, 1000, "批量准备异常",
+                        IRetryStateManager.RetryDecision.RETRY));
+        Mockito.when(retryStateManager.executeRetry(Mockito.any(), Mockito.any())).thenReturn(true);
+        BenchmarkConsumer consumer = new BenchmarkConsumer(new MessagePersistenceService(taskRepository(tasks, new AtomicInteger())),
+                retryStateManager, messageStateSynchronizer, messageId -> true);
+        Channel channel = Mockito.mock(Channel.class);
+
+        consumer.consumeBatch(batchMessages(messageIds, 1), channel);
+
+        // 整批逐条进入重试并单条确认，不做批量确认
+        Mockito.verify(retryStateManager, Mockito.times(3)).executeRetry(Mockito.any(), Mockito.any());
+        for (long tag = 1; tag <= 3; tag++) {
+            Mockito.verify(channel).basicAck(tag, false);
+        }
+        Mockito.verify(channel, Mockito.never()).basicAck(Mockito.anyLong(), Mockito.eq(true));
+    }
+
+    private Map<String, TaskEntity> createTasks(int count) {
+        Map<String, TaskEntity> tasks = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String messageId = UUID.randomUUID().toString();
+            tasks.put(messageId, TaskEntity.builder()
+                    .messageId(messageId)
+                    .topic("benchmark")
+                    .state(TaskState.PUBLISHED)
+                    .retryCount(0)
+                    .maxRetries(3)
+                    .createdTime(LocalDateTime.now())
+                    .build());
+        }
+
+        return tasks;
+    }
+
+    private BenchmarkConsumer createConsumer(Map<String, TaskEntity> tasks, AtomicInteger roundTrips, Predicate<String> outcome) {
+        IMessagePersistenceService messagePersistenceService = new MessagePersistenceService(taskRepository(tasks, roundTrips));
+        MessageStateSynchronizer messageStateSynchronizer = new MessageStateSynchronizer(messagePersistenceService,
+                Map.of("DATABASE_FIRST", new SyncFromDatabaseStrategy(messagePersistenceService)));
+
+        return new BenchmarkConsumer(messagePersistenceService, Mockito.mock(IRetryStateManager.class), messageStateSynchronizer, outcome);
+    }
+
+    /**
+     * 内存任务表，每次调用模拟一次数据库往返
+     */
+    @SuppressWarnings("unchecked")
+    private ITaskRepository taskRepository(Map<String, TaskEntity> tasks, AtomicInteger roundTrips) {
+        return Mockito.mock(ITaskRepository.class, invocation -> {
+            roundTrips.incrementAndGet();
+            LockSupport.parkNanos(DB_ROUND_TRIP_NANOS);
+            Object[] args = invocation.getArguments();
+            switch (invocation.getMethod().getName()) {
+                case "findByMessageId":
+                    return tasks.get((String) args[0]);
+                case "findByMessageIds":
+                    return ((List<String>) args[0]).stream().map(tasks::get).filter(Objects::nonNull).toList();
+                case "updateState":
+                    TaskEntity update = (TaskEntity) args[0];
+                    tasks.get(update.getMessageId()).setState(update.getState());
+                    return true;
+                case "updateStateBatch":
+                    TaskState state = TaskState.valueOf((String) args[1]);
+                    List<String> messageIds = (List<String>) args[0];
+                    messageIds.forEach(messageId -> tasks.get(messageId).setState(state));
+                    return messageIds.size();
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    private BaseEvent.EventMessage<String> eventMessage(String messageId) {
+        return BaseEvent.EventMessage.<String>builder()
+                .id(messageId)
+                .topic("benchmark")
+                .timestamp(LocalDateTime.now())
+                .data(messageId)
+                .build();
+    }
+
+    private List<org.springframework.messaging.Message<BaseEvent.EventMessage<String>>> batchMessages(List<String> messageIds, long firstTag) {
+        List<org.springframework.messaging.Message<BaseEvent.EventMessage<String>>> messages = new ArrayList<>(messageIds.size());
+        long tag = firstTag;
+        for (String messageId : messageIds) {
+            messages.add(MessageBuilder.withPayload(eventMessage(messageId))
+                    .setHeader(AmqpHeaders.DELIVERY_TAG, tag++)
+                    .build());
+        }
+
+        return messages;
+    }
+
+    private static class BenchmarkConsumer extends AbstractEventConsumer<String> {
+
+        private final Predicate<String> outcome;
+
+        BenchmarkConsumer(IMessagePersistenceService messagePersistenceService, IRetryStateManager retryStateManager,
+                          MessageStateSynchronizer messageStateSynchronizer, Predicate<String> outcome) {
+            super(messagePersistenceService, retryStateManager, messageStateSynchronizer);
+            this.outcome = outcome;
+        }
+
+        void consume(BaseEvent.EventMessage<String> eventMessage, Message message, Channel channel) throws Exception {
+            handleEvent(eventMessage, message, channel);
+        }
+
+        void consumeBatch(List<org.springframework.messaging.Message<BaseEvent.EventMessage<String>>> messages, Channel channel) throws Exception {
+            handleEventBatch(messages, channel);
+        }
+
+        IRetryStateManager retryStateManager() {
+            return retryStateManager;
+        }
+
+        @Override
+        protected boolean processBusinessLogic(BaseEvent.EventMessage<String> event) {
+            return outcome.test(event.getId());
+        }
+
+    }
+
+}
@@ -0,0 +1,53 @@
+package cn.cug.sxy.domain.event.adapter.port;
+
+import cn.cug.sxy.domain.event.model.valobj.DelayedMessage;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/18 10:00
+ * @Description 延迟队列端口：以到期时间为分值的有序集合，进程重启后仍保留，多节点共享
+ * @Author jerryhotton
+ */
+
+public interface IDelayedQueuePort {
+
+    /**
+     * 加入延迟投递项，同一消息重复加入时覆盖到期时间
+     *
+     * @param message 延迟投递项
+     */
+    void add(DelayedMessage message);
+
+    /**
+     * 批量加入延迟投递项
+     *
+     * @param messages 延迟投递项
+     */
+    void addAll(Collection<DelayedMessage> messages);
+
+    /**
+     * 查询到期时间不晚于指定时间的投递项（不移除）
+     *
+     * @param dueBeforeMillis 到期时间上限（含）
+     * @param limit           数量上限
+     * @return 投递项，按到期时间升序
+     */
+    List<DelayedMessage> findDue(long dueBeforeMillis, int limit);
+
+    /**
+     * 认领投递项：逐个从队列移除，只有移除成功的节点负责投递
+     *
+     * @param messageIds 消息ID
+     * @return 本节点认领成功的消息ID
+     */
+    List<String> claim(Collection<String> messageIds);
+
+    /**
+     * 队列中的投递项数量
+     */
+    long size();
+
+}
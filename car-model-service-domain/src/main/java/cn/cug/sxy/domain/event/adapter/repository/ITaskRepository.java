@@ -1,7 +1,10 @@
 package cn.cug.sxy.domain.event.adapter.repository;
 
 import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.TaskArchiveQuery;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -21,6 +24,14 @@ public interface ITaskRepository {
      */
     boolean save(TaskEntity task);
 
+    /**
+     * 批量保存任务（一条多行插入）
+     *
+     * @param tasks 任务实体列表
+     * @return 保存的任务数量
+     */
+    int saveBatch(List<TaskEntity> tasks);
+
     /**
      * 根据消息ID查找任务
      *
@@ -29,6 +40,14 @@ public interface ITaskRepository {
      */
     TaskEntity findByMessageId(String messageId);
 
+    /**
+     * 根据消息ID批量查找任务
+     *
+     * @param messageIds 消息ID列表
+     * @return 任务实体列表，不存在的消息不返回
+     */
+    List<TaskEntity> findByMessageIds(List<String> messageIds);
+
     /**
      * 根据状态查找任务列表
      *
@@ -55,6 +74,41 @@ public interface ITaskRepository {
      */
     List<TaskEntity> findFailedTasks(int limit);
 
+    /**
+     * 认领待发布的任务并写入投递租约（独立短事务）
+     * 租约未到期的任务不会被再次认领，中继宕机时租约到期后由其他实例接管
+     *
+     * @param limit      限制数量
+     * @param leaseUntil 租约到期时间（精确到秒），同时作为本次认领的标识
+     * @return 待发布任务列表（按ID升序）
+     */
+    List<TaskEntity> claimUnpublishedTasks(int limit, LocalDateTime leaseUntil);
+
+    /**
+     * 落库一次投递的结果（独立短事务）
+     * 只更新仍处于待发布且租约未被接管的任务，消费者已推进状态的任务保持不变
+     *
+     * @param leaseUntil   认领时写入的租约到期时间
+     * @param publishedIds 已确认发布的消息ID
+     * @param failedIds    无法投递的消息ID
+     * @param releasedIds  未确认、释放租约留待重发的消息ID
+     */
+    void completeRelay(LocalDateTime leaseUntil, List<String> publishedIds, List<String> failedIds, List<String> releasedIds);
+
+    /**
+     * 统计待发布的任务数量
+     *
+     * @return 任务数量
+     */
+    long countUnpublishedTasks();
+
+    /**
+     * 查询最早的待发布任务创建时间
+     *
+     * @return 创建时间，无待发布任务时为空
+     */
+    LocalDateTime findEarliestUnpublishedTime();
+
     /**
      * 查找待处理的任务
      *
@@ -88,6 +142,15 @@ public interface ITaskRepository {
      */
     boolean updateState(TaskEntity task);
 
+    /**
+     * 批量更新任务状态
+     *
+     * @param messageIds 消息ID列表
+     * @param state      任务状态
+     * @return 更新的任务数量
+     */
+    int updateStateBatch(List<String> messageIds, String state);
+
     /**
      * 更新任务重试信息
      *
@@ -108,12 +171,63 @@ public interface ITaskRepository {
 
     /**
      * 清理已完成的历史任务
+     * 分块删除，每块一条短语句，不长时间持有锁
      *
      * @param beforeDays 保留天数
      * @return 清理的任务数量
      */
     int cleanupCompletedTasks(int beforeDays);
 
+    /**
+     * 查找并锁定可归档的事件任务ID（须在事务内调用）
+     *
+     * @param state      任务状态：COMPLETED，或 FAILED（仅重试次数耗尽的任务）
+     * @param beforeTime 创建时间上限
+     * @param limit      限制数量
+     * @return 任务ID列表
+     */
+    List<Long> findArchivableTaskIds(String state, LocalDateTime beforeTime, int limit);
+
+    /**
+     * 将仍满足归档条件的任务移入归档表（复制后删除，须在事务内调用）
+     *
+     * @param ids        任务ID列表
+     * @param beforeTime 创建时间上限，与查找时一致
+     * @return 归档的任务数量
+     */
+    int archiveTasks(List<Long> ids, LocalDateTime beforeTime);
+
+    /**
+     * 分块清理过期归档任务
+     *
+     * @param beforeTime 创建时间上限
+     * @param limit      单次最多删除的数量
+     * @return 删除的任务数量
+     */
+    int purgeArchivedTasks(LocalDateTime beforeTime, int limit);
+
+    /**
+     * 查询归档表已建的月份分区
+     *
+     * @return 分区月份（升序，不含 p_max）
+     */
+    List<YearMonth> findArchivePartitionMonths();
+
+    /**
+     * 从 p_max 拆分出新的月份分区
+     *
+     * @param months 新增分区月份（升序，须晚于已建分区）
+     */
+    void addArchivePartitions(List<YearMonth> months);
+
+    /**
+     * 查询归档任务
+     *
+     * @param query 查询条件
+     * @return 归档任务列表（按ID倒序）
+     */
+    List<TaskEntity> findArchivedTasks(TaskArchiveQuery query);
+
     /**
      * 统计任务数量
      *
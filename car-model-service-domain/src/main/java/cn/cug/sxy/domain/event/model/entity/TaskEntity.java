@@ -42,6 +42,14 @@ public class TaskEntity {
      * 消息主体
      */
     private String message;
+    /**
+     * 目标交换机，为空时使用默认交换机
+     */
+    private String exchange;
+    /**
+     * 路由键，为空时使用默认路由键
+     */
+    private String routingKey;
     /**
      * CREATE-创建、PUBLISHED-已发布、PROCESSING-处理中、completed-完成、FAILED-失败、RETRY-重试中
      */
@@ -70,15 +78,28 @@ public class TaskEntity {
      * 更新时间
      */
     private LocalDateTime updatedTime;
+    /**
+     * 归档时间，仅归档任务有值
+     */
+    private LocalDateTime archivedTime;
 
     /**
      * 创建新任务
      */
     public static TaskEntity create(BaseEvent.EventMessage<?> eventMessage) {
+        return create(eventMessage, null, null);
+    }
+
+    /**
+     * 创建待投递任务（发件箱记录），由投递中继按交换机与路由键发送
+     */
+    public static TaskEntity create(BaseEvent.EventMessage<?> eventMessage, String exchange, String routingKey) {
         return TaskEntity.builder()
                 .messageId(eventMessage.getId())
                 .topic(eventMessage.getTopic())
                 .message(JSON.toJSONString(eventMessage))
+                .exchange(exchange)
+                .routingKey(routingKey)
                 .state(TaskState.CREATE)
                 .retryCount(0)
                 .maxRetries(3)
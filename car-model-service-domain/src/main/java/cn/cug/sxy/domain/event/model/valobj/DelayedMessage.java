@@ -0,0 +1,28 @@
+package cn.cug.sxy.domain.event.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/18 09:30
+ * @Description 延迟投递项：消息体已在任务表中，延迟队列只记录消息ID与到期时间
+ * @Author jerryhotton
+ */
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class DelayedMessage {
+
+    /**
+     * 消息ID
+     */
+    private final String messageId;
+    /**
+     * 到期时间（毫秒时间戳）
+     */
+    private final long dueAtMillis;
+
+}
@@ -0,0 +1,176 @@
+package cn.cug.sxy.domain.event.model.valobj;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/18 09:40
+ * @Description 分层时间轮
+ * 第一层每格 tickMillis，共 wheelSize 格；超出本层范围的定时项放入上一层（每格为下层一整圈），
+ * 上层格到期时把其中的定时项重新放入下层，直至在第一层到期。只有非空格进入到期队列，
+ * 推进时钟的开销与非空格数量相关，与定时项数量无关。非线程安全，由调用方在单线程中驱动
+ * @Author jerryhotton
+ */
+
+public class HierarchicalTimingWheel {
+
+    /**
+     * 所有层共享的非空格队列，按格到期时间排序
+     */
+    private final PriorityQueue<Bucket> dueBuckets = new PriorityQueue<>(Comparator.comparingLong(bucket -> bucket.expiration));
+
+    private final long tickMillis;
+
+    private final Level root;
+
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis 与 wheelSize 必须大于0");
+        }
+        this.tickMillis = tickMillis;
+        this.root = new Level(tickMillis, wheelSize, startMillis);
+    }
+
+    /**
+     * 加入定时项
+     *
+     * @param message 延迟投递项
+     * @return 是否已加入；已到期时返回 false，由调用方立即处理
+     */
+    public boolean add(DelayedMessage message) {
+        // 到期时间向上取整到刻度，定时项只会晚于到期时间（不超过一个刻度）触发，不会提前
+        long dueAt = message.getDueAtMillis();
+        long slotTime = dueAt % tickMillis == 0 ? dueAt : (dueAt / tickMillis + 1) * tickMillis;
+        if (root.add(message, slotTime)) {
+            size++;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * 推进时钟并取出到期的定时项
+     *
+     * @param nowMillis 当前时间（毫秒时间戳）
+     * @return 到期的定时项，按格到期时间先后排列
+     */
+    public List<DelayedMessage> advance(long nowMillis) {
+        List<DelayedMessage> expired = new ArrayList<>();
+        Bucket bucket;
+        while ((bucket = dueBuckets.peek()) != null && bucket.expiration <= nowMillis) {
+            dueBuckets.poll();
+            root.advanceClock(bucket.expiration);
+            List<DelayedMessage> messages = bucket.flush();
+            size -= messages.size();
+            // 上层格中的定时项降级到下层，第一层格中的定时项此时均已到期
+            for (DelayedMessage message : messages) {
+                if (!add(message)) {
+                    expired.add(message);
+                }
+            }
+        }
+        root.advanceClock(nowMillis);
+
+        return expired;
+    }
+
+    /**
+     * 时间轮中的定时项数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 层数（含按需创建的上层）
+     */
+    public int levels() {
+        int levels = 0;
+        for (Level level = root; level != null; level = level.overflow) {
+            levels++;
+        }
+
+        return levels;
+    }
+
+    private final class Level {
+
+        private final long tickMillis;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket[] buckets;
+        /**
+         * 当前时间，按本层刻度对齐
+         */
+        private long currentTime;
+
+        private Level overflow;
+
+        private Level(long tickMillis, int wheelSize, long startMillis) {
+            this.tickMillis = tickMillis;
+            this.wheelSize = wheelSize;
+            this.interval = tickMillis * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMillis - startMillis % tickMillis;
+        }
+
+        private boolean add(DelayedMessage message, long slotTime) {
+            if (slotTime < currentTime + tickMillis) {
+                return false;
+            }
+            if (slotTime < currentTime + interval) {
+                long virtualId = slotTime / tickMillis;
+                Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.messages.add(message);
+                long expiration = virtualId * tickMillis;
+                // 同一格在一圈内到期时间相同，只有首次放入（或上一圈已清空）时才入队
+                if (bucket.expiration != expiration) {
+                    bucket.expiration = expiration;
+                    dueBuckets.add(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+
+            return overflow.add(message, slotTime);
+        }
+
+        private void advanceClock(long timeMillis) {
+            if (timeMillis >= currentTime + tickMillis) {
+                currentTime = timeMillis - timeMillis % tickMillis;
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+
+    }
+
+    private static final class Bucket {
+
+        private long expiration = -1;
+
+        private List<DelayedMessage> messages = new ArrayList<>();
+
+        private List<DelayedMessage> flush() {
+            List<DelayedMessage> flushed = messages;
+            messages = new ArrayList<>();
+            expiration = -1;
+
+            return flushed;
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package cn.cug.sxy.domain.event.model.valobj;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 10:10
+ * @Description 发件箱投递中继指标：积压与延迟来自任务表，吞吐与累计计数来自本实例
+ * @Author jerryhotton
+ */
+
+@Getter
+@ToString
+@Builder
+public class OutboxRelayMetrics {
+
+    /**
+     * 待发布任务数（积压）
+     */
+    private final long pendingCount;
+    /**
+     * 最早待发布任务的等待时长（毫秒），无积压时为 0
+     */
+    private final long lagMillis;
+    /**
+     * 最近一分钟每秒发布条数
+     */
+    private final double publishedPerSecond;
+    /**
+     * 本实例累计发布数
+     */
+    private final long publishedTotal;
+    /**
+     * 本实例累计失败数
+     */
+    private final long failedTotal;
+    /**
+     * 本实例累计未确认数
+     */
+    private final long unconfirmedTotal;
+    /**
+     * 本实例累计投递批次数
+     */
+    private final long batchTotal;
+    /**
+     * 最近一批认领的任务数
+     */
+    private final int lastBatchSize;
+    /**
+     * 最近一批耗时（毫秒）
+     */
+    private final long lastBatchMillis;
+    /**
+     * 最近一次投递时间
+     */
+    private final LocalDateTime lastRelayTime;
+
+}
@@ -0,0 +1,42 @@
+package cn.cug.sxy.domain.event.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 10:05
+ * @Description 发件箱单批投递结果
+ * @Author jerryhotton
+ */
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class OutboxRelayResult {
+
+    public static final OutboxRelayResult EMPTY = new OutboxRelayResult(0, 0, 0, 0, 0);
+
+    /**
+     * 认领的任务数
+     */
+    private final int claimed;
+    /**
+     * 经 Broker 确认并标记为已发布的任务数
+     */
+    private final int published;
+    /**
+     * 无法路由或消息体无法解析、已标记为失败的任务数
+     */
+    private final int failed;
+    /**
+     * 被 Broker 拒绝或确认超时、留待下一轮重发的任务数
+     */
+    private final int unconfirmed;
+    /**
+     * 本批耗时（毫秒）
+     */
+    private final long elapsedMillis;
+
+}
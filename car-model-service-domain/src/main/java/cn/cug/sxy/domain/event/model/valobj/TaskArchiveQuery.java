@@ -0,0 +1,50 @@
+package cn.cug.sxy.domain.event.model.valobj;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/17 10:10
+ * @Description 归档任务查询条件：按ID倒序游标分页，lastId 为上一页最后一条的ID
+ * @Author jerryhotton
+ */
+
+@Getter
+@ToString
+@Builder
+public class TaskArchiveQuery {
+
+    /**
+     * 消息ID
+     */
+    private final String messageId;
+    /**
+     * 消息主题
+     */
+    private final String topic;
+    /**
+     * 任务状态
+     */
+    private final String state;
+    /**
+     * 创建时间下限（含）
+     */
+    private final LocalDateTime startTime;
+    /**
+     * 创建时间上限（不含）
+     */
+    private final LocalDateTime endTime;
+    /**
+     * 上一页最后一条的ID，首页为空
+     */
+    private final Long lastId;
+    /**
+     * 每页条数
+     */
+    private final int limit;
+
+}
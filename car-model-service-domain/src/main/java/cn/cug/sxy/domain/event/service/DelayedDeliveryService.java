@@ -0,0 +1,177 @@
+package cn.cug.sxy.domain.event.service;
+
+import cn.cug.sxy.domain.event.adapter.port.IDelayedQueuePort;
+import cn.cug.sxy.domain.event.model.valobj.DelayedMessage;
+import cn.cug.sxy.domain.event.model.valobj.HierarchicalTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/18 10:30
+ * @Description 延迟投递服务实现
+ * Redis 有序集合保存全部待投递项（重启不丢失、多节点共享），本节点按固定间隔把预取窗口内即将到期的项
+ * 装入进程内分层时间轮，由单线程按刻度推进；到期项经有序集合认领后一条语句放回发件箱，由投递中继发送
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class DelayedDeliveryService implements IDelayedDeliveryService, DisposableBean {
+
+    private final IDelayedQueuePort delayedQueuePort;
+    private final IMessagePersistenceService messagePersistenceService;
+
+    private final long prefetchWindowMillis;
+    private final long loadIntervalMillis;
+    private final int loadBatchSize;
+    private final int releaseBatchSize;
+    private final long releaseRetryMillis;
+
+    private final HierarchicalTimingWheel timingWheel;
+    /**
+     * 调用线程新调度的近期项，由推进线程转入时间轮
+     */
+    private final Queue<DelayedMessage> incoming = new ConcurrentLinkedQueue<>();
+    /**
+     * 已装入时间轮的消息ID -> 到期时间，用于去重并识别被重新调度后失效的旧定时项
+     */
+    private final Map<String, Long> tracked = new HashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    private long lastLoadMillis;
+
+    public DelayedDeliveryService(
+            IDelayedQueuePort delayedQueuePort,
+            IMessagePersistenceService messagePersistenceService,
+            @Value("${event.delayed-delivery.tick-millis:10}") long tickMillis,
+            @Value("${event.delayed-delivery.wheel-size:256}") int wheelSize,
+            @Value("${event.delayed-delivery.prefetch-window-millis:2000}") long prefetchWindowMillis,
+            @Value("${event.delayed-delivery.load-interval-millis:500}") long loadIntervalMillis,
+            @Value("${event.delayed-delivery.load-batch-size:5000}") int loadBatchSize,
+            @Value("${event.delayed-delivery.release-batch-size:500}") int releaseBatchSize,
+            @Value("${event.delayed-delivery.release-retry-millis:1000}") long releaseRetryMillis,
+            @Value("${event.delayed-delivery.enabled:true}") boolean enabled) {
+        this.delayedQueuePort = delayedQueuePort;
+        this.messagePersistenceService = messagePersistenceService;
+        this.prefetchWindowMillis = prefetchWindowMillis;
+        this.loadIntervalMillis = loadIntervalMillis;
+        this.loadBatchSize = loadBatchSize;
+        this.releaseBatchSize = releaseBatchSize;
+        this.releaseRetryMillis = releaseRetryMillis;
+        this.timingWheel = new HierarchicalTimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "delayed-delivery-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void schedule(String messageId, long delayMillis) {
+        DelayedMessage message = new DelayedMessage(messageId, System.currentTimeMillis() + Math.max(0, delayMillis));
+        // 先写入有序集合保证不丢失，近期到期的项直接交给本节点时间轮，不必等下一次装载
+        delayedQueuePort.add(message);
+        if (delayMillis <= prefetchWindowMillis) {
+            incoming.offer(message);
+        }
+        log.debug("调度延迟投递，messageId: {}, delay: {}ms", messageId, delayMillis);
+    }
+
+    @Override
+    public synchronized int releaseDue() {
+        long now = System.currentTimeMillis();
+        Set<String> due = new LinkedHashSet<>();
+        DelayedMessage message;
+        while ((message = incoming.poll()) != null) {
+            track(message, due);
+        }
+        // 周期性装载预取窗口内的项：其他节点调度的、重启前遗留的都由此进入时间轮
+        if (now - lastLoadMillis >= loadIntervalMillis) {
+            lastLoadMillis = now;
+            List<DelayedMessage> loaded = delayedQueuePort.findDue(now + prefetchWindowMillis, loadBatchSize);
+            loaded.forEach(item -> track(item, due));
+            // 装满一批说明有积压，下一刻度继续装载
+            if (loaded.size() >= loadBatchSize) {
+                lastLoadMillis = 0;
+            }
+        }
+        for (DelayedMessage expired : timingWheel.advance(now)) {
+            Long dueAt = tracked.get(expired.getMessageId());
+            if (dueAt != null && dueAt == expired.getDueAtMillis()) {
+                due.add(expired.getMessageId());
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        return release(new ArrayList<>(due), now);
+    }
+
+    @Override
+    public long getPendingCount() {
+        return delayedQueuePort.size();
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            releaseDue();
+        } catch (Exception e) {
+            log.error("延迟投递推进异常", e);
+        }
+    }
+
+    private void track(DelayedMessage message, Set<String> due) {
+        Long previous = tracked.put(message.getMessageId(), message.getDueAtMillis());
+        if (previous != null && previous == message.getDueAtMillis()) {
+            return;
+        }
+        if (!timingWheel.add(message)) {
+            due.add(message.getMessageId());
+        }
+    }
+
+    private int release(List<String> due, long now) {
+        int released = 0;
+        for (int from = 0; from < due.size(); from += releaseBatchSize) {
+            List<String> chunk = due.subList(from, Math.min(from + releaseBatchSize, due.size()));
+            chunk.forEach(tracked::remove);
+            // 已被其他节点认领的项认领失败，直接跳过
+            List<String> claimed = delayedQueuePort.claim(chunk);
+            if (claimed.isEmpty()) {
+                continue;
+            }
+            try {
+                released += messagePersistenceService.requeueForPublish(claimed);
+            } catch (Exception e) {
+                log.error("延迟消息放回发件箱失败，稍后重试，count: {}", claimed.size(), e);
+                delayedQueuePort.addAll(claimed.stream()
+                        .map(messageId -> new DelayedMessage(messageId, now + releaseRetryMillis))
+                        .toList());
+            }
+        }
+        if (released > 0) {
+            log.info("延迟消息到期放回发件箱，count: {}", released);
+        }
+
+        return released;
+    }
+
+}
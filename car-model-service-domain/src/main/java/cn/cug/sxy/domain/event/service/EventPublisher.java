@@ -2,8 +2,6 @@ package cn.cug.sxy.domain.event.service;
 
 import cn.cug.sxy.types.event.BaseEvent;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.connection.CorrelationData;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -23,23 +21,17 @@ public class EventPublisher implements IEventPublisher {
     @Value("${spring.rabbitmq.modules.default.exchange}")
     private String DEFAULT_EXCHANGE;
 
-    @Value("${spring.rabbitmq.modules.default.exchange}")
-    private String DEFAULT_RETRY_EXCHANGE;
-
     @Value("${spring.rabbitmq.modules.default.routing-key}")
     private String DEFAULT_ROUTING_KEY;
 
-    @Value("${spring.rabbitmq.modules.default.retry-routing-key}")
-    private String DEFAULT_RETRY_ROUTING_KEY;
-
-    private final RabbitTemplate rabbitTemplate;
     private final IMessagePersistenceService messagePersistenceService;
+    private final IDelayedDeliveryService delayedDeliveryService;
 
     public EventPublisher(
-            RabbitTemplate rabbitTemplate,
-            IMessagePersistenceService messagePersistenceService) {
-        this.rabbitTemplate = rabbitTemplate;
+            IMessagePersistenceService messagePersistenceService,
+            IDelayedDeliveryService delayedDeliveryService) {
         this.messagePersistenceService = messagePersistenceService;
+        this.delayedDeliveryService = delayedDeliveryService;
     }
 
     @Override
@@ -50,24 +42,17 @@ public class EventPublisher implements IEventPublisher {
     @Override
     public <T> boolean publishEvent(BaseEvent.EventMessage<T> eventMessage, String exchange, String routingKey) {
         try {
-            log.info("发布持久化事件，messageId: {}, topic: {}, exchange: {}, routingKey: {}",
+            log.info("写入发件箱事件，messageId: {}, topic: {}, exchange: {}, routingKey: {}",
                     eventMessage.getId(), eventMessage.getTopic(), exchange, routingKey);
-            // 1. 先持久化消息到数据库（事务性保证）
-            boolean persisted = messagePersistenceService.persistMessage(eventMessage);
+            // 只写入发件箱（随调用方事务提交），由投递中继批量发送并等待确认
+            boolean persisted = messagePersistenceService.persistMessage(eventMessage, exchange, routingKey);
             if (!persisted) {
                 log.error("消息持久化失败，messageId: {}", eventMessage.getId());
-                return false;
             }
-            // 2. 发送消息到队列（带确认机制）
-            CorrelationData correlationData = new CorrelationData(eventMessage.getId());
-            rabbitTemplate.convertAndSend(exchange, routingKey, eventMessage, correlationData);
-            log.info("事件发布成功，messageId: {}, topic: {}", eventMessage.getId(), eventMessage.getTopic());
 
-            return true;
+            return persisted;
         } catch (Exception e) {
-            log.error("事件发布失败，messageId: {}, topic: {}", eventMessage.getId(), eventMessage.getTopic(), e);
-            // 发布失败时，标记消息为失败状态
-            messagePersistenceService.markAsFailed(eventMessage.getId(), "发布异常: " + e.getMessage());
+            log.error("事件写入发件箱失败，messageId: {}, topic: {}", eventMessage.getId(), eventMessage.getTopic(), e);
 
             return false;
         }
@@ -78,18 +63,9 @@ public class EventPublisher implements IEventPublisher {
         try {
             log.info("发布延迟事件，messageId: {}, topic: {}, delay: {}ms",
                     eventMessage.getId(), eventMessage.getTopic(), delayMillis);
-            // 使用重试交换机发送延迟消息
-            rabbitTemplate.convertAndSend(
-                    DEFAULT_RETRY_EXCHANGE,
-                    DEFAULT_RETRY_ROUTING_KEY,
-                    eventMessage,
-                    message -> {
-                        // 设置消息TTL
-                        message.getMessageProperties().setExpiration(String.valueOf(delayMillis));
-                        return message;
-                    }
-            );
-            log.info("延迟事件发布成功，messageId: {}, topic: {}", eventMessage.getId(), eventMessage.getTopic());
+            // 按消息各自的延迟时长进入延迟队列，到期后放回发件箱按原交换机与路由键重新投递
+            delayedDeliveryService.schedule(eventMessage.getId(), delayMillis);
+            log.info("延迟事件已调度，messageId: {}, topic: {}", eventMessage.getId(), eventMessage.getTopic());
 
             return true;
         } catch (Exception e) {
@@ -107,40 +83,35 @@ public class EventPublisher implements IEventPublisher {
 
     @Override
     public <T> int publishBatchEvents(List<BaseEvent.EventMessage<T>> eventMessages) {
-        int successCount = 0;
-        for (BaseEvent.EventMessage<T> eventMessage : eventMessages) {
-            try {
-                if (publishEvent(eventMessage)) {
-                    successCount++;
-                }
-            } catch (Exception e) {
-                log.error("批量发布事件失败，messageId: {}", eventMessage.getId(), e);
-            }
+        if (eventMessages == null || eventMessages.isEmpty()) {
+            return 0;
         }
-        log.info("批量发布事件完成，总数: {}, 成功: {}", eventMessages.size(), successCount);
+        try {
+            // 一条多行插入写入发件箱
+            int saved = messagePersistenceService.persistMessages(eventMessages, DEFAULT_EXCHANGE, DEFAULT_ROUTING_KEY);
+            log.info("批量写入发件箱完成，总数: {}, 成功: {}", eventMessages.size(), saved);
 
-        return successCount;
+            return saved;
+        } catch (Exception e) {
+            log.error("批量写入发件箱失败，count: {}", eventMessages.size(), e);
+
+            return 0;
+        }
     }
 
     @Override
     public boolean republishFailedEvent(String messageId) {
         try {
             log.info("重新发布失败事件，messageId: {}", messageId);
-            // 1. 从数据库获取消息
-            BaseEvent.EventMessage<?> eventMessage = messagePersistenceService.getMessageById(messageId);
-            if (eventMessage == null) {
-                log.error("未找到消息，messageId: {}", messageId);
-                return false;
-            }
-            // 2. 重新发布事件
-            boolean published = publishEvent(eventMessage);
-            if (published) {
-                log.info("重新发布事件成功，messageId: {}", messageId);
+            // 放回发件箱，由投递中继按原交换机与路由键重发
+            boolean requeued = messagePersistenceService.requeueForPublish(List.of(messageId)) > 0;
+            if (requeued) {
+                log.info("失败事件已放回发件箱，messageId: {}", messageId);
             } else {
-                log.error("重新发布事件失败，messageId: {}", messageId);
+                log.error("未找到消息，messageId: {}", messageId);
             }
 
-            return published;
+            return requeued;
         } catch (Exception e) {
             log.error("重新发布事件异常，messageId: {}", messageId, e);
             return false;
@@ -0,0 +1,32 @@
+package cn.cug.sxy.domain.event.service;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/18 10:20
+ * @Description 延迟投递服务接口：按消息各自的延迟时长到期后放回发件箱重新投递
+ * @Author jerryhotton
+ */
+
+public interface IDelayedDeliveryService {
+
+    /**
+     * 调度延迟投递，消息须已持久化到任务表
+     *
+     * @param messageId   消息ID
+     * @param delayMillis 延迟时长（毫秒）
+     */
+    void schedule(String messageId, long delayMillis);
+
+    /**
+     * 推进时间轮并批量放出到期消息
+     *
+     * @return 本次放回发件箱的消息数
+     */
+    int releaseDue();
+
+    /**
+     * 待投递的延迟消息数（所有节点共享）
+     */
+    long getPendingCount();
+
+}
@@ -15,6 +15,7 @@ public interface IEventPublisher {
 
     /**
      * 发布事件到消息队列（带持久化保证）
+     * 事件写入发件箱并随调用方事务提交，由投递中继发送到默认交换机
      *
      * @param <T>          事件数据类型
      * @param eventMessage 事件消息对象
@@ -24,6 +25,7 @@ public interface IEventPublisher {
 
     /**
      * 发布事件到指定交换机和路由键（带持久化保证）
+     * 事件写入发件箱并随调用方事务提交，由投递中继发送
      *
      * @param eventMessage 事件消息对象
      * @param exchange   交换机名称
@@ -35,6 +37,7 @@ public interface IEventPublisher {
 
     /**
      * 发布延迟事件（用于重试，带持久化保证）
+     * 消息须已存在于任务表，到期后放回发件箱按原交换机与路由键重新投递，延迟精度为时间轮刻度
      *
      * @param eventMessage 事件消息对象
      * @param delayMillis 延迟毫秒数
@@ -55,6 +58,7 @@ public interface IEventPublisher {
 
     /**
      * 批量发布事件（提高性能）
+     * 一条多行插入写入发件箱
      *
      * @param eventMessages 事件消息列表
      * @param <T>    事件数据类型
@@ -64,7 +68,7 @@ public interface IEventPublisher {
 
     /**
      * 重新发布失败的事件
-     * 用于故障恢复场景
+     * 用于故障恢复场景，消息放回发件箱由投递中继重发
      *
      * @param messageId 消息ID
      * @return 是否重新发布成功
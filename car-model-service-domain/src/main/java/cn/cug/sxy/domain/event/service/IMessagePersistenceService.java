@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @version 1.0
@@ -25,6 +26,35 @@ public interface IMessagePersistenceService {
      */
     <T> boolean persistMessage(BaseEvent.EventMessage<T> eventMessage);
 
+    /**
+     * 写入发件箱记录
+     * 与业务写入同一事务提交，由投递中继按交换机与路由键发送
+     *
+     * @param eventMessage 事件消息对象
+     * @param exchange     目标交换机
+     * @param routingKey   路由键
+     * @return 是否持久化成功
+     */
+    <T> boolean persistMessage(BaseEvent.EventMessage<T> eventMessage, String exchange, String routingKey);
+
+    /**
+     * 批量写入发件箱记录（一条多行插入）
+     *
+     * @param eventMessages 事件消息列表
+     * @param exchange      目标交换机
+     * @param routingKey    路由键
+     * @return 写入的消息数量
+     */
+    <T> int persistMessages(List<BaseEvent.EventMessage<T>> eventMessages, String exchange, String routingKey);
+
+    /**
+     * 将消息重新放回发件箱等待投递中继发送
+     *
+     * @param messageIds 消息ID列表
+     * @return 更新的消息数量
+     */
+    int requeueForPublish(List<String> messageIds);
+
     /**
      * 标记消息为已发布状态
      * 消息成功发送到MQ后调用
@@ -52,6 +82,23 @@ public interface IMessagePersistenceService {
      */
     boolean markAsCompleted(String messageId);
 
+    /**
+     * 批量标记消息为处理中状态
+     * 批量消费时一条语句更新整批消息
+     *
+     * @param messageIds 消息ID列表
+     * @return 更新的消息数量
+     */
+    int markBatchAsProcessing(List<String> messageIds);
+
+    /**
+     * 批量标记消息为已完成状态
+     *
+     * @param messageIds 消息ID列表
+     * @return 更新的消息数量
+     */
+    int markBatchAsCompleted(List<String> messageIds);
+
     /**
      * 标记消息为失败状态
      * 消息处理失败后调用
@@ -124,6 +171,14 @@ public interface IMessagePersistenceService {
      */
     TaskInfo getTaskInfo(String messageId);
 
+    /**
+     * 批量获取任务的基本信息
+     *
+     * @param messageIds 消息ID列表
+     * @return 消息ID -> 任务信息，不存在的消息不返回
+     */
+    Map<String, TaskInfo> getTaskInfos(List<String> messageIds);
+
     /**
      * 增加重试次数
      * 原子性地增加重试次数并更新状态
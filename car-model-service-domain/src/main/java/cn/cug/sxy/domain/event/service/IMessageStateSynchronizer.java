@@ -24,6 +24,15 @@ public interface IMessageStateSynchronizer {
      */
     <T> BaseEvent.EventMessage<T> syncMessageState(BaseEvent.EventMessage<T> eventMessage);
 
+    /**
+     * 批量同步消息状态
+     * 一次查询整批消息的数据库状态，再逐条按同步策略处理
+     *
+     * @param eventMessages 事件消息列表
+     * @return 同步后的事件列表（与入参顺序一致）
+     */
+    <T> List<BaseEvent.EventMessage<T>> syncMessageStates(List<BaseEvent.EventMessage<T>> eventMessages);
+
     /**
      * 验证消息状态一致性
      * 检查消息对象与数据库状态是否一致
@@ -0,0 +1,35 @@
+package cn.cug.sxy.domain.event.service;
+
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayMetrics;
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayResult;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 10:20
+ * @Description 发件箱投递中继服务接口
+ * @Author jerryhotton
+ */
+
+public interface IOutboxRelayService {
+
+    /**
+     * 投递一批待发布消息
+     * 认领一批待发布任务，按确认窗口流水线发送并等待 Broker 确认，确认成功的任务一条语句标记为已发布
+     *
+     * @return 本批投递结果
+     */
+    OutboxRelayResult relayBatch();
+
+    /**
+     * 单批认领上限
+     */
+    int getBatchSize();
+
+    /**
+     * 获取投递中继指标
+     *
+     * @return 积压、延迟与吞吐指标
+     */
+    OutboxRelayMetrics getMetrics();
+
+}
@@ -0,0 +1,52 @@
+package cn.cug.sxy.domain.event.service;
+
+import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.TaskArchiveQuery;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/17 10:20
+ * @Description 任务归档服务接口
+ * @Author jerryhotton
+ */
+
+public interface ITaskArchiveService {
+
+    /**
+     * 归档一块终态任务
+     * 已完成任务与重试次数耗尽的失败任务超过热表保留期后移入归档表，每块一个短事务
+     *
+     * @return 本块归档的任务数量
+     */
+    int archiveChunk();
+
+    /**
+     * 清理一块过期归档任务
+     *
+     * @return 本块删除的任务数量
+     */
+    int purgeChunk();
+
+    /**
+     * 预建归档表月份分区：从已建的最后一个月份分区补到当前月之后的若干个月，数据不再落入 p_max
+     *
+     * @return 新增的分区数量
+     */
+    int ensurePartitions();
+
+    /**
+     * 每块处理的任务数量上限
+     */
+    int getChunkSize();
+
+    /**
+     * 查询归档任务
+     *
+     * @param query 查询条件
+     * @return 归档任务列表（按ID倒序）
+     */
+    List<TaskEntity> queryArchivedTasks(TaskArchiveQuery query);
+
+}
@@ -9,8 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -32,8 +31,13 @@ public class MessagePersistenceService implements IMessagePersistenceService {
 
     @Override
     public <T> boolean persistMessage(BaseEvent.EventMessage<T> eventMessage) {
+        return persistMessage(eventMessage, null, null);
+    }
+
+    @Override
+    public <T> boolean persistMessage(BaseEvent.EventMessage<T> eventMessage, String exchange, String routingKey) {
         try {
-            TaskEntity task = TaskEntity.create(eventMessage);
+            TaskEntity task = TaskEntity.create(eventMessage, exchange, routingKey);
             boolean saved = taskRepository.save(task);
             if (saved) {
                 log.info("消息持久化成功，messageId: {}, topic: {}", eventMessage.getId(), eventMessage.getTopic());
@@ -48,6 +52,25 @@ public class MessagePersistenceService implements IMessagePersistenceService {
         }
     }
 
+    @Override
+    public <T> int persistMessages(List<BaseEvent.EventMessage<T>> eventMessages, String exchange, String routingKey) {
+        if (eventMessages == null || eventMessages.isEmpty()) {
+            return 0;
+        }
+        List<TaskEntity> tasks = eventMessages.stream()
+                .map(eventMessage -> TaskEntity.create(eventMessage, exchange, routingKey))
+                .collect(Collectors.toList());
+        int saved = taskRepository.saveBatch(tasks);
+        log.info("消息批量持久化完成，count: {}, saved: {}", eventMessages.size(), saved);
+
+        return saved;
+    }
+
+    @Override
+    public int requeueForPublish(List<String> messageIds) {
+        return markBatch(messageIds, TaskState.CREATE);
+    }
+
     @Override
     public boolean markAsPublished(String messageId) {
         try {
@@ -111,6 +134,16 @@ public class MessagePersistenceService implements IMessagePersistenceService {
         }
     }
 
+    @Override
+    public int markBatchAsProcessing(List<String> messageIds) {
+        return markBatch(messageIds, TaskState.PROCESSING);
+    }
+
+    @Override
+    public int markBatchAsCompleted(List<String> messageIds) {
+        return markBatch(messageIds, TaskState.COMPLETED);
+    }
+
     @Override
     public boolean markAsFailed(String messageId, String errorMessage) {
         try {
@@ -272,6 +305,30 @@ public class MessagePersistenceService implements IMessagePersistenceService {
         }
     }
 
+    @Override
+    public Map<String, TaskInfo> getTaskInfos(List<String> messageIds) {
+        if (messageIds == null || messageIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            Map<String, TaskInfo> taskInfos = new HashMap<>();
+            for (TaskEntity task : taskRepository.findByMessageIds(messageIds)) {
+                taskInfos.put(task.getMessageId(), new TaskInfo(
+                        task.getMessageId(),
+                        task.getState() != null ? task.getState().getCode() : null,
+                        task.getRetryCount(),
+                        task.getMaxRetries(),
+                        task.getErrorMessage()
+                ));
+            }
+
+            return taskInfos;
+        } catch (Exception e) {
+            log.error("批量获取任务信息异常，count: {}", messageIds.size(), e);
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean incrementRetryCount(String messageId, String errorMessage) {
@@ -347,4 +404,26 @@ public class MessagePersistenceService implements IMessagePersistenceService {
         }
     }
 
+    /**
+     * 批量更新消息状态，一条语句完成
+     */
+    private int markBatch(List<String> messageIds, TaskState state) {
+        if (messageIds == null || messageIds.isEmpty()) {
+            return 0;
+        }
+        try {
+            int updated = taskRepository.updateStateBatch(messageIds, state.getCode());
+            if (updated < messageIds.size()) {
+                log.warn("批量标记消息状态部分失败，state: {}, count: {}, updated: {}", state.getCode(), messageIds.size(), updated);
+            } else {
+                log.info("批量标记消息状态成功，state: {}, count: {}", state.getCode(), updated);
+            }
+
+            return updated;
+        } catch (Exception e) {
+            log.error("批量标记消息状态异常，state: {}, count: {}", state.getCode(), messageIds.size(), e);
+            return 0;
+        }
+    }
+
 }
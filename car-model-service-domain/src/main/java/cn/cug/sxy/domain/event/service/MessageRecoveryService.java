@@ -1,10 +1,12 @@
 package cn.cug.sxy.domain.event.service;
 
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayResult;
 import cn.cug.sxy.types.event.BaseEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @version 1.0
@@ -17,39 +19,35 @@ import java.util.List;
 @Service
 public class MessageRecoveryService implements IMessageRecoveryService {
 
+    /**
+     * 单次恢复最多投递的批次数
+     */
+    private static final int MAX_RELAY_BATCHES = 10;
+
     private final IMessagePersistenceService messagePersistenceService;
-    private final IEventPublisher eventPublisher;
+    private final IOutboxRelayService outboxRelayService;
 
     public MessageRecoveryService(
             IMessagePersistenceService messagePersistenceService,
-            IEventPublisher eventPublisher) {
+            IOutboxRelayService outboxRelayService) {
         this.messagePersistenceService = messagePersistenceService;
-        this.eventPublisher = eventPublisher;
+        this.outboxRelayService = outboxRelayService;
     }
 
     @Override
     public int recoverUnpublishedMessages() {
         try {
             log.info("开始恢复未发布的消息");
-            // 获取未发布的消息（限制100条，避免一次处理过多）
-            List<BaseEvent.EventMessage<?>> unpublishedMessages = messagePersistenceService.getUnpublishedMessages(100);
+            // 未发布的消息即发件箱积压，交给投递中继按批发送
             int recoveredCount = 0;
-            for (BaseEvent.EventMessage<?> event : unpublishedMessages) {
-                try {
-                    boolean published = eventPublisher.publishEvent(event);
-                    if (published) {
-                        recoveredCount++;
-                        log.info("恢复未发布消息成功，messageId: {}", event.getId());
-                    } else {
-                        log.error("恢复未发布消息失败，messageId: {}", event.getId());
-                        messagePersistenceService.markAsFailed(event.getId(), "恢复发布失败");
-                    }
-                } catch (Exception e) {
-                    log.error("恢复未发布消息异常，messageId: {}", event.getId(), e);
-                    messagePersistenceService.markAsFailed(event.getId(), "恢复发布异常: " + e.getMessage());
+            for (int i = 0; i < MAX_RELAY_BATCHES; i++) {
+                OutboxRelayResult result = outboxRelayService.relayBatch();
+                recoveredCount += result.getPublished();
+                if (result.getClaimed() < outboxRelayService.getBatchSize()) {
+                    break;
                 }
             }
-            log.info("恢复未发布消息完成，总数: {}, 成功: {}", unpublishedMessages.size(), recoveredCount);
+            log.info("恢复未发布消息完成，成功: {}", recoveredCount);
 
             return recoveredCount;
         } catch (Exception e) {
@@ -62,25 +60,11 @@ public class MessageRecoveryService implements IMessageRecoveryService {
     public int recoverTimeoutProcessingMessages(int timeoutSeconds) {
         try {
             log.info("开始恢复超时处理中的消息，超时秒数: {}", timeoutSeconds);
-            // 获取超时的处理中消息
+            // 获取超时的处理中消息，一条语句放回发件箱重新投递
             List<BaseEvent.EventMessage<?>> timeoutMessages = messagePersistenceService.getTimeoutProcessingMessages(timeoutSeconds, 50);
-            int recoveredCount = 0;
-            for (BaseEvent.EventMessage<?> event : timeoutMessages) {
-                try {
-                    // 重新发布超时的消息
-                    boolean published = eventPublisher.publishEvent(event);
-                    if (published) {
-                        recoveredCount++;
-                        log.info("恢复超时消息成功，messageId: {}", event.getId());
-                    } else {
-                        log.error("恢复超时消息失败，messageId: {}", event.getId());
-                        messagePersistenceService.markAsFailed(event.getId(), "恢复超时消息失败");
-                    }
-                } catch (Exception e) {
-                    log.error("恢复超时消息异常，messageId: {}", event.getId(), e);
-                    messagePersistenceService.markAsFailed(event.getId(), "恢复超时消息异常: " + e.getMessage());
-                }
-            }
+            int recoveredCount = messagePersistenceService.requeueForPublish(timeoutMessages.stream()
+                    .map(BaseEvent.EventMessage::getId)
+                    .collect(Collectors.toList()));
             log.info("恢复超时处理中消息完成，总数: {}, 成功: {}", timeoutMessages.size(), recoveredCount);
 
             return recoveredCount;
@@ -94,23 +78,11 @@ public class MessageRecoveryService implements IMessageRecoveryService {
     public int retryFailedMessages() {
         try {
             log.info("开始重试失败的消息");
-            // 获取可重试的失败消息
+            // 获取可重试的失败消息，一条语句放回发件箱重新投递
             List<BaseEvent.EventMessage<?>> retryableMessages = messagePersistenceService.getRetryableFailedMessages(50);
-            int retriedCount = 0;
-            for (BaseEvent.EventMessage<?> event : retryableMessages) {
-                try {
-                    // 重新发布失败的消息
-                    boolean published = eventPublisher.publishEvent(event);
-                    if (published) {
-                        retriedCount++;
-                        log.info("重试失败消息成功，messageId: {}", event.getId());
-                    } else {
-                        log.error("重试失败消息失败，messageId: {}", event.getId());
-                    }
-                } catch (Exception e) {
-                    log.error("重试失败消息异常，messageId: {}", event.getId(), e);
-                }
-            }
+            int retriedCount = messagePersistenceService.requeueForPublish(retryableMessages.stream()
+                    .map(BaseEvent.EventMessage::getId)
+                    .collect(Collectors.toList()));
             log.info("重试失败消息完成，总数: {}, 成功: {}", retryableMessages.size(), retriedCount);
 
             return retriedCount;
@@ -6,8 +6,11 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @version 1.0
@@ -54,6 +57,38 @@ public class MessageStateSynchronizer implements IMessageStateSynchronizer {
         }
     }
 
+    @Override
+    public <T> List<BaseEvent.EventMessage<T>> syncMessageStates(List<BaseEvent.EventMessage<T>> eventMessages) {
+        if (eventMessages == null || eventMessages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        IMessageStateSyncStrategy strategy = syncStrategyMap.get(currentStrategy.name());
+        if (strategy == null) {
+            log.warn("未配置同步策略，count: {}", eventMessages.size());
+            return eventMessages;
+        }
+        // 一次查询整批消息的任务信息
+        Map<String, IMessagePersistenceService.TaskInfo> taskInfos = messagePersistenceService.getTaskInfos(
+                eventMessages.stream().map(BaseEvent.EventMessage::getId).collect(Collectors.toList()));
+        List<BaseEvent.EventMessage<T>> synced = new ArrayList<>(eventMessages.size());
+        for (BaseEvent.EventMessage<T> eventMessage : eventMessages) {
+            IMessagePersistenceService.TaskInfo taskInfo = taskInfos.get(eventMessage.getId());
+            if (taskInfo == null) {
+                log.warn("无法获取任务信息进行同步，messageId: {}", eventMessage.getId());
+                synced.add(eventMessage);
+                continue;
+            }
+            try {
+                synced.add(strategy.syncState(eventMessage, taskInfo));
+            } catch (Exception e) {
+                log.error("同步消息状态异常，messageId: {}", eventMessage.getId(), e);
+                synced.add(eventMessage);
+            }
+        }
+
+        return synced;
+    }
+
     @Override
     public <T> ConsistencyCheckResult checkConsistency(BaseEvent.EventMessage<T> eventMessage) {
         String messageId = eventMessage.getId();
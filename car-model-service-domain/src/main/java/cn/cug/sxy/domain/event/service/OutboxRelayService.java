@@ -0,0 +1,262 @@
+package cn.cug.sxy.domain.event.service;
+
+import cn.cug.sxy.domain.event.adapter.repository.ITaskRepository;
+import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayMetrics;
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayResult;
+import cn.cug.sxy.types.event.BaseEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 10:30
+ * @Description 发件箱投递中继服务实现
+ * 分三步执行，等待 Broker 确认期间不持有数据库连接与行锁：
+ * 1. 短事务认领（FOR UPDATE SKIP LOCKED）并写入投递租约，租约未到期的任务其他中继不再认领；
+ * 2. 事务外流水线发送并等待确认，整批等待时长有上限；
+ * 3. 短事务按租约落库结果，只更新仍处于待发布且租约未被他人接管的任务，不覆盖消费者已推进的状态；
+ * 确认超时或被拒绝的任务释放租约，由下一轮重发；中继宕机时租约到期后被重新认领（至少一次投递）
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class OutboxRelayService implements IOutboxRelayService {
+
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    @Value("${spring.rabbitmq.modules.default.exchange}")
+    private String defaultExchange;
+
+    @Value("${spring.rabbitmq.modules.default.routing-key}")
+    private String defaultRoutingKey;
+
+    @Value("${event.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${event.outbox.relay.confirm-window:50}")
+    private int confirmWindow;
+
+    @Value("${event.outbox.relay.confirm-timeout-millis:5000}")
+    private long confirmTimeoutMillis;
+
+    /**
+     * 整批发送与等待确认的总时长上限，超出后未发送与未确认的任务留待下一轮
+     */
+    @Value("${event.outbox.relay.batch-timeout-millis:10000}")
+    private long batchTimeoutMillis;
+
+    /**
+     * 投递租约时长，须大于整批时长上限
+     */
+    @Value("${event.outbox.relay.lease-millis:30000}")
+    private long leaseMillis;
+
+    private final ITaskRepository taskRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    private final AtomicLong publishedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+    private final AtomicLong unconfirmedTotal = new AtomicLong();
+    private final AtomicLong batchTotal = new AtomicLong();
+    private volatile OutboxRelayResult lastResult = OutboxRelayResult.EMPTY;
+    private volatile LocalDateTime lastRelayTime;
+
+    /**
+     * 每秒发布数环形计数，槽位对应 epochSecond % RATE_WINDOW_SECONDS
+     */
+    private final long[] rateSeconds = new long[RATE_WINDOW_SECONDS];
+    private final long[] rateCounts = new long[RATE_WINDOW_SECONDS];
+
+    public OutboxRelayService(ITaskRepository taskRepository, RabbitTemplate rabbitTemplate) {
+        this.taskRepository = taskRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public OutboxRelayResult relayBatch() {
+        long start = System.currentTimeMillis();
+        long deadline = start + batchTimeoutMillis;
+        // 1. 认领一批待发布任务并写入租约（短事务），租约到期时间同时作为本轮的认领标识
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(Duration.ofMillis(leaseMillis)).truncatedTo(ChronoUnit.SECONDS);
+        List<TaskEntity> tasks = taskRepository.claimUnpublishedTasks(batchSize, leaseUntil);
+        if (tasks.isEmpty()) {
+            return OutboxRelayResult.EMPTY;
+        }
+        List<String> publishedIds = new ArrayList<>(tasks.size());
+        List<String> failedIds = new ArrayList<>();
+        List<String> unconfirmedIds = new ArrayList<>();
+        // 2. 事务外流水线发送：未确认的消息达到窗口上限时等待最早的一条确认
+        Deque<PendingConfirm> window = new ArrayDeque<>(confirmWindow);
+        for (TaskEntity task : tasks) {
+            if (System.currentTimeMillis() >= deadline) {
+                unconfirmedIds.add(task.getMessageId());
+                continue;
+            }
+            BaseEvent.EventMessage<?> eventMessage;
+            try {
+                eventMessage = task.parseToEventMessage();
+            } catch (Exception e) {
+                log.error("发件箱消息无法解析，标记失败，messageId: {}", task.getMessageId(), e);
+                failedIds.add(task.getMessageId());
+                continue;
+            }
+            if (window.size() >= confirmWindow) {
+                awaitConfirm(window.poll(), deadline, publishedIds, failedIds, unconfirmedIds);
+            }
+            CorrelationData correlationData = new CorrelationData(task.getMessageId());
+            try {
+                rabbitTemplate.convertAndSend(
+                        task.getExchange() != null ? task.getExchange() : defaultExchange,
+                        task.getRoutingKey() != null ? task.getRoutingKey() : defaultRoutingKey,
+                        eventMessage,
+                        message -> {
+                            message.getMessageProperties().setMessageId(task.getMessageId());
+                            return message;
+                        },
+                        correlationData);
+                window.add(new PendingConfirm(task.getMessageId(), correlationData, System.currentTimeMillis()));
+            } catch (Exception e) {
+                log.error("发件箱消息发送异常，messageId: {}", task.getMessageId(), e);
+                unconfirmedIds.add(task.getMessageId());
+            }
+        }
+        while (!window.isEmpty()) {
+            awaitConfirm(window.poll(), deadline, publishedIds, failedIds, unconfirmedIds);
+        }
+        // 3. 按租约落库结果（短事务），每种结果一条语句，未确认的释放租约
+        taskRepository.completeRelay(leaseUntil, publishedIds, failedIds, unconfirmedIds);
+
+        OutboxRelayResult result = new OutboxRelayResult(tasks.size(), publishedIds.size(), failedIds.size(),
+                unconfirmedIds.size(), System.currentTimeMillis() - start);
+        record(result);
+        if (!failedIds.isEmpty() || !unconfirmedIds.isEmpty()) {
+            log.warn("发件箱投递完成（部分未成功），result: {}, failed: {}, unconfirmed: {}", result, failedIds, unconfirmedIds);
+        } else {
+            log.info("发件箱投递完成，result: {}", result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public OutboxRelayMetrics getMetrics() {
+        LocalDateTime earliest = taskRepository.findEarliestUnpublishedTime();
+        long lagMillis = earliest == null ? 0 : Math.max(0, Duration.between(earliest, LocalDateTime.now()).toMillis());
+        OutboxRelayResult last = lastResult;
+
+        return OutboxRelayMetrics.builder()
+                .pendingCount(taskRepository.countUnpublishedTasks())
+                .lagMillis(lagMillis)
+                .publishedPerSecond(publishedPerSecond())
+                .publishedTotal(publishedTotal.get())
+                .failedTotal(failedTotal.get())
+                .unconfirmedTotal(unconfirmedTotal.get())
+                .batchTotal(batchTotal.get())
+                .lastBatchSize(last.getClaimed())
+                .lastBatchMillis(last.getElapsedMillis())
+                .lastRelayTime(lastRelayTime)
+                .build();
+    }
+
+    /**
+     * 等待单条消息的发布确认：确认且未被退回即发布成功；被退回（无法路由）标记失败；被拒绝或超时留待重发。
+     * 等待时长取单条确认超时与整批截止时间中较早者
+     */
+    private void awaitConfirm(PendingConfirm pending, long deadline,
+                              List<String> publishedIds, List<String> failedIds, List<String> unconfirmedIds) {
+        long remaining = Math.min(pending.sentAt + confirmTimeoutMillis, deadline) - System.currentTimeMillis();
+        try {
+            CorrelationData.Confirm confirm = pending.correlationData.getFuture().get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+            if (!confirm.isAck()) {
+                log.warn("发件箱消息被Broker拒绝，messageId: {}, reason: {}", pending.messageId, confirm.getReason());
+                unconfirmedIds.add(pending.messageId);
+            } else if (pending.correlationData.getReturned() != null) {
+                log.error("发件箱消息无法路由，messageId: {}, replyText: {}",
+                        pending.messageId, pending.correlationData.getReturned().getReplyText());
+                failedIds.add(pending.messageId);
+            } else {
+                publishedIds.add(pending.messageId);
+            }
+        } catch (TimeoutException e) {
+            log.warn("发件箱消息确认超时，messageId: {}, timeout: {}ms", pending.messageId, confirmTimeoutMillis);
+            unconfirmedIds.add(pending.messageId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unconfirmedIds.add(pending.messageId);
+        } catch (Exception e) {
+            log.error("等待发件箱消息确认异常，messageId: {}", pending.messageId, e);
+            unconfirmedIds.add(pending.messageId);
+        }
+    }
+
+    private void record(OutboxRelayResult result) {
+        publishedTotal.addAndGet(result.getPublished());
+        failedTotal.addAndGet(result.getFailed());
+        unconfirmedTotal.addAndGet(result.getUnconfirmed());
+        batchTotal.incrementAndGet();
+        lastResult = result;
+        lastRelayTime = LocalDateTime.now();
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % RATE_WINDOW_SECONDS);
+        synchronized (rateCounts) {
+            if (rateSeconds[slot] != second) {
+                rateSeconds[slot] = second;
+                rateCounts[slot] = 0;
+            }
+            rateCounts[slot] += result.getPublished();
+        }
+    }
+
+    private double publishedPerSecond() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        synchronized (rateCounts) {
+            for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+                if (now - rateSeconds[i] < RATE_WINDOW_SECONDS) {
+                    total += rateCounts[i];
+                }
+            }
+        }
+
+        return (double) total / RATE_WINDOW_SECONDS;
+    }
+
+    /**
+     * 已发送、等待确认的消息
+     */
+    private static class PendingConfirm {
+
+        private final String messageId;
+        private final CorrelationData correlationData;
+        private final long sentAt;
+
+        private PendingConfirm(String messageId, CorrelationData correlationData, long sentAt) {
+            this.messageId = messageId;
+            this.correlationData = correlationData;
+            this.sentAt = sentAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package cn.cug.sxy.domain.event.service;
+
+import cn.cug.sxy.domain.event.adapter.repository.ITaskRepository;
+import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.TaskArchiveQuery;
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/17 10:30
+ * @Description 任务归档服务实现
+ * 热表只保留进行中与近期任务，恢复查询的扫描范围不随历史数据增长；归档表按创建时间按月分区并提前预建，过期数据分块清理
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class TaskArchiveService implements ITaskArchiveService {
+
+    @Value("${event.task.archive.hot-retention-days:7}")
+    private int hotRetentionDays;
+
+    @Value("${event.task.archive.archive-retention-days:180}")
+    private int archiveRetentionDays;
+
+    @Value("${event.task.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${event.task.archive.partition-months-ahead:3}")
+    private int partitionMonthsAhead;
+
+    private final ITaskRepository taskRepository;
+
+    public TaskArchiveService(ITaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int archiveChunk() {
+        LocalDateTime beforeTime = LocalDateTime.now().minusDays(hotRetentionDays);
+        List<Long> ids = new ArrayList<>(taskRepository.findArchivableTaskIds(TaskState.COMPLETED.getCode(), beforeTime, chunkSize));
+        if (ids.size() < chunkSize) {
+            ids.addAll(taskRepository.findArchivableTaskIds(TaskState.FAILED.getCode(), beforeTime, chunkSize - ids.size()));
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int archived = taskRepository.archiveTasks(ids, beforeTime);
+        log.info("归档任务完成，beforeTime: {}, archived: {}", beforeTime, archived);
+
+        return archived;
+    }
+
+    @Override
+    public int purgeChunk() {
+        LocalDateTime beforeTime = LocalDateTime.now().minusDays(archiveRetentionDays);
+        int purged = taskRepository.purgeArchivedTasks(beforeTime, chunkSize);
+        if (purged > 0) {
+            log.info("清理过期归档任务完成，beforeTime: {}, purged: {}", beforeTime, purged);
+        }
+
+        return purged;
+    }
+
+    @Override
+    public int ensurePartitions() {
+        List<YearMonth> existingMonths = taskRepository.findArchivePartitionMonths();
+        YearMonth untilMonth = YearMonth.now().plusMonths(partitionMonthsAhead);
+        // 分区须连续递增：首次部署从当前月开始，之后从最后一个已建分区的下个月开始
+        YearMonth month = existingMonths.isEmpty()
+                ? YearMonth.now()
+                : existingMonths.get(existingMonths.size() - 1).plusMonths(1);
+        List<YearMonth> months = new ArrayList<>();
+        for (; !month.isAfter(untilMonth); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        if (months.isEmpty()) {
+            return 0;
+        }
+        taskRepository.addArchivePartitions(months);
+        log.info("预建归档表分区完成，from: {}, until: {}", months.get(0), untilMonth);
+
+        return months.size();
+    }
+
+    @Override
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public List<TaskEntity> queryArchivedTasks(TaskArchiveQuery query) {
+        return taskRepository.findArchivedTasks(query);
+    }
+
+}
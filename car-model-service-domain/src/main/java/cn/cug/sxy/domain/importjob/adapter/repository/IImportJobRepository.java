@@ -0,0 +1,112 @@
+package cn.cug.sxy.domain.importjob.adapter.repository;
+
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:32
+ * @Description 导入任务仓储接口
+ * @Author jerryhotton
+ */
+
+public interface IImportJobRepository {
+
+    /**
+     * 保存导入任务
+     *
+     * @param job 导入任务
+     * @return 是否成功
+     */
+    boolean save(ImportJobEntity job);
+
+    /**
+     * 更新导入任务状态与进度
+     *
+     * @param job 导入任务
+     * @return 是否成功
+     */
+    boolean update(ImportJobEntity job);
+
+    /**
+     * 按期望状态更新导入任务，状态已被其他节点推进时不更新
+     *
+     * @param job           导入任务
+     * @param expectedState 期望的当前状态
+     * @param staleBefore   心跳（更新时间）上限，为空时不校验
+     * @return 是否更新成功
+     */
+    boolean updateIfState(ImportJobEntity job, TaskState expectedState, LocalDateTime staleBefore);
+
+    /**
+     * 刷新本节点持有任务的心跳（更新时间）
+     *
+     * @param jobIds 任务ID列表
+     */
+    void refreshHeartbeat(Collection<String> jobIds);
+
+    /**
+     * 查询心跳已过期的导入任务
+     *
+     * @param state       任务状态
+     * @param staleBefore 心跳（更新时间）上限
+     * @param limit       限制数量
+     * @return 导入任务列表
+     */
+    List<ImportJobEntity> findStaleJobs(TaskState state, LocalDateTime staleBefore, int limit);
+
+    /**
+     * 根据任务ID查询导入任务
+     *
+     * @param jobId 任务ID
+     * @return 导入任务
+     */
+    ImportJobEntity findByJobId(String jobId);
+
+    /**
+     * 暂存上传文件
+     *
+     * @param jobId 任务ID
+     * @param file  上传文件
+     * @return 暂存路径
+     */
+    String stageSourceFile(String jobId, MultipartFile file);
+
+    /**
+     * 读取暂存文件
+     *
+     * @param job 导入任务
+     * @return 暂存文件
+     */
+    MultipartFile loadSourceFile(ImportJobEntity job);
+
+    /**
+     * 删除暂存文件
+     *
+     * @param job 导入任务
+     */
+    void removeSourceFile(ImportJobEntity job);
+
+    /**
+     * 保存结果报告
+     *
+     * @param jobId  任务ID
+     * @param report 报告内容
+     * @return 报告路径
+     */
+    String saveReport(String jobId, byte[] report);
+
+    /**
+     * 读取结果报告
+     *
+     * @param job 导入任务
+     * @return 报告内容
+     */
+    byte[] loadReport(ImportJobEntity job);
+
+}
@@ -0,0 +1,183 @@
+package cn.cug.sxy.domain.importjob.model.entity;
+
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:20
+ * @Description 导入任务实体（持久化在 task 表，沿用任务状态生命周期）
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportJobEntity {
+
+    public static final String PARAM_USAGE_ID = "usageId";
+    public static final String PARAM_PARENT_ID = "parentId";
+    public static final String PARAM_ALL_OR_NOTHING = "allOrNothing";
+
+    /**
+     * 任务ID（对应 task.message_id）
+     */
+    private String jobId;
+    /**
+     * 任务类型
+     */
+    private ImportJobType jobType;
+    /**
+     * 任务状态：CREATE-已提交、PROCESSING-处理中、COMPLETED-完成、FAILED-失败
+     */
+    private TaskState state;
+    /**
+     * 业务参数（用法ID、父工时ID等）
+     */
+    private Map<String, String> params;
+    /**
+     * 提交人
+     */
+    private String creator;
+    /**
+     * 原始文件名
+     */
+    private String fileName;
+    /**
+     * 文件类型
+     */
+    private String contentType;
+    /**
+     * 文件大小
+     */
+    private Long fileSize;
+    /**
+     * 暂存文件路径
+     */
+    private String sourcePath;
+    /**
+     * 结果报告路径
+     */
+    private String reportPath;
+    /**
+     * 总行数（处理中为已处理行数）
+     */
+    private Integer totalRows;
+    /**
+     * 成功行数
+     */
+    private Integer successRows;
+    /**
+     * 失败行数
+     */
+    private Integer failedRows;
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+    /**
+     * 开始处理时间
+     */
+    private LocalDateTime startedTime;
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedTime;
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedTime;
+
+    /**
+     * 创建导入任务
+     */
+    public static ImportJobEntity create(ImportJobType jobType, Map<String, String> params, String creator,
+                                         String fileName, String contentType, long fileSize) {
+        return ImportJobEntity.builder()
+                .jobId(UUID.randomUUID().toString().replace("-", ""))
+                .jobType(jobType)
+                .state(TaskState.CREATE)
+                .params(params == null ? new HashMap<>() : new HashMap<>(params))
+                .creator(creator)
+                .fileName(fileName)
+                .contentType(contentType)
+                .fileSize(fileSize)
+                .totalRows(0)
+                .successRows(0)
+                .failedRows(0)
+                .createdTime(LocalDateTime.now())
+                .updatedTime(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 获取业务参数
+     */
+    public String getParam(String name) {
+        return params == null ? null : params.get(name);
+    }
+
+    /**
+     * 标记为处理中
+     */
+    public void markAsProcessing() {
+        this.state = TaskState.PROCESSING;
+        this.startedTime = LocalDateTime.now();
+        this.updatedTime = LocalDateTime.now();
+    }
+
+    /**
+     * 更新处理进度（处理中）
+     */
+    public void updateProgress(int processedRows, int successRows, int failedRows) {
+        this.totalRows = processedRows;
+        this.successRows = successRows;
+        this.failedRows = failedRows;
+        this.updatedTime = LocalDateTime.now();
+    }
+
+    /**
+     * 标记为已完成
+     */
+    public void markAsCompleted(int totalRows, int successRows, String reportPath) {
+        this.state = TaskState.COMPLETED;
+        this.totalRows = totalRows;
+        this.successRows = successRows;
+        this.failedRows = totalRows - successRows;
+        this.reportPath = reportPath;
+        this.finishedTime = LocalDateTime.now();
+        this.updatedTime = LocalDateTime.now();
+    }
+
+    /**
+     * 标记为失败
+     */
+    public void markAsFailed(String errorMessage) {
+        this.state = TaskState.FAILED;
+        this.errorMessage = errorMessage;
+        this.finishedTime = LocalDateTime.now();
+        this.updatedTime = LocalDateTime.now();
+    }
+
+    /**
+     * 是否已结束
+     */
+    public boolean isFinished() {
+        return TaskState.COMPLETED.equals(state) || TaskState.FAILED.equals(state);
+    }
+
+}
@@ -0,0 +1,55 @@
+package cn.cug.sxy.domain.importjob.model.valobj;
+
+import lombok.Getter;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:12
+ * @Description 导入任务类型枚举
+ * @Author jerryhotton
+ */
+
+@Getter
+public enum ImportJobType {
+
+    USAGE_PART("usage_part", "用法备件批量绑定"),
+    SUB_WORK_HOUR("sub_work_hour", "子工时批量上传"),
+    PART_HOUR_BINDING("part_hour_binding", "备件工时批量绑定");
+
+    /**
+     * 导入任务在 task 表中的主题前缀，用于与事件消息任务区分
+     */
+    public static final String TOPIC_PREFIX = "import_job:";
+
+    private final String code;
+    private final String info;
+
+    ImportJobType(String code, String info) {
+        this.code = code;
+        this.info = info;
+    }
+
+    /**
+     * 任务表中的主题
+     */
+    public String getTopic() {
+        return TOPIC_PREFIX + code;
+    }
+
+    public static ImportJobType fromCode(String code) {
+        for (ImportJobType type : ImportJobType.values()) {
+            if (type.getCode().equals(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown import job type: " + code);
+    }
+
+    public static ImportJobType fromTopic(String topic) {
+        if (topic == null || !topic.startsWith(TOPIC_PREFIX)) {
+            throw new IllegalArgumentException("not an import job topic: " + topic);
+        }
+        return fromCode(topic.substring(TOPIC_PREFIX.length()));
+    }
+
+}
@@ -0,0 +1,38 @@
+package cn.cug.sxy.domain.importjob.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:15
+ * @Description 导入任务单行处理结果
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowResult {
+
+    /**
+     * 行号
+     */
+    private Integer rowNumber;
+    /**
+     * 业务键（备件编码、工时代码等）
+     */
+    private String businessKey;
+    /**
+     * 是否成功
+     */
+    private Boolean success;
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
+}
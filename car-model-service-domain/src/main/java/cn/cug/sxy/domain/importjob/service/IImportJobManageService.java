@@ -0,0 +1,70 @@
+package cn.cug.sxy.domain.importjob.service;
+
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.usage.model.valobj.UsageId;
+import cn.cug.sxy.domain.workhour.model.valobj.WorkHourId;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 11:00
+ * @Description 导入任务管理服务接口
+ * @Author jerryhotton
+ */
+
+public interface IImportJobManageService {
+
+    /**
+     * 提交用法备件批量绑定任务
+     *
+     * @param usageId 用法ID
+     * @param file    Excel文件
+     * @param creator 提交人
+     * @return 导入任务
+     */
+    ImportJobEntity submitUsagePartImport(UsageId usageId, MultipartFile file, String creator);
+
+    /**
+     * 提交子工时批量上传任务
+     *
+     * @param parentId     父工时ID
+     * @param file         Excel文件
+     * @param creator      提交人
+     * @param allOrNothing 是否整批导入
+     * @return 导入任务
+     */
+    ImportJobEntity submitSubWorkHourImport(WorkHourId parentId, MultipartFile file, String creator, boolean allOrNothing);
+
+    /**
+     * 提交备件工时批量绑定任务
+     *
+     * @param file    Excel文件
+     * @param creator 提交人
+     * @return 导入任务
+     */
+    ImportJobEntity submitPartHourBindingImport(MultipartFile file, String creator);
+
+    /**
+     * 查询导入任务
+     *
+     * @param jobId 任务ID
+     * @return 导入任务
+     */
+    ImportJobEntity findJob(String jobId);
+
+    /**
+     * 获取导入结果报告
+     *
+     * @param jobId 任务ID
+     * @return 报告内容（CSV）
+     */
+    byte[] getReport(String jobId);
+
+    /**
+     * 恢复滞留的导入任务：刷新本节点任务心跳，重新排队心跳过期的已提交任务，将心跳过期的处理中任务置为失败
+     *
+     * @return 恢复的任务数
+     */
+    int recoverStaleJobs();
+
+}
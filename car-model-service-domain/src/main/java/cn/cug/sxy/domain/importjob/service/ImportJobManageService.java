@@ -0,0 +1,314 @@
+package cn.cug.sxy.domain.importjob.service;
+
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.importjob.adapter.repository.IImportJobRepository;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportRowResult;
+import cn.cug.sxy.domain.importjob.service.handler.IImportJobHandler;
+import cn.cug.sxy.domain.usage.model.valobj.UsageId;
+import cn.cug.sxy.domain.workhour.model.valobj.WorkHourId;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 11:05
+ * @Description 导入任务管理服务实现：上传文件暂存后立即返回任务，由有界工作线程池异步处理。
+ * 工作线程池只在内存中，本节点排队与处理中的任务由恢复任务定时刷新心跳（更新时间）；
+ * 节点重启或宕机后心跳停止，已提交任务由任一节点重新排队，处理中任务置为失败（导入不保证幂等，不自动重做）
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class ImportJobManageService implements IImportJobManageService, DisposableBean {
+
+    private static final String REPORT_HEADER = "行号,业务键,结果,错误信息";
+
+    private final IImportJobRepository importJobRepository;
+    private final Map<ImportJobType, IImportJobHandler> handlers = new EnumMap<>(ImportJobType.class);
+    private final ThreadPoolExecutor workerPool;
+    /**
+     * 本节点已排队或处理中的任务，恢复时刷新其心跳
+     */
+    private final Set<String> activeJobIds = ConcurrentHashMap.newKeySet();
+    private final long staleSeconds;
+    private final int recoveryBatchSize;
+    private final long progressIntervalMillis;
+
+    public ImportJobManageService(
+            IImportJobRepository importJobRepository,
+            List<IImportJobHandler> importJobHandlers,
+            @Value("${import-job.worker.core-size:2}") int coreSize,
+            @Value("${import-job.worker.max-size:4}") int maxSize,
+            @Value("${import-job.worker.queue-capacity:20}") int queueCapacity,
+            @Value("${import-job.recovery.stale-seconds:300}") long staleSeconds,
+            @Value("${import-job.recovery.batch-size:20}") int recoveryBatchSize,
+            @Value("${import-job.progress.interval-millis:2000}") long progressIntervalMillis) {
+        this.importJobRepository = importJobRepository;
+        this.staleSeconds = staleSeconds;
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.progressIntervalMillis = progressIntervalMillis;
+        importJobHandlers.forEach(handler -> handlers.put(handler.jobType(), handler));
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(coreSize, maxSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-job-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public ImportJobEntity submitUsagePartImport(UsageId usageId, MultipartFile file, String creator) {
+        Map<String, String> params = new HashMap<>();
+        params.put(ImportJobEntity.PARAM_USAGE_ID, String.valueOf(usageId.getId()));
+
+        return submit(ImportJobType.USAGE_PART, params, file, creator);
+    }
+
+    @Override
+    public ImportJobEntity submitSubWorkHourImport(WorkHourId parentId, MultipartFile file, String creator, boolean allOrNothing) {
+        Map<String, String> params = new HashMap<>();
+        params.put(ImportJobEntity.PARAM_PARENT_ID, String.valueOf(parentId.getId()));
+        params.put(ImportJobEntity.PARAM_ALL_OR_NOTHING, String.valueOf(allOrNothing));
+
+        return submit(ImportJobType.SUB_WORK_HOUR, params, file, creator);
+    }
+
+    @Override
+    public ImportJobEntity submitPartHourBindingImport(MultipartFile file, String creator) {
+        return submit(ImportJobType.PART_HOUR_BINDING, new HashMap<>(), file, creator);
+    }
+
+    @Override
+    public ImportJobEntity findJob(String jobId) {
+        ImportJobEntity job = importJobRepository.findByJobId(jobId);
+        if (job == null) {
+            throw new AppException(ResponseCode.IMPORT_JOB_NOT_FOUND);
+        }
+
+        return job;
+    }
+
+    @Override
+    public byte[] getReport(String jobId) {
+        ImportJobEntity job = findJob(jobId);
+        if (StringUtils.isBlank(job.getReportPath())) {
+            throw new AppException(ResponseCode.IMPORT_JOB_REPORT_NOT_READY);
+        }
+
+        return importJobRepository.loadReport(job);
+    }
+
+    @Override
+    public int recoverStaleJobs() {
+        if (!activeJobIds.isEmpty()) {
+            importJobRepository.refreshHeartbeat(new ArrayList<>(activeJobIds));
+        }
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(staleSeconds);
+        int recovered = 0;
+        for (ImportJobEntity job : importJobRepository.findStaleJobs(TaskState.PROCESSING, staleBefore, recoveryBatchSize)) {
+            if (activeJobIds.contains(job.getJobId())) {
+                continue;
+            }
+            job.markAsFailed(ResponseCode.IMPORT_JOB_INTERRUPTED.getInfo());
+            if (importJobRepository.updateIfState(job, TaskState.PROCESSING, staleBefore)) {
+                log.warn("导入任务心跳过期，置为失败 jobId={}, jobType={}", job.getJobId(), job.getJobType().getCode());
+                importJobRepository.removeSourceFile(job);
+                recovered++;
+            }
+        }
+        for (ImportJobEntity job : importJobRepository.findStaleJobs(TaskState.CREATE, staleBefore, recoveryBatchSize)) {
+            // 队列已满时留待下一轮，避免把可恢复的任务直接判失败
+            if (workerPool.getQueue().remainingCapacity() == 0) {
+                break;
+            }
+            // 条件更新只刷新心跳，多个节点同时恢复时只有一个能认领
+            if (activeJobIds.contains(job.getJobId())
+                    || !importJobRepository.updateIfState(job, TaskState.CREATE, staleBefore)) {
+                continue;
+            }
+            if (enqueue(job)) {
+                log.info("导入任务重新排队 jobId={}, jobType={}", job.getJobId(), job.getJobType().getCode());
+                recovered++;
+            }
+        }
+
+        return recovered;
+    }
+
+    @Override
+    public void destroy() {
+        workerPool.shutdown();
+    }
+
+    private ImportJobEntity submit(ImportJobType jobType, Map<String, String> params, MultipartFile file, String creator) {
+        ImportJobEntity job = ImportJobEntity.create(jobType, params, creator,
+                file.getOriginalFilename(), file.getContentType(), file.getSize());
+        // 先暂存文件再落库，保证任务记录可见时源文件已可读取
+        job.setSourcePath(importJobRepository.stageSourceFile(job.getJobId(), file));
+        importJobRepository.save(job);
+        if (!enqueue(job)) {
+            throw new AppException(ResponseCode.IMPORT_JOB_QUEUE_FULL);
+        }
+        log.info("导入任务已提交 jobId={}, jobType={}, fileName={}", job.getJobId(), jobType.getCode(), job.getFileName());
+
+        return job;
+    }
+
+    /**
+     * 提交到工作线程池；被拒绝时任务置为失败并删除暂存文件，不留在已提交状态
+     */
+    private boolean enqueue(ImportJobEntity job) {
+        activeJobIds.add(job.getJobId());
+        try {
+            workerPool.execute(() -> process(job.getJobId()));
+            return true;
+        } catch (RejectedExecutionException e) {
+            activeJobIds.remove(job.getJobId());
+            log.warn("导入任务队列已满 jobId={}, jobType={}", job.getJobId(), job.getJobType().getCode());
+            job.markAsFailed(ResponseCode.IMPORT_JOB_QUEUE_FULL.getInfo());
+            importJobRepository.update(job);
+            importJobRepository.removeSourceFile(job);
+            return false;
+        }
+    }
+
+    private void process(String jobId) {
+        try {
+            // 工作线程重新加载任务，避免与提交线程共享同一实体
+            ImportJobEntity job = importJobRepository.findByJobId(jobId);
+            if (job == null) {
+                log.warn("导入任务不存在，跳过处理 jobId={}", jobId);
+                return;
+            }
+            job.markAsProcessing();
+            if (!importJobRepository.updateIfState(job, TaskState.CREATE, null)) {
+                log.warn("导入任务已被处理，跳过 jobId={}", jobId);
+                return;
+            }
+            handle(job);
+        } finally {
+            activeJobIds.remove(jobId);
+        }
+    }
+
+    private void handle(ImportJobEntity job) {
+        long start = System.currentTimeMillis();
+        try {
+            IImportJobHandler handler = handlers.get(job.getJobType());
+            if (handler == null) {
+                throw new IllegalStateException("未注册的导入任务类型: " + job.getJobType().getCode());
+            }
+            List<ImportRowResult> results = handler.handle(job, importJobRepository.loadSourceFile(job), new ProgressReporter(job));
+            int successRows = (int) results.stream().filter(result -> Boolean.TRUE.equals(result.getSuccess())).count();
+            String reportPath = importJobRepository.saveReport(job.getJobId(), buildReport(results));
+            job.markAsCompleted(results.size(), successRows, reportPath);
+            importJobRepository.update(job);
+            log.info("导入任务完成 jobId={}, 总行数={}, 成功={}, 失败={}, 耗时={}ms", job.getJobId(),
+                    job.getTotalRows(), job.getSuccessRows(), job.getFailedRows(), System.currentTimeMillis() - start);
+        } catch (AppException e) {
+            log.error("导入任务失败 jobId={}", job.getJobId(), e);
+            job.markAsFailed(StringUtils.defaultIfBlank(e.getInfo(), e.getCode()));
+            importJobRepository.update(job);
+        } catch (Exception e) {
+            log.error("导入任务异常 jobId={}", job.getJobId(), e);
+            job.markAsFailed(StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName()));
+            importJobRepository.update(job);
+        } finally {
+            importJobRepository.removeSourceFile(job);
+        }
+    }
+
+    /**
+     * 累计处理进度，按最小间隔节流写回任务记录，使处理中的任务可查询已处理/成功/失败行数。
+     * 以处理中状态为条件更新，任务已被恢复任务判失败时不覆盖；写回失败只记日志，不中断导入
+     */
+    private class ProgressReporter implements Consumer<List<ImportRowResult>> {
+
+        private final ImportJobEntity job;
+        private int processedRows;
+        private int successRows;
+        private int failedRows;
+        private long lastReportMillis = System.currentTimeMillis();
+
+        ProgressReporter(ImportJobEntity job) {
+            this.job = job;
+        }
+
+        @Override
+        public void accept(List<ImportRowResult> batch) {
+            processedRows += batch.size();
+            for (ImportRowResult result : batch) {
+                // 整批事务模式下写入前成功标记为空，只计入已处理行数
+                if (Boolean.TRUE.equals(result.getSuccess())) {
+                    successRows++;
+                } else if (Boolean.FALSE.equals(result.getSuccess())) {
+                    failedRows++;
+                }
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastReportMillis < progressIntervalMillis) {
+                return;
+            }
+            lastReportMillis = now;
+            job.updateProgress(processedRows, successRows, failedRows);
+            try {
+                if (!importJobRepository.updateIfState(job, TaskState.PROCESSING, null)) {
+                    log.warn("导入任务已不在处理中，跳过进度更新 jobId={}", job.getJobId());
+                }
+            } catch (Exception e) {
+                log.warn("导入任务进度更新失败 jobId={}, 已处理={}", job.getJobId(), processedRows, e);
+            }
+        }
+
+    }
+
+    /**
+     * 生成逐行结果报告（带 BOM 的 UTF-8 CSV，便于 Excel 直接打开）
+     */
+    private byte[] buildReport(List<ImportRowResult> results) {
+        StringBuilder report = new StringBuilder("\uFEFF").append(REPORT_HEADER).append("\r\n");
+        for (ImportRowResult result : results) {
+            report.append(result.getRowNumber() == null ? "" : result.getRowNumber()).append(',')
+                    .append(escapeCsv(result.getBusinessKey())).append(',')
+                    .append(Boolean.TRUE.equals(result.getSuccess()) ? "成功" : "失败").append(',')
+                    .append(escapeCsv(result.getErrorMessage())).append("\r\n");
+        }
+
+        return report.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (StringUtils.containsAny(value, ',', '"', '\r', '\n')) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        return value;
+    }
+
+}
@@ -0,0 +1,36 @@
+package cn.cug.sxy.domain.importjob.service.handler;
+
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportRowResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:40
+ * @Description 导入任务处理器
+ * @Author jerryhotton
+ */
+
+public interface IImportJobHandler {
+
+    /**
+     * 处理的任务类型
+     */
+    ImportJobType jobType();
+
+    /**
+     * 处理导入文件
+     *
+     * @param job              导入任务
+     * @param file             暂存文件
+     * @param progressListener 进度监听器，每处理完一批回调该批结果
+     * @return 逐行处理结果
+     * @throws Exception 处理异常
+     */
+    List<ImportRowResult> handle(ImportJobEntity job, MultipartFile file, Consumer<List<ImportRowResult>> progressListener) throws Exception;
+
+}
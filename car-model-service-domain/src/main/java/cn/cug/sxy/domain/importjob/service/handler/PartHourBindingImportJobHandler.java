@@ -0,0 +1,53 @@
+package cn.cug.sxy.domain.importjob.service.handler;
+
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportRowResult;
+import cn.cug.sxy.domain.part.model.entity.PartBindHourResultEntity;
+import cn.cug.sxy.domain.part.service.IPartCommandService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:50
+ * @Description 备件工时批量绑定导入处理器
+ * @Author jerryhotton
+ */
+
+@Component
+public class PartHourBindingImportJobHandler implements IImportJobHandler {
+
+    private final IPartCommandService partCommandService;
+
+    public PartHourBindingImportJobHandler(IPartCommandService partCommandService) {
+        this.partCommandService = partCommandService;
+    }
+
+    @Override
+    public ImportJobType jobType() {
+        return ImportJobType.PART_HOUR_BINDING;
+    }
+
+    @Override
+    public List<ImportRowResult> handle(ImportJobEntity job, MultipartFile file, Consumer<List<ImportRowResult>> progressListener) throws Exception {
+        return toRowResults(partCommandService.batchBindHours(file, job.getCreator(),
+                batch -> progressListener.accept(toRowResults(batch))));
+    }
+
+    private List<ImportRowResult> toRowResults(List<PartBindHourResultEntity> results) {
+        return results.stream()
+                .map(result -> ImportRowResult.builder()
+                        .rowNumber(result.getRowNumber())
+                        .businessKey(result.getPartCode() + "/" + result.getWorkHourCode())
+                        .success(result.getSuccess())
+                        .errorMessage(result.getErrorMessage())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,57 @@
+package cn.cug.sxy.domain.importjob.service.handler;
+
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportRowResult;
+import cn.cug.sxy.domain.workhour.model.entity.WorkHourBatchUploadResultEntity;
+import cn.cug.sxy.domain.workhour.model.valobj.WorkHourId;
+import cn.cug.sxy.domain.workhour.service.IWorkHourCommandService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:48
+ * @Description 子工时批量上传导入处理器
+ * @Author jerryhotton
+ */
+
+@Component
+public class SubWorkHourImportJobHandler implements IImportJobHandler {
+
+    private final IWorkHourCommandService workHourCommandService;
+
+    public SubWorkHourImportJobHandler(IWorkHourCommandService workHourCommandService) {
+        this.workHourCommandService = workHourCommandService;
+    }
+
+    @Override
+    public ImportJobType jobType() {
+        return ImportJobType.SUB_WORK_HOUR;
+    }
+
+    @Override
+    public List<ImportRowResult> handle(ImportJobEntity job, MultipartFile file, Consumer<List<ImportRowResult>> progressListener) {
+        WorkHourId parentId = new WorkHourId(Long.valueOf(job.getParam(ImportJobEntity.PARAM_PARENT_ID)));
+        boolean allOrNothing = Boolean.parseBoolean(job.getParam(ImportJobEntity.PARAM_ALL_OR_NOTHING));
+
+        return toRowResults(workHourCommandService.batchUploadSubWorkHours(file, parentId, job.getCreator(), allOrNothing,
+                batch -> progressListener.accept(toRowResults(batch))));
+    }
+
+    private List<ImportRowResult> toRowResults(List<WorkHourBatchUploadResultEntity> results) {
+        return results.stream()
+                .map(result -> ImportRowResult.builder()
+                        .rowNumber(result.getRowNumber())
+                        .businessKey(result.getCode())
+                        .success(result.getSuccess())
+                        .errorMessage(result.getErrorMessage())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+}
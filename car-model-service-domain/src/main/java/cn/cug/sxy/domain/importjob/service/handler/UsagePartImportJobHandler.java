@@ -0,0 +1,56 @@
+package cn.cug.sxy.domain.importjob.service.handler;
+
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportRowResult;
+import cn.cug.sxy.domain.part.model.entity.UsageBindPartResultEntity;
+import cn.cug.sxy.domain.part.service.IPartUsageManageService;
+import cn.cug.sxy.domain.usage.model.valobj.UsageId;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 10:45
+ * @Description 用法备件批量绑定导入处理器
+ * @Author jerryhotton
+ */
+
+@Component
+public class UsagePartImportJobHandler implements IImportJobHandler {
+
+    private final IPartUsageManageService partUsageManageService;
+
+    public UsagePartImportJobHandler(IPartUsageManageService partUsageManageService) {
+        this.partUsageManageService = partUsageManageService;
+    }
+
+    @Override
+    public ImportJobType jobType() {
+        return ImportJobType.USAGE_PART;
+    }
+
+    @Override
+    public List<ImportRowResult> handle(ImportJobEntity job, MultipartFile file, Consumer<List<ImportRowResult>> progressListener) throws Exception {
+        UsageId usageId = new UsageId(Long.valueOf(job.getParam(ImportJobEntity.PARAM_USAGE_ID)));
+
+        return toRowResults(partUsageManageService.batchUpload(usageId, file,
+                batch -> progressListener.accept(toRowResults(batch))));
+    }
+
+    private List<ImportRowResult> toRowResults(List<UsageBindPartResultEntity> results) {
+        return results.stream()
+                .map(result -> ImportRowResult.builder()
+                        .rowNumber(result.getRowNumber())
+                        .businessKey(result.getPartCode())
+                        .success(result.getSuccess())
+                        .errorMessage(result.getErrorMessage())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+}
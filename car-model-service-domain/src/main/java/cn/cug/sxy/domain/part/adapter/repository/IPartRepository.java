@@ -9,8 +9,10 @@ import cn.cug.sxy.types.enums.Status;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -44,6 +46,14 @@ public interface IPartRepository {
      */
     Optional<PartEntity> findByCode(PartCode partCode);
 
+    /**
+     * 根据编码批量查询备件
+     *
+     * @param partCodes 备件编码集合
+     * @return 存在的备件列表
+     */
+    List<PartEntity> findByCodes(Collection<PartCode> partCodes);
+
     /**
      * 检查备件编码是否存在
      *
@@ -84,12 +94,13 @@ public interface IPartRepository {
     List<PartEntity> findAll();
 
     /**
-     * 读取备件工时Excel文件
+     * 分批读取备件工时Excel文件，每读满一批回调一次
      *
-     * @param file Excel文件
-     * @return 备件工时数据列表
+     * @param file          Excel文件
+     * @param batchConsumer 批次数据消费者（批内按行号顺序）
+     * @return 读取的数据行数
      */
-    List<PartBindHourExcelData> readPartHourExcel(MultipartFile file) throws IOException;
+    int readPartHourExcel(MultipartFile file, Consumer<List<PartBindHourExcelData>> batchConsumer) throws IOException;
 
     /**
      * 验证备件工时数据
@@ -7,8 +7,11 @@ import cn.cug.sxy.domain.usage.model.valobj.UsageId;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -68,6 +71,14 @@ public interface IUsagePartRepository {
      */
     List<UsagePartEntity> findByUsageId(UsageId usageId);
 
+    /**
+     * 根据用法ID批量查询关联的备件
+     *
+     * @param usageIds 用法ID集合
+     * @return 用法ID -> 用法备件关联列表，无关联的用法不返回
+     */
+    Map<UsageId, List<UsagePartEntity>> findByUsageIds(Collection<UsageId> usageIds);
+
     /**
      * 根据备件ID查询所有关联的用法
      *
@@ -85,6 +96,24 @@ public interface IUsagePartRepository {
      */
     Optional<UsagePartEntity> findByUsageIdAndPartId(UsageId usageId, PartId partId);
 
+    /**
+     * 查询用法下指定备件的已有关联（不回填备件信息）
+     *
+     * @param usageId 用法ID
+     * @param partIds 备件ID集合
+     * @return 用法备件关联列表
+     */
+    List<UsagePartEntity> findByUsageIdAndPartIds(UsageId usageId, Collection<PartId> partIds);
+
+    /**
+     * 在同一事务内批量写入用法备件关联：无ID的新增，有ID的更新数量
+     *
+     * @param usageId           用法ID
+     * @param usagePartEntities 用法备件关联实体列表
+     * @return 写入的记录数
+     */
+    int batchUpsert(UsageId usageId, List<UsagePartEntity> usagePartEntities);
+
     /**
      * 检查用法和备件是否已关联
      *
@@ -95,13 +124,14 @@ public interface IUsagePartRepository {
     boolean exists(UsageId usageId, PartId partId);
 
     /**
-     * 读取用法备件Excel文件
+     * 分批读取用法备件Excel文件，每读满一批回调一次
      *
-     * @param file Excel文件
-     * @return 用法备件数据列表
+     * @param file          Excel文件
+     * @param batchConsumer 批次数据消费者（批内按行号顺序）
+     * @return 读取的数据行数
      * @throws IOException IO异常
      */
-    List<UsageBindPartExcelData> readUsagePartExcel(MultipartFile file) throws IOException;
+    int readUsagePartExcel(MultipartFile file, Consumer<List<UsageBindPartExcelData>> batchConsumer) throws IOException;
 
     /**
      * 验证用法备件数据
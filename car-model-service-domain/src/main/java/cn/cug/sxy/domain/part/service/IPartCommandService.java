@@ -9,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -72,6 +73,17 @@ public interface IPartCommandService {
      */
     List<PartBindHourResultEntity> batchBindHours(MultipartFile file, String creator) throws IOException;
 
+    /**
+     * 批量绑定备件工时关系，每处理完一批回调一次
+     *
+     * @param file          Excel文件，包含备件编码和工时代码
+     * @param creator       创建人
+     * @param batchListener 批次结果监听器
+     * @return 绑定结果列表
+     */
+    List<PartBindHourResultEntity> batchBindHours(MultipartFile file, String creator,
+                                                  Consumer<List<PartBindHourResultEntity>> batchListener) throws IOException;
+
     /**
      * 解绑工时
      *
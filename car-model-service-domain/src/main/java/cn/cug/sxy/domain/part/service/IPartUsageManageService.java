@@ -9,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -64,6 +65,18 @@ public interface IPartUsageManageService {
      */
     List<UsageBindPartResultEntity> batchUpload(UsageId usageId, MultipartFile file) throws IOException;
 
+    /**
+     * 批量上传备件，每处理完一批回调一次
+     *
+     * @param usageId       用法ID
+     * @param file          Excel文件
+     * @param batchListener 批次结果监听器
+     * @return 上传结果
+     * @throws IOException IO异常
+     */
+    List<UsageBindPartResultEntity> batchUpload(UsageId usageId, MultipartFile file,
+                                                Consumer<List<UsageBindPartResultEntity>> batchListener) throws IOException;
+
     /**
      * 上传模板
      *
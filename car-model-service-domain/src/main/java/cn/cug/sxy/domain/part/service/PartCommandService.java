@@ -6,6 +6,8 @@ import cn.cug.sxy.domain.part.model.entity.PartEntity;
 import cn.cug.sxy.domain.part.model.entity.PartBindHourResultEntity;
 import cn.cug.sxy.domain.part.model.valobj.PartCode;
 import cn.cug.sxy.domain.part.model.valobj.PartId;
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
 import cn.cug.sxy.domain.workhour.model.valobj.WorkHourId;
 import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.exception.AppException;
@@ -17,6 +19,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -29,9 +32,11 @@ import java.util.Optional;
 public class PartCommandService implements IPartCommandService {
 
     private final IPartRepository partRepository;
+    private final ISearchIndexService searchIndexService;
 
-    public PartCommandService(IPartRepository partRepository) {
+    public PartCommandService(IPartRepository partRepository, ISearchIndexService searchIndexService) {
         this.partRepository = partRepository;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
@@ -44,7 +49,10 @@ public class PartCommandService implements IPartCommandService {
         PartEntity partEntity = PartEntity.create(partCode, name, creator, remark);
 
         // 保存备件
-        return partRepository.save(partEntity);
+        PartEntity saved = partRepository.save(partEntity);
+        searchIndexService.onDocumentChanged(SearchDocType.PART, saved.getId().getId());
+
+        return saved;
     }
 
     @Override
@@ -58,7 +66,10 @@ public class PartCommandService implements IPartCommandService {
         partEntityOpt.get().update(name, remark);
 
         // 保存更新
-        return partRepository.save(partEntityOpt.get());
+        PartEntity saved = partRepository.save(partEntityOpt.get());
+        searchIndexService.onDocumentChanged(SearchDocType.PART, partId.getId());
+
+        return saved;
     }
 
     @Override
@@ -94,52 +105,34 @@ public class PartCommandService implements IPartCommandService {
         }
 
         // 删除备件
-        return partRepository.delete(partId);
+        boolean deleted = partRepository.delete(partId);
+        if (deleted) {
+            searchIndexService.onDocumentChanged(SearchDocType.PART, partId.getId());
+        }
+
+        return deleted;
     }
 
     @Override
     public List<PartBindHourResultEntity> batchBindHours(MultipartFile file, String creator) throws IOException {
+        return batchBindHours(file, creator, batch -> {});
+    }
+
+    @Override
+    public List<PartBindHourResultEntity> batchBindHours(MultipartFile file, String creator,
+                                                         Consumer<List<PartBindHourResultEntity>> batchListener) throws IOException {
         try {
             // 初始化结果列表
             List<PartBindHourResultEntity> results = new ArrayList<>();
-            // 读取Excel文件
-            List<PartBindHourExcelData> partHourRelations = partRepository.readPartHourExcel(file);
-            // 批量处理数据
-            for (int i = 0; i < partHourRelations.size(); i++) {
-                PartBindHourExcelData relation = partHourRelations.get(i);
-                int rowNumber = i + 2; // Excel行号从2开始（第1行是标题）
-                // 验证数据
-                String errorMessage = partRepository.validatePartHourData(relation);
-                if (errorMessage != null) {
-                    results.add(buildErrorResult(rowNumber, relation, errorMessage));
-                    continue;
-                }
-                // 查询备件
-                Optional<PartEntity> partOpt = partRepository.findByCode(new PartCode(relation.getPartCode()));
-                if (!partOpt.isPresent()) {
-                    results.add(buildErrorResult(rowNumber, relation, "备件不存在"));
-                    continue;
+            // 分批读取Excel文件并逐批处理，避免整表驻留内存
+            partRepository.readPartHourExcel(file, batch -> {
+                int batchStart = results.size();
+                for (PartBindHourExcelData relation : batch) {
+                    int rowNumber = results.size() + 2; // Excel行号从2开始（第1行是标题）
+                    results.add(bindPartHour(rowNumber, relation));
                 }
-                // 绑定工时
-                try {
-                    boolean success = partRepository.bindPartHour(partOpt.get().getId(), relation.getHourCode());
-                    if (success) {
-                        // 添加成功结果
-                        results.add(PartBindHourResultEntity.builder()
-                                .rowNumber(rowNumber)
-                                .partCode(relation.getPartCode())
-                                .workHourCode(relation.getHourCode())
-                                .success(true)
-                                .build());
-                    } else {
-                        results.add(buildErrorResult(rowNumber, relation, "绑定失败"));
-                    }
-                } catch (AppException e) {
-                    results.add(buildErrorResult(rowNumber, relation, e.getInfo()));
-                } catch (Exception e) {
-                    results.add(buildErrorResult(rowNumber, relation, "绑定失败: " + e.getMessage()));
-                }
-            }
+                batchListener.accept(results.subList(batchStart, results.size()));
+            });
 
             return results;
         } catch (Exception e) {
@@ -148,6 +141,40 @@ public class PartCommandService implements IPartCommandService {
         }
     }
 
+    /**
+     * 绑定单行备件工时关系
+     */
+    private PartBindHourResultEntity bindPartHour(int rowNumber, PartBindHourExcelData relation) {
+        // 验证数据
+        String errorMessage = partRepository.validatePartHourData(relation);
+        if (errorMessage != null) {
+            return buildErrorResult(rowNumber, relation, errorMessage);
+        }
+        // 查询备件
+        Optional<PartEntity> partOpt = partRepository.findByCode(new PartCode(relation.getPartCode()));
+        if (!partOpt.isPresent()) {
+            return buildErrorResult(rowNumber, relation, "备件不存在");
+        }
+        // 绑定工时
+        try {
+            boolean success = partRepository.bindPartHour(partOpt.get().getId(), relation.getHourCode());
+            if (!success) {
+                return buildErrorResult(rowNumber, relation, "绑定失败");
+            }
+            // 成功结果
+            return PartBindHourResultEntity.builder()
+                    .rowNumber(rowNumber)
+                    .partCode(relation.getPartCode())
+                    .workHourCode(relation.getHourCode())
+                    .success(true)
+                    .build();
+        } catch (AppException e) {
+            return buildErrorResult(rowNumber, relation, e.getInfo());
+        } catch (Exception e) {
+            return buildErrorResult(rowNumber, relation, "绑定失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 构建错误结果
      */
@@ -18,9 +18,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -105,70 +106,117 @@ public class PartUsageManageService implements IPartUsageManageService {
 
     @Override
     public List<UsageBindPartResultEntity> batchUpload(UsageId usageId, MultipartFile file) throws IOException {
+        return batchUpload(usageId, file, batch -> {});
+    }
+
+    @Override
+    public List<UsageBindPartResultEntity> batchUpload(UsageId usageId, MultipartFile file,
+                                                       Consumer<List<UsageBindPartResultEntity>> batchListener) throws IOException {
         // 验证用法是否存在
         UsageEntity usageEntity = usageRepository.findById(usageId)
                 .orElseThrow(() -> new AppException(ResponseCode.USAGE_NOT_FOUND));
-        // 读取Excel文件
-        List<UsageBindPartExcelData> dataList = usagePartRepository.readUsagePartExcel(file);
         List<UsageBindPartResultEntity> results = new ArrayList<>();
-        List<UsagePartEntity> entitiesToSave = new ArrayList<>();
-        // 处理每一行数据
+        // 1.解析：分批读取Excel文件，每批独立完成校验、解析编码和写入，避免整表驻留内存
+        usagePartRepository.readUsagePartExcel(file, batch -> {
+            List<UsageBindPartResultEntity> batchResults = uploadBatch(usageId, batch, results.size() + 2);
+            results.addAll(batchResults);
+            batchListener.accept(batchResults);
+        });
+
+        return results;
+    }
+
+    /**
+     * 处理一批用法备件数据
+     *
+     * @param usageId        用法ID
+     * @param dataList       批次数据
+     * @param firstRowNumber 批次首行的Excel行号
+     * @return 批次内每行的处理结果
+     */
+    private List<UsageBindPartResultEntity> uploadBatch(UsageId usageId, List<UsageBindPartExcelData> dataList, int firstRowNumber) {
+        List<UsageBindPartResultEntity> results = new ArrayList<>(dataList.size());
+        // 2.校验：逐行校验数据格式，通过校验的行进入后续阶段
+        List<UsageBindPartResultEntity> validResults = new ArrayList<>(dataList.size());
         for (int i = 0; i < dataList.size(); i++) {
             UsageBindPartExcelData data = dataList.get(i);
             UsageBindPartResultEntity result = new UsageBindPartResultEntity();
-            result.setRowNumber(i + 2); // Excel行号从2开始（第1行是表头）
-            // 验证数据
+            result.setRowNumber(firstRowNumber + i);
+            results.add(result);
             String errorMessage = usagePartRepository.validateUsagePartData(data);
             if (errorMessage != null) {
                 result.setSuccess(false);
                 result.setErrorMessage(errorMessage);
-                results.add(result);
                 continue;
             }
-            // 验证成功，设置结果
             result.setPartCode(data.getPartCode());
             result.setCount(Integer.valueOf(data.getCount()));
             result.setUsageId(usageId.getId());
-            try {
-                // 根据备件编码查找备件
-                PartEntity partEntity = partRepository.findByCode(new PartCode(data.getPartCode()))
-                        .orElse(null);
-                if (partEntity == null) {
-                    result.setSuccess(false);
-                    result.setErrorMessage("备件编码不存在");
-                    results.add(result);
-                    continue;
-                }
-                result.setPartId(partEntity.getId().getId());
-                // 检查是否已经绑定
-                Optional<UsagePartEntity> usagePartEntityOpt = usagePartRepository.findByUsageIdAndPartId(usageId, partEntity.getId());
-                if (usagePartEntityOpt.isPresent()) {
-                    // 已经绑定，更新数量
-                    UsagePartEntity entity = usagePartEntityOpt.get();
-                    entity.updateCount(Integer.valueOf(data.getCount()));
-                    usagePartRepository.save(entity);
-                } else {
-                    // 新建绑定关系
-                    UsagePartEntity entity = UsagePartEntity.create(usageId, partEntity.getId(), Integer.valueOf(data.getCount()));
-                    entitiesToSave.add(entity);
-                }
-                result.setSuccess(true);
-            } catch (Exception e) {
-                log.error("处理用法备件关联数据异常", e);
+            validResults.add(result);
+        }
+        if (validResults.isEmpty()) {
+            return results;
+        }
+        // 3.一次 IN 查询解析本批备件编码；数据库按不区分大小写比较，结果按大写编码归并
+        Set<PartCode> partCodes = validResults.stream()
+                .map(result -> new PartCode(normalizePartCode(result.getPartCode())))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, PartEntity> partByCode = partRepository.findByCodes(partCodes).stream()
+                .collect(Collectors.toMap(part -> normalizePartCode(part.getCode().getCode()), Function.identity(), (a, b) -> a));
+        List<UsageBindPartResultEntity> resolvedResults = new ArrayList<>(validResults.size());
+        for (UsageBindPartResultEntity result : validResults) {
+            PartEntity partEntity = partByCode.get(normalizePartCode(result.getPartCode()));
+            if (partEntity == null) {
                 result.setSuccess(false);
-                result.setErrorMessage("处理异常: " + e.getMessage());
+                result.setErrorMessage("备件编码不存在");
+                continue;
             }
-
-            results.add(result);
+            result.setPartId(partEntity.getId().getId());
+            resolvedResults.add(result);
         }
-        // 批量保存新的绑定关系
-        if (!entitiesToSave.isEmpty()) {
-            usagePartRepository.batchSave(entitiesToSave);
+        if (resolvedResults.isEmpty()) {
+            return results;
+        }
+        // 4.一次查询该用法下已有的绑定关系（包含前面批次已写入的绑定）
+        Set<PartId> partIds = resolvedResults.stream()
+                .map(result -> new PartId(result.getPartId()))
+                .collect(Collectors.toSet());
+        Map<PartId, UsagePartEntity> bindingByPartId = usagePartRepository.findByUsageIdAndPartIds(usageId, partIds).stream()
+                .collect(Collectors.toMap(UsagePartEntity::getPartId, Function.identity(), (a, b) -> a));
+        // 5.合并为待写入的绑定：已绑定更新数量，未绑定新建；文件内重复备件以最后一行为准
+        Map<PartId, UsagePartEntity> entitiesToSave = new LinkedHashMap<>();
+        for (UsageBindPartResultEntity result : resolvedResults) {
+            PartId partId = new PartId(result.getPartId());
+            UsagePartEntity entity = entitiesToSave.get(partId);
+            if (entity == null) {
+                entity = bindingByPartId.get(partId);
+            }
+            if (entity != null) {
+                entity.updateCount(result.getCount());
+            } else {
+                entity = UsagePartEntity.create(usageId, partId, result.getCount());
+            }
+            entitiesToSave.put(partId, entity);
+        }
+        // 6.本批单次批量写入
+        try {
+            usagePartRepository.batchUpsert(usageId, new ArrayList<>(entitiesToSave.values()));
+            resolvedResults.forEach(result -> result.setSuccess(true));
+        } catch (Exception e) {
+            log.error("批量写入用法备件关联数据异常 usageId:{}", usageId.getId(), e);
+            resolvedResults.forEach(result -> {
+                result.setSuccess(false);
+                result.setErrorMessage("处理异常: " + e.getMessage());
+            });
         }
 
         return results;
     }
 
+    private String normalizePartCode(String partCode) {
+        return partCode.toUpperCase(Locale.ROOT);
+    }
+
     @Override
     public String uploadTemplate(MultipartFile file) {
         return usagePartRepository.uploadTemplate(file);
@@ -0,0 +1,22 @@
+package cn.cug.sxy.domain.search.adapter.port;
+
+import cn.cug.sxy.domain.search.model.valobj.PinyinForms;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 10:00
+ * @Description 汉字转拼音端口
+ * @Author jerryhotton
+ */
+
+public interface IPinyinPort {
+
+    /**
+     * 转换为拼音全拼与首字母；多音字取第一个读音
+     *
+     * @param text 原文
+     * @return 拼音形式，原文不含汉字时返回null
+     */
+    PinyinForms toPinyin(String text);
+
+}
@@ -0,0 +1,30 @@
+package cn.cug.sxy.domain.search.adapter.port;
+
+import cn.cug.sxy.domain.search.model.valobj.SearchIndexChange;
+
+import java.util.function.Consumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 10:05
+ * @Description 名称检索索引跨节点同步端口：广播本节点的增量变更信号
+ * @Author jerryhotton
+ */
+
+public interface ISearchIndexSyncPort {
+
+    /**
+     * 广播索引变更信号
+     *
+     * @param change 变更信号
+     */
+    void publishChange(SearchIndexChange change);
+
+    /**
+     * 订阅索引变更信号（含本节点发出的，由调用方按来源过滤）
+     *
+     * @param listener 收到信号时回调
+     */
+    void subscribeChange(Consumer<SearchIndexChange> listener);
+
+}
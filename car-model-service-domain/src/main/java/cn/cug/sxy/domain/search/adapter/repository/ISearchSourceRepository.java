@@ -0,0 +1,46 @@
+package cn.cug.sxy.domain.search.adapter.repository;
+
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.model.valobj.SearchDocument;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 10:10
+ * @Description 名称检索数据源仓储接口：从各业务表读取待索引的名称字段
+ * @Author jerryhotton
+ */
+
+public interface ISearchSourceRepository {
+
+    /**
+     * 按主键升序分批读取文档
+     *
+     * @param docType 文档类型
+     * @param afterId 上一批最后一条的主键，首批传0
+     * @param limit   批大小
+     * @return 文档列表，不足 limit 条表示已读完
+     */
+    List<SearchDocument> findBatch(SearchDocType docType, long afterId, int limit);
+
+    /**
+     * 按主键读取文档
+     *
+     * @param docType 文档类型
+     * @param docId   业务主键
+     * @return 文档，数据已删除或不参与检索时为空
+     */
+    Optional<SearchDocument> findById(SearchDocType docType, Long docId);
+
+    /**
+     * 读取范围内全部文档
+     *
+     * @param docType 文档类型，须为有范围的类型
+     * @param scopeId 范围ID
+     * @return 文档列表
+     */
+    List<SearchDocument> findByScope(SearchDocType docType, Long scopeId);
+
+}
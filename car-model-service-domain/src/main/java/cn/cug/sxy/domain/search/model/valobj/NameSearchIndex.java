@@ -0,0 +1,548 @@
+package cn.cug.sxy.domain.search.model.valobj;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 10:30
+ * @Description 名称检索倒排索引
+ * 每个文档的名称、别名及名称的拼音全拼/首字母归一化（NFKC、小写、空白折叠）后切分为二元组写入倒排表，
+ * 名称额外写入单字；检索取关键字最稀有的二元组（单字关键字取单字）的倒排表作为候选，再逐个用子串比对确认并打分，
+ * 无需扫描全部文档。字段原文及各词首位置起的后缀写入有序表，前缀补全按范围遍历。
+ * 倒排表只追加：文档删除或更新后旧条目留待比对时过滤，失效条目超过一半时整体重建倒排表
+ * @Author jerryhotton
+ */
+
+public class NameSearchIndex {
+
+    private static final byte NAME = 0;
+    private static final byte ALIAS = 1;
+    private static final byte PINYIN_FULL = 2;
+    private static final byte PINYIN_INITIALS = 3;
+
+    /**
+     * 字段权重，按 NAME、ALIAS、PINYIN_FULL、PINYIN_INITIALS 顺序
+     */
+    private static final double[] FIELD_WEIGHTS = {1.0, 0.9, 0.8, 0.75};
+
+    private static final double EXACT_SCORE = 100;
+    private static final double PREFIX_SCORE = 70;
+    private static final double WORD_PREFIX_SCORE = 60;
+    private static final double CONTAINS_SCORE = 40;
+    /**
+     * 关键字覆盖字段全文的比例加分上限，同等匹配方式下短名称优先
+     */
+    private static final double COVERAGE_SCORE = 20;
+
+    private static final int MIN_COMPACT_POSTINGS = 1 << 16;
+
+    /**
+     * 前缀补全最多收集 limit 的倍数个候选后停止遍历
+     */
+    private static final int SUGGEST_SCAN_FACTOR = 20;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<SearchHit> HIT_ORDER = Comparator.comparingDouble(SearchHit::getScore).reversed()
+            .thenComparingInt((SearchHit hit) -> hit.getName() == null ? 0 : hit.getName().length())
+            .thenComparingInt(hit -> hit.getDocType().ordinal())
+            .thenComparingLong(SearchHit::getDocId);
+
+    private final Function<String, PinyinForms> pinyin;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> slotByKey = new HashMap<>();
+
+    private final List<Entry> slots = new ArrayList<>();
+
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private final Map<String, Postings> grams = new HashMap<>();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    private final Map<Long, Set<Long>> scopeMembers = new HashMap<>();
+
+    /**
+     * 倒排表中的条目总数（含失效条目）
+     */
+    private long postingCount;
+
+    /**
+     * 现存文档贡献的条目数
+     */
+    private long livePostingCount;
+
+    public NameSearchIndex(Function<String, PinyinForms> pinyin) {
+        this.pinyin = pinyin;
+    }
+
+    /**
+     * 写入或替换文档
+     */
+    public void put(SearchDocument doc) {
+        Entry entry = Entry.of(doc, pinyin);
+        lock.writeLock().lock();
+        try {
+            putInternal(entry);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 批量写入或替换文档
+     */
+    public void putAll(Collection<SearchDocument> docs) {
+        List<Entry> entries = new ArrayList<>(docs.size());
+        docs.forEach(doc -> entries.add(Entry.of(doc, pinyin)));
+        lock.writeLock().lock();
+        try {
+            entries.forEach(this::putInternal);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除文档
+     */
+    public void remove(SearchDocType docType, Long docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key(docType, docId));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 以给定文档整体替换某范围内的全部文档
+     */
+    public void replaceScope(SearchDocType docType, Long scopeId, Collection<SearchDocument> docs) {
+        List<Entry> entries = new ArrayList<>(docs.size());
+        docs.forEach(doc -> entries.add(Entry.of(doc, pinyin)));
+        lock.writeLock().lock();
+        try {
+            Set<Long> members = scopeMembers.remove(key(docType, scopeId));
+            if (members != null) {
+                members.forEach(this::removeInternal);
+            }
+            entries.forEach(this::putInternal);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 子串检索，按相关度降序返回
+     *
+     * @param keyword  关键字，可为名称片段、英文名、编码或拼音全拼/首字母
+     * @param docTypes 文档类型，为空时不限
+     * @param scopeId  范围ID，只约束有范围的文档类型，为null时不限
+     * @param limit    最大返回条数
+     * @return 命中列表
+     */
+    public List<SearchHit> search(String keyword, Set<SearchDocType> docTypes, Long scopeId, int limit) {
+        Query query = Query.of(keyword);
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(HIT_ORDER.reversed());
+            Set<Integer> seen = new HashSet<>();
+            for (String variant : query.variants()) {
+                Postings postings = rarestPostings(variant);
+                if (postings == null) {
+                    continue;
+                }
+                for (int i = 0; i < postings.size; i++) {
+                    collect(postings.slots[i], query, false, docTypes, scopeId, seen, top, limit);
+                }
+            }
+
+            return drain(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 前缀补全：字段全文或其中某个词以关键字开头
+     *
+     * @param prefix   前缀
+     * @param docTypes 文档类型，为空时不限
+     * @param scopeId  范围ID，只约束有范围的文档类型，为null时不限
+     * @param limit    最大返回条数
+     * @return 命中列表
+     */
+    public List<SearchHit> suggest(String prefix, Set<SearchDocType> docTypes, Long scopeId, int limit) {
+        Query query = Query.of(prefix);
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(HIT_ORDER.reversed());
+            Set<Integer> seen = new HashSet<>();
+            int budget = limit * SUGGEST_SCAN_FACTOR;
+            scan:
+            for (String variant : query.variants()) {
+                for (Postings postings : terms.subMap(variant, true, variant + Character.MAX_VALUE, false).values()) {
+                    for (int i = 0; i < postings.size; i++) {
+                        if (collect(postings.slots[i], query, true, docTypes, scopeId, seen, top, limit) && --budget <= 0) {
+                            break scan;
+                        }
+                    }
+                }
+            }
+
+            return drain(top);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putInternal(Entry entry) {
+        removeInternal(entry.key);
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = slots.size();
+            slots.add(entry);
+        } else {
+            slot = freeSlots.pop();
+            slots.set(slot, entry);
+        }
+        slotByKey.put(entry.key, slot);
+        appendPostings(slot, entry);
+        if (entry.scopeKey != null) {
+            scopeMembers.computeIfAbsent(entry.scopeKey, k -> new HashSet<>()).add(entry.key);
+        }
+    }
+
+    private void removeInternal(long key) {
+        Integer slot = slotByKey.remove(key);
+        if (slot == null) {
+            return;
+        }
+        Entry entry = slots.get(slot);
+        slots.set(slot, null);
+        freeSlots.push(slot);
+        livePostingCount -= entry.grams.size() + entry.terms.size();
+        if (entry.scopeKey != null) {
+            Set<Long> members = scopeMembers.get(entry.scopeKey);
+            if (members != null) {
+                members.remove(key);
+                if (members.isEmpty()) {
+                    scopeMembers.remove(entry.scopeKey);
+                }
+            }
+        }
+    }
+
+    private void appendPostings(int slot, Entry entry) {
+        entry.grams.forEach(gram -> grams.computeIfAbsent(gram, k -> new Postings()).add(slot));
+        entry.terms.forEach(term -> terms.computeIfAbsent(term, k -> new Postings()).add(slot));
+        int count = entry.grams.size() + entry.terms.size();
+        postingCount += count;
+        livePostingCount += count;
+    }
+
+    private void compactIfNeeded() {
+        if (postingCount < MIN_COMPACT_POSTINGS || postingCount <= livePostingCount * 2) {
+            return;
+        }
+        grams.clear();
+        terms.clear();
+        postingCount = 0;
+        livePostingCount = 0;
+        for (int slot = 0; slot < slots.size(); slot++) {
+            Entry entry = slots.get(slot);
+            if (entry != null) {
+                appendPostings(slot, entry);
+            }
+        }
+    }
+
+    /**
+     * 单字关键字取单字倒排表，否则取关键字各二元组中最短的倒排表；任一二元组不存在时无命中
+     */
+    private Postings rarestPostings(String variant) {
+        if (variant.length() == 1) {
+            return grams.get(variant);
+        }
+        Postings rarest = null;
+        for (int i = 0; i + 2 <= variant.length(); i++) {
+            Postings postings = grams.get(variant.substring(i, i + 2));
+            if (postings == null) {
+                return null;
+            }
+            if (rarest == null || postings.size < rarest.size) {
+                rarest = postings;
+            }
+        }
+
+        return rarest;
+    }
+
+    /**
+     * 比对候选并放入前 limit 名，返回候选是否命中
+     */
+    private boolean collect(int slot, Query query, boolean prefixOnly, Set<SearchDocType> docTypes, Long scopeId,
+                            Set<Integer> seen, PriorityQueue<SearchHit> top, int limit) {
+        if (!seen.add(slot)) {
+            return false;
+        }
+        Entry entry = slots.get(slot);
+        if (entry == null || !entry.accepts(docTypes, scopeId)) {
+            return false;
+        }
+        SearchHit hit = entry.match(query, prefixOnly);
+        if (hit == null) {
+            return false;
+        }
+        top.offer(hit);
+        if (top.size() > limit) {
+            top.poll();
+        }
+
+        return true;
+    }
+
+    private static List<SearchHit> drain(PriorityQueue<SearchHit> top) {
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(HIT_ORDER);
+
+        return hits;
+    }
+
+    private static long key(SearchDocType docType, Long id) {
+        return ((long) docType.ordinal() << 56) | id;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return index > 0 && !Character.isLetterOrDigit(text.charAt(index - 1)) && Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    /**
+     * 归一化后的关键字；拼音字段不含空白，与去空白后的关键字比对
+     */
+    private static final class Query {
+
+        private final String text;
+        private final String compact;
+
+        private Query(String text, String compact) {
+            this.text = text;
+            this.compact = compact;
+        }
+
+        static Query of(String keyword) {
+            String text = normalize(keyword);
+            if (text.isEmpty()) {
+                return null;
+            }
+            return new Query(text, text.replace(" ", ""));
+        }
+
+        List<String> variants() {
+            return text.equals(compact) ? List.of(text) : List.of(text, compact);
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final SearchDocument doc;
+        private final long key;
+        private final Long scopeKey;
+        private final String[] originals;
+        private final String[] texts;
+        private final byte[] kinds;
+        private final Set<String> grams;
+        private final Set<String> terms;
+
+        private Entry(SearchDocument doc, List<String> originals, List<String> texts, List<Byte> kinds) {
+            this.doc = doc;
+            this.key = key(doc.getDocType(), doc.getDocId());
+            this.scopeKey = doc.getDocType().isScoped() && doc.getScopeId() != null ? key(doc.getDocType(), doc.getScopeId()) : null;
+            this.originals = originals.toArray(new String[0]);
+            this.texts = texts.toArray(new String[0]);
+            this.kinds = new byte[kinds.size()];
+            this.grams = new HashSet<>();
+            this.terms = new HashSet<>();
+            for (int i = 0; i < this.texts.length; i++) {
+                String text = this.texts[i];
+                this.kinds[i] = kinds.get(i);
+                for (int j = 0; j + 2 <= text.length(); j++) {
+                    grams.add(text.substring(j, j + 2));
+                }
+                terms.add(text);
+                if (this.kinds[i] == NAME) {
+                    for (int j = 0; j < text.length(); j++) {
+                        grams.add(text.substring(j, j + 1));
+                    }
+                }
+                if (this.kinds[i] == NAME || this.kinds[i] == ALIAS) {
+                    for (int j = 1; j < text.length(); j++) {
+                        if (isWordStart(text, j)) {
+                            terms.add(text.substring(j));
+                        }
+                    }
+                }
+            }
+        }
+
+        static Entry of(SearchDocument doc, Function<String, PinyinForms> pinyin) {
+            List<String> originals = new ArrayList<>();
+            List<String> texts = new ArrayList<>();
+            List<Byte> kinds = new ArrayList<>();
+            addField(doc.getName(), normalize(doc.getName()), NAME, originals, texts, kinds);
+            if (doc.getAliases() != null) {
+                doc.getAliases().forEach(alias -> addField(alias, normalize(alias), ALIAS, originals, texts, kinds));
+            }
+            PinyinForms forms = doc.getName() == null ? null : pinyin.apply(doc.getName());
+            if (forms != null) {
+                addField(doc.getName(), normalize(forms.getFull()).replace(" ", ""), PINYIN_FULL, originals, texts, kinds);
+                addField(doc.getName(), normalize(forms.getInitials()).replace(" ", ""), PINYIN_INITIALS, originals, texts, kinds);
+            }
+
+            return new Entry(doc, originals, texts, kinds);
+        }
+
+        /**
+         * 跳过空字段与已有相同内容的字段（保留先加入、权重更高的一个）
+         */
+        private static void addField(String original, String text, byte kind,
+                                     List<String> originals, List<String> texts, List<Byte> kinds) {
+            if (text.isEmpty() || texts.contains(text)) {
+                return;
+            }
+            originals.add(original);
+            texts.add(text);
+            kinds.add(kind);
+        }
+
+        boolean accepts(Set<SearchDocType> docTypes, Long scopeId) {
+            if (docTypes != null && !docTypes.isEmpty() && !docTypes.contains(doc.getDocType())) {
+                return false;
+            }
+            return scopeId == null || !doc.getDocType().isScoped() || scopeId.equals(doc.getScopeId());
+        }
+
+        /**
+         * 取得分最高的字段：全文相等 > 以关键字开头 > 某个词以关键字开头 > 包含关键字，再乘以字段权重
+         */
+        SearchHit match(Query query, boolean prefixOnly) {
+            double best = 0;
+            int bestField = -1;
+            for (int i = 0; i < texts.length; i++) {
+                String text = texts[i];
+                String keyword = kinds[i] >= PINYIN_FULL ? query.compact : query.text;
+                int index = matchIndex(text, keyword);
+                if (index < 0) {
+                    continue;
+                }
+                double base;
+                if (text.length() == keyword.length()) {
+                    base = EXACT_SCORE;
+                } else if (index == 0) {
+                    base = PREFIX_SCORE;
+                } else if (isWordStart(text, index)) {
+                    base = WORD_PREFIX_SCORE;
+                } else if (prefixOnly) {
+                    continue;
+                } else {
+                    base = CONTAINS_SCORE;
+                }
+                double score = FIELD_WEIGHTS[kinds[i]] * (base + COVERAGE_SCORE * keyword.length() / text.length());
+                if (score > best) {
+                    best = score;
+                    bestField = i;
+                }
+            }
+            if (bestField < 0) {
+                return null;
+            }
+
+            return SearchHit.builder()
+                    .docType(doc.getDocType())
+                    .docId(doc.getDocId())
+                    .scopeId(doc.getScopeId())
+                    .name(doc.getName())
+                    .matchedText(originals[bestField])
+                    .score(Math.round(best * 100) / 100.0)
+                    .build();
+        }
+
+        /**
+         * 关键字在字段中的位置：优先开头，其次词首，否则取首次出现位置，不包含时返回-1
+         */
+        private static int matchIndex(String text, String keyword) {
+            int first = text.indexOf(keyword);
+            if (first <= 0) {
+                return first;
+            }
+            for (int i = first; i >= 0; i = text.indexOf(keyword, i + 1)) {
+                if (isWordStart(text, i)) {
+                    return i;
+                }
+            }
+            return first;
+        }
+
+    }
+
+    /**
+     * 只追加的文档槽位列表
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+        private int size;
+
+        void add(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+    }
+
+}
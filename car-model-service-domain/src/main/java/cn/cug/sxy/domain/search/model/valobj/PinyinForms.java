@@ -0,0 +1,26 @@
+package cn.cug.sxy.domain.search.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 09:45
+ * @Description 名称的拼音形式VO：全拼与首字母，非汉字字符原样保留（小写）
+ * @Author jerryhotton
+ */
+
+@Getter
+@AllArgsConstructor
+public class PinyinForms {
+
+    /**
+     * 全拼，如 刹车片 -> shachepian
+     */
+    private final String full;
+    /**
+     * 首字母，如 刹车片 -> scp
+     */
+    private final String initials;
+
+}
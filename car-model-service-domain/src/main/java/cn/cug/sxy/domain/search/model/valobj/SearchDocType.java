@@ -0,0 +1,41 @@
+package cn.cug.sxy.domain.search.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 09:30
+ * @Description 名称检索文档类型枚举
+ * @Author jerryhotton
+ */
+
+@Getter
+@AllArgsConstructor
+public enum SearchDocType {
+
+    INSTANCE_NODE("INSTANCE_NODE", "结构实例节点", true),
+    PART("PART", "备件", false),
+    CONFIG_ITEM("CONFIG_ITEM", "配置项", false),
+    CAR_SERIES("CAR_SERIES", "车型系列", false);
+
+    private final String code;
+    private final String info;
+    /**
+     * 文档是否归属某个范围（实例节点归属结构实例），检索时可按范围过滤
+     */
+    private final boolean scoped;
+
+    public static SearchDocType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        for (SearchDocType docType : SearchDocType.values()) {
+            if (docType.getCode().equals(code)) {
+                return docType;
+            }
+        }
+        throw new IllegalArgumentException("未知的检索文档类型编码: " + code);
+    }
+
+}
@@ -0,0 +1,44 @@
+package cn.cug.sxy.domain.search.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 09:35
+ * @Description 名称检索文档VO：被索引的一条业务数据，名称为主字段，英文名、编码等为别名字段
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchDocument {
+
+    /**
+     * 文档类型
+     */
+    private SearchDocType docType;
+    /**
+     * 业务主键
+     */
+    private Long docId;
+    /**
+     * 所属范围ID（实例节点为实例ID），无范围时为null
+     */
+    private Long scopeId;
+    /**
+     * 名称（主字段，中文名称同时索引拼音全拼与首字母）
+     */
+    private String name;
+    /**
+     * 别名字段：英文名、编码、配置值等
+     */
+    private List<String> aliases;
+
+}
@@ -0,0 +1,46 @@
+package cn.cug.sxy.domain.search.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 09:40
+ * @Description 名称检索命中VO
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHit {
+
+    /**
+     * 文档类型
+     */
+    private SearchDocType docType;
+    /**
+     * 业务主键
+     */
+    private Long docId;
+    /**
+     * 所属范围ID
+     */
+    private Long scopeId;
+    /**
+     * 名称
+     */
+    private String name;
+    /**
+     * 命中的字段原文（名称、别名，或拼音命中时为名称）
+     */
+    private String matchedText;
+    /**
+     * 相关度得分，越大越相关
+     */
+    private double score;
+
+}
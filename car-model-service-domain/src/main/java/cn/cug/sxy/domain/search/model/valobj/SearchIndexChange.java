@@ -0,0 +1,41 @@
+package cn.cug.sxy.domain.search.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 09:50
+ * @Description 名称检索索引变更信号VO：只携带定位信息，接收方按主键（或范围）回源重新加载，
+ * 数据已不存在即移除，因此重复或乱序应用都收敛到数据库当前状态
+ * @Author jerryhotton
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchIndexChange implements Serializable {
+
+    /**
+     * 发出变更的节点标识，节点忽略自己发出的信号
+     */
+    private String origin;
+    /**
+     * 文档类型编码
+     */
+    private String docType;
+    /**
+     * 业务主键，为null时表示整个范围变更
+     */
+    private Long docId;
+    /**
+     * 范围ID，docId 为null时按范围重新加载
+     */
+    private Long scopeId;
+
+}
@@ -0,0 +1,63 @@
+package cn.cug.sxy.domain.search.service;
+
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.model.valobj.SearchHit;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 13:00
+ * @Description 名称检索服务接口：维护进程内的名称倒排索引，提供统一的排序检索与前缀补全
+ * @Author jerryhotton
+ */
+
+public interface ISearchIndexService {
+
+    /**
+     * 按名称、英文名、编码或拼音全拼/首字母检索，按相关度降序
+     *
+     * @param keyword  关键字
+     * @param docTypes 文档类型，为空时不限
+     * @param scopeId  范围ID（结构实例ID），只约束实例节点，为null时不限
+     * @param limit    最大返回条数
+     * @return 命中列表
+     */
+    List<SearchHit> search(String keyword, Set<SearchDocType> docTypes, Long scopeId, int limit);
+
+    /**
+     * 前缀补全
+     *
+     * @param prefix   前缀
+     * @param docTypes 文档类型，为空时不限
+     * @param scopeId  范围ID（结构实例ID），只约束实例节点，为null时不限
+     * @param limit    最大返回条数
+     * @return 命中列表
+     */
+    List<SearchHit> suggest(String prefix, Set<SearchDocType> docTypes, Long scopeId, int limit);
+
+    /**
+     * 从数据库全量构建索引并替换当前索引
+     *
+     * @return 索引文档数
+     */
+    int rebuild();
+
+    /**
+     * 单个文档新增、修改或删除后调用：回源刷新本地索引并通知其他节点，处于事务中时在提交后执行
+     *
+     * @param docType 文档类型
+     * @param docId   业务主键
+     */
+    void onDocumentChanged(SearchDocType docType, Long docId);
+
+    /**
+     * 范围内文档批量变更后调用（如实例整树复制、导入、子树删除）：整体重新加载该范围
+     *
+     * @param docType 文档类型
+     * @param scopeId 范围ID
+     */
+    void onScopeChanged(SearchDocType docType, Long scopeId);
+
+}
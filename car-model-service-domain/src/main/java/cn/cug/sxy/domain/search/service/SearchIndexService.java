@@ -0,0 +1,216 @@
+package cn.cug.sxy.domain.search.service;
+
+import cn.cug.sxy.domain.search.adapter.port.IPinyinPort;
+import cn.cug.sxy.domain.search.adapter.port.ISearchIndexSyncPort;
+import cn.cug.sxy.domain.search.adapter.repository.ISearchSourceRepository;
+import cn.cug.sxy.domain.search.model.valobj.NameSearchIndex;
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.model.valobj.SearchDocument;
+import cn.cug.sxy.domain.search.model.valobj.SearchHit;
+import cn.cug.sxy.domain.search.model.valobj.SearchIndexChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 13:20
+ * @Description 名称检索服务实现类
+ * 全量构建在新索引上进行，完成后原子替换；构建期间的增量变更同时记入待重放队列，替换后重放，避免被旧数据覆盖。
+ * 写入后按主键回源刷新本地索引，并广播变更信号，其他节点收到后同样回源刷新；定时全量重建兜底丢失的信号
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class SearchIndexService implements ISearchIndexService, InitializingBean {
+
+    private final ISearchSourceRepository searchSourceRepository;
+    private final IPinyinPort pinyinPort;
+    private final ISearchIndexSyncPort searchIndexSyncPort;
+
+    private final AtomicReference<NameSearchIndex> indexRef = new AtomicReference<>();
+
+    private final Object rebuildLock = new Object();
+
+    private final Queue<SearchIndexChange> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean rebuilding;
+
+    /**
+     * 本节点标识，用于忽略自己广播的信号
+     */
+    private final String origin = UUID.randomUUID().toString();
+
+    @Value("${search.index.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${search.index.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${search.index.max-limit:100}")
+    private int maxLimit;
+
+    public SearchIndexService(ISearchSourceRepository searchSourceRepository,
+                              IPinyinPort pinyinPort,
+                              ISearchIndexSyncPort searchIndexSyncPort) {
+        this.searchSourceRepository = searchSourceRepository;
+        this.pinyinPort = pinyinPort;
+        this.searchIndexSyncPort = searchIndexSyncPort;
+        this.indexRef.set(newIndex());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            searchIndexSyncPort.subscribeChange(change -> {
+                if (!origin.equals(change.getOrigin())) {
+                    apply(change);
+                }
+            });
+        } catch (Exception e) {
+            log.error("订阅名称检索索引变更信号失败，仅依赖定时全量重建", e);
+        }
+    }
+
+    @Override
+    public List<SearchHit> search(String keyword, Set<SearchDocType> docTypes, Long scopeId, int limit) {
+        return indexRef.get().search(keyword, docTypes, scopeId, resolveLimit(limit));
+    }
+
+    @Override
+    public List<SearchHit> suggest(String prefix, Set<SearchDocType> docTypes, Long scopeId, int limit) {
+        return indexRef.get().suggest(prefix, docTypes, scopeId, resolveLimit(limit));
+    }
+
+    @Override
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            pendingChanges.clear();
+            rebuilding = true;
+            NameSearchIndex index = newIndex();
+            try {
+                for (SearchDocType docType : SearchDocType.values()) {
+                    long afterId = 0L;
+                    List<SearchDocument> batch;
+                    do {
+                        batch = searchSourceRepository.findBatch(docType, afterId, batchSize);
+                        if (batch.isEmpty()) {
+                            break;
+                        }
+                        index.putAll(batch);
+                        afterId = batch.get(batch.size() - 1).getDocId();
+                    } while (batch.size() >= batchSize);
+                }
+                indexRef.set(index);
+            } finally {
+                rebuilding = false;
+            }
+            // 构建期间读到的可能是变更前的数据，替换后按队列重放
+            int replayed = 0;
+            SearchIndexChange change;
+            while ((change = pendingChanges.poll()) != null) {
+                apply(change);
+                replayed++;
+            }
+            log.info("名称检索索引已重建 文档:{} 重放变更:{} 耗时:{}ms",
+                    index.size(), replayed, System.currentTimeMillis() - start);
+
+            return index.size();
+        }
+    }
+
+    @Override
+    public void onDocumentChanged(SearchDocType docType, Long docId) {
+        if (docType == null || docId == null) {
+            return;
+        }
+        afterCommit(SearchIndexChange.builder()
+                .origin(origin)
+                .docType(docType.getCode())
+                .docId(docId)
+                .build());
+    }
+
+    @Override
+    public void onScopeChanged(SearchDocType docType, Long scopeId) {
+        if (docType == null || !docType.isScoped() || scopeId == null) {
+            return;
+        }
+        afterCommit(SearchIndexChange.builder()
+                .origin(origin)
+                .docType(docType.getCode())
+                .scopeId(scopeId)
+                .build());
+    }
+
+    /**
+     * 处于事务中时延迟到提交后执行，保证本节点与其他节点回源时读到已提交的数据
+     */
+    private void afterCommit(SearchIndexChange change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAndPublish(change);
+                }
+            });
+            return;
+        }
+        applyAndPublish(change);
+    }
+
+    private void applyAndPublish(SearchIndexChange change) {
+        apply(change);
+        try {
+            searchIndexSyncPort.publishChange(change);
+        } catch (Exception e) {
+            log.error("广播名称检索索引变更信号失败 change={}", change, e);
+        }
+    }
+
+    /**
+     * 回源刷新索引；失败只记录日志，不影响业务写入，由定时全量重建兜底
+     */
+    private void apply(SearchIndexChange change) {
+        if (rebuilding) {
+            pendingChanges.add(change);
+        }
+        try {
+            SearchDocType docType = SearchDocType.fromCode(change.getDocType());
+            NameSearchIndex index = indexRef.get();
+            if (change.getDocId() != null) {
+                Optional<SearchDocument> document = searchSourceRepository.findById(docType, change.getDocId());
+                if (document.isPresent()) {
+                    index.put(document.get());
+                } else {
+                    index.remove(docType, change.getDocId());
+                }
+            } else if (change.getScopeId() != null) {
+                index.replaceScope(docType, change.getScopeId(), searchSourceRepository.findByScope(docType, change.getScopeId()));
+            }
+        } catch (Exception e) {
+            log.error("刷新名称检索索引失败 change={}", change, e);
+        }
+    }
+
+    private NameSearchIndex newIndex() {
+        return new NameSearchIndex(pinyinPort::toPinyin);
+    }
+
+    private int resolveLimit(int limit) {
+        if (limit <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+}
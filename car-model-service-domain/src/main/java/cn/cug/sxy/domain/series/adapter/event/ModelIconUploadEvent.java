@@ -50,9 +50,24 @@ public class ModelIconUploadEvent extends BaseEvent<ModelIconUploadEvent.ModelIc
          * 文件名
          */
         private String fileName;
+        /**
+         * 暂存对象键，消费者据此读取文件内容
+         */
+        private String stagingKey;
+        /**
+         * 文件内容的 SHA-256 校验和
+         */
+        private String checksum;
+        /**
+         * 文件大小（字节）
+         */
+        private Long fileSize;
         /**
          * 文件数据（Base64编码）
+         *
+         * @deprecated 文件内容改为暂存后按 stagingKey 读取，仅用于兼容升级前已持久化的消息
          */
+        @Deprecated
         private String fileData;
         /**
          * 上传类型：CREATE, UPDATE, DELETE
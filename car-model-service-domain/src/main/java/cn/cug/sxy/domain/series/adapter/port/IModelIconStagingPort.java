@@ -0,0 +1,52 @@
+package cn.cug.sxy.domain.series.adapter.port;
+
+import cn.cug.sxy.domain.series.model.valobj.StagedFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/13 09:45
+ * @Description 车型图标暂存端口：上传请求先将原始文件暂存，由事件消费者读取后写入正式路径
+ * @Author jerryhotton
+ */
+
+public interface IModelIconStagingPort {
+
+    /**
+     * 校验并暂存图标文件，同时计算校验和
+     *
+     * @param file 图标文件
+     * @return 暂存文件
+     */
+    StagedFile stage(MultipartFile file);
+
+    /**
+     * 打开暂存文件的输入流，调用方负责关闭
+     *
+     * @param stagingKey 暂存对象键
+     * @return 输入流
+     * @throws IOException 暂存文件不存在或读取失败
+     */
+    InputStream open(String stagingKey) throws IOException;
+
+    /**
+     * 删除暂存文件
+     *
+     * @param stagingKey 暂存对象键
+     * @return 是否删除成功（不存在视为成功）
+     */
+    boolean remove(String stagingKey);
+
+    /**
+     * 清理早于指定时间暂存的孤儿文件（消息发布失败、消费最终失败等情况遗留）
+     *
+     * @param stagedBefore 暂存时间上限
+     * @return 清理的文件数
+     */
+    int purgeStagedBefore(LocalDateTime stagedBefore);
+
+}
@@ -3,6 +3,9 @@ package cn.cug.sxy.domain.series.adapter.port;
 import cn.cug.sxy.domain.series.model.valobj.VinCode;
 import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @version 1.0
  * @Date 2025/7/22 17:16
@@ -27,6 +30,14 @@ public interface IVinQueryPort {
      */
     VinQueryResult queryByVin(VinCode vinCode);
 
+    /**
+     * 批量查询VIN码对应的车型信息
+     *
+     * @param vinCodes VIN码列表
+     * @return VIN码与查询结果的映射，顺序与入参一致
+     */
+    Map<VinCode, VinQueryResult> queryByVins(Collection<VinCode> vinCodes);
+
     /**
      * 检查适配器是否可用
      *
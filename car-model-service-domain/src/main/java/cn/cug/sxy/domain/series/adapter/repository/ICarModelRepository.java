@@ -8,6 +8,7 @@ import cn.cug.sxy.domain.series.model.valobj.PowerType;
 import cn.cug.sxy.domain.series.model.valobj.Brand;
 import cn.cug.sxy.domain.series.model.valobj.SeriesId;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +39,18 @@ public interface ICarModelRepository {
      */
     String uploadModelIcon(String fileData, String fileName, String contentType, Long modelId);
 
+    /**
+     * 以流方式上传车型图标
+     *
+     * @param inputStream 文件输入流
+     * @param size        文件大小
+     * @param fileName    文件名
+     * @param contentType 内容类型
+     * @param modelId     车型ID
+     * @return 图标路径
+     */
+    String uploadModelIcon(InputStream inputStream, long size, String fileName, String contentType, Long modelId);
+
     /**
      * 更新车型实体
      *
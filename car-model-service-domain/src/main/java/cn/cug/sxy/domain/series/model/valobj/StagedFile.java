@@ -0,0 +1,32 @@
+package cn.cug.sxy.domain.series.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/13 09:40
+ * @Description 暂存文件值对象：消息中只携带暂存对象的引用与校验和，不携带文件内容
+ * @Author jerryhotton
+ */
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class StagedFile {
+
+    /**
+     * 暂存对象键
+     */
+    private final String stagingKey;
+    /**
+     * 文件内容的 SHA-256 校验和（十六进制）
+     */
+    private final String checksum;
+    /**
+     * 文件大小（字节）
+     */
+    private final long size;
+
+}
@@ -46,6 +46,7 @@ public class VinQueryResult {
      */
     public static VinQueryResult success(ModelCode modelCode, Brand brand, String modelName, PowerType powerType) {
         return VinQueryResult.builder()
+                .modelCode(modelCode)
                 .brand(brand)
                 .modelName(modelName)
                 .powerType(powerType)
@@ -1,16 +1,25 @@
 package cn.cug.sxy.domain.series.service;
 
+import cn.cug.sxy.domain.event.service.IEventPublisher;
+import cn.cug.sxy.domain.series.adapter.event.ModelIconUploadEvent;
+import cn.cug.sxy.domain.series.adapter.port.IModelIconStagingPort;
 import cn.cug.sxy.domain.series.adapter.repository.ICarModelRepository;
 import cn.cug.sxy.domain.series.model.entity.CarModelEntity;
-import cn.cug.sxy.domain.series.model.valobj.ModelCode;
-import cn.cug.sxy.domain.series.model.valobj.ModelId;
-import cn.cug.sxy.domain.series.model.valobj.PowerType;
-import cn.cug.sxy.domain.series.model.valobj.Brand;
-import cn.cug.sxy.domain.series.model.valobj.SeriesId;
+import cn.cug.sxy.domain.series.model.valobj.*;
 import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.event.BaseEvent;
 import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.Optional;
 
 /**
@@ -20,13 +29,29 @@ import java.util.Optional;
  * @Author jerryhotton
  */
 
+@Slf4j
 @Service
 public class CarModelCommandService implements ICarModelCommandService {
 
-    private final ICarModelRepository carModelRepository;
+    @Value("${spring.rabbitmq.modules.file-upload.exchange}")
+    private String fileUploadExchange;
+
+    @Value("${spring.rabbitmq.modules.file-upload.routing-key}")
+    private String fileUploadRoutingKey;
 
-    public CarModelCommandService(ICarModelRepository carModelRepository) {
+    private final ICarModelRepository carModelRepository;
+    private final IModelIconStagingPort modelIconStagingPort;
+    private final IEventPublisher eventPublisher;
+    private final ModelIconUploadEvent modelIconUploadEvent;
+
+    public CarModelCommandService(ICarModelRepository carModelRepository,
+                                  IModelIconStagingPort modelIconStagingPort,
+                                  IEventPublisher eventPublisher,
+                                  ModelIconUploadEvent modelIconUploadEvent) {
         this.carModelRepository = carModelRepository;
+        this.modelIconStagingPort = modelIconStagingPort;
+        this.eventPublisher = eventPublisher;
+        this.modelIconUploadEvent = modelIconUploadEvent;
     }
 
     @Override
@@ -53,6 +78,69 @@ public class CarModelCommandService implements ICarModelCommandService {
         return carModelRepository.uploadModelIcon(fileData, fileName, contentType, modelId);
     }
 
+    @Override
+    public boolean requestModelIconUpload(ModelId modelId, MultipartFile iconFile) {
+        if (modelId == null || iconFile == null || iconFile.isEmpty()) {
+            throw new IllegalArgumentException("车型ID和图标文件不能为空");
+        }
+        // 1. 原始文件暂存，消息只携带暂存引用
+        StagedFile stagedFile = modelIconStagingPort.stage(iconFile);
+        ModelIconUploadEvent.ModelIconData data = new ModelIconUploadEvent.ModelIconData();
+        data.setModelId(modelId.getId());
+        data.setContentType(iconFile.getContentType());
+        data.setFileName(iconFile.getOriginalFilename());
+        data.setStagingKey(stagedFile.getStagingKey());
+        data.setChecksum(stagedFile.getChecksum());
+        data.setFileSize(stagedFile.getSize());
+        data.setUploadType("CREATE");
+        // 2. 发布上传事件，发布失败时删除暂存文件
+        BaseEvent.EventMessage<ModelIconUploadEvent.ModelIconData> eventMessage = modelIconUploadEvent.buildEventMessage(data);
+        boolean published = eventPublisher.publishEvent(eventMessage, fileUploadExchange, fileUploadRoutingKey);
+        if (!published) {
+            modelIconStagingPort.remove(stagedFile.getStagingKey());
+        }
+        log.info("车型图标上传事件发布{} modelId={}, stagingKey={}, size={}",
+                published ? "成功" : "失败", modelId.getId(), stagedFile.getStagingKey(), stagedFile.getSize());
+
+        return published;
+    }
+
+    @Override
+    public String uploadStagedModelIcon(StagedFile stagedFile, String fileName, String contentType, Long modelId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String iconPath;
+            try (InputStream inputStream = new DigestInputStream(modelIconStagingPort.open(stagedFile.getStagingKey()), digest)) {
+                iconPath = carModelRepository.uploadModelIcon(inputStream, stagedFile.getSize(), fileName, contentType, modelId);
+            }
+            // 内容与暂存时不一致（暂存对象被覆盖或损坏）时撤销上传
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            if (StringUtils.isNotBlank(stagedFile.getChecksum()) && !stagedFile.getChecksum().equalsIgnoreCase(checksum)) {
+                carModelRepository.deleteModelIcon(iconPath);
+                throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(),
+                        "暂存图标校验和不一致 stagingKey=" + stagedFile.getStagingKey());
+            }
+
+            return iconPath;
+        } catch (AppException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new AppException(ResponseCode.UN_ERROR.getCode(), "暂存图标上传失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void releaseStagedModelIcon(String stagingKey) {
+        if (StringUtils.isNotBlank(stagingKey)) {
+            modelIconStagingPort.remove(stagingKey);
+        }
+    }
+
+    @Override
+    public int purgeStagedModelIcons(LocalDateTime stagedBefore) {
+        return modelIconStagingPort.purgeStagedBefore(stagedBefore);
+    }
+
     @Override
     public boolean deleteModelIcon(String iconPath) {
         return carModelRepository.deleteModelIcon(iconPath);
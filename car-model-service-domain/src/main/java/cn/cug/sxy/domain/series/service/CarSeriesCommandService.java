@@ -1,5 +1,7 @@
 package cn.cug.sxy.domain.series.service;
 
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
 import cn.cug.sxy.domain.series.adapter.repository.ICarSeriesRepository;
 import cn.cug.sxy.domain.series.model.entity.CarSeriesEntity;
 import cn.cug.sxy.domain.series.model.valobj.Brand;
@@ -25,8 +27,11 @@ public class CarSeriesCommandService implements ICarSeriesCommandService {
 
     private final ICarSeriesRepository carSeriesRepository;
 
-    public CarSeriesCommandService(ICarSeriesRepository carSeriesRepository) {
+    private final ISearchIndexService searchIndexService;
+
+    public CarSeriesCommandService(ICarSeriesRepository carSeriesRepository, ISearchIndexService searchIndexService) {
         this.carSeriesRepository = carSeriesRepository;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
@@ -41,17 +46,30 @@ public class CarSeriesCommandService implements ICarSeriesCommandService {
                 description
         );
 
-        return carSeriesRepository.save(carSeriesEntity);
+        CarSeriesEntity saved = carSeriesRepository.save(carSeriesEntity);
+        searchIndexService.onDocumentChanged(SearchDocType.CAR_SERIES, saved.getId().getId());
+
+        return saved;
     }
 
     @Override
     public boolean removeCarSeries(SeriesId seriesId) {
-        return carSeriesRepository.remove(seriesId);
+        boolean removed = carSeriesRepository.remove(seriesId);
+        if (removed) {
+            searchIndexService.onDocumentChanged(SearchDocType.CAR_SERIES, seriesId.getId());
+        }
+
+        return removed;
     }
 
     @Override
     public int updateCarSeries(CarSeriesEntity carSeriesEntity) {
-        return carSeriesRepository.update(carSeriesEntity);
+        int result = carSeriesRepository.update(carSeriesEntity);
+        if (result > 0) {
+            searchIndexService.onDocumentChanged(SearchDocType.CAR_SERIES, carSeriesEntity.getId().getId());
+        }
+
+        return result;
     }
 
 }
@@ -6,6 +6,10 @@ import cn.cug.sxy.domain.series.model.valobj.ModelId;
 import cn.cug.sxy.domain.series.model.valobj.PowerType;
 import cn.cug.sxy.domain.series.model.valobj.Brand;
 import cn.cug.sxy.domain.series.model.valobj.SeriesId;
+import cn.cug.sxy.domain.series.model.valobj.StagedFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
 
 /**
  * @version 1.0
@@ -49,6 +53,41 @@ public interface ICarModelCommandService {
      */
     String uploadModelIcon(String fileData, String fileName, String contentType, Long modelId);
 
+    /**
+     * 暂存车型图标并发布上传事件，事件只携带暂存引用与校验和
+     *
+     * @param modelId  车型ID
+     * @param iconFile 图标文件
+     * @return 是否发布成功
+     */
+    boolean requestModelIconUpload(ModelId modelId, MultipartFile iconFile);
+
+    /**
+     * 将暂存的车型图标流式写入正式路径，并校验内容与暂存时一致
+     *
+     * @param stagedFile  暂存文件
+     * @param fileName    文件名
+     * @param contentType 内容类型
+     * @param modelId     车型ID
+     * @return 图标路径
+     */
+    String uploadStagedModelIcon(StagedFile stagedFile, String fileName, String contentType, Long modelId);
+
+    /**
+     * 删除暂存的车型图标
+     *
+     * @param stagingKey 暂存对象键
+     */
+    void releaseStagedModelIcon(String stagingKey);
+
+    /**
+     * 清理早于指定时间暂存的孤儿图标
+     *
+     * @param stagedBefore 暂存时间上限
+     * @return 清理的文件数
+     */
+    int purgeStagedModelIcons(LocalDateTime stagedBefore);
+
     /**
      * 删除车型图标
      *
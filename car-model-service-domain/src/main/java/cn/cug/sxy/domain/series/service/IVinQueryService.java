@@ -3,6 +3,9 @@ package cn.cug.sxy.domain.series.service;
 import cn.cug.sxy.domain.series.model.valobj.VinCode;
 import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * @version 1.0
  * @Date 2025/7/22 17:24
@@ -20,4 +23,12 @@ public interface IVinQueryService {
      */
     VinQueryResult queryByVin(VinCode vinCode);
 
+    /**
+     * 批量查询VIN码对应的车型信息，未命中缓存的VIN码并发查询
+     *
+     * @param vinCodes VIN码列表
+     * @return VIN码与查询结果的映射，顺序与入参一致（重复VIN码只保留一项）
+     */
+    Map<VinCode, VinQueryResult> queryByVins(List<VinCode> vinCodes);
+
 }
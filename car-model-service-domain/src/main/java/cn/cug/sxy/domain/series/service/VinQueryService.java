@@ -3,8 +3,15 @@ package cn.cug.sxy.domain.series.service;
 import cn.cug.sxy.domain.series.adapter.port.IVinQueryPort;
 import cn.cug.sxy.domain.series.model.valobj.VinCode;
 import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @version 1.0
  * @Date 2025/7/22 19:14
@@ -17,6 +24,9 @@ public class VinQueryService implements IVinQueryService {
 
     private final IVinQueryPort vinQueryPort;
 
+    @Value("${vin.query.max-batch-size:200}")
+    private int maxBatchSize;
+
     public VinQueryService(IVinQueryPort vinQueryPort) {
         this.vinQueryPort = vinQueryPort;
     }
@@ -25,5 +35,18 @@ public class VinQueryService implements IVinQueryService {
     public VinQueryResult queryByVin(VinCode vinCode) {
         return vinQueryPort.queryByVin(vinCode);
     }
-    
+
+    @Override
+    public Map<VinCode, VinQueryResult> queryByVins(List<VinCode> vinCodes) {
+        if (vinCodes == null || vinCodes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (vinCodes.size() > maxBatchSize) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(),
+                    "单次最多查询" + maxBatchSize + "个VIN码");
+        }
+
+        return vinQueryPort.queryByVins(vinCodes);
+    }
+
 }
@@ -5,6 +5,7 @@ import cn.cug.sxy.domain.structure.model.valobj.*;
 import cn.cug.sxy.domain.usage.model.valobj.UsageId;
 import cn.cug.sxy.types.enums.Status;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +42,33 @@ public interface IInstanceNodeRepository {
      */
     int update(StructureInstanceNodeEntity node);
 
+    /**
+     * 批量更新节点路径和层级
+     *
+     * @param nodes 节点实体列表（需已持有ID）
+     * @return 更新的记录数
+     */
+    int updatePathAndLevelBatch(List<StructureInstanceNodeEntity> nodes);
+
+    /**
+     * 批量更新节点子树哈希
+     *
+     * @param nodes 节点实体列表（需已持有ID与子树哈希）
+     * @return 更新的记录数
+     */
+    int updateSubtreeHashBatch(List<StructureInstanceNodeEntity> nodes);
+
+    /**
+     * 以单条语句重写子树（不含子树根节点）的路径前缀与层级
+     *
+     * @param nodeId    子树根节点ID
+     * @param oldPath   子树根节点原路径
+     * @param newPath   子树根节点新路径
+     * @param levelDiff 层级差值
+     * @return 更新的记录数
+     */
+    int updateSubtreePathAndLevel(InstanceNodeId nodeId, String oldPath, String newPath, int levelDiff);
+
     /**
      * 更新节点状态
      *
@@ -102,6 +130,23 @@ public interface IInstanceNodeRepository {
      */
     List<StructureInstanceNodeEntity> findByInstanceId(InstanceId instanceId);
 
+    /**
+     * 查询实例中更新时间不早于指定时间的节点（不走缓存）
+     *
+     * @param instanceId   实例ID
+     * @param updatedSince 起始更新时间
+     * @return 节点列表
+     */
+    List<StructureInstanceNodeEntity> findByInstanceIdUpdatedSince(InstanceId instanceId, LocalDateTime updatedSince);
+
+    /**
+     * 查询实例当前全部节点ID（不走缓存）
+     *
+     * @param instanceId 实例ID
+     * @return 节点ID列表
+     */
+    List<InstanceNodeId> findIdsByInstanceId(InstanceId instanceId);
+
     /**
      * 根据实例ID查询根节点
      *
@@ -153,6 +198,32 @@ public interface IInstanceNodeRepository {
      */
     List<StructureInstanceNodeEntity> findSubTree(InstanceNodeId rootNodeId);
 
+    /**
+     * 查询节点的后代节点（不含自身），按层级差、排序序号排序
+     *
+     * @param nodeId   节点ID
+     * @param maxDepth 最大层级差，为null时查询全部后代，为1时即直接子节点
+     * @return 后代节点列表
+     */
+    List<StructureInstanceNodeEntity> findDescendants(InstanceNodeId nodeId, Integer maxDepth);
+
+    /**
+     * 查询节点的祖先链（不含自身）
+     *
+     * @param nodeId 节点ID
+     * @return 祖先节点列表，根节点在前
+     */
+    List<StructureInstanceNodeEntity> findAncestors(InstanceNodeId nodeId);
+
+    /**
+     * 判断节点是否为另一节点的祖先（节点自身视为自身的祖先）
+     *
+     * @param ancestorId   祖先节点ID
+     * @param descendantId 后代节点ID
+     * @return 是否为祖先
+     */
+    boolean isAncestor(InstanceNodeId ancestorId, InstanceNodeId descendantId);
+
     /**
      * 查询节点的路径前缀
      *
@@ -225,4 +296,12 @@ public interface IInstanceNodeRepository {
      */
     int countByInstanceId(InstanceId instanceId);
 
+    /**
+     * 查询实例中子树哈希尚未计算的节点数量
+     *
+     * @param instanceId 实例ID
+     * @return 节点数量
+     */
+    int countMissingSubtreeHash(InstanceId instanceId);
+
 }
@@ -117,6 +117,21 @@ public interface IInstanceRepository {
      */
     StructureInstancePageVO findInstances(InstanceCode instanceCode, String nameKeyword, Status status, SeriesId seriesId, ModelId modelId, int pageNo, int pageSize);
 
+    /**
+     * 游标分页查询实例列表（按创建时间、ID倒序，不做 COUNT 与 OFFSET）
+     *
+     * @param instanceCode 实例编码
+     * @param nameKeyword 实例名称关键词
+     * @param status 实例状态
+     * @param seriesId 车系ID
+     * @param modelId 车型ID
+     * @param cursor 续页令牌，首页为空
+     * @param pageSize 每页数量
+     * @param withTotal 是否返回总数（短期缓存）
+     * @return 实例分页VO
+     */
+    StructureInstancePageVO findInstancesBySeek(InstanceCode instanceCode, String nameKeyword, Status status, SeriesId seriesId, ModelId modelId, String cursor, int pageSize, boolean withTotal);
+
     /**
      * 查询所有实例
      *
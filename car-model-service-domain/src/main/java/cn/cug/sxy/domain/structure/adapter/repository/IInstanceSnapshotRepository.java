@@ -0,0 +1,48 @@
+package cn.cug.sxy.domain.structure.adapter.repository;
+
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceTreeSnapshot;
+
+import java.util.Optional;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 10:26
+ * @Description 实例全树快照仓储接口
+ * @Author jerryhotton
+ */
+
+public interface IInstanceSnapshotRepository {
+
+    /**
+     * 保存快照（覆盖旧快照）
+     *
+     * @param snapshot 快照（etag 由仓储根据序列化结果计算）
+     * @return 带 etag 的快照
+     */
+    InstanceTreeSnapshot save(InstanceTreeSnapshot snapshot);
+
+    /**
+     * 查询快照
+     *
+     * @param instanceId 实例ID
+     * @return 快照
+     */
+    Optional<InstanceTreeSnapshot> findByInstanceId(InstanceId instanceId);
+
+    /**
+     * 仅查询快照的 ETag，不反序列化节点数据
+     *
+     * @param instanceId 实例ID
+     * @return ETag，快照不存在时为 null
+     */
+    String findETagByInstanceId(InstanceId instanceId);
+
+    /**
+     * 删除快照
+     *
+     * @param instanceId 实例ID
+     */
+    void deleteByInstanceId(InstanceId instanceId);
+
+}
@@ -135,6 +135,32 @@ public interface ITemplateNodeRepository {
      */
     List<StructureTemplateNodeEntity> findSubTree(TemplateNodeId rootNodeId);
 
+    /**
+     * 查询节点的后代节点（不含自身），按层级差、排序序号排序
+     *
+     * @param nodeId   节点ID
+     * @param maxDepth 最大层级差，为null时查询全部后代，为1时即直接子节点
+     * @return 后代节点列表
+     */
+    List<StructureTemplateNodeEntity> findDescendants(TemplateNodeId nodeId, Integer maxDepth);
+
+    /**
+     * 查询节点的祖先链（不含自身）
+     *
+     * @param nodeId 节点ID
+     * @return 祖先节点列表，根节点在前
+     */
+    List<StructureTemplateNodeEntity> findAncestors(TemplateNodeId nodeId);
+
+    /**
+     * 判断节点是否为另一节点的祖先（节点自身视为自身的祖先）
+     *
+     * @param ancestorId   祖先节点ID
+     * @param descendantId 后代节点ID
+     * @return 是否为祖先
+     */
+    boolean isAncestor(TemplateNodeId ancestorId, TemplateNodeId descendantId);
+
     /**
      * 根据路径前缀查询节点
      *
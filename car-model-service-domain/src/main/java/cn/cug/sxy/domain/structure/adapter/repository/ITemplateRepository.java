@@ -120,6 +120,19 @@ public interface ITemplateRepository {
      */
     StructureTemplatePageVO findTemplates(TemplateCode templateCode, Status status, String nameKeyword, int pageNo, int pageSize);
 
+    /**
+     * 游标分页查询模板列表（按创建时间、ID倒序，不做 COUNT 与 OFFSET）
+     *
+     * @param templateCode 模板编码
+     * @param status       状态
+     * @param nameKeyword  名称关键字
+     * @param cursor       续页令牌，首页为空
+     * @param pageSize     每页大小
+     * @param withTotal    是否返回总数（短期缓存）
+     * @return 模板分页VO
+     */
+    StructureTemplatePageVO findTemplatesBySeek(TemplateCode templateCode, Status status, String nameKeyword, String cursor, int pageSize, boolean withTotal);
+
     /**
      * 检查模板编码是否存在
      *
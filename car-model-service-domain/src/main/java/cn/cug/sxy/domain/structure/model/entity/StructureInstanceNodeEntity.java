@@ -77,6 +77,10 @@ public class StructureInstanceNodeEntity {
      * 节点层级，根节点为0
      */
     private Integer nodeLevel;
+    /**
+     * 子树哈希：自身字段与子节点子树哈希的摘要，未计算时为null
+     */
+    private String subtreeHash;
     /**
      * 状态
      */
@@ -211,6 +215,15 @@ public class StructureInstanceNodeEntity {
         this.updatedTime = LocalDateTime.now();
     }
 
+    /**
+     * 更新子树哈希（派生值，不改变更新时间）
+     *
+     * @param subtreeHash 子树哈希
+     */
+    public void updateSubtreeHash(String subtreeHash) {
+        this.subtreeHash = subtreeHash;
+    }
+
     /**
      * 启用节点
      */
@@ -0,0 +1,38 @@
+package cn.cug.sxy.domain.structure.model.valobj;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 10:20
+ * @Description 已发布实例的全树快照VO
+ * @Author jerryhotton
+ */
+
+@Getter
+@Builder
+public class InstanceTreeSnapshot {
+
+    /**
+     * 实例ID
+     */
+    private InstanceId instanceId;
+    /**
+     * 快照内容摘要，用作 ETag
+     */
+    private String etag;
+    /**
+     * 全部节点（按层级、排序号排列）
+     */
+    private List<StructureInstanceNodeEntity> nodes;
+    /**
+     * 节点最大更新时间，增量重建时以此为起点
+     */
+    private LocalDateTime watermark;
+
+}
@@ -0,0 +1,140 @@
+package cn.cug.sxy.domain.structure.model.valobj;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureTemplateNodeEntity;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/22 10:12
+ * @Description 参与子树哈希与结构比较的节点VO，实例节点与模板节点统一为该形态后即可互相比较
+ * @Author jerryhotton
+ */
+
+@Getter
+@Builder(toBuilder = true)
+public class MerkleNode {
+
+    /**
+     * 节点ID
+     */
+    private Long id;
+    /**
+     * 父节点ID，根节点为null
+     */
+    private Long parentId;
+    /**
+     * 节点类型
+     */
+    private NodeType nodeType;
+    /**
+     * 节点编码，比较时以此对齐两棵树中的节点
+     */
+    private String nodeCode;
+    /**
+     * 节点名称
+     */
+    private String nodeName;
+    /**
+     * 节点英文名称
+     */
+    private String nodeNameEn;
+    /**
+     * 类型关联ID：CATEGORY 为系统大类ID，GROUP 为系统组ID，USAGE 为用法ID
+     */
+    private Long refId;
+    /**
+     * 子树哈希，未计算时为null
+     */
+    private String subtreeHash;
+
+    public static MerkleNode of(StructureInstanceNodeEntity node) {
+        return MerkleNode.builder()
+                .id(node.getId() == null ? null : node.getId().getId())
+                .parentId(node.getParentId() == null ? null : node.getParentId().getId())
+                .nodeType(node.getNodeType())
+                .nodeCode(node.getNodeCode())
+                .nodeName(node.getNodeName())
+                .nodeNameEn(node.getNodeNameEn())
+                .refId(refId(node.getNodeType(), node.getCategoryId(), node.getGroupId(), node.getUsageId()))
+                .subtreeHash(node.getSubtreeHash())
+                .build();
+    }
+
+    public static MerkleNode of(StructureTemplateNodeEntity node) {
+        return MerkleNode.builder()
+                .id(node.getId() == null ? null : node.getId().getId())
+                .parentId(node.getParentId() == null ? null : node.getParentId().getId())
+                .nodeType(node.getNodeType())
+                .nodeCode(node.getNodeCode())
+                .nodeName(node.getNodeName())
+                .nodeNameEn(node.getNodeNameEn())
+                .refId(refId(node.getNodeType(), node.getCategoryId(), node.getGroupId(), null))
+                .build();
+    }
+
+    public MerkleNode withSubtreeHash(String subtreeHash) {
+        return toBuilder().subtreeHash(subtreeHash).build();
+    }
+
+    /**
+     * 与另一节点相比自身字段（不含子节点）的差异
+     *
+     * @param other 另一节点（新值）
+     * @return 变更描述，格式为"字段: 原值 -> 新值"，无差异时为空列表
+     */
+    public List<String> changedFields(MerkleNode other) {
+        List<String> changedFields = new ArrayList<>();
+        if (!Objects.equals(nodeName, other.nodeName)) {
+            changedFields.add("nodeName: " + nodeName + " -> " + other.nodeName);
+        }
+        if (!Objects.equals(nodeNameEn, other.nodeNameEn)) {
+            changedFields.add("nodeNameEn: " + nodeNameEn + " -> " + other.nodeNameEn);
+        }
+        if (nodeType != other.nodeType) {
+            changedFields.add("nodeType: " + nodeType + " -> " + other.nodeType);
+        } else if (!Objects.equals(refId, other.refId)) {
+            changedFields.add(refFieldName(nodeType) + ": " + refId + " -> " + other.refId);
+        }
+
+        return changedFields;
+    }
+
+    private static Long refId(NodeType nodeType, Long categoryId, Long groupId, Long usageId) {
+        if (nodeType == null) {
+            return null;
+        }
+        switch (nodeType) {
+            case CATEGORY:
+                return categoryId;
+            case GROUP:
+                return groupId;
+            case USAGE:
+                return usageId;
+            default:
+                return null;
+        }
+    }
+
+    private static String refFieldName(NodeType nodeType) {
+        if (nodeType == null) {
+            return "refId";
+        }
+        switch (nodeType) {
+            case CATEGORY:
+                return "categoryId";
+            case GROUP:
+                return "groupId";
+            case USAGE:
+                return "usageId";
+            default:
+                return "refId";
+        }
+    }
+
+}
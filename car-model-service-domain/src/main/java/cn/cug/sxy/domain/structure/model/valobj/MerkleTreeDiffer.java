@@ -0,0 +1,259 @@
+package cn.cug.sxy.domain.structure.model.valobj;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/22 10:30
+ * @Description 结构树默克尔哈希与差异比较
+ * 节点的子树哈希 = SHA-256(自身字段 + 按节点编码排序的子节点子树哈希)，与同级排序号无关；
+ * 比较时自根向下按节点编码对齐，子树哈希相同的节点对整棵子树跳过，只有存在差异的分支才会继续展开
+ * @Author jerryhotton
+ */
+
+public final class MerkleTreeDiffer {
+
+    private static final Comparator<MerkleNode> BY_CODE = Comparator.comparing(MerkleNode::getNodeCode,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private MerkleTreeDiffer() {
+    }
+
+    /**
+     * 计算单个节点的子树哈希
+     *
+     * @param node     节点
+     * @param children 直接子节点（子树哈希均已计算）
+     * @return 子树哈希
+     */
+    public static String subtreeHash(MerkleNode node, Collection<MerkleNode> children) {
+        List<MerkleNode> sortedChildren = new ArrayList<>(children);
+        sortedChildren.sort(BY_CODE);
+        List<String> childHashes = new ArrayList<>(sortedChildren.size());
+        for (MerkleNode child : sortedChildren) {
+            if (child.getSubtreeHash() == null) {
+                throw new IllegalStateException("子节点子树哈希未计算: " + child.getNodeCode());
+            }
+            childHashes.add(child.getSubtreeHash());
+        }
+
+        return digest(node, childHashes);
+    }
+
+    /**
+     * 自底向上计算整棵树所有节点的子树哈希
+     *
+     * @param nodes 树的全部节点，父节点不在集合中的视为根节点
+     * @return 节点ID -> 子树哈希
+     */
+    public static Map<Long, String> hashAll(Collection<MerkleNode> nodes) {
+        Map<Long, MerkleNode> nodeById = new HashMap<>(nodes.size() * 2);
+        for (MerkleNode node : nodes) {
+            nodeById.put(node.getId(), node);
+        }
+        Map<Long, List<MerkleNode>> childrenMap = new HashMap<>();
+        Deque<MerkleNode> stack = new ArrayDeque<>();
+        for (MerkleNode node : nodes) {
+            if (node.getParentId() == null || !nodeById.containsKey(node.getParentId())) {
+                stack.push(node);
+            } else {
+                childrenMap.computeIfAbsent(node.getParentId(), k -> new ArrayList<>()).add(node);
+            }
+        }
+        // 先序展开后逆序处理，保证子节点先于父节点计算
+        List<MerkleNode> preorder = new ArrayList<>(nodes.size());
+        while (!stack.isEmpty()) {
+            MerkleNode node = stack.pop();
+            preorder.add(node);
+            childrenMap.getOrDefault(node.getId(), Collections.emptyList()).forEach(stack::push);
+        }
+        Map<Long, String> hashes = new HashMap<>(preorder.size() * 2);
+        for (int i = preorder.size() - 1; i >= 0; i--) {
+            MerkleNode node = preorder.get(i);
+            List<MerkleNode> children = new ArrayList<>(childrenMap.getOrDefault(node.getId(), Collections.emptyList()));
+            children.sort(BY_CODE);
+            List<String> childHashes = new ArrayList<>(children.size());
+            for (MerkleNode child : children) {
+                childHashes.add(hashes.get(child.getId()));
+            }
+            hashes.put(node.getId(), digest(node, childHashes));
+        }
+
+        return hashes;
+    }
+
+    /**
+     * 自根向下比较两棵树，变更按发现顺序逐条交给 sink
+     *
+     * @param leftRoots     原树根节点
+     * @param leftChildren  原树子节点加载函数
+     * @param rightRoots    新树根节点
+     * @param rightChildren 新树子节点加载函数
+     * @param sink          变更接收方
+     * @return 实际展开比较的节点对数量
+     */
+    public static int diff(List<MerkleNode> leftRoots, Function<MerkleNode, List<MerkleNode>> leftChildren,
+                           List<MerkleNode> rightRoots, Function<MerkleNode, List<MerkleNode>> rightChildren,
+                           Consumer<NodeChange> sink) {
+        Deque<MatchedPair> pairs = new ArrayDeque<>();
+        List<PlacedNode> removedRoots = new ArrayList<>();
+        List<PlacedNode> addedRoots = new ArrayList<>();
+        // 1. 沿编码一致的节点对向下比较，哈希相同的子树整体跳过
+        alignChildren(null, leftRoots, rightRoots, pairs, removedRoots, addedRoots);
+        int visited = 0;
+        while (!pairs.isEmpty()) {
+            MatchedPair pair = pairs.pop();
+            if (pair.left.getSubtreeHash() != null && pair.left.getSubtreeHash().equals(pair.right.getSubtreeHash())) {
+                continue;
+            }
+            visited++;
+            List<String> changedFields = pair.left.changedFields(pair.right);
+            if (!changedFields.isEmpty()) {
+                sink.accept(change(NodeChangeType.MODIFIED, pair.right, pair.parentCode, pair.parentCode, changedFields));
+            }
+            alignChildren(pair.right.getNodeCode(), leftChildren.apply(pair.left), rightChildren.apply(pair.right),
+                    pairs, removedRoots, addedRoots);
+        }
+        // 2. 未对齐的子树展开后按编码配对：两侧都出现的是移动，仅一侧出现的是删除或新增
+        Map<String, PlacedNode> removed = expand(removedRoots, leftChildren);
+        Map<String, PlacedNode> added = expand(addedRoots, rightChildren);
+        for (PlacedNode left : removed.values()) {
+            PlacedNode right = added.get(left.node.getNodeCode());
+            if (right == null) {
+                sink.accept(change(NodeChangeType.REMOVED, left.node, left.parentCode, null, null));
+                continue;
+            }
+            visited++;
+            if (!Objects.equals(left.parentCode, right.parentCode)) {
+                sink.accept(change(NodeChangeType.MOVED, right.node, left.parentCode, right.parentCode, null));
+            }
+            List<String> changedFields = left.node.changedFields(right.node);
+            if (!changedFields.isEmpty()) {
+                sink.accept(change(NodeChangeType.MODIFIED, right.node, left.parentCode, right.parentCode, changedFields));
+            }
+        }
+        for (PlacedNode right : added.values()) {
+            if (!removed.containsKey(right.node.getNodeCode())) {
+                sink.accept(change(NodeChangeType.ADDED, right.node, null, right.parentCode, null));
+            }
+        }
+
+        return visited;
+    }
+
+    /**
+     * 同一父节点下按编码对齐子节点；重复编码的节点不参与对齐
+     */
+    private static void alignChildren(String parentCode, List<MerkleNode> leftNodes, List<MerkleNode> rightNodes,
+                                      Deque<MatchedPair> pairs, List<PlacedNode> removedRoots, List<PlacedNode> addedRoots) {
+        Map<String, MerkleNode> rightByCode = new LinkedHashMap<>();
+        for (MerkleNode right : rightNodes) {
+            if (rightByCode.putIfAbsent(right.getNodeCode(), right) != null) {
+                addedRoots.add(new PlacedNode(right, parentCode));
+            }
+        }
+        for (MerkleNode left : leftNodes) {
+            MerkleNode right = rightByCode.remove(left.getNodeCode());
+            if (right == null) {
+                removedRoots.add(new PlacedNode(left, parentCode));
+            } else {
+                pairs.push(new MatchedPair(left, right, parentCode));
+            }
+        }
+        for (MerkleNode right : rightByCode.values()) {
+            addedRoots.add(new PlacedNode(right, parentCode));
+        }
+    }
+
+    /**
+     * 展开未对齐的子树，得到编码 -> 节点及其父节点编码
+     */
+    private static Map<String, PlacedNode> expand(List<PlacedNode> roots, Function<MerkleNode, List<MerkleNode>> childrenLoader) {
+        Map<String, PlacedNode> result = new LinkedHashMap<>();
+        Deque<PlacedNode> stack = new ArrayDeque<>(roots);
+        while (!stack.isEmpty()) {
+            PlacedNode placed = stack.pop();
+            result.putIfAbsent(placed.node.getNodeCode(), placed);
+            for (MerkleNode child : childrenLoader.apply(placed.node)) {
+                stack.push(new PlacedNode(child, placed.node.getNodeCode()));
+            }
+        }
+
+        return result;
+    }
+
+    private static NodeChange change(NodeChangeType changeType, MerkleNode node, String oldParentCode,
+                                     String newParentCode, List<String> changedFields) {
+        return NodeChange.builder()
+                .changeType(changeType)
+                .nodeCode(node.getNodeCode())
+                .nodeName(node.getNodeName())
+                .nodeType(node.getNodeType())
+                .oldParentCode(oldParentCode)
+                .newParentCode(newParentCode)
+                .changedFields(changedFields)
+                .build();
+    }
+
+    private static String digest(MerkleNode node, List<String> childHashes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            update(messageDigest, node.getNodeType() == null ? null : node.getNodeType().getCode());
+            update(messageDigest, node.getNodeCode());
+            update(messageDigest, node.getNodeName());
+            update(messageDigest, node.getNodeNameEn());
+            update(messageDigest, node.getRefId() == null ? null : String.valueOf(node.getRefId()));
+            for (String childHash : childHashes) {
+                update(messageDigest, childHash);
+            }
+
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 字段以 0 结尾，null 以单独的 1 标记，避免相邻字段拼接产生歧义
+     */
+    private static void update(MessageDigest messageDigest, String value) {
+        if (value == null) {
+            messageDigest.update((byte) 1);
+        } else {
+            messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        messageDigest.update((byte) 0);
+    }
+
+    private static final class MatchedPair {
+
+        private final MerkleNode left;
+        private final MerkleNode right;
+        private final String parentCode;
+
+        private MatchedPair(MerkleNode left, MerkleNode right, String parentCode) {
+            this.left = left;
+            this.right = right;
+            this.parentCode = parentCode;
+        }
+
+    }
+
+    private static final class PlacedNode {
+
+        private final MerkleNode node;
+        private final String parentCode;
+
+        private PlacedNode(MerkleNode node, String parentCode) {
+            this.node = node;
+            this.parentCode = parentCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package cn.cug.sxy.domain.structure.model.valobj;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/22 10:08
+ * @Description 结构树节点变更VO，比较结果中的一条记录
+ * @Author jerryhotton
+ */
+
+@Getter
+@Builder
+public class NodeChange {
+
+    /**
+     * 变更类型
+     */
+    private NodeChangeType changeType;
+    /**
+     * 节点编码
+     */
+    private String nodeCode;
+    /**
+     * 节点名称（删除取原节点，其余取新节点）
+     */
+    private String nodeName;
+    /**
+     * 节点类型
+     */
+    private NodeType nodeType;
+    /**
+     * 原父节点编码，根节点为null；新增时为null
+     */
+    private String oldParentCode;
+    /**
+     * 新父节点编码，根节点为null；删除时为null
+     */
+    private String newParentCode;
+    /**
+     * 变更的字段（"字段: 原值 -> 新值"），仅修改时有值
+     */
+    private List<String> changedFields;
+
+}
@@ -0,0 +1,25 @@
+package cn.cug.sxy.domain.structure.model.valobj;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/22 10:05
+ * @Description 结构树节点变更类型
+ * @Author jerryhotton
+ */
+
+@Getter
+@AllArgsConstructor
+public enum NodeChangeType {
+
+    ADDED("added", "新增"),
+    REMOVED("removed", "删除"),
+    MOVED("moved", "移动"),
+    MODIFIED("modified", "修改");
+
+    private final String code;
+    private final String info;
+
+}
@@ -0,0 +1,101 @@
+package cn.cug.sxy.domain.structure.model.valobj;
+
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/19 09:30
+ * @Description 游标分页位置VO
+ * 记录上一页末行的排序键 (created_time, id)，编码为不透明的续页令牌；令牌绑定查询条件摘要，
+ * 条件变化后携带旧令牌视为非法参数，避免在不同结果集之间错位续页
+ * @Author jerryhotton
+ */
+
+@Getter
+public class SeekCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 上一页末行的创建时间
+     */
+    private final LocalDateTime sortKey;
+    /**
+     * 上一页末行的ID
+     */
+    private final Long id;
+    /**
+     * 查询条件摘要
+     */
+    private final String filterDigest;
+
+    public SeekCursor(LocalDateTime sortKey, Long id, String filterDigest) {
+        this.sortKey = sortKey;
+        this.id = id;
+        this.filterDigest = filterDigest;
+    }
+
+    /**
+     * 编码为续页令牌
+     */
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id + SEPARATOR + filterDigest;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析续页令牌
+     *
+     * @param token        续页令牌，为空表示首页
+     * @param filterDigest 本次查询条件摘要
+     * @return 游标，首页返回 null
+     */
+    public static SeekCursor decode(String token, String filterDigest) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[2].equals(filterDigest)) {
+                throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "分页游标与查询条件不匹配");
+            }
+
+            return new SeekCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "无效的分页游标");
+        }
+    }
+
+    /**
+     * 计算查询条件摘要
+     *
+     * @param filters 查询条件（顺序敏感）
+     * @return 摘要
+     */
+    public static String digest(Object... filters) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            for (Object filter : filters) {
+                messageDigest.update(Objects.toString(filter, "").getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte) 0);
+            }
+
+            return HexFormat.of().formatHex(messageDigest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -33,5 +33,13 @@ public class StructureTemplatePageVO {
      * 当前页码
      */
     private Integer currentPage;
+    /**
+     * 下一页续页令牌（游标分页）
+     */
+    private String nextCursor;
+    /**
+     * 是否还有下一页（游标分页）
+     */
+    private Boolean hasMore;
 
 }
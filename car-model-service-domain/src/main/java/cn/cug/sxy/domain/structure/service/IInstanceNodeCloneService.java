@@ -0,0 +1,40 @@
+package cn.cug.sxy.domain.structure.service;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureTemplateNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/20 10:12
+ * @Description 实例节点树批量克隆服务接口
+ * @Author jerryhotton
+ */
+
+public interface IInstanceNodeCloneService {
+
+    /**
+     * 将模板节点树批量克隆到实例
+     *
+     * @param templateNodes    模板节点列表
+     * @param targetInstanceId 目标实例ID
+     * @param creator          创建人
+     * @return 新建的实例节点列表（按层级排列）
+     */
+    List<StructureInstanceNodeEntity> cloneFromTemplate(List<StructureTemplateNodeEntity> templateNodes,
+                                                        InstanceId targetInstanceId, String creator);
+
+    /**
+     * 将实例节点树批量克隆到另一实例
+     *
+     * @param sourceNodes      源实例节点列表
+     * @param targetInstanceId 目标实例ID
+     * @param creator          创建人
+     * @return 新建的实例节点列表（按层级排列）
+     */
+    List<StructureInstanceNodeEntity> cloneFromInstance(List<StructureInstanceNodeEntity> sourceNodes,
+                                                        InstanceId targetInstanceId, String creator);
+
+}
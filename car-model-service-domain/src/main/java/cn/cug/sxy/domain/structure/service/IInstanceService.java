@@ -10,6 +10,7 @@ import cn.cug.sxy.types.enums.Status;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -114,13 +115,21 @@ public interface IInstanceService {
             Integer sortOrder);
 
     /**
-     * 获取实例及其完整树结构
+     * 获取实例及其完整树结构（已发布实例读取全树快照，结果中附带 etag）
      *
      * @param instanceId 实例ID
      * @return 包含实例和节点树的Map
      */
     Map<String, Object> getInstanceWithFullTree(InstanceId instanceId);
 
+    /**
+     * 获取已发布实例全树快照的 ETag，用于条件请求校验
+     *
+     * @param instanceId 实例ID
+     * @return ETag，实例未发布或快照尚未构建时为 null
+     */
+    String findPublishedTreeETag(InstanceId instanceId);
+
     /**
      * 根据实例编码和版本获取实例及其完整树结构
      *
@@ -184,6 +193,30 @@ public interface IInstanceService {
             int pageSize
     );
 
+    /**
+     * 游标分页查询实例列表
+     *
+     * @param instanceCode 实例编码
+     * @param nameKeyword  实例名称关键词
+     * @param status       实例状态
+     * @param seriesId     车系ID
+     * @param modelId      车型ID
+     * @param cursor       续页令牌，首页为空
+     * @param pageSize     每页数量
+     * @param withTotal    是否返回总数
+     * @return 实例分页VO
+     */
+    StructureInstancePageVO findInstancesBySeek(
+            InstanceCode instanceCode,
+            String nameKeyword,
+            Status status,
+            SeriesId seriesId,
+            ModelId modelId,
+            String cursor,
+            int pageSize,
+            boolean withTotal
+    );
+
     /**
      * 删除节点及其子节点
      *
@@ -233,6 +266,14 @@ public interface IInstanceService {
      */
     StructureInstanceEntity findInstanceById(InstanceId instanceId);
 
+    /**
+     * 查询车型当前生效的已发布实例：已发布、已启用且生效时间不晚于当前，多个时取生效时间最新者
+     *
+     * @param modelId 车型ID
+     * @return 实例，不存在时返回 null
+     */
+    StructureInstanceEntity findPublishedInstanceByModelId(ModelId modelId);
+
     /**
      * 根据ID查询节点
      *
@@ -260,10 +301,28 @@ public interface IInstanceService {
     /**
      * 比较两个实例版本的差异
      *
-     * @param instanceId1 实例ID1
-     * @param instanceId2 实例ID2
-     * @return 差异结果
+     * @param instanceId1 实例ID1（原）
+     * @param instanceId2 实例ID2（新）
+     * @return 变更列表
+     */
+    List<NodeChange> compareInstances(InstanceId instanceId1, InstanceId instanceId2);
+
+    /**
+     * 比较两个实例版本的差异，变更逐条交给 sink，不在内存中汇总
+     *
+     * @param instanceId1 实例ID1（原）
+     * @param instanceId2 实例ID2（新）
+     * @param sink        变更接收方
+     */
+    void compareInstances(InstanceId instanceId1, InstanceId instanceId2, Consumer<NodeChange> sink);
+
+    /**
+     * 检查实例相对模板的结构偏离
+     *
+     * @param instanceId 实例ID
+     * @param templateId 模板ID（作为比较基准）
+     * @return 变更列表
      */
-    Map<String, Object> compareInstances(InstanceId instanceId1, InstanceId instanceId2);
+    List<NodeChange> compareInstanceWithTemplate(InstanceId instanceId, TemplateId templateId);
 
 }
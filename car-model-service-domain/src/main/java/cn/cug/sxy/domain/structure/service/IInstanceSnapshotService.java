@@ -0,0 +1,46 @@
+package cn.cug.sxy.domain.structure.service;
+
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceTreeSnapshot;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 10:35
+ * @Description 已发布实例全树快照服务接口
+ * @Author jerryhotton
+ */
+
+public interface IInstanceSnapshotService {
+
+    /**
+     * 构建（或增量刷新）实例的全树快照
+     *
+     * @param instanceId 实例ID
+     * @return 快照
+     */
+    InstanceTreeSnapshot rebuild(InstanceId instanceId);
+
+    /**
+     * 获取快照，不存在时构建
+     *
+     * @param instanceId 实例ID
+     * @return 快照
+     */
+    InstanceTreeSnapshot getOrBuild(InstanceId instanceId);
+
+    /**
+     * 获取快照 ETag，不存在时返回 null
+     *
+     * @param instanceId 实例ID
+     * @return ETag
+     */
+    String findETag(InstanceId instanceId);
+
+    /**
+     * 删除快照
+     *
+     * @param instanceId 实例ID
+     */
+    void evict(InstanceId instanceId);
+
+}
@@ -0,0 +1,37 @@
+package cn.cug.sxy.domain.structure.service;
+
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/22 11:00
+ * @Description 实例节点子树哈希维护服务接口
+ * @Author jerryhotton
+ */
+
+public interface IInstanceTreeHashService {
+
+    /**
+     * 节点写入后，自该节点起沿祖先链向上重算子树哈希，某一层哈希未变化即停止
+     *
+     * @param nodeId 发生变化的节点ID；删除或移出子节点时传父节点ID
+     */
+    void refreshFrom(InstanceNodeId nodeId);
+
+    /**
+     * 重算实例全部节点的子树哈希，仅回写发生变化的节点（批量写入、历史数据回填）
+     *
+     * @param instanceId 实例ID
+     * @return 回写的节点数
+     */
+    int rebuild(InstanceId instanceId);
+
+    /**
+     * 确保实例全部节点均已计算子树哈希，存在缺失时整实例重算
+     *
+     * @param instanceId 实例ID
+     */
+    void ensureHashed(InstanceId instanceId);
+
+}
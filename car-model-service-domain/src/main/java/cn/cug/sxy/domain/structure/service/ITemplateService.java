@@ -151,6 +151,19 @@ public interface ITemplateService {
      */
     StructureTemplatePageVO findTemplates(TemplateCode templateCode, Status status, String nameKeyword, int pageNo, int pageSize);
 
+    /**
+     * 游标分页查询模板列表
+     *
+     * @param templateCode 模板编码
+     * @param status       状态
+     * @param nameKeyword  名称关键字
+     * @param cursor       续页令牌，首页为空
+     * @param pageSize     每页大小
+     * @param withTotal    是否返回总数
+     * @return 模板分页VO
+     */
+    StructureTemplatePageVO findTemplatesBySeek(TemplateCode templateCode, Status status, String nameKeyword, String cursor, int pageSize, boolean withTotal);
+
 
     /**
      * 删除节点及其子节点
@@ -0,0 +1,164 @@
+package cn.cug.sxy.domain.structure.service;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureTemplateNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/20 10:12
+ * @Description 实例节点树批量克隆服务实现
+ * 按层级在内存中构建新树，每层一次多行插入取回自增ID，再一次性回写路径与层级，
+ * 数据库往返次数与树深度成正比，而不是与节点数成正比
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class InstanceNodeCloneService implements IInstanceNodeCloneService {
+
+    private final IInstanceNodeRepository instanceNodeRepository;
+
+    public InstanceNodeCloneService(IInstanceNodeRepository instanceNodeRepository) {
+        this.instanceNodeRepository = instanceNodeRepository;
+    }
+
+    @Override
+    public List<StructureInstanceNodeEntity> cloneFromTemplate(List<StructureTemplateNodeEntity> templateNodes,
+                                                               InstanceId targetInstanceId, String creator) {
+        return cloneTree(templateNodes,
+                StructureTemplateNodeEntity::getId,
+                StructureTemplateNodeEntity::getParentId,
+                templateNode -> {
+                    StructureInstanceNodeEntity node = StructureInstanceNodeEntity.createRoot(
+                            targetInstanceId,
+                            templateNode.getNodeType(),
+                            templateNode.getNodeCode(),
+                            templateNode.getNodeName(),
+                            templateNode.getNodeNameEn(),
+                            templateNode.getSortOrder(),
+                            creator);
+                    // 复制特定类型的ID（模板节点没有usageId）
+                    switch (templateNode.getNodeType()) {
+                        case CATEGORY:
+                            node.setCategoryId(templateNode.getCategoryId());
+                            break;
+                        case GROUP:
+                            node.setGroupId(templateNode.getGroupId());
+                            break;
+                        default:
+                            break;
+                    }
+                    return node;
+                });
+    }
+
+    @Override
+    public List<StructureInstanceNodeEntity> cloneFromInstance(List<StructureInstanceNodeEntity> sourceNodes,
+                                                               InstanceId targetInstanceId, String creator) {
+        return cloneTree(sourceNodes,
+                StructureInstanceNodeEntity::getId,
+                StructureInstanceNodeEntity::getParentId,
+                sourceNode -> {
+                    StructureInstanceNodeEntity node = StructureInstanceNodeEntity.createRoot(
+                            targetInstanceId,
+                            sourceNode.getNodeType(),
+                            sourceNode.getNodeCode(),
+                            sourceNode.getNodeName(),
+                            sourceNode.getNodeNameEn(),
+                            sourceNode.getSortOrder(),
+                            creator);
+                    // 复制特定类型的ID
+                    node.setCategoryId(sourceNode.getCategoryId());
+                    node.setGroupId(sourceNode.getGroupId());
+                    node.setUsageId(sourceNode.getUsageId());
+                    return node;
+                });
+    }
+
+    /**
+     * 按层级克隆节点树
+     *
+     * @param sourceNodes    源节点列表
+     * @param idGetter       源节点ID获取函数
+     * @param parentIdGetter 源节点父ID获取函数
+     * @param nodeFactory    由源节点创建新实例节点（不含父节点、路径与层级）
+     * @return 新建的实例节点列表
+     */
+    private <S, K> List<StructureInstanceNodeEntity> cloneTree(List<S> sourceNodes,
+                                                              Function<S, K> idGetter,
+                                                              Function<S, K> parentIdGetter,
+                                                              Function<S, StructureInstanceNodeEntity> nodeFactory) {
+        if (CollectionUtils.isEmpty(sourceNodes)) {
+            return Collections.emptyList();
+        }
+        // 一次遍历建立父子索引，保持源列表中的相对顺序
+        List<S> currentLevel = new ArrayList<>();
+        Map<K, List<S>> childrenMap = new HashMap<>();
+        for (S sourceNode : sourceNodes) {
+            K parentId = parentIdGetter.apply(sourceNode);
+            if (parentId == null) {
+                currentLevel.add(sourceNode);
+            } else {
+                childrenMap.computeIfAbsent(parentId, k -> new ArrayList<>()).add(sourceNode);
+            }
+        }
+        List<StructureInstanceNodeEntity> result = new ArrayList<>(sourceNodes.size());
+        // 上一层源节点ID -> 新节点
+        Map<K, StructureInstanceNodeEntity> parentNodeMap = Collections.emptyMap();
+        int level = 0;
+        while (!currentLevel.isEmpty()) {
+            // 1. 在内存中构建本层节点
+            List<StructureInstanceNodeEntity> levelNodes = new ArrayList<>(currentLevel.size());
+            for (S sourceNode : currentLevel) {
+                StructureInstanceNodeEntity node = nodeFactory.apply(sourceNode);
+                if (level > 0) {
+                    node.setParentId(parentNodeMap.get(parentIdGetter.apply(sourceNode)).getId());
+                }
+                node.setNodeLevel(level);
+                levelNodes.add(node);
+            }
+            // 2. 多行插入本层节点，回填自增ID
+            instanceNodeRepository.saveBatch(levelNodes);
+            // 3. 依据父节点路径计算本层路径，并一次性回写
+            for (int i = 0; i < levelNodes.size(); i++) {
+                StructureInstanceNodeEntity node = levelNodes.get(i);
+                if (node.getId() == null) {
+                    throw new AppException("批量插入节点未返回主键");
+                }
+                String nodePath = level == 0
+                        ? String.valueOf(node.getId().getId())
+                        : parentNodeMap.get(parentIdGetter.apply(currentLevel.get(i))).getNodePath() + "-" + node.getId().getId();
+                node.updatePathAndLevel(nodePath, level);
+            }
+            instanceNodeRepository.updatePathAndLevelBatch(levelNodes);
+            result.addAll(levelNodes);
+            // 4. 准备下一层
+            Map<K, StructureInstanceNodeEntity> nextParentNodeMap = new HashMap<>(currentLevel.size() * 2);
+            List<S> nextLevel = new ArrayList<>();
+            for (int i = 0; i < currentLevel.size(); i++) {
+                K sourceId = idGetter.apply(currentLevel.get(i));
+                nextParentNodeMap.put(sourceId, levelNodes.get(i));
+                List<S> children = childrenMap.get(sourceId);
+                if (children != null) {
+                    nextLevel.addAll(children);
+                }
+            }
+            parentNodeMap = nextParentNodeMap;
+            currentLevel = nextLevel;
+            level++;
+        }
+        log.info("节点树克隆完成 节点数:{} 层数:{}", result.size(), level);
+
+        return result;
+    }
+
+}
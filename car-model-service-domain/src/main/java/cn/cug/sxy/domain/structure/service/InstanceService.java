@@ -1,5 +1,7 @@
 package cn.cug.sxy.domain.structure.service;
 
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
 import cn.cug.sxy.domain.series.model.valobj.ModelId;
 import cn.cug.sxy.domain.series.model.valobj.SeriesId;
 import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
@@ -11,14 +13,18 @@ import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
 import cn.cug.sxy.domain.structure.model.entity.StructureTemplateEntity;
 import cn.cug.sxy.domain.structure.model.entity.StructureTemplateNodeEntity;
 import cn.cug.sxy.domain.structure.model.valobj.*;
+import cn.cug.sxy.domain.usage.service.IUsageMatchingService;
 import cn.cug.sxy.types.enums.Status;
 import cn.cug.sxy.types.exception.AppException;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -35,19 +41,35 @@ public class InstanceService implements IInstanceService {
     private final IInstanceNodeRepository instanceNodeRepository;
     private final ITemplateRepository templateRepository;
     private final ITemplateNodeRepository templateNodeRepository;
+    private final IInstanceNodeCloneService instanceNodeCloneService;
+    private final IInstanceSnapshotService instanceSnapshotService;
+    private final IInstanceTreeHashService instanceTreeHashService;
+    private final ISearchIndexService searchIndexService;
+    private final IUsageMatchingService usageMatchingService;
 
     public InstanceService(
             IInstanceRepository instanceRepository,
             IInstanceNodeRepository instanceNodeRepository,
             ITemplateRepository templateRepository,
-            ITemplateNodeRepository templateNodeRepository) {
+            ITemplateNodeRepository templateNodeRepository,
+            IInstanceNodeCloneService instanceNodeCloneService,
+            IInstanceSnapshotService instanceSnapshotService,
+            IInstanceTreeHashService instanceTreeHashService,
+            ISearchIndexService searchIndexService,
+            IUsageMatchingService usageMatchingService) {
         this.instanceRepository = instanceRepository;
         this.instanceNodeRepository = instanceNodeRepository;
         this.templateRepository = templateRepository;
         this.templateNodeRepository = templateNodeRepository;
+        this.instanceNodeCloneService = instanceNodeCloneService;
+        this.instanceSnapshotService = instanceSnapshotService;
+        this.instanceTreeHashService = instanceTreeHashService;
+        this.searchIndexService = searchIndexService;
+        this.usageMatchingService = usageMatchingService;
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public StructureInstanceEntity createInstanceFromTemplate(
             InstanceCode instanceCode, String instanceName, String instanceDesc,
             SeriesId seriesId, ModelId modelId, TemplateId templateId, String instanceVersion, String creator) {
@@ -84,11 +106,15 @@ public class InstanceService implements IInstanceService {
         instanceRepository.save(instance);
         // 复制模板节点到实例
         copyTemplateNodesToInstance(templateId, instance.getId(), creator);
+        instanceTreeHashService.rebuild(instance.getId());
+        searchIndexService.onScopeChanged(SearchDocType.INSTANCE_NODE, instance.getId().getId());
+        usageMatchingService.evictMatchIndexes();
 
         return instance;
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public StructureInstanceEntity createNewVersionWithNodes(
             InstanceId sourceInstanceId, String newVersion, String instanceDesc, String creator) {
         // 参数校验
@@ -125,6 +151,9 @@ public class InstanceService implements IInstanceService {
         instanceRepository.save(newInstance);
         // 复制节点结构
         copyNodeStructure(sourceInstanceId, newInstance.getId(), creator);
+        instanceTreeHashService.rebuild(newInstance.getId());
+        searchIndexService.onScopeChanged(SearchDocType.INSTANCE_NODE, newInstance.getId().getId());
+        usageMatchingService.evictMatchIndexes();
 
         return newInstance;
     }
@@ -157,11 +186,8 @@ public class InstanceService implements IInstanceService {
         }
         // 校验节点类型特定参数
         validateNodeTypeSpecificParams(nodeType, categoryIdValue, groupIdValue, usageIdValue);
-        // 检查实例是否存在
-        Optional<StructureInstanceEntity> instanceOpt = instanceRepository.findById(instanceId);
-        if (instanceOpt.isEmpty()) {
-            throw new AppException("实例不存在");
-        }
+        // 检查实例是否存在且可编辑
+        ensureNodesEditable(instanceId);
         StructureInstanceNodeEntity node;
         if (parentNodeId == null) {
             // 生成节点编码
@@ -204,6 +230,12 @@ public class InstanceService implements IInstanceService {
                 instanceNodeRepository.update(node);
             }
         }
+        // 计算新节点哈希并向上刷新祖先
+        instanceTreeHashService.refreshFrom(node.getId());
+        searchIndexService.onDocumentChanged(SearchDocType.INSTANCE_NODE, node.getId().getId());
+        if (node.getNodeType() == NodeType.USAGE) {
+            usageMatchingService.evictMatchIndexes();
+        }
 
         return node;
     }
@@ -223,10 +255,13 @@ public class InstanceService implements IInstanceService {
             return false;
         }
         StructureInstanceNodeEntity node = nodeOpt.get();
+        ensureNodesEditable(node.getInstanceId());
         // 更新节点信息
         node.update(nodeName, nodeNameEn);
         // 保存更新
         int result = instanceNodeRepository.update(node);
+        instanceTreeHashService.refreshFrom(nodeId);
+        searchIndexService.onDocumentChanged(SearchDocType.INSTANCE_NODE, nodeId.getId());
         // 调整节点排序
         if (sortOrder != null) {
             adjustNodeOrder(node, sortOrder);
@@ -247,7 +282,9 @@ public class InstanceService implements IInstanceService {
             throw new AppException("节点不存在");
         }
         StructureInstanceNodeEntity node = nodeOpt.get();
+        ensureNodesEditable(node.getInstanceId());
         String oldPath = node.getNodePath();
+        int oldLevel = node.getNodeLevel();
         InstanceNodeId oldParentId = node.getParentId();
         // 如果新父节点和旧父节点相同，只需要调整排序
         if ((newParentId == null && oldParentId == null) ||
@@ -261,8 +298,8 @@ public class InstanceService implements IInstanceService {
                 throw new AppException("新父节点不存在");
             }
             StructureInstanceNodeEntity parentNode = parentNodeOpt.get();
-            // 确保不会形成循环引用
-            if (parentNode.getNodePath() != null && parentNode.getNodePath().contains("-" + nodeId.getId() + "-")) {
+            // 确保不会形成循环引用：新父节点不能是节点自身或其后代
+            if (instanceNodeRepository.isAncestor(nodeId, newParentId)) {
                 throw new AppException("不能将节点移动到其子节点下，会形成循环引用");
             }
             // 更新父节点引用
@@ -276,7 +313,7 @@ public class InstanceService implements IInstanceService {
             node.updatePathAndLevel(newPath, newLevel);
             instanceNodeRepository.update(node);
             // 更新所有子节点的路径和层级
-            updateSubtreePathAndLevel(oldPath, newPath, node.getNodeLevel(), newLevel);
+            instanceNodeRepository.updateSubtreePathAndLevel(nodeId, oldPath, newPath, newLevel - oldLevel);
         } else {
             // 移动为根节点
             int result = instanceNodeRepository.updateParentId(nodeId, null);
@@ -288,8 +325,12 @@ public class InstanceService implements IInstanceService {
             node.updatePathAndLevel(newPath, 0);
             instanceNodeRepository.update(node);
             // 更新所有子节点的路径和层级
-            updateSubtreePathAndLevel(oldPath, newPath, node.getNodeLevel(), 0);
+            instanceNodeRepository.updateSubtreePathAndLevel(nodeId, oldPath, newPath, -oldLevel);
         }
+        // 节点自身子树不变，只需刷新原父节点与新父节点两条祖先链
+        instanceTreeHashService.refreshFrom(oldParentId);
+        instanceTreeHashService.refreshFrom(newParentId);
+        usageMatchingService.evictMatchIndexes();
         // 调整排序
         return adjustNodeOrder(node, sortOrder);
     }
@@ -305,16 +346,37 @@ public class InstanceService implements IInstanceService {
         if (instanceOpt.isEmpty()) {
             throw new AppException("实例不存在");
         }
+        StructureInstanceEntity instance = instanceOpt.get();
+        Map<String, Object> result = new HashMap<>();
+        result.put("instance", instance);
+        // 已发布实例直接读取全树快照
+        if (Boolean.TRUE.equals(instance.getIsPublished())) {
+            InstanceTreeSnapshot snapshot = instanceSnapshotService.getOrBuild(instanceId);
+            result.put("nodes", snapshot.getNodes());
+            result.put("etag", composeTreeETag(instance, snapshot.getEtag()));
+            return result;
+        }
         // 查询实例的所有节点
         List<StructureInstanceNodeEntity> nodes = instanceNodeRepository.findByInstanceId(instanceId);
-        // 构建返回结果
-        Map<String, Object> result = new HashMap<>();
-        result.put("instance", instanceOpt.get());
         result.put("nodes", nodes);
 
         return result;
     }
 
+    @Override
+    public String findPublishedTreeETag(InstanceId instanceId) {
+        if (instanceId == null) {
+            throw new IllegalArgumentException("实例ID不能为空");
+        }
+        Optional<StructureInstanceEntity> instanceOpt = instanceRepository.findById(instanceId);
+        if (instanceOpt.isEmpty() || !Boolean.TRUE.equals(instanceOpt.get().getIsPublished())) {
+            return null;
+        }
+        String snapshotETag = instanceSnapshotService.findETag(instanceId);
+
+        return snapshotETag == null ? null : composeTreeETag(instanceOpt.get(), snapshotETag);
+    }
+
     @Override
     public Map<String, Object> getInstanceWithFullTreeByCodeAndVersion(InstanceCode instanceCode, String version) {
         // 参数校验
@@ -345,6 +407,9 @@ public class InstanceService implements IInstanceService {
         int count = instanceNodeRepository.deleteByInstanceId(instanceId);
         // 再删除实例（逻辑删除，将状态更新为删除）
         int result = instanceRepository.deleteById(instanceId);
+        instanceSnapshotService.evict(instanceId);
+        searchIndexService.onScopeChanged(SearchDocType.INSTANCE_NODE, instanceId.getId());
+        usageMatchingService.evictMatchIndexes();
 
         return count > 0 && result > 0;
     }
@@ -362,11 +427,8 @@ public class InstanceService implements IInstanceService {
         if (StringUtils.isBlank(creator)) {
             throw new IllegalArgumentException("创建者不能为空");
         }
-        // 检查实例是否存在
-        Optional<StructureInstanceEntity> instanceOpt = instanceRepository.findById(instanceId);
-        if (instanceOpt.isEmpty()) {
-            throw new AppException("实例不存在");
-        }
+        // 检查实例是否存在且可编辑
+        ensureNodesEditable(instanceId);
         // 如果指定了父节点，检查父节点是否存在
         if (parentNodeId != null) {
             Optional<StructureInstanceNodeEntity> parentNodeOpt = instanceNodeRepository.findById(parentNodeId);
@@ -383,7 +445,12 @@ public class InstanceService implements IInstanceService {
             node.setCreator(creator);
         }
         // 批量保存节点
-        return instanceNodeRepository.saveBatch(nodes);
+        int result = instanceNodeRepository.saveBatch(nodes);
+        instanceTreeHashService.rebuild(instanceId);
+        searchIndexService.onScopeChanged(SearchDocType.INSTANCE_NODE, instanceId.getId());
+        usageMatchingService.evictMatchIndexes();
+
+        return result;
     }
 
     @Override
@@ -450,14 +517,29 @@ public class InstanceService implements IInstanceService {
         return instanceRepository.findInstances(instanceCode, nameKeyword, status, seriesId, modelId, pageNo, pageSize);
     }
 
+    @Override
+    public StructureInstancePageVO findInstancesBySeek(InstanceCode instanceCode, String nameKeyword, Status status, SeriesId seriesId, ModelId modelId, String cursor, int pageSize, boolean withTotal) {
+        return instanceRepository.findInstancesBySeek(instanceCode, nameKeyword, status, seriesId, modelId, cursor, pageSize, withTotal);
+    }
+
     @Override
     public int deleteNodeAndChildren(InstanceNodeId nodeId) {
         // 参数校验
         if (nodeId == null) {
             throw new IllegalArgumentException("节点ID不能为空");
         }
+        Optional<StructureInstanceNodeEntity> nodeOpt = instanceNodeRepository.findById(nodeId);
+        nodeOpt.ifPresent(node -> ensureNodesEditable(node.getInstanceId()));
+        InstanceNodeId parentId = nodeOpt.map(StructureInstanceNodeEntity::getParentId).orElse(null);
         // 删除节点及其子节点
-        return instanceNodeRepository.deleteSubTree(nodeId);
+        int result = instanceNodeRepository.deleteSubTree(nodeId);
+        if (result > 0) {
+            instanceTreeHashService.refreshFrom(parentId);
+            nodeOpt.ifPresent(node -> searchIndexService.onScopeChanged(SearchDocType.INSTANCE_NODE, node.getInstanceId().getId()));
+            usageMatchingService.evictMatchIndexes();
+        }
+
+        return result;
     }
 
     @Override
@@ -503,6 +585,10 @@ public class InstanceService implements IInstanceService {
         instance.publish(effectiveTime);
         // 保存更新
         int result = instanceRepository.update(instance);
+        if (result > 0) {
+            // 发布（含重复发布）时构建或增量刷新全树快照
+            instanceSnapshotService.rebuild(instanceId);
+        }
 
         return result > 0;
     }
@@ -523,6 +609,9 @@ public class InstanceService implements IInstanceService {
         instance.unpublish();
         // 保存更新
         int result = instanceRepository.update(instance);
+        if (result > 0) {
+            instanceSnapshotService.evict(instanceId);
+        }
 
         return result > 0;
     }
@@ -540,6 +629,26 @@ public class InstanceService implements IInstanceService {
         return structureInstanceEntityOpt.get();
     }
 
+    @Override
+    public StructureInstanceEntity findPublishedInstanceByModelId(ModelId modelId) {
+        if (modelId == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<StructureInstanceEntity> instances = instanceRepository.findByModelId(modelId);
+        if (CollectionUtils.isEmpty(instances)) {
+            return null;
+        }
+
+        return instances.stream()
+                .filter(instance -> Boolean.TRUE.equals(instance.getIsPublished()))
+                .filter(instance -> Status.ENABLED.equals(instance.getStatus()))
+                .filter(instance -> instance.getEffectiveTime() == null || !instance.getEffectiveTime().isAfter(now))
+                .max(Comparator.comparing(StructureInstanceEntity::getEffectiveTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(instance -> instance.getId().getId()))
+                .orElse(null);
+    }
+
     @Override
     public StructureInstanceNodeEntity findNodeById(InstanceNodeId nodeId) {
         if (nodeId == null) {
@@ -572,63 +681,64 @@ public class InstanceService implements IInstanceService {
     }
 
     @Override
-    public Map<String, Object> compareInstances(InstanceId instanceId1, InstanceId instanceId2) {
+    public List<NodeChange> compareInstances(InstanceId instanceId1, InstanceId instanceId2) {
+        List<NodeChange> changes = new ArrayList<>();
+        compareInstances(instanceId1, instanceId2, changes::add);
+
+        return changes;
+    }
+
+    @Override
+    public void compareInstances(InstanceId instanceId1, InstanceId instanceId2, Consumer<NodeChange> sink) {
         // 参数校验
         if (instanceId1 == null || instanceId2 == null) {
             throw new IllegalArgumentException("实例ID不能为空");
         }
-        // 查询两个实例的所有节点
-        List<StructureInstanceNodeEntity> nodes1 = instanceNodeRepository.findByInstanceId(instanceId1);
-        List<StructureInstanceNodeEntity> nodes2 = instanceNodeRepository.findByInstanceId(instanceId2);
-        // 构建节点映射，用于比较
-        Map<String, StructureInstanceNodeEntity> nodeMap1 = buildNodeMap(nodes1);
-        Map<String, StructureInstanceNodeEntity> nodeMap2 = buildNodeMap(nodes2);
-        // 比较结果
-        List<Map<String, Object>> added = new ArrayList<>();
-        List<Map<String, Object>> removed = new ArrayList<>();
-        List<Map<String, Object>> modified = new ArrayList<>();
-        // 找出新增和修改的节点
-        for (String nodeCode : nodeMap2.keySet()) {
-            StructureInstanceNodeEntity node2 = nodeMap2.get(nodeCode);
-            if (!nodeMap1.containsKey(nodeCode)) {
-                // 新增的节点
-                Map<String, Object> addedNode = new HashMap<>();
-                addedNode.put("nodeCode", nodeCode);
-                addedNode.put("node", node2);
-                added.add(addedNode);
-            } else {
-                // 比较节点是否有修改
-                StructureInstanceNodeEntity node1 = nodeMap1.get(nodeCode);
-                if (!compareNodes(node1, node2)) {
-                    Map<String, Object> modifiedNode = new HashMap<>();
-                    modifiedNode.put("nodeCode", nodeCode);
-                    modifiedNode.put("oldNode", node1);
-                    modifiedNode.put("newNode", node2);
-                    modified.add(modifiedNode);
-                }
-            }
+        // 回填历史数据缺失的子树哈希
+        instanceTreeHashService.ensureHashed(instanceId1);
+        instanceTreeHashService.ensureHashed(instanceId2);
+        // 自根向下比较，子节点按需加载，哈希一致的子树不会被读取
+        MerkleTreeDiffer.diff(
+                toMerkleNodes(instanceNodeRepository.findRootNodesByInstanceId(instanceId1)), this::loadInstanceChildren,
+                toMerkleNodes(instanceNodeRepository.findRootNodesByInstanceId(instanceId2)), this::loadInstanceChildren,
+                sink);
+    }
+
+    @Override
+    public List<NodeChange> compareInstanceWithTemplate(InstanceId instanceId, TemplateId templateId) {
+        // 参数校验
+        if (instanceId == null) {
+            throw new IllegalArgumentException("实例ID不能为空");
+        }
+        if (templateId == null) {
+            throw new IllegalArgumentException("模板ID不能为空");
         }
-        // 找出删除的节点
-        for (String nodeCode : nodeMap1.keySet()) {
-            if (!nodeMap2.containsKey(nodeCode)) {
-                // 删除的节点
-                StructureInstanceNodeEntity node1 = nodeMap1.get(nodeCode);
-                Map<String, Object> removedNode = new HashMap<>();
-                removedNode.put("nodeCode", nodeCode);
-                removedNode.put("node", node1);
-                removed.add(removedNode);
+        if (templateRepository.findById(templateId).isEmpty()) {
+            throw new AppException("模板不存在");
+        }
+        // 模板节点一次性加载，在内存中计算子树哈希
+        List<MerkleNode> templateNodes = templateNodeRepository.findByTemplateId(templateId).stream()
+                .map(MerkleNode::of)
+                .toList();
+        Map<Long, String> templateHashes = MerkleTreeDiffer.hashAll(templateNodes);
+        List<MerkleNode> templateRoots = new ArrayList<>();
+        Map<Long, List<MerkleNode>> templateChildren = new HashMap<>();
+        for (MerkleNode templateNode : templateNodes) {
+            MerkleNode hashedNode = templateNode.withSubtreeHash(templateHashes.get(templateNode.getId()));
+            if (templateNode.getParentId() == null) {
+                templateRoots.add(hashedNode);
+            } else {
+                templateChildren.computeIfAbsent(templateNode.getParentId(), k -> new ArrayList<>()).add(hashedNode);
             }
         }
-        // 构建比较结果
-        Map<String, Object> result = new HashMap<>();
-        result.put("added", added);
-        result.put("removed", removed);
-        result.put("modified", modified);
-        result.put("totalAdded", added.size());
-        result.put("totalRemoved", removed.size());
-        result.put("totalModified", modified.size());
+        instanceTreeHashService.ensureHashed(instanceId);
+        List<NodeChange> changes = new ArrayList<>();
+        MerkleTreeDiffer.diff(
+                templateRoots, node -> templateChildren.getOrDefault(node.getId(), Collections.emptyList()),
+                toMerkleNodes(instanceNodeRepository.findRootNodesByInstanceId(instanceId)), this::loadInstanceChildren,
+                changes::add);
 
-        return result;
+        return changes;
     }
 
     /**
@@ -640,78 +750,8 @@ public class InstanceService implements IInstanceService {
         if (CollectionUtils.isEmpty(templateNodes)) {
             return;
         }
-        // 构建节点ID映射关系（模板节点ID -> 实例节点）
-        Map<TemplateNodeId, StructureInstanceNodeEntity> templateToInstanceNodeMap = new HashMap<>();
-        // 先复制所有根节点
-        List<StructureTemplateNodeEntity> rootNodes = templateNodes.stream()
-                .filter(node -> node.getParentId() == null)
-                .collect(Collectors.toList());
-        for (StructureTemplateNodeEntity rootNode : rootNodes) {
-            StructureInstanceNodeEntity newRootNode = StructureInstanceNodeEntity.createRoot(
-                    instanceId,
-                    rootNode.getNodeType(),
-                    rootNode.getNodeCode(),
-                    rootNode.getNodeName(),
-                    rootNode.getNodeNameEn(),
-                    rootNode.getSortOrder(),
-                    creator
-            );
-            // 复制特定类型的ID
-            copyNodeTypeSpecificId(rootNode, newRootNode);
-            instanceNodeRepository.save(newRootNode);
-            // 设置根节点路径与层级
-            if (newRootNode.getId() != null) {
-                String nodePath = String.valueOf(newRootNode.getId().getId());
-                newRootNode.updatePathAndLevel(nodePath, 0);
-                instanceNodeRepository.update(newRootNode);
-            }
-            templateToInstanceNodeMap.put(rootNode.getId(), newRootNode);
-        }
-        // 按层次复制子节点
-        boolean hasNewNodes = true;
-        Set<TemplateNodeId> processedNodeIds = new HashSet<>(rootNodes.stream()
-                .map(StructureTemplateNodeEntity::getId)
-                .collect(Collectors.toSet()));
-        while (hasNewNodes) {
-            hasNewNodes = false;
-            for (StructureTemplateNodeEntity templateNode : templateNodes) {
-                // 跳过已处理的节点
-                if (processedNodeIds.contains(templateNode.getId())) {
-                    continue;
-                }
-                // 如果父节点已处理，则可以处理当前节点
-                TemplateNodeId parentId = templateNode.getParentId();
-                if (parentId != null && processedNodeIds.contains(parentId)) {
-                    // 获取新的父节点
-                    StructureInstanceNodeEntity newParentNode = templateToInstanceNodeMap.get(parentId);
-                    // 创建新节点
-                    StructureInstanceNodeEntity newNode = StructureInstanceNodeEntity.createChild(
-                            instanceId,
-                            newParentNode.getId(),
-                            templateNode.getNodeType(),
-                            templateNode.getNodeCode(),
-                            templateNode.getNodeName(),
-                            templateNode.getNodeNameEn(),
-                            templateNode.getSortOrder(),
-                            creator
-                    );
-                    // 复制特定类型的ID
-                    copyNodeTypeSpecificId(templateNode, newNode);
-                    instanceNodeRepository.save(newNode);
-                    // 设置子节点路径和层级
-                    if (newNode.getId() != null) {
-                        String parentPath = newParentNode.getNodePath();
-                        String nodePath = parentPath + "-" + newNode.getId().getId();
-                        int nodeLevel = newParentNode.getNodeLevel() + 1;
-                        newNode.updatePathAndLevel(nodePath, nodeLevel);
-                        instanceNodeRepository.update(newNode);
-                    }
-                    templateToInstanceNodeMap.put(templateNode.getId(), newNode);
-                    processedNodeIds.add(templateNode.getId());
-                    hasNewNodes = true;
-                }
-            }
-        }
+        // 按层级批量克隆
+        instanceNodeCloneService.cloneFromTemplate(templateNodes, instanceId, creator);
     }
 
     /**
@@ -723,102 +763,26 @@ public class InstanceService implements IInstanceService {
         if (CollectionUtils.isEmpty(sourceNodes)) {
             return;
         }
-        // 构建节点ID映射关系（旧ID -> 新节点）
-        Map<InstanceNodeId, StructureInstanceNodeEntity> oldToNewNodeMap = new HashMap<>();
-
-        // 先复制所有根节点
-        List<StructureInstanceNodeEntity> rootNodes = sourceNodes.stream()
-                .filter(node -> node.getParentId() == null)
-                .collect(Collectors.toList());
-
-        for (StructureInstanceNodeEntity rootNode : rootNodes) {
-            StructureInstanceNodeEntity newRootNode = StructureInstanceNodeEntity.createRoot(
-                    targetInstanceId,
-                    rootNode.getNodeType(),
-                    rootNode.getNodeCode(),
-                    rootNode.getNodeName(),
-                    rootNode.getNodeNameEn(),
-                    rootNode.getSortOrder(),
-                    creator
-            );
-
-            // 复制特定类型的ID
-            newRootNode.setCategoryId(rootNode.getCategoryId());
-            newRootNode.setGroupId(rootNode.getGroupId());
-            newRootNode.setUsageId(rootNode.getUsageId());
-
-            instanceNodeRepository.save(newRootNode);
-
-            // 设置根节点路径
-            if (newRootNode.getId() != null) {
-                String nodePath = String.valueOf(newRootNode.getId().getId());
-                newRootNode.updatePathAndLevel(nodePath, 0);
-                instanceNodeRepository.update(newRootNode);
-            }
-
-            oldToNewNodeMap.put(rootNode.getId(), newRootNode);
-        }
-
-        // 按层次复制子节点
-        boolean hasNewNodes = true;
-        Set<InstanceNodeId> processedNodeIds = new HashSet<>(rootNodes.stream()
-                .map(StructureInstanceNodeEntity::getId)
-                .collect(Collectors.toSet()));
-
-        while (hasNewNodes) {
-            hasNewNodes = false;
-
-            for (StructureInstanceNodeEntity sourceNode : sourceNodes) {
-                // 跳过已处理的节点
-                if (processedNodeIds.contains(sourceNode.getId())) {
-                    continue;
-                }
-
-                // 如果父节点已处理，则可以处理当前节点
-                InstanceNodeId parentId = sourceNode.getParentId();
-                if (parentId != null && processedNodeIds.contains(parentId)) {
-                    // 获取新的父节点
-                    StructureInstanceNodeEntity newParentNode = oldToNewNodeMap.get(parentId);
-
-                    // 创建新节点
-                    StructureInstanceNodeEntity newNode = StructureInstanceNodeEntity.createChild(
-                            targetInstanceId,
-                            newParentNode.getId(),
-                            sourceNode.getNodeType(),
-                            sourceNode.getNodeCode(),
-                            sourceNode.getNodeName(),
-                            sourceNode.getNodeNameEn(),
-                            sourceNode.getSortOrder(),
-                            creator
-                    );
-
-                    // 复制特定类型的ID
-                    newNode.setCategoryId(sourceNode.getCategoryId());
-                    newNode.setGroupId(sourceNode.getGroupId());
-                    newNode.setUsageId(sourceNode.getUsageId());
-
-                    instanceNodeRepository.save(newNode);
-
-                    // 设置子节点路径和层级
-                    if (newNode.getId() != null) {
-                        String parentPath = newParentNode.getNodePath();
-                        String nodePath = parentPath + "-" + newNode.getId().getId();
-                        int nodeLevel = newParentNode.getNodeLevel() + 1;
-                        newNode.updatePathAndLevel(nodePath, nodeLevel);
-                        instanceNodeRepository.update(newNode);
-                    }
-
-                    oldToNewNodeMap.put(sourceNode.getId(), newNode);
-                    processedNodeIds.add(sourceNode.getId());
-                    hasNewNodes = true;
-                }
-            }
-        }
+        // 按层级批量克隆
+        instanceNodeCloneService.cloneFromInstance(sourceNodes, targetInstanceId, creator);
     }
 
     /**
      * 校验节点类型特定参数
      */
+    /**
+     * 已发布实例的读取走全树快照，节点须在取消发布后修改，重新发布时重建快照
+     */
+    private void ensureNodesEditable(InstanceId instanceId) {
+        Optional<StructureInstanceEntity> instanceOpt = instanceRepository.findById(instanceId);
+        if (instanceOpt.isEmpty()) {
+            throw new AppException("实例不存在");
+        }
+        if (Boolean.TRUE.equals(instanceOpt.get().getIsPublished())) {
+            throw new AppException("实例已发布，不允许修改节点，请先取消发布");
+        }
+    }
+
     private void validateNodeTypeSpecificParams(NodeType nodeType, Long categoryId, Long groupId, Long usageId) {
         if (nodeType == NodeType.CATEGORY && categoryId == null) {
             throw new AppException("CATEGORY类型节点必须指定系统大类ID");
@@ -848,23 +812,6 @@ public class InstanceService implements IInstanceService {
         }
     }
 
-    /**
-     * 复制节点类型特定ID
-     */
-    private void copyNodeTypeSpecificId(StructureTemplateNodeEntity source, StructureInstanceNodeEntity target) {
-        switch (source.getNodeType()) {
-            case CATEGORY:
-                target.setCategoryId(source.getCategoryId());
-                break;
-            case GROUP:
-                target.setGroupId(source.getGroupId());
-                break;
-            case USAGE:
-                // 模板节点没有usageId，这里不复制
-                break;
-        }
-    }
-
     /**
      * 生成节点编码
      */
@@ -911,25 +858,6 @@ public class InstanceService implements IInstanceService {
         return false;
     }
 
-    /**
-     * 更新子树的路径和层级
-     */
-    private void updateSubtreePathAndLevel(String oldPath, String newPath, int oldLevel, int newLevel) {
-        // 查询所有以oldPath开头的节点
-        List<StructureInstanceNodeEntity> subtreeNodes = instanceNodeRepository.findByPathStartingWith(oldPath + "-");
-        int levelDiff = newLevel - oldLevel;
-        for (StructureInstanceNodeEntity node : subtreeNodes) {
-            // 替换路径前缀
-            String currentPath = node.getNodePath();
-            String updatedPath = newPath + currentPath.substring(oldPath.length());
-            // 更新层级
-            int updatedLevel = node.getNodeLevel() + levelDiff;
-            // 更新节点
-            node.updatePathAndLevel(updatedPath, updatedLevel);
-            instanceNodeRepository.update(node);
-        }
-    }
-
     /**
      * 调整节点排序
      */
@@ -980,48 +908,24 @@ public class InstanceService implements IInstanceService {
     }
 
     /**
-     * 构建节点映射，用于比较
+     * 加载实例节点的直接子节点
      */
-    private Map<String, StructureInstanceNodeEntity> buildNodeMap(List<StructureInstanceNodeEntity> nodes) {
-        Map<String, StructureInstanceNodeEntity> nodeMap = new HashMap<>();
-        for (StructureInstanceNodeEntity node : nodes) {
-            nodeMap.put(node.getNodeCode(), node);
-        }
-        return nodeMap;
+    private List<MerkleNode> loadInstanceChildren(MerkleNode node) {
+        return toMerkleNodes(instanceNodeRepository.findByParentId(new InstanceNodeId(node.getId())));
+    }
+
+    private List<MerkleNode> toMerkleNodes(List<StructureInstanceNodeEntity> nodes) {
+        return nodes.stream().map(MerkleNode::of).toList();
     }
 
     /**
-     * 比较两个节点是否相同
+     * 对外 ETag 由节点快照摘要与实例更新时间组成，实例头信息（状态等）变化同样使缓存失效
      */
-    private boolean compareNodes(StructureInstanceNodeEntity node1, StructureInstanceNodeEntity node2) {
-        if (!Objects.equals(node1.getNodeName(), node2.getNodeName())) {
-            return false;
-        }
-        if (!Objects.equals(node1.getNodeNameEn(), node2.getNodeNameEn())) {
-            return false;
-        }
-        if (!Objects.equals(node1.getNodeType(), node2.getNodeType())) {
-            return false;
-        }
-        // 根据节点类型比较特定字段
-        switch (node1.getNodeType()) {
-            case CATEGORY:
-                if (!Objects.equals(node1.getCategoryId(), node2.getCategoryId())) {
-                    return false;
-                }
-                break;
-            case GROUP:
-                if (!Objects.equals(node1.getGroupId(), node2.getGroupId())) {
-                    return false;
-                }
-                break;
-            case USAGE:
-                if (!Objects.equals(node1.getUsageId(), node2.getUsageId())) {
-                    return false;
-                }
-                break;
-        }
+    private String composeTreeETag(StructureInstanceEntity instance, String snapshotETag) {
+        String digest = StringUtils.strip(snapshotETag, "\"");
+        LocalDateTime updatedTime = instance.getUpdatedTime();
 
-        return true;
+        return "\"" + digest + "-" + (updatedTime == null ? 0 : updatedTime.toEpochSecond(ZoneOffset.UTC)) + "\"";
     }
+
 }
@@ -0,0 +1,130 @@
+package cn.cug.sxy.domain.structure.service;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceSnapshotRepository;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceTreeSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 10:40
+ * @Description 已发布实例全树快照服务
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class InstanceSnapshotService implements IInstanceSnapshotService {
+
+    /**
+     * 与 selectByInstanceId 的 ORDER BY node_level, sort_order 保持一致，并以节点ID兜底保证顺序稳定（ETag 依赖顺序）
+     */
+    private static final Comparator<StructureInstanceNodeEntity> NODE_ORDER = Comparator
+            .comparing(StructureInstanceNodeEntity::getNodeLevel, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(StructureInstanceNodeEntity::getSortOrder, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(node -> node.getId().getId());
+
+    private final IInstanceNodeRepository instanceNodeRepository;
+    private final IInstanceSnapshotRepository instanceSnapshotRepository;
+
+    public InstanceSnapshotService(
+            IInstanceNodeRepository instanceNodeRepository,
+            IInstanceSnapshotRepository instanceSnapshotRepository) {
+        this.instanceNodeRepository = instanceNodeRepository;
+        this.instanceSnapshotRepository = instanceSnapshotRepository;
+    }
+
+    @Override
+    public InstanceTreeSnapshot rebuild(InstanceId instanceId) {
+        if (instanceId == null) {
+            throw new IllegalArgumentException("实例ID不能为空");
+        }
+        Optional<InstanceTreeSnapshot> previousOpt = instanceSnapshotRepository.findByInstanceId(instanceId);
+        List<StructureInstanceNodeEntity> nodes;
+        if (previousOpt.isPresent() && previousOpt.get().getWatermark() != null) {
+            nodes = mergeChangedNodes(instanceId, previousOpt.get());
+        } else {
+            nodes = new ArrayList<>(instanceNodeRepository.findByInstanceId(instanceId));
+        }
+        nodes.sort(NODE_ORDER);
+        InstanceTreeSnapshot snapshot = InstanceTreeSnapshot.builder()
+                .instanceId(instanceId)
+                .nodes(nodes)
+                .watermark(maxUpdatedTime(nodes))
+                .build();
+        InstanceTreeSnapshot saved = instanceSnapshotRepository.save(snapshot);
+        log.info("实例全树快照已构建 instanceId:{} nodeCount:{} etag:{}", instanceId.getId(), nodes.size(), saved.getEtag());
+
+        return saved;
+    }
+
+    @Override
+    public InstanceTreeSnapshot getOrBuild(InstanceId instanceId) {
+        if (instanceId == null) {
+            throw new IllegalArgumentException("实例ID不能为空");
+        }
+        return instanceSnapshotRepository.findByInstanceId(instanceId)
+                .orElseGet(() -> rebuild(instanceId));
+    }
+
+    @Override
+    public String findETag(InstanceId instanceId) {
+        if (instanceId == null) {
+            return null;
+        }
+        return instanceSnapshotRepository.findETagByInstanceId(instanceId);
+    }
+
+    @Override
+    public void evict(InstanceId instanceId) {
+        if (instanceId == null) {
+            return;
+        }
+        instanceSnapshotRepository.deleteByInstanceId(instanceId);
+    }
+
+    /**
+     * 在旧快照基础上合并变更：只回源查询水位线之后更新过的节点，
+     * 再用当前节点ID集合剔除已删除的节点
+     */
+    private List<StructureInstanceNodeEntity> mergeChangedNodes(InstanceId instanceId, InstanceTreeSnapshot previous) {
+        List<StructureInstanceNodeEntity> changedNodes =
+                instanceNodeRepository.findByInstanceIdUpdatedSince(instanceId, previous.getWatermark());
+        Set<InstanceNodeId> liveIds = new HashSet<>(instanceNodeRepository.findIdsByInstanceId(instanceId));
+        Map<InstanceNodeId, StructureInstanceNodeEntity> merged = new HashMap<>(liveIds.size() * 2);
+        for (StructureInstanceNodeEntity node : previous.getNodes()) {
+            if (liveIds.contains(node.getId())) {
+                merged.put(node.getId(), node);
+            }
+        }
+        for (StructureInstanceNodeEntity node : changedNodes) {
+            merged.put(node.getId(), node);
+        }
+        // 合并结果与当前节点集合不一致（例如更新时间未维护），退化为全量构建
+        if (merged.size() != liveIds.size()) {
+            log.warn("增量合并节点数不一致，改为全量构建 instanceId:{} merged:{} live:{}",
+                    instanceId.getId(), merged.size(), liveIds.size());
+            return new ArrayList<>(instanceNodeRepository.findByInstanceId(instanceId));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private LocalDateTime maxUpdatedTime(List<StructureInstanceNodeEntity> nodes) {
+        LocalDateTime max = null;
+        for (StructureInstanceNodeEntity node : nodes) {
+            LocalDateTime updatedTime = node.getUpdatedTime() != null ? node.getUpdatedTime() : node.getCreatedTime();
+            if (updatedTime != null && (max == null || updatedTime.isAfter(max))) {
+                max = updatedTime;
+            }
+        }
+        return max;
+    }
+
+}
@@ -0,0 +1,89 @@
+package cn.cug.sxy.domain.structure.service;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
+import cn.cug.sxy.domain.structure.model.valobj.MerkleNode;
+import cn.cug.sxy.domain.structure.model.valobj.MerkleTreeDiffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/22 11:10
+ * @Description 实例节点子树哈希维护服务实现
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class InstanceTreeHashService implements IInstanceTreeHashService {
+
+    private final IInstanceNodeRepository instanceNodeRepository;
+
+    public InstanceTreeHashService(IInstanceNodeRepository instanceNodeRepository) {
+        this.instanceNodeRepository = instanceNodeRepository;
+    }
+
+    @Override
+    public void refreshFrom(InstanceNodeId nodeId) {
+        InstanceNodeId currentId = nodeId;
+        while (currentId != null) {
+            Optional<StructureInstanceNodeEntity> nodeOpt = instanceNodeRepository.findById(currentId);
+            if (nodeOpt.isEmpty()) {
+                return;
+            }
+            StructureInstanceNodeEntity node = nodeOpt.get();
+            List<StructureInstanceNodeEntity> children = instanceNodeRepository.findByParentId(currentId);
+            if (children.stream().anyMatch(child -> child.getSubtreeHash() == null)) {
+                // 子节点哈希缺失（历史数据或批量写入未完成），无法逐层增量计算，改为整实例重算
+                rebuild(node.getInstanceId());
+                return;
+            }
+            String subtreeHash = MerkleTreeDiffer.subtreeHash(MerkleNode.of(node),
+                    children.stream().map(MerkleNode::of).toList());
+            // 本层哈希未变化，祖先哈希同样不变
+            if (subtreeHash.equals(node.getSubtreeHash())) {
+                return;
+            }
+            node.updateSubtreeHash(subtreeHash);
+            instanceNodeRepository.updateSubtreeHashBatch(List.of(node));
+            currentId = node.getParentId();
+        }
+    }
+
+    @Override
+    public int rebuild(InstanceId instanceId) {
+        if (instanceId == null) {
+            return 0;
+        }
+        List<StructureInstanceNodeEntity> nodes = instanceNodeRepository.findByInstanceId(instanceId);
+        Map<Long, String> hashes = MerkleTreeDiffer.hashAll(nodes.stream().map(MerkleNode::of).toList());
+        List<StructureInstanceNodeEntity> changedNodes = new ArrayList<>();
+        for (StructureInstanceNodeEntity node : nodes) {
+            String subtreeHash = hashes.get(node.getId().getId());
+            if (subtreeHash != null && !subtreeHash.equals(node.getSubtreeHash())) {
+                node.updateSubtreeHash(subtreeHash);
+                changedNodes.add(node);
+            }
+        }
+        instanceNodeRepository.updateSubtreeHashBatch(changedNodes);
+        log.info("重算实例子树哈希 instanceId={} 节点数={} 回写数={}", instanceId.getId(), nodes.size(), changedNodes.size());
+
+        return changedNodes.size();
+    }
+
+    @Override
+    public void ensureHashed(InstanceId instanceId) {
+        if (instanceId != null && instanceNodeRepository.countMissingSubtreeHash(instanceId) > 0) {
+            rebuild(instanceId);
+        }
+    }
+
+}
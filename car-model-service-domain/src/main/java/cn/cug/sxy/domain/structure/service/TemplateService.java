@@ -236,6 +236,7 @@ public class TemplateService implements ITemplateService {
         }
         StructureTemplateNodeEntity node = nodeOpt.get();
         String oldPath = node.getNodePath();
+        int oldLevel = node.getNodeLevel();
         TemplateNodeId oldParentId = node.getParentId();
         if ((newParentId == null && oldParentId == null) ||
                 (newParentId != null && newParentId.equals(oldParentId))) {
@@ -248,8 +249,8 @@ public class TemplateService implements ITemplateService {
                 throw new AppException("新父节点不存在");
             }
             StructureTemplateNodeEntity parentNode = parentNodeOpt.get();
-            // 确保不会形成循环引用
-            if (parentNode.getNodePath() != null && parentNode.getNodePath().contains("-" + nodeId.getId() + "-")) {
+            // 确保不会形成循环引用：新父节点不能是节点自身或其后代
+            if (templateNodeRepository.isAncestor(nodeId, newParentId)) {
                 throw new AppException("不能将节点移动到其子节点下，会形成循环引用");
             }
             // 更新父节点引用
@@ -263,7 +264,7 @@ public class TemplateService implements ITemplateService {
             node.updatePathAndLevel(newPath, newLevel);
             templateNodeRepository.update(node);
             // 更新所有子节点的路径和层级
-            updateSubtreePathAndLevel(oldPath, newPath, node.getNodeLevel(), newLevel);
+            updateSubtreePathAndLevel(nodeId, oldPath, newPath, oldLevel, newLevel);
         } else {
             // 移动为根节点
             int result = templateNodeRepository.updateParentId(nodeId, null);
@@ -275,7 +276,7 @@ public class TemplateService implements ITemplateService {
             node.updatePathAndLevel(newPath, 0);
             templateNodeRepository.update(node);
             // 更新所有子节点的路径和层级
-            updateSubtreePathAndLevel(oldPath, newPath, node.getNodeLevel(), 0);
+            updateSubtreePathAndLevel(nodeId, oldPath, newPath, oldLevel, 0);
         }
         // 调整排序
         return adjustNodeOrder(node, sortOrder);
@@ -439,6 +440,11 @@ public class TemplateService implements ITemplateService {
         return templateRepository.findTemplates(templateCode, status, nameKeyword, pageNo, pageSize);
     }
 
+    @Override
+    public StructureTemplatePageVO findTemplatesBySeek(TemplateCode templateCode, Status status, String nameKeyword, String cursor, int pageSize, boolean withTotal) {
+        return templateRepository.findTemplatesBySeek(templateCode, status, nameKeyword, cursor, pageSize, withTotal);
+    }
+
     @Override
     public int deleteNodeAndChildren(TemplateNodeId nodeId) {
         // 参数校验
@@ -729,14 +735,15 @@ public class TemplateService implements ITemplateService {
     /**
      * 更新子树的路径和层级
      *
+     * @param nodeId   子树根节点ID
      * @param oldPath  旧路径前缀
      * @param newPath  新路径前缀
      * @param oldLevel 旧层级
      * @param newLevel 新层级
      */
-    private void updateSubtreePathAndLevel(String oldPath, String newPath, int oldLevel, int newLevel) {
-        // 查询所有以oldPath开头的节点
-        List<StructureTemplateNodeEntity> subtreeNodes = templateNodeRepository.findByPathStartingWith(oldPath + "-");
+    private void updateSubtreePathAndLevel(TemplateNodeId nodeId, String oldPath, String newPath, int oldLevel, int newLevel) {
+        // 通过闭包表查询全部后代节点
+        List<StructureTemplateNodeEntity> subtreeNodes = templateNodeRepository.findDescendants(nodeId, null);
         int levelDiff = newLevel - oldLevel;
         for (StructureTemplateNodeEntity node : subtreeNodes) {
             // 替换路径前缀
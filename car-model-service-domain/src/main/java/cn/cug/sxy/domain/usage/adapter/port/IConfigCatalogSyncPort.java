@@ -0,0 +1,42 @@
+package cn.cug.sxy.domain.usage.adapter.port;
+
+import java.util.function.LongConsumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/10 10:30
+ * @Description 配置目录跨节点同步端口：维护全局目录版本号并广播刷新信号
+ * @Author jerryhotton
+ */
+
+public interface IConfigCatalogSyncPort {
+
+    /**
+     * 获取当前全局目录版本号
+     *
+     * @return 版本号
+     */
+    long currentVersion();
+
+    /**
+     * 递增并返回新的全局目录版本号
+     *
+     * @return 新版本号
+     */
+    long nextVersion();
+
+    /**
+     * 广播目录刷新信号
+     *
+     * @param version 最新版本号
+     */
+    void publishRefresh(long version);
+
+    /**
+     * 订阅其他节点的目录刷新信号
+     *
+     * @param listener 收到信号时回调，参数为最新版本号
+     */
+    void subscribeRefresh(LongConsumer listener);
+
+}
@@ -0,0 +1,42 @@
+package cn.cug.sxy.domain.usage.adapter.port;
+
+import java.util.function.LongConsumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/30 15:00
+ * @Description 用法匹配索引跨节点同步端口：维护全局用法版本号并广播失效信号
+ * @Author jerryhotton
+ */
+
+public interface IUsageMatchSyncPort {
+
+    /**
+     * 获取当前全局用法版本号
+     *
+     * @return 版本号
+     */
+    long currentVersion();
+
+    /**
+     * 递增并返回新的全局用法版本号
+     *
+     * @return 新版本号
+     */
+    long nextVersion();
+
+    /**
+     * 广播匹配索引失效信号
+     *
+     * @param version 最新版本号
+     */
+    void publishEvict(long version);
+
+    /**
+     * 订阅其他节点的匹配索引失效信号
+     *
+     * @param listener 收到信号时回调，参数为最新版本号
+     */
+    void subscribeEvict(LongConsumer listener);
+
+}
@@ -56,6 +56,15 @@ public interface IConfigItemRepository {
      */
     List<ConfigItemEntity> findEnabledByCategoryId(ConfigCategoryId categoryId);
 
+    /**
+     * 查找全部可用的配置项
+     * <p>
+     * 用于一次性构建配置目录快照，按类别ID、配置项编码排序
+     *
+     * @return 可用的配置项列表
+     */
+    List<ConfigItemEntity> findAllEnabled();
+
     /**
      * 根据配置值或名称模糊查找配置项
      * <p>
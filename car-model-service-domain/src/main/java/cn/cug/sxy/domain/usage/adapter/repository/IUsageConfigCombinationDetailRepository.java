@@ -6,6 +6,7 @@ import cn.cug.sxy.domain.usage.model.valobj.UsageConfigCombinationId;
 import cn.cug.sxy.domain.usage.model.valobj.UsageId;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @version 1.0
@@ -44,6 +45,14 @@ public interface IUsageConfigCombinationDetailRepository {
      */
     List<UsageConfigCombinationDetailEntity> findByCombinationId(UsageConfigCombinationId combinationId);
 
+    /**
+     * 批量查询多个组合的明细（单次查询）
+     *
+     * @param combinationIds 组合ID列表
+     * @return 组合ID -> 明细列表，无明细的组合不在结果中
+     */
+    Map<UsageConfigCombinationId, List<UsageConfigCombinationDetailEntity>> findByCombinationIds(List<UsageConfigCombinationId> combinationIds);
+
     /**
      * 根据用法ID查询所有配置项ID
      * <p>
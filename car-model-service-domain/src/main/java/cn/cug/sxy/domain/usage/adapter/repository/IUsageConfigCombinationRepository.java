@@ -5,6 +5,7 @@ import cn.cug.sxy.domain.usage.model.valobj.UsageConfigCombinationId;
 import cn.cug.sxy.domain.usage.model.valobj.UsageId;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -48,6 +49,14 @@ public interface IUsageConfigCombinationRepository {
      */
     List<UsageConfigCombinationEntity> findByUsageId(UsageId usageId);
 
+    /**
+     * 批量查询多个用法的配置组合（包含配置项ID列表），组合与明细各一次查询
+     *
+     * @param usageIds 用法ID列表
+     * @return 用法ID -> 配置组合列表，没有配置组合的用法不在结果中
+     */
+    Map<UsageId, List<UsageConfigCombinationEntity>> findByUsageIds(List<UsageId> usageIds);
+
     /**
      * 删除用法配置组合
      * <p>
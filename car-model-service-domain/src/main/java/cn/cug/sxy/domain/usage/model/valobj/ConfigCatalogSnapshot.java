@@ -0,0 +1,120 @@
+package cn.cug.sxy.domain.usage.model.valobj;
+
+import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
+import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/10 10:15
+ * @Description 配置目录快照VO：可用的配置类别、配置项及编码索引，构建后不可变，整体替换
+ * @Author jerryhotton
+ */
+
+@Getter
+public class ConfigCatalogSnapshot {
+
+    /**
+     * 目录版本号，客户端据此判断目录是否变化
+     */
+    private final long version;
+    /**
+     * 快照构建时间
+     */
+    private final LocalDateTime builtTime;
+    /**
+     * 可用的配置类别（按排序号排列）
+     */
+    private final List<ConfigCategoryEntity> categories;
+    /**
+     * 类别ID -> 可用的配置项（按配置项编码排列）
+     */
+    private final Map<ConfigCategoryId, List<ConfigItemEntity>> itemsByCategoryId;
+    /**
+     * 配置项ID -> 配置项
+     */
+    private final Map<ConfigItemId, ConfigItemEntity> itemsById;
+    /**
+     * 类别编码 -> 类别ID
+     */
+    private final Map<String, ConfigCategoryId> categoryIdByCode;
+    /**
+     * 配置项编码 -> 配置项ID
+     */
+    private final Map<String, ConfigItemId> itemIdByCode;
+
+    private ConfigCatalogSnapshot(long version, List<ConfigCategoryEntity> categories, List<ConfigItemEntity> items) {
+        this.version = version;
+        this.builtTime = LocalDateTime.now();
+        this.categories = List.copyOf(categories);
+        Map<ConfigCategoryId, List<ConfigItemEntity>> grouped = new LinkedHashMap<>();
+        Map<ConfigItemId, ConfigItemEntity> byId = new HashMap<>();
+        Map<String, ConfigItemId> itemIdByCode = new HashMap<>();
+        for (ConfigItemEntity item : items) {
+            grouped.computeIfAbsent(item.getCategoryId(), key -> new ArrayList<>()).add(item);
+            byId.put(item.getId(), item);
+            itemIdByCode.put(item.getItemCode(), item.getId());
+        }
+        Map<ConfigCategoryId, List<ConfigItemEntity>> itemsByCategoryId = new LinkedHashMap<>();
+        grouped.forEach((categoryId, categoryItems) -> itemsByCategoryId.put(categoryId, List.copyOf(categoryItems)));
+        Map<String, ConfigCategoryId> categoryIdByCode = new HashMap<>();
+        for (ConfigCategoryEntity category : categories) {
+            categoryIdByCode.put(category.getCategoryCode(), category.getId());
+        }
+        this.itemsByCategoryId = Collections.unmodifiableMap(itemsByCategoryId);
+        this.itemsById = Collections.unmodifiableMap(byId);
+        this.categoryIdByCode = Collections.unmodifiableMap(categoryIdByCode);
+        this.itemIdByCode = Collections.unmodifiableMap(itemIdByCode);
+    }
+
+    /**
+     * 构建快照
+     *
+     * @param version    目录版本号
+     * @param categories 可用的配置类别（已排序）
+     * @param items      可用的配置项（已排序）
+     * @return 配置目录快照
+     */
+    public static ConfigCatalogSnapshot build(long version, List<ConfigCategoryEntity> categories, List<ConfigItemEntity> items) {
+        return new ConfigCatalogSnapshot(version,
+                categories == null ? Collections.emptyList() : categories,
+                items == null ? Collections.emptyList() : items);
+    }
+
+    /**
+     * 获取类别下可用的配置项
+     *
+     * @param categoryId 类别ID
+     * @return 配置项列表，不存在时返回空列表
+     */
+    public List<ConfigItemEntity> getItems(ConfigCategoryId categoryId) {
+        return itemsByCategoryId.getOrDefault(categoryId, Collections.emptyList());
+    }
+
+    /**
+     * 按类别编码查找类别ID
+     */
+    public Optional<ConfigCategoryId> findCategoryIdByCode(String categoryCode) {
+        return Optional.ofNullable(categoryIdByCode.get(categoryCode));
+    }
+
+    /**
+     * 按配置项编码查找配置项ID
+     */
+    public Optional<ConfigItemId> findItemIdByCode(String itemCode) {
+        return Optional.ofNullable(itemIdByCode.get(itemCode));
+    }
+
+    /**
+     * 客户端持有的版本是否仍为最新
+     *
+     * @param clientVersion 客户端持有的版本号，可为空
+     */
+    public boolean isUnchanged(Long clientVersion) {
+        return clientVersion != null && clientVersion == version;
+    }
+
+}
@@ -0,0 +1,260 @@
+package cn.cug.sxy.domain.usage.model.valobj;
+
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
+import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.entity.UsageConfigCombinationEntity;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/11 09:30
+ * @Description 实例用法配置组合匹配索引VO
+ * 将实例内用法引用的配置项按类别分段映射为连续的位序号，每个配置组合编码为定长 long[] 位图；
+ * 车辆配置同样编码为位图后，组合匹配即 (组合 & 约束范围 & ~车辆配置) == 0，无需逐项比较列表
+ * @Author jerryhotton
+ */
+
+public class UsageMatchIndex {
+
+    /**
+     * 实例ID
+     */
+    @Getter
+    private final InstanceId instanceId;
+    /**
+     * 构建索引时的配置目录版本号
+     */
+    @Getter
+    private final long catalogVersion;
+    /**
+     * 构建时间（毫秒）
+     */
+    @Getter
+    private final long builtAt;
+    /**
+     * 位图长度（long 个数）
+     */
+    private final int words;
+
+    private final Map<ConfigItemId, Integer> bitByItemId;
+
+    private final Map<ConfigCategoryId, long[]> categoryMasks;
+
+    /**
+     * 不归属任何类别的位，匹配时始终参与约束
+     */
+    private final long[] uncategorizedMask;
+
+    private final UsageId[] usageIds;
+
+    /**
+     * 无配置组合（或存在空组合）的用法，对所有车辆适用
+     */
+    private final boolean[] unconditional;
+
+    /**
+     * 全部配置组合位图，按组合顺序平铺，每个组合占 words 个 long
+     */
+    private final long[] combinationBits;
+
+    /**
+     * 组合所属用法在 usageIds 中的下标
+     */
+    private final int[] combinationOwners;
+
+    private UsageMatchIndex(InstanceId instanceId, long catalogVersion, int words,
+                            Map<ConfigItemId, Integer> bitByItemId, Map<ConfigCategoryId, long[]> categoryMasks,
+                            UsageId[] usageIds, boolean[] unconditional, long[] combinationBits, int[] combinationOwners) {
+        this.instanceId = instanceId;
+        this.catalogVersion = catalogVersion;
+        this.builtAt = System.currentTimeMillis();
+        this.words = words;
+        this.bitByItemId = bitByItemId;
+        this.categoryMasks = categoryMasks;
+        this.uncategorizedMask = new long[words];
+        Arrays.fill(uncategorizedMask, -1L);
+        categoryMasks.values().forEach(mask -> {
+            for (int w = 0; w < words; w++) {
+                uncategorizedMask[w] &= ~mask[w];
+            }
+        });
+        this.usageIds = usageIds;
+        this.unconditional = unconditional;
+        this.combinationBits = combinationBits;
+        this.combinationOwners = combinationOwners;
+    }
+
+    /**
+     * 构建匹配索引
+     *
+     * @param instanceId             实例ID
+     * @param catalog                配置目录快照，用于确定配置项所属类别及类别顺序
+     * @param usageIds               实例内的用法ID（保持树中顺序）
+     * @param combinationsByUsageId  用法ID -> 配置组合
+     * @return 匹配索引
+     */
+    public static UsageMatchIndex build(InstanceId instanceId, ConfigCatalogSnapshot catalog, List<UsageId> usageIds,
+                                        Map<UsageId, List<UsageConfigCombinationEntity>> combinationsByUsageId) {
+        // 1. 收集组合引用的配置项，按类别在目录中的顺序、类别内编码顺序分配连续位序号
+        Set<ConfigItemId> referencedItemIds = new HashSet<>();
+        for (UsageId usageId : usageIds) {
+            for (UsageConfigCombinationEntity combination : combinationsByUsageId.getOrDefault(usageId, Collections.emptyList())) {
+                if (combination.getConfigItemIds() != null) {
+                    referencedItemIds.addAll(combination.getConfigItemIds());
+                }
+            }
+        }
+        Map<ConfigItemId, Integer> bitByItemId = new HashMap<>();
+        Map<ConfigCategoryId, List<Integer>> bitsByCategory = new LinkedHashMap<>();
+        int nextBit = 0;
+        for (ConfigCategoryEntity category : catalog.getCategories()) {
+            for (ConfigItemEntity item : catalog.getItems(category.getId())) {
+                if (referencedItemIds.contains(item.getId())) {
+                    bitByItemId.put(item.getId(), nextBit);
+                    bitsByCategory.computeIfAbsent(category.getId(), key -> new ArrayList<>()).add(nextBit++);
+                }
+            }
+        }
+        // 已禁用或不在目录中的配置项追加在末尾，不归属任何类别，始终参与约束
+        List<ConfigItemId> orphanItemIds = referencedItemIds.stream()
+                .filter(itemId -> !bitByItemId.containsKey(itemId))
+                .sorted(Comparator.comparing(ConfigItemId::getId))
+                .toList();
+        for (ConfigItemId itemId : orphanItemIds) {
+            bitByItemId.put(itemId, nextBit++);
+        }
+        int words = Math.max(1, (nextBit + 63) >>> 6);
+        Map<ConfigCategoryId, long[]> categoryMasks = new HashMap<>();
+        bitsByCategory.forEach((categoryId, bits) -> {
+            long[] mask = new long[words];
+            bits.forEach(bit -> mask[bit >>> 6] |= 1L << bit);
+            categoryMasks.put(categoryId, mask);
+        });
+        // 2. 编码配置组合
+        UsageId[] usageArray = usageIds.toArray(new UsageId[0]);
+        boolean[] unconditional = new boolean[usageArray.length];
+        List<long[]> combinationList = new ArrayList<>();
+        List<Integer> ownerList = new ArrayList<>();
+        for (int i = 0; i < usageArray.length; i++) {
+            List<UsageConfigCombinationEntity> combinations = combinationsByUsageId.getOrDefault(usageArray[i], Collections.emptyList());
+            if (combinations.isEmpty()) {
+                unconditional[i] = true;
+                continue;
+            }
+            for (UsageConfigCombinationEntity combination : combinations) {
+                if (combination.getConfigItemIds() == null || combination.getConfigItemIds().isEmpty()) {
+                    unconditional[i] = true;
+                    break;
+                }
+                long[] bits = new long[words];
+                for (ConfigItemId itemId : combination.getConfigItemIds()) {
+                    int bit = bitByItemId.get(itemId);
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+                combinationList.add(bits);
+                ownerList.add(i);
+            }
+        }
+        long[] combinationBits = new long[combinationList.size() * words];
+        int[] combinationOwners = new int[ownerList.size()];
+        for (int c = 0; c < combinationList.size(); c++) {
+            System.arraycopy(combinationList.get(c), 0, combinationBits, c * words, words);
+            combinationOwners[c] = ownerList.get(c);
+        }
+
+        return new UsageMatchIndex(instanceId, catalog.getVersion(), words,
+                Collections.unmodifiableMap(bitByItemId), Collections.unmodifiableMap(categoryMasks),
+                usageArray, unconditional, combinationBits, combinationOwners);
+    }
+
+    /**
+     * 匹配车辆配置适用的用法：用法任一配置组合的全部配置项都被车辆配置覆盖即适用
+     *
+     * @param selectedItemIds      车辆已选配置项
+     * @param specifiedCategoryIds 车辆已确定的配置类别；为 null 时所有类别都视为已确定（严格匹配），
+     *                             否则未确定类别上的组合要求不参与比较
+     * @return 适用的用法ID（保持索引中的顺序）
+     */
+    public Set<UsageId> match(Collection<ConfigItemId> selectedItemIds, Collection<ConfigCategoryId> specifiedCategoryIds) {
+        long[] selected = encode(selectedItemIds);
+        long[] constrained = new long[words];
+        if (specifiedCategoryIds == null) {
+            Arrays.fill(constrained, -1L);
+        } else {
+            System.arraycopy(uncategorizedMask, 0, constrained, 0, words);
+            for (ConfigCategoryId categoryId : specifiedCategoryIds) {
+                long[] mask = categoryMasks.get(categoryId);
+                if (mask != null) {
+                    for (int w = 0; w < words; w++) {
+                        constrained[w] |= mask[w];
+                    }
+                }
+            }
+        }
+        // 预先计算"被约束但未选中"的位，组合与之相交即不匹配
+        long[] rejected = new long[words];
+        for (int w = 0; w < words; w++) {
+            rejected[w] = constrained[w] & ~selected[w];
+        }
+        boolean[] matched = unconditional.clone();
+        for (int c = 0; c < combinationOwners.length; c++) {
+            int owner = combinationOwners[c];
+            if (matched[owner]) {
+                continue;
+            }
+            int base = c * words;
+            boolean ok = true;
+            for (int w = 0; w < words; w++) {
+                if ((combinationBits[base + w] & rejected[w]) != 0) {
+                    ok = false;
+                    break;
+                }
+            }
+            if (ok) {
+                matched[owner] = true;
+            }
+        }
+        Set<UsageId> result = new LinkedHashSet<>();
+        for (int i = 0; i < usageIds.length; i++) {
+            if (matched[i]) {
+                result.add(usageIds[i]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 用法数量
+     */
+    public int getUsageCount() {
+        return usageIds.length;
+    }
+
+    /**
+     * 配置组合数量（不含空组合）
+     */
+    public int getCombinationCount() {
+        return combinationOwners.length;
+    }
+
+    private long[] encode(Collection<ConfigItemId> itemIds) {
+        long[] bits = new long[words];
+        if (itemIds == null) {
+            return bits;
+        }
+        for (ConfigItemId itemId : itemIds) {
+            // 未被任何组合引用的配置项不影响匹配
+            Integer bit = bitByItemId.get(itemId);
+            if (bit != null) {
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        return bits;
+    }
+
+}
@@ -0,0 +1,65 @@
+package cn.cug.sxy.domain.usage.model.valobj;
+
+import cn.cug.sxy.domain.series.model.entity.CarModelEntity;
+import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.usage.model.entity.UsagePartEntity;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/12 10:30
+ * @Description VIN码备件树VO：VIN解析结果、车型已发布实例，以及按车辆配置裁剪后的节点与用法备件
+ * @Author jerryhotton
+ */
+
+@Getter
+@Builder
+public class VinPartsTree {
+
+    /**
+     * VIN码解析结果
+     */
+    private final VinQueryResult vinQueryResult;
+    /**
+     * 车型
+     */
+    private final CarModelEntity model;
+    /**
+     * 车型当前生效的已发布实例
+     */
+    private final StructureInstanceEntity instance;
+    /**
+     * 参与匹配的车辆配置项（请求指定 + VIN动力类型推导）
+     */
+    private final List<ConfigItemId> configItemIds;
+    /**
+     * 裁剪后的节点（保持原有顺序）
+     */
+    private final List<StructureInstanceNodeEntity> nodes;
+    /**
+     * 适用用法ID -> 用法备件
+     */
+    private final Map<UsageId, List<UsagePartEntity>> partsByUsageId;
+    /**
+     * 实例内用法总数
+     */
+    private final int totalUsageCount;
+    /**
+     * 适用用法数
+     */
+    private final int matchedUsageCount;
+
+    /**
+     * 备件条目数
+     */
+    public int getPartCount() {
+        return partsByUsageId == null ? 0 : partsByUsageId.values().stream().mapToInt(List::size).sum();
+    }
+
+}
@@ -0,0 +1,142 @@
+package cn.cug.sxy.domain.usage.service;
+
+import cn.cug.sxy.domain.usage.adapter.port.IConfigCatalogSyncPort;
+import cn.cug.sxy.domain.usage.adapter.repository.IConfigCategoryRepository;
+import cn.cug.sxy.domain.usage.adapter.repository.IConfigItemRepository;
+import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
+import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.valobj.ConfigCatalogSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/10 11:10
+ * @Description 配置目录服务实现类
+ * 快照整体构建后原子替换（写时复制），读取无锁；
+ * 本节点写入时递增全局版本号并广播，其他节点收到更高版本后重建；
+ * 读取时按间隔比对全局版本号，兜底丢失的刷新信号
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class ConfigCatalogService implements IConfigCatalogService, InitializingBean {
+
+    private final IConfigCategoryRepository configCategoryRepository;
+    private final IConfigItemRepository configItemRepository;
+    private final IConfigCatalogSyncPort configCatalogSyncPort;
+
+    private final AtomicReference<ConfigCatalogSnapshot> snapshotRef = new AtomicReference<>();
+
+    private final Object rebuildLock = new Object();
+
+    @Value("${config.catalog.version-check-interval-millis:30000}")
+    private long versionCheckIntervalMillis;
+
+    private volatile long lastVersionCheckAt;
+
+    public ConfigCatalogService(IConfigCategoryRepository configCategoryRepository,
+                                IConfigItemRepository configItemRepository,
+                                IConfigCatalogSyncPort configCatalogSyncPort) {
+        this.configCategoryRepository = configCategoryRepository;
+        this.configItemRepository = configItemRepository;
+        this.configCatalogSyncPort = configCatalogSyncPort;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            configCatalogSyncPort.subscribeRefresh(this::onRefreshSignal);
+        } catch (Exception e) {
+            log.error("订阅配置目录刷新信号失败，仅依赖定期版本比对", e);
+        }
+    }
+
+    @Override
+    public ConfigCatalogSnapshot getSnapshot() {
+        ConfigCatalogSnapshot snapshot = snapshotRef.get();
+        if (snapshot == null) {
+            return rebuild(resolveGlobalVersion(0L));
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastVersionCheckAt >= versionCheckIntervalMillis) {
+            lastVersionCheckAt = now;
+            long globalVersion = resolveGlobalVersion(snapshot.getVersion());
+            if (globalVersion > snapshot.getVersion()) {
+                log.info("配置目录版本落后 本地:{} 全局:{}，重建快照", snapshot.getVersion(), globalVersion);
+                return rebuild(globalVersion);
+            }
+        }
+
+        return snapshot;
+    }
+
+    @Override
+    public void onCatalogChanged() {
+        ConfigCatalogSnapshot current = snapshotRef.get();
+        long version;
+        try {
+            version = configCatalogSyncPort.nextVersion();
+        } catch (Exception e) {
+            // 版本号不可用时仍重建本地快照，其他节点依赖定期比对兜底
+            log.error("递增配置目录版本号失败", e);
+            rebuild(current == null ? 0L : current.getVersion());
+            return;
+        }
+        rebuild(version);
+        try {
+            configCatalogSyncPort.publishRefresh(version);
+        } catch (Exception e) {
+            log.error("广播配置目录刷新信号失败 version={}", version, e);
+        }
+    }
+
+    /**
+     * 处理其他节点的刷新信号，仅在版本号更高时重建
+     */
+    private void onRefreshSignal(long version) {
+        ConfigCatalogSnapshot current = snapshotRef.get();
+        if (current != null && current.getVersion() >= version) {
+            return;
+        }
+        rebuild(version);
+    }
+
+    /**
+     * 从数据库加载并替换快照；已有快照版本更高时放弃本次构建，避免乱序覆盖
+     */
+    private ConfigCatalogSnapshot rebuild(long version) {
+        synchronized (rebuildLock) {
+            ConfigCatalogSnapshot current = snapshotRef.get();
+            if (current != null && current.getVersion() > version) {
+                return current;
+            }
+            long start = System.currentTimeMillis();
+            List<ConfigCategoryEntity> categories = configCategoryRepository.findAllEnabled();
+            List<ConfigItemEntity> items = configItemRepository.findAllEnabled();
+            ConfigCatalogSnapshot snapshot = ConfigCatalogSnapshot.build(version, categories, items);
+            snapshotRef.set(snapshot);
+            lastVersionCheckAt = System.currentTimeMillis();
+            log.info("配置目录快照已重建 version:{} 类别:{} 配置项:{} 耗时:{}ms",
+                    version, categories.size(), items.size(), lastVersionCheckAt - start);
+
+            return snapshot;
+        }
+    }
+
+    private long resolveGlobalVersion(long fallback) {
+        try {
+            return configCatalogSyncPort.currentVersion();
+        } catch (Exception e) {
+            log.warn("读取配置目录版本号失败: {}", e.getMessage());
+            return fallback;
+        }
+    }
+
+}
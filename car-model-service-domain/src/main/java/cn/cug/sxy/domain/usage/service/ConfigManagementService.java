@@ -1,5 +1,7 @@
 package cn.cug.sxy.domain.usage.service;
 
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
 import cn.cug.sxy.domain.usage.adapter.repository.IConfigCategoryRepository;
 import cn.cug.sxy.domain.usage.adapter.repository.IConfigItemRepository;
 import cn.cug.sxy.domain.usage.adapter.repository.IUsageConfigCombinationDetailRepository;
@@ -28,14 +30,20 @@ public class ConfigManagementService implements IConfigManagementService {
     private final IConfigCategoryRepository configCategoryRepository;
     private final IConfigItemRepository configItemRepository;
     private final IUsageConfigCombinationDetailRepository detailRepository;
+    private final IConfigCatalogService configCatalogService;
+    private final ISearchIndexService searchIndexService;
     private final String DEFAULT_CREATOR = "default";
 
     public ConfigManagementService(IConfigCategoryRepository configCategoryRepository,
                                    IConfigItemRepository configItemRepository,
-                                   IUsageConfigCombinationDetailRepository detailRepository) {
+                                   IUsageConfigCombinationDetailRepository detailRepository,
+                                   IConfigCatalogService configCatalogService,
+                                   ISearchIndexService searchIndexService) {
         this.configCategoryRepository = configCategoryRepository;
         this.configItemRepository = configItemRepository;
         this.detailRepository = detailRepository;
+        this.configCatalogService = configCatalogService;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
@@ -49,7 +57,10 @@ public class ConfigManagementService implements IConfigManagementService {
         // 创建并保存
         ConfigCategoryEntity category = ConfigCategoryEntity.create(categoryCode, categoryName, sortOrder, creator);
 
-        return configCategoryRepository.save(category);
+        ConfigCategoryEntity saved = configCategoryRepository.save(category);
+        configCatalogService.onCatalogChanged();
+
+        return saved;
     }
 
     @Override
@@ -74,7 +85,10 @@ public class ConfigManagementService implements IConfigManagementService {
         }
         category.update(categoryCode, categoryName, finalSortOrder);
 
-        return configCategoryRepository.save(category);
+        ConfigCategoryEntity saved = configCategoryRepository.save(category);
+        configCatalogService.onCatalogChanged();
+
+        return saved;
     }
 
     @Override
@@ -88,7 +102,12 @@ public class ConfigManagementService implements IConfigManagementService {
             throw new AppException("配置类别下存在配置项，无法删除。请先删除相关配置项。");
         }
 
-        return configCategoryRepository.deleteById(categoryId);
+        boolean deleted = configCategoryRepository.deleteById(categoryId);
+        if (deleted) {
+            configCatalogService.onCatalogChanged();
+        }
+
+        return deleted;
     }
 
     @Override
@@ -115,7 +134,11 @@ public class ConfigManagementService implements IConfigManagementService {
         // 创建并保存
         ConfigItemEntity item = ConfigItemEntity.create(categoryId, itemCode, itemName, itemValue, creator);
 
-        return configItemRepository.save(item);
+        ConfigItemEntity saved = configItemRepository.save(item);
+        configCatalogService.onCatalogChanged();
+        searchIndexService.onDocumentChanged(SearchDocType.CONFIG_ITEM, saved.getId().getId());
+
+        return saved;
     }
 
     @Override
@@ -136,7 +159,11 @@ public class ConfigManagementService implements IConfigManagementService {
         ConfigItemEntity item = itemOpt.get();
         item.update(itemName.trim(), itemValue.trim());
 
-        return configItemRepository.save(item);
+        ConfigItemEntity saved = configItemRepository.save(item);
+        configCatalogService.onCatalogChanged();
+        searchIndexService.onDocumentChanged(SearchDocType.CONFIG_ITEM, itemId.getId());
+
+        return saved;
     }
 
     @Override
@@ -151,7 +178,13 @@ public class ConfigManagementService implements IConfigManagementService {
         }
 
         // 没有引用才删除配置项
-        return configItemRepository.deleteById(itemId);
+        boolean deleted = configItemRepository.deleteById(itemId);
+        if (deleted) {
+            configCatalogService.onCatalogChanged();
+            searchIndexService.onDocumentChanged(SearchDocType.CONFIG_ITEM, itemId.getId());
+        }
+
+        return deleted;
     }
 
     @Override
@@ -170,7 +203,10 @@ public class ConfigManagementService implements IConfigManagementService {
             category.disable();
         }
 
-        return configCategoryRepository.save(category);
+        ConfigCategoryEntity saved = configCategoryRepository.save(category);
+        configCatalogService.onCatalogChanged();
+
+        return saved;
     }
 
     @Override
@@ -189,7 +225,11 @@ public class ConfigManagementService implements IConfigManagementService {
             item.disable();
         }
 
-        return configItemRepository.save(item);
+        ConfigItemEntity saved = configItemRepository.save(item);
+        configCatalogService.onCatalogChanged();
+        searchIndexService.onDocumentChanged(SearchDocType.CONFIG_ITEM, itemId.getId());
+
+        return saved;
     }
 
     @Override
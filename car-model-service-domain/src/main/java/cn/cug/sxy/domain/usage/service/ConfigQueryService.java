@@ -4,6 +4,7 @@ import cn.cug.sxy.domain.usage.adapter.repository.IConfigCategoryRepository;
 import cn.cug.sxy.domain.usage.adapter.repository.IConfigItemRepository;
 import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
 import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.valobj.ConfigCatalogSnapshot;
 import cn.cug.sxy.domain.usage.model.valobj.ConfigCategoryId;
 import cn.cug.sxy.domain.usage.model.valobj.ConfigItemId;
 import org.springframework.stereotype.Service;
@@ -22,27 +23,33 @@ public class ConfigQueryService implements IConfigQueryService {
 
     private final IConfigCategoryRepository configCategoryRepository;
     private final IConfigItemRepository configItemRepository;
+    private final IConfigCatalogService configCatalogService;
 
     public ConfigQueryService(IConfigCategoryRepository configCategoryRepository,
-                              IConfigItemRepository configItemRepository) {
+                              IConfigItemRepository configItemRepository,
+                              IConfigCatalogService configCatalogService) {
         this.configCategoryRepository = configCategoryRepository;
         this.configItemRepository = configItemRepository;
+        this.configCatalogService = configCatalogService;
     }
 
     @Override
     public Map<ConfigCategoryEntity, List<ConfigItemEntity>> getAllAvailableConfigs() {
-        // 查询所有可用的配置类别
-        List<ConfigCategoryEntity> categories = configCategoryRepository.findAllEnabled();
-        // 为每个类别查询配置项
+        // 从配置目录快照中组装，不再逐类别查询
+        ConfigCatalogSnapshot snapshot = configCatalogService.getSnapshot();
         Map<ConfigCategoryEntity, List<ConfigItemEntity>> configMap = new LinkedHashMap<>();
-        for (ConfigCategoryEntity category : categories) {
-            List<ConfigItemEntity> items = configItemRepository.findEnabledByCategoryId(category.getId());
-            configMap.put(category, items);
+        for (ConfigCategoryEntity category : snapshot.getCategories()) {
+            configMap.put(category, snapshot.getItems(category.getId()));
         }
 
         return configMap;
     }
 
+    @Override
+    public ConfigCatalogSnapshot getCatalogSnapshot() {
+        return configCatalogService.getSnapshot();
+    }
+
     @Override
     public List<ConfigItemEntity> findConfigItemsByIds(List<ConfigItemId> itemIds) {
         if (itemIds == null || itemIds.isEmpty()) {
@@ -67,7 +74,7 @@ public class ConfigQueryService implements IConfigQueryService {
 
     @Override
     public List<ConfigCategoryEntity> findAllEnabledCategories() {
-        return configCategoryRepository.findAllEnabled();
+        return configCatalogService.getSnapshot().getCategories();
     }
 
     @Override
@@ -77,7 +84,11 @@ public class ConfigQueryService implements IConfigQueryService {
 
     @Override
     public List<ConfigItemEntity> findEnabledItemsByCategoryId(ConfigCategoryId categoryId) {
-        return configItemRepository.findEnabledByCategoryId(categoryId);
+        if (categoryId == null) {
+            return Collections.emptyList();
+        }
+
+        return configCatalogService.getSnapshot().getItems(categoryId);
     }
 
     @Override
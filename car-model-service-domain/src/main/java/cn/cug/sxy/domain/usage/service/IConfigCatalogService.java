@@ -0,0 +1,26 @@
+package cn.cug.sxy.domain.usage.service;
+
+import cn.cug.sxy.domain.usage.model.valobj.ConfigCatalogSnapshot;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/10 11:00
+ * @Description 配置目录服务接口：维护进程内的配置目录快照
+ * @Author jerryhotton
+ */
+
+public interface IConfigCatalogService {
+
+    /**
+     * 获取当前配置目录快照，首次调用时构建
+     *
+     * @return 配置目录快照
+     */
+    ConfigCatalogSnapshot getSnapshot();
+
+    /**
+     * 配置类别或配置项变更后调用：递增全局版本号、重建本地快照并通知其他节点
+     */
+    void onCatalogChanged();
+
+}
@@ -2,6 +2,7 @@ package cn.cug.sxy.domain.usage.service;
 
 import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
 import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.valobj.ConfigCatalogSnapshot;
 import cn.cug.sxy.domain.usage.model.valobj.ConfigCategoryId;
 import cn.cug.sxy.domain.usage.model.valobj.ConfigItemId;
 
@@ -26,6 +27,15 @@ public interface IConfigQueryService {
      */
     Map<ConfigCategoryEntity, List<ConfigItemEntity>> getAllAvailableConfigs();
 
+    /**
+     * 获取配置目录快照
+     * <p>
+     * 快照携带版本号，客户端可据此判断目录是否变化
+     *
+     * @return 配置目录快照
+     */
+    ConfigCatalogSnapshot getCatalogSnapshot();
+
     /**
      * 根据ID列表批量查询配置项
      * <p>
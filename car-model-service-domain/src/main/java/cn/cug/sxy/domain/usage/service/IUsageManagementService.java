@@ -10,6 +10,7 @@ import org.springframework.web.multipart.MultipartFile;
 import cn.cug.sxy.types.exception.AppException;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @version 1.0
@@ -96,6 +97,16 @@ public interface IUsageManagementService {
      */
     List<UsageConfigCombinationEntity> findUsageDetail(UsageId usageId);
 
+    /**
+     * 批量查询用法详情
+     * <p>
+     * 组合、组合明细、配置项各一次查询，不存在的用法不在结果中
+     *
+     * @param usageIds 用法ID列表
+     * @return 用法ID -> 配置组合列表，顺序与入参一致
+     */
+    Map<UsageId, List<UsageConfigCombinationEntity>> findUsageDetails(List<UsageId> usageIds);
+
     /**
      * 更新用法状态
      * <p>
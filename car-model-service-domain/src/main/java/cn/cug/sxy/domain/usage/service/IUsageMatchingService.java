@@ -0,0 +1,53 @@
+package cn.cug.sxy.domain.usage.service;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.usage.model.valobj.ConfigItemId;
+import cn.cug.sxy.domain.usage.model.valobj.UsageId;
+import cn.cug.sxy.domain.usage.model.valobj.UsageMatchIndex;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/11 10:05
+ * @Description 用法配置组合匹配服务接口
+ * @Author jerryhotton
+ */
+
+public interface IUsageMatchingService {
+
+    /**
+     * 获取实例的用法匹配索引，不存在或已过期时构建
+     *
+     * @param instanceId 实例ID
+     * @return 匹配索引
+     */
+    UsageMatchIndex getMatchIndex(InstanceId instanceId);
+
+    /**
+     * 匹配车辆配置在实例中适用的用法
+     *
+     * @param instanceId                  实例ID
+     * @param configItemIds               车辆配置项ID列表
+     * @param ignoreUnspecifiedCategories 是否忽略车辆配置未涉及的类别（车辆配置不完整时使用）
+     * @return 适用的用法ID
+     */
+    Set<UsageId> matchUsages(InstanceId instanceId, List<ConfigItemId> configItemIds, boolean ignoreUnspecifiedCategories);
+
+    /**
+     * 按匹配结果裁剪实例节点：仅保留适用的用法节点及其祖先节点
+     *
+     * @param nodes          实例全部节点
+     * @param matchedUsageIds 适用的用法ID
+     * @return 裁剪后的节点（保持原有顺序）
+     */
+    List<StructureInstanceNodeEntity> pruneNodes(List<StructureInstanceNodeEntity> nodes, Set<UsageId> matchedUsageIds);
+
+    /**
+     * 用法或配置组合变更后清空匹配索引并通知其他节点，处于事务中时在提交后执行
+     */
+    void evictMatchIndexes();
+
+}
@@ -0,0 +1,28 @@
+package cn.cug.sxy.domain.usage.service;
+
+import cn.cug.sxy.domain.usage.model.valobj.ConfigItemId;
+import cn.cug.sxy.domain.usage.model.valobj.VinPartsTree;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/12 10:40
+ * @Description VIN码备件查询服务接口
+ * @Author jerryhotton
+ */
+
+public interface IVinPartsLookupService {
+
+    /**
+     * 根据VIN码查询按车辆配置裁剪后的结构树及备件
+     * 依次完成：VIN解析 -> 车型 -> 已发布实例 -> 配置组合匹配 -> 裁剪节点 -> 批量加载适用用法的备件
+     *
+     * @param vin                         VIN码
+     * @param configItemIds               车辆配置项ID，可为空；VIN动力类型对应的配置项会自动补充
+     * @param ignoreUnspecifiedCategories 是否忽略车辆配置未涉及的类别
+     * @return VIN码备件树
+     */
+    VinPartsTree lookup(String vin, List<ConfigItemId> configItemIds, boolean ignoreUnspecifiedCategories);
+
+}
@@ -1,10 +1,13 @@
 package cn.cug.sxy.domain.usage.service;
 
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
 import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
 import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
 import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
 import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
 import cn.cug.sxy.domain.structure.model.valobj.NodeType;
+import cn.cug.sxy.domain.structure.service.IInstanceTreeHashService;
 import cn.cug.sxy.domain.usage.adapter.repository.IUsageConfigCombinationRepository;
 import cn.cug.sxy.domain.usage.adapter.repository.IUsageRepository;
 import cn.cug.sxy.domain.usage.model.aggregate.UsageAggregate;
@@ -12,16 +15,15 @@ import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
 import cn.cug.sxy.domain.usage.model.valobj.*;
 import cn.cug.sxy.domain.usage.model.entity.UsageConfigCombinationEntity;
 import cn.cug.sxy.domain.usage.model.entity.UsageEntity;
+import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.enums.Status;
 import cn.cug.sxy.types.exception.AppException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -40,17 +42,32 @@ public class UsageManagementService implements IUsageManagementService {
     private final IInstanceNodeRepository instanceNodeRepository;
     private final IConfigQueryService configQueryService;
     private final IConfigManagementService configManagementService;
+    private final IUsageMatchingService usageMatchingService;
+    private final IInstanceTreeHashService instanceTreeHashService;
+    private final ISearchIndexService searchIndexService;
+
+    /**
+     * 批量查询用法详情的最大用法数
+     */
+    @Value("${usage.detail.max-batch-size:100}")
+    private int maxDetailBatchSize;
 
     public UsageManagementService(IUsageRepository usageRepository,
                                   IUsageConfigCombinationRepository combinationRepository,
                                   IInstanceNodeRepository instanceNodeRepository,
                                   IConfigQueryService configQueryService,
-                                  IConfigManagementService configManagementService) {
+                                  IConfigManagementService configManagementService,
+                                  IUsageMatchingService usageMatchingService,
+                                  IInstanceTreeHashService instanceTreeHashService,
+                                  ISearchIndexService searchIndexService) {
         this.usageRepository = usageRepository;
         this.combinationRepository = combinationRepository;
         this.instanceNodeRepository = instanceNodeRepository;
         this.configQueryService = configQueryService;
         this.configManagementService = configManagementService;
+        this.usageMatchingService = usageMatchingService;
+        this.instanceTreeHashService = instanceTreeHashService;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
@@ -85,6 +102,7 @@ public class UsageManagementService implements IUsageManagementService {
         // 6. 创建用法类型的实例节点
         StructureInstanceNodeEntity usageNode = createUsageInstanceNode(
                 new InstanceId(instanceId), parentNodeId, savedUsage, sortOrder, creator, parentNode);
+        usageMatchingService.evictMatchIndexes();
         // 7. 返回结果
         return new UsageCreationAggregate(savedUsage, savedCombinations, usageNode);
     }
@@ -127,6 +145,7 @@ public class UsageManagementService implements IUsageManagementService {
             combinationRepository.deleteByUsageId(usageId);
             // 创建新的配置组合
             updatedCombinations = createCombinations(usageId, combinationSpecs);
+            usageMatchingService.evictMatchIndexes();
         } else {
             // 不更新配置组合，查询现有的
             updatedCombinations = combinationRepository.findByUsageId(usageId);
@@ -157,18 +176,47 @@ public class UsageManagementService implements IUsageManagementService {
         }
         // 2. 查询配置组合
         List<UsageConfigCombinationEntity> combinations = combinationRepository.findByUsageId(usageId);
-        // 3. 为每个配置组合加载完整的配置项信息
-        for (UsageConfigCombinationEntity combination : combinations) {
-            // 获取配置项ID列表
-            List<ConfigItemId> configItemIds = combination.getConfigItemIds();
-            if (configItemIds != null && !configItemIds.isEmpty()) {
-                // 通过配置管理服务获取完整的配置项信息
-                List<ConfigItemEntity> configItems = configQueryService.findConfigItemsByIds(configItemIds);
-                combination.loadConfigItemDetails(configItems);
+        // 3. 为所有配置组合一次性加载完整的配置项信息
+        loadConfigItemDetails(combinations);
+
+        return combinations;
+    }
+
+    @Override
+    public Map<UsageId, List<UsageConfigCombinationEntity>> findUsageDetails(List<UsageId> usageIds) {
+        if (usageIds == null || usageIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<UsageId> distinctUsageIds = usageIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinctUsageIds.size() > maxDetailBatchSize) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(),
+                    "单次最多查询" + maxDetailBatchSize + "个用法详情");
+        }
+        // 1. 批量查询用法基本信息，忽略不存在的用法
+        Set<UsageId> existingUsageIds = usageRepository.findByIds(distinctUsageIds).stream()
+                .map(UsageEntity::getId)
+                .collect(Collectors.toSet());
+        if (existingUsageIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        // 2. 批量查询配置组合
+        Map<UsageId, List<UsageConfigCombinationEntity>> combinationsByUsageId =
+                combinationRepository.findByUsageIds(new ArrayList<>(existingUsageIds));
+        // 3. 为所有配置组合一次性加载完整的配置项信息
+        loadConfigItemDetails(combinationsByUsageId.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList()));
+        Map<UsageId, List<UsageConfigCombinationEntity>> result = new LinkedHashMap<>();
+        for (UsageId usageId : distinctUsageIds) {
+            if (existingUsageIds.contains(usageId)) {
+                result.put(usageId, combinationsByUsageId.getOrDefault(usageId, Collections.emptyList()));
             }
         }
 
-        return combinations;
+        return result;
     }
 
     @Override
@@ -215,7 +263,41 @@ public class UsageManagementService implements IUsageManagementService {
 
     @Override
     public boolean deleteCombination(Long combinationId) {
-        return combinationRepository.deleteById(new UsageConfigCombinationId(combinationId));
+        boolean deleted = combinationRepository.deleteById(new UsageConfigCombinationId(combinationId));
+        if (deleted) {
+            usageMatchingService.evictMatchIndexes();
+        }
+
+        return deleted;
+    }
+
+    /**
+     * 批量加载配置组合的配置项详情：汇总所有组合引用的配置项ID后只查询一次
+     */
+    private void loadConfigItemDetails(List<UsageConfigCombinationEntity> combinations) {
+        if (combinations == null || combinations.isEmpty()) {
+            return;
+        }
+        List<ConfigItemId> configItemIds = combinations.stream()
+                .map(UsageConfigCombinationEntity::getConfigItemIds)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .distinct()
+                .collect(Collectors.toList());
+        if (configItemIds.isEmpty()) {
+            return;
+        }
+        // 保持配置项查询结果的原有顺序（按类别、编码排序）
+        List<ConfigItemEntity> configItems = configQueryService.findConfigItemsByIds(configItemIds);
+        for (UsageConfigCombinationEntity combination : combinations) {
+            if (combination.getConfigItemIds() == null || combination.getConfigItemIds().isEmpty()) {
+                continue;
+            }
+            Set<ConfigItemId> combinationItemIds = new HashSet<>(combination.getConfigItemIds());
+            combination.loadConfigItemDetails(configItems.stream()
+                    .filter(item -> combinationItemIds.contains(item.getId()))
+                    .collect(Collectors.toList()));
+        }
     }
 
     private List<UsageEntity> findUsagesByGroup(Long groupNodeId, Status status) {
@@ -272,6 +354,9 @@ public class UsageManagementService implements IUsageManagementService {
         usageRepository.save(usage);
         // 删除对应实例节点（逻辑删除）
         instanceNodeRepository.updateStatusByUsageId(usageId, status);
+        usageMatchingService.evictMatchIndexes();
+        instanceNodeRepository.findByUsageId(usageId)
+                .ifPresent(node -> searchIndexService.onDocumentChanged(SearchDocType.INSTANCE_NODE, node.getId().getId()));
 
         return true;
     }
@@ -327,6 +412,8 @@ public class UsageManagementService implements IUsageManagementService {
             usageNode.updatePathAndLevel(nodePath, nodeLevel);
             instanceNodeRepository.update(usageNode);
         }
+        instanceTreeHashService.refreshFrom(usageNode.getId());
+        searchIndexService.onDocumentChanged(SearchDocType.INSTANCE_NODE, usageNode.getId().getId());
 
         return usageNode;
     }
@@ -0,0 +1,243 @@
+package cn.cug.sxy.domain.usage.service;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceNodeRepository;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
+import cn.cug.sxy.domain.structure.model.valobj.NodeType;
+import cn.cug.sxy.domain.usage.adapter.port.IUsageMatchSyncPort;
+import cn.cug.sxy.domain.usage.adapter.repository.IUsageConfigCombinationRepository;
+import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.entity.UsageConfigCombinationEntity;
+import cn.cug.sxy.domain.usage.model.valobj.*;
+import cn.cug.sxy.types.enums.Status;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/11 10:20
+ * @Description 用法配置组合匹配服务实现类
+ * 按实例构建位图匹配索引并缓存在进程内，配置目录版本变化、用法变更或到期后重建；
+ * 用法变更时递增全局用法版本号并广播，其他节点收到更高版本后清空索引，读取时按间隔比对全局版本号兜底丢失的信号
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class UsageMatchingService implements IUsageMatchingService, InitializingBean {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final IInstanceNodeRepository instanceNodeRepository;
+    private final IUsageConfigCombinationRepository combinationRepository;
+    private final IConfigCatalogService configCatalogService;
+    private final IUsageMatchSyncPort usageMatchSyncPort;
+
+    private final Cache<InstanceId, UsageMatchIndex> indexCache;
+
+    /**
+     * 本节点已知的全局用法版本号，递增时清空索引
+     */
+    private final AtomicLong usageVersion = new AtomicLong();
+
+    private final long versionCheckIntervalMillis;
+
+    private volatile long lastVersionCheckAt;
+
+    public UsageMatchingService(IInstanceNodeRepository instanceNodeRepository,
+                                IUsageConfigCombinationRepository combinationRepository,
+                                IConfigCatalogService configCatalogService,
+                                IUsageMatchSyncPort usageMatchSyncPort,
+                                @Value("${usage.matching.index-cache-size:200}") long indexCacheSize,
+                                @Value("${usage.matching.index-ttl-seconds:300}") long indexTtlSeconds,
+                                @Value("${usage.matching.version-check-interval-millis:30000}") long versionCheckIntervalMillis) {
+        this.instanceNodeRepository = instanceNodeRepository;
+        this.combinationRepository = combinationRepository;
+        this.configCatalogService = configCatalogService;
+        this.usageMatchSyncPort = usageMatchSyncPort;
+        this.versionCheckIntervalMillis = versionCheckIntervalMillis;
+        this.indexCache = CacheBuilder.newBuilder()
+                .maximumSize(indexCacheSize)
+                .expireAfterWrite(indexTtlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            usageVersion.set(usageMatchSyncPort.currentVersion());
+            usageMatchSyncPort.subscribeEvict(this::onEvictSignal);
+        } catch (Exception e) {
+            log.error("订阅用法匹配索引失效信号失败，仅依赖定期版本比对", e);
+        }
+        lastVersionCheckAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public UsageMatchIndex getMatchIndex(InstanceId instanceId) {
+        if (instanceId == null) {
+            throw new IllegalArgumentException("实例ID不能为空");
+        }
+        checkUsageVersion();
+        ConfigCatalogSnapshot catalog = configCatalogService.getSnapshot();
+        UsageMatchIndex index = indexCache.getIfPresent(instanceId);
+        if (index != null && index.getCatalogVersion() == catalog.getVersion()) {
+            return index;
+        }
+        long version = usageVersion.get();
+        index = buildIndex(instanceId, catalog);
+        // 构建期间用法版本已变化时不缓存，避免失效后写回旧索引
+        if (version == usageVersion.get()) {
+            indexCache.put(instanceId, index);
+        }
+
+        return index;
+    }
+
+    @Override
+    public Set<UsageId> matchUsages(InstanceId instanceId, List<ConfigItemId> configItemIds, boolean ignoreUnspecifiedCategories) {
+        UsageMatchIndex index = getMatchIndex(instanceId);
+        List<ConfigItemId> selectedItemIds = configItemIds == null ? Collections.emptyList() : configItemIds;
+        Set<ConfigCategoryId> specifiedCategoryIds = null;
+        if (ignoreUnspecifiedCategories) {
+            // 车辆配置涉及的类别由配置目录确定
+            Map<ConfigItemId, ConfigItemEntity> itemsById = configCatalogService.getSnapshot().getItemsById();
+            specifiedCategoryIds = selectedItemIds.stream()
+                    .map(itemsById::get)
+                    .filter(Objects::nonNull)
+                    .map(ConfigItemEntity::getCategoryId)
+                    .collect(Collectors.toSet());
+        }
+
+        return index.match(selectedItemIds, specifiedCategoryIds);
+    }
+
+    @Override
+    public List<StructureInstanceNodeEntity> pruneNodes(List<StructureInstanceNodeEntity> nodes, Set<UsageId> matchedUsageIds) {
+        if (nodes == null || nodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<InstanceNodeId, StructureInstanceNodeEntity> nodeMap = new HashMap<>();
+        for (StructureInstanceNodeEntity node : nodes) {
+            nodeMap.put(node.getId(), node);
+        }
+        // 从适用的用法节点向上标记祖先，已标记的祖先不再重复遍历
+        Set<InstanceNodeId> retained = new HashSet<>();
+        for (StructureInstanceNodeEntity node : nodes) {
+            if (node.getNodeType() != NodeType.USAGE || node.getUsageId() == null
+                    || !matchedUsageIds.contains(new UsageId(node.getUsageId()))) {
+                continue;
+            }
+            StructureInstanceNodeEntity current = node;
+            while (current != null && retained.add(current.getId())) {
+                current = current.getParentId() == null ? null : nodeMap.get(current.getParentId());
+            }
+        }
+
+        return nodes.stream()
+                .filter(node -> retained.contains(node.getId()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void evictMatchIndexes() {
+        // 处于事务中时延迟到提交后执行，保证本节点与其他节点重建时读到已提交的数据
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndPublish();
+                }
+            });
+            return;
+        }
+        evictAndPublish();
+    }
+
+    private void evictAndPublish() {
+        long version;
+        try {
+            version = usageMatchSyncPort.nextVersion();
+        } catch (Exception e) {
+            // 版本号不可用时仍清空本地索引，其他节点依赖定期比对与过期兜底
+            log.error("递增用法版本号失败", e);
+            indexCache.invalidateAll();
+            return;
+        }
+        advanceVersion(version);
+        try {
+            usageMatchSyncPort.publishEvict(version);
+        } catch (Exception e) {
+            log.error("广播用法匹配索引失效信号失败 version={}", version, e);
+        }
+    }
+
+    /**
+     * 处理其他节点的失效信号，本节点发出的信号版本不高于已知版本，自然忽略
+     */
+    private void onEvictSignal(long version) {
+        advanceVersion(version);
+    }
+
+    /**
+     * 按间隔比对全局用法版本号，兜底丢失的失效信号
+     */
+    private void checkUsageVersion() {
+        long now = System.currentTimeMillis();
+        if (now - lastVersionCheckAt < versionCheckIntervalMillis) {
+            return;
+        }
+        lastVersionCheckAt = now;
+        try {
+            long globalVersion = usageMatchSyncPort.currentVersion();
+            if (globalVersion > usageVersion.get()) {
+                log.info("用法版本落后 本地:{} 全局:{}，清空匹配索引", usageVersion.get(), globalVersion);
+                advanceVersion(globalVersion);
+            }
+        } catch (Exception e) {
+            log.warn("读取全局用法版本号失败，沿用本地索引", e);
+        }
+    }
+
+    /**
+     * 版本号更高时推进并清空索引
+     */
+    private void advanceVersion(long version) {
+        long previous = usageVersion.getAndAccumulate(version, Math::max);
+        if (version > previous) {
+            indexCache.invalidateAll();
+        }
+    }
+
+    private UsageMatchIndex buildIndex(InstanceId instanceId, ConfigCatalogSnapshot catalog) {
+        long start = System.currentTimeMillis();
+        List<UsageId> usageIds = instanceNodeRepository.findByInstanceIdAndNodeType(instanceId, NodeType.USAGE).stream()
+                .filter(node -> node.getStatus() == Status.ENABLED && node.getUsageId() != null)
+                .map(node -> new UsageId(node.getUsageId()))
+                .distinct()
+                .collect(Collectors.toList());
+        Map<UsageId, List<UsageConfigCombinationEntity>> combinationsByUsageId = new HashMap<>();
+        for (List<UsageId> batch : Lists.partition(usageIds, BATCH_SIZE)) {
+            combinationsByUsageId.putAll(combinationRepository.findByUsageIds(batch));
+        }
+        UsageMatchIndex index = UsageMatchIndex.build(instanceId, catalog, usageIds, combinationsByUsageId);
+        log.info("构建用法匹配索引 instanceId:{} 用法:{} 组合:{} 耗时:{}ms", instanceId.getId(),
+                index.getUsageCount(), index.getCombinationCount(), System.currentTimeMillis() - start);
+
+        return index;
+    }
+
+}
@@ -0,0 +1,144 @@
+package cn.cug.sxy.domain.usage.service;
+
+import cn.cug.sxy.domain.part.adapter.repository.IUsagePartRepository;
+import cn.cug.sxy.domain.series.model.entity.CarModelEntity;
+import cn.cug.sxy.domain.series.model.valobj.PowerType;
+import cn.cug.sxy.domain.series.model.valobj.VinCode;
+import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
+import cn.cug.sxy.domain.series.service.ICarModelQueryService;
+import cn.cug.sxy.domain.series.service.IVinQueryService;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceEntity;
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.service.IInstanceService;
+import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
+import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.entity.UsagePartEntity;
+import cn.cug.sxy.domain.usage.model.valobj.*;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/12 10:50
+ * @Description VIN码备件查询服务实现类
+ * 实例全树取自已发布快照，用法匹配走位图索引，备件按适用用法批量加载，整个请求不逐节点访问数据库
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Service
+public class VinPartsLookupService implements IVinPartsLookupService {
+
+    private final IVinQueryService vinQueryService;
+    private final ICarModelQueryService carModelQueryService;
+    private final IInstanceService instanceService;
+    private final IUsageMatchingService usageMatchingService;
+    private final IConfigCatalogService configCatalogService;
+    private final IUsagePartRepository usagePartRepository;
+
+    public VinPartsLookupService(IVinQueryService vinQueryService,
+                                 ICarModelQueryService carModelQueryService,
+                                 IInstanceService instanceService,
+                                 IUsageMatchingService usageMatchingService,
+                                 IConfigCatalogService configCatalogService,
+                                 IUsagePartRepository usagePartRepository) {
+        this.vinQueryService = vinQueryService;
+        this.carModelQueryService = carModelQueryService;
+        this.instanceService = instanceService;
+        this.usageMatchingService = usageMatchingService;
+        this.configCatalogService = configCatalogService;
+        this.usagePartRepository = usagePartRepository;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public VinPartsTree lookup(String vin, List<ConfigItemId> configItemIds, boolean ignoreUnspecifiedCategories) {
+        VinCode vinCode;
+        try {
+            vinCode = new VinCode(vin);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), e.getMessage());
+        }
+        // 1. VIN解析
+        VinQueryResult vinQueryResult = vinQueryService.queryByVin(vinCode);
+        if (vinQueryResult == null || !vinQueryResult.isSuccess() || vinQueryResult.getModelCode() == null) {
+            throw new AppException(ResponseCode.VIN_QUERY_FAILED.getCode(),
+                    vinQueryResult == null || vinQueryResult.getErrorMessage() == null
+                            ? ResponseCode.VIN_QUERY_FAILED.getInfo() : vinQueryResult.getErrorMessage());
+        }
+        // 2. 车型及其已发布实例
+        CarModelEntity model = carModelQueryService.getByCode(vinQueryResult.getModelCode());
+        if (model == null) {
+            throw new AppException(ResponseCode.CAR_MODEL_NOT_EXIST_ERROR);
+        }
+        StructureInstanceEntity instance = instanceService.findPublishedInstanceByModelId(model.getId());
+        if (instance == null) {
+            throw new AppException(ResponseCode.PUBLISHED_INSTANCE_NOT_FOUND);
+        }
+        // 3. 车辆配置：请求指定的配置项 + VIN动力类型对应的配置项
+        PowerType powerType = vinQueryResult.getPowerType() != null ? vinQueryResult.getPowerType() : model.getPowerType();
+        List<ConfigItemId> appliedItemIds = mergeConfigItems(configItemIds, powerType);
+        // 4. 匹配适用用法并裁剪全树
+        Set<UsageId> matchedUsageIds = usageMatchingService.matchUsages(instance.getId(), appliedItemIds, ignoreUnspecifiedCategories);
+        UsageMatchIndex index = usageMatchingService.getMatchIndex(instance.getId());
+        Map<String, Object> fullTree = instanceService.getInstanceWithFullTree(instance.getId());
+        List<StructureInstanceNodeEntity> nodes = (List<StructureInstanceNodeEntity>) fullTree.get("nodes");
+        List<StructureInstanceNodeEntity> prunedNodes = usageMatchingService.pruneNodes(nodes, matchedUsageIds);
+        // 5. 批量加载适用用法的备件
+        Map<UsageId, List<UsagePartEntity>> partsByUsageId = usagePartRepository.findByUsageIds(matchedUsageIds);
+        log.info("VIN码备件查询完成 vin={}, instanceId={}, 配置项:{}, 适用用法:{}/{}, 节点:{}",
+                vinCode.getCode(), instance.getId().getId(), appliedItemIds.size(),
+                matchedUsageIds.size(), index.getUsageCount(), prunedNodes.size());
+
+        return VinPartsTree.builder()
+                .vinQueryResult(vinQueryResult)
+                .model(model)
+                .instance(instance)
+                .configItemIds(appliedItemIds)
+                .nodes(prunedNodes)
+                .partsByUsageId(partsByUsageId)
+                .totalUsageCount(index.getUsageCount())
+                .matchedUsageCount(matchedUsageIds.size())
+                .build();
+    }
+
+    /**
+     * 合并请求指定的配置项与动力类型推导出的配置项
+     * 动力类型按配置项取值（如"纯电动"）或配置项编码（如"ELECTRIC"）在配置目录中查找；
+     * 请求已指定同类别配置项时以请求为准
+     */
+    private List<ConfigItemId> mergeConfigItems(List<ConfigItemId> configItemIds, PowerType powerType) {
+        Set<ConfigItemId> merged = new LinkedHashSet<>();
+        if (configItemIds != null) {
+            configItemIds.stream().filter(Objects::nonNull).forEach(merged::add);
+        }
+        if (powerType == null) {
+            return new ArrayList<>(merged);
+        }
+        ConfigCatalogSnapshot catalog = configCatalogService.getSnapshot();
+        Set<ConfigCategoryId> specifiedCategoryIds = new HashSet<>();
+        for (ConfigItemId itemId : merged) {
+            ConfigItemEntity item = catalog.getItemsById().get(itemId);
+            if (item != null) {
+                specifiedCategoryIds.add(item.getCategoryId());
+            }
+        }
+        for (ConfigCategoryEntity category : catalog.getCategories()) {
+            if (specifiedCategoryIds.contains(category.getId())) {
+                continue;
+            }
+            for (ConfigItemEntity item : catalog.getItems(category.getId())) {
+                if (powerType.getInfo().equals(item.getItemValue()) || powerType.name().equalsIgnoreCase(item.getItemCode())) {
+                    merged.add(item.getId());
+                }
+            }
+        }
+
+        return new ArrayList<>(merged);
+    }
+
+}
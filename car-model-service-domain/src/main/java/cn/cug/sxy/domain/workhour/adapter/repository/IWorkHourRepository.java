@@ -6,8 +6,11 @@ import cn.cug.sxy.domain.workhour.model.valobj.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -26,6 +29,15 @@ public interface IWorkHourRepository {
      */
     WorkHourEntity save(WorkHourEntity workHourEntity);
 
+    /**
+     * 在同一事务内按块多行插入工时，插入后回填实体ID
+     *
+     * @param workHourEntities 工时实体列表
+     * @param chunkSize        每条 INSERT 语句的最大行数
+     * @return 插入的记录数
+     */
+    int saveBatch(List<WorkHourEntity> workHourEntities, int chunkSize);
+
     /**
      * 根据ID查找工时
      *
@@ -81,6 +93,15 @@ public interface IWorkHourRepository {
      */
     boolean existsByCode(WorkHourCode workHourCode);
 
+    /**
+     * 分块批量查询已存在的工时代码
+     *
+     * @param workHourCodes 待检查的工时代码集合
+     * @param chunkSize     每次 IN 查询的最大代码数
+     * @return 已存在的工时代码
+     */
+    Set<WorkHourCode> findExistingCodes(Collection<WorkHourCode> workHourCodes, int chunkSize);
+
     /**
      * 删除工时
      *
@@ -113,6 +134,13 @@ public interface IWorkHourRepository {
      */
     List<WorkHourEntity> findWorkHourTreeByPartId(PartId partId);
 
+    /**
+     * 清除包含该工时的所有工时树缓存（自身及各级祖先为根的树）
+     *
+     * @param workHourId 发生变更的工时ID
+     */
+    void evictWorkHourTree(WorkHourId workHourId);
+
     /**
      * 上传工时模板
      *
@@ -129,12 +157,13 @@ public interface IWorkHourRepository {
     String getTemplateInfo();
 
     /**
-     * 读取工时Excel文件
+     * 分批读取工时Excel文件，每读满一批回调一次
      *
-     * @param file Excel文件
-     * @return 工时数据列表
+     * @param file          Excel文件
+     * @param batchConsumer 批次数据消费者（批内按行号顺序）
+     * @return 读取的数据行数
      */
-    List<WorkHourExcelData> readWorkHourExcel(MultipartFile file) throws IOException;
+    int readWorkHourExcel(MultipartFile file, Consumer<List<WorkHourExcelData>> batchConsumer) throws IOException;
 
     /**
      * 获取工时模板
@@ -9,6 +9,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -106,6 +107,30 @@ public interface IWorkHourCommandService {
      */
     List<WorkHourBatchUploadResultEntity> batchUploadSubWorkHours(MultipartFile file, WorkHourId parentId, String creator);
 
+    /**
+     * 批量上传子工时
+     *
+     * @param file         Excel文件
+     * @param parentId     父工时ID
+     * @param creator      创建人
+     * @param allOrNothing 是否整批事务：为 true 时任一行失败则全部不写入
+     * @return 批量上传结果列表
+     */
+    List<WorkHourBatchUploadResultEntity> batchUploadSubWorkHours(MultipartFile file, WorkHourId parentId, String creator, boolean allOrNothing);
+
+    /**
+     * 批量上传子工时，每处理完一批回调一次（整批事务模式下回调时尚未写入，成功标记为空）
+     *
+     * @param file          Excel文件
+     * @param parentId      父工时ID
+     * @param creator       创建人
+     * @param allOrNothing  是否整批事务：为 true 时任一行失败则全部不写入
+     * @param batchListener 批次结果监听器
+     * @return 批量上传结果列表
+     */
+    List<WorkHourBatchUploadResultEntity> batchUploadSubWorkHours(MultipartFile file, WorkHourId parentId, String creator, boolean allOrNothing,
+                                                                  Consumer<List<WorkHourBatchUploadResultEntity>> batchListener);
+
     /**
      * 上传工时批量上传模板
      *
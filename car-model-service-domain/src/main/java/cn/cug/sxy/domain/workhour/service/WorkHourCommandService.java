@@ -12,13 +12,14 @@ import cn.cug.sxy.types.exception.AppException;
 import cn.cug.sxy.types.utils.TemplateFileUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -33,6 +34,12 @@ public class WorkHourCommandService implements IWorkHourCommandService {
 
     private final IWorkHourRepository workHourRepository;
 
+    /**
+     * 批量上传时每条多行 INSERT / IN 查询的最大行数
+     */
+    @Value("${work-hour.batch-upload.chunk-size:500}")
+    private int batchChunkSize;
+
     public WorkHourCommandService(IWorkHourRepository workHourRepository) {
         this.workHourRepository = workHourRepository;
     }
@@ -92,8 +99,10 @@ public class WorkHourCommandService implements IWorkHourCommandService {
                 stepOrder,
                 creator
         );
+        WorkHourEntity saved = workHourRepository.save(workHourEntity);
+        workHourRepository.evictWorkHourTree(parentId);
 
-        return workHourRepository.save(workHourEntity);
+        return saved;
     }
 
     @Override
@@ -109,6 +118,7 @@ public class WorkHourCommandService implements IWorkHourCommandService {
         WorkHourEntity workHourEntity = workHourOpt.get();
         workHourEntity.update(description, standardHours, stepOrder);
         workHourRepository.update(workHourEntity);
+        workHourRepository.evictWorkHourTree(workHourId);
 
         return workHourEntity;
     }
@@ -122,6 +132,7 @@ public class WorkHourCommandService implements IWorkHourCommandService {
         WorkHourEntity workHourEntity = workHourOpt.get();
         workHourEntity.enable();
         workHourRepository.update(workHourEntity);
+        workHourRepository.evictWorkHourTree(workHourId);
 
         return true;
     }
@@ -135,6 +146,7 @@ public class WorkHourCommandService implements IWorkHourCommandService {
         WorkHourEntity workHourEntity = workHourOpt.get();
         workHourEntity.disable();
         workHourRepository.update(workHourEntity);
+        workHourRepository.evictWorkHourTree(workHourId);
 
         return true;
     }
@@ -155,12 +167,24 @@ public class WorkHourCommandService implements IWorkHourCommandService {
         }
         workHourEntity.delete();
         workHourRepository.update(workHourEntity);
+        workHourRepository.evictWorkHourTree(workHourId);
 
         return true;
     }
 
     @Override
     public List<WorkHourBatchUploadResultEntity> batchUploadSubWorkHours(MultipartFile file, WorkHourId parentId, String creator) {
+        return batchUploadSubWorkHours(file, parentId, creator, false);
+    }
+
+    @Override
+    public List<WorkHourBatchUploadResultEntity> batchUploadSubWorkHours(MultipartFile file, WorkHourId parentId, String creator, boolean allOrNothing) {
+        return batchUploadSubWorkHours(file, parentId, creator, allOrNothing, batch -> {});
+    }
+
+    @Override
+    public List<WorkHourBatchUploadResultEntity> batchUploadSubWorkHours(MultipartFile file, WorkHourId parentId, String creator, boolean allOrNothing,
+                                                                         Consumer<List<WorkHourBatchUploadResultEntity>> batchListener) {
         try {
             // 验证父工时是否存在且为主工时
             Optional<WorkHourEntity> parentWorkHourOpt = workHourRepository.findById(parentId);
@@ -173,60 +197,72 @@ public class WorkHourCommandService implements IWorkHourCommandService {
             }
             // 初始化结果列表
             List<WorkHourBatchUploadResultEntity> results = new ArrayList<>();
-            // 读取Excel文件
-            List<WorkHourExcelData> excelDataList = workHourRepository.readWorkHourExcel(file);
-            // 批量处理数据
-            for (int i = 0; i < excelDataList.size(); i++) {
-                WorkHourExcelData excelData = excelDataList.get(i);
-                int rowNumber = i + 2; // Excel行号从2开始（第1行是标题）
-                // 验证数据
-                String errorMessage = workHourRepository.validateWorkHourExcelData(excelData);
-                if (null != errorMessage) {
-                    results.add(WorkHourBatchUploadResultEntity.builder()
+            // 文件内工时代码 -> 首次出现的行号
+            Map<String, Integer> codeFirstRow = new HashMap<>();
+            // 待插入的工时及其结果（下标一一对应）；整批模式跨批次累积，分块模式每批写入后清空
+            List<WorkHourEntity> pendingEntities = new ArrayList<>();
+            List<WorkHourBatchUploadResultEntity> pendingResults = new ArrayList<>();
+            // 分批读取Excel文件并逐批校验，避免整表驻留内存
+            workHourRepository.readWorkHourExcel(file, batch -> {
+                // 预取本批在库中已存在的工时代码
+                Set<WorkHourCode> existingCodes = workHourRepository.findExistingCodes(batch.stream()
+                        .map(WorkHourExcelData::getCode)
+                        .filter(StringUtils::isNotBlank)
+                        .map(WorkHourCode::new)
+                        .collect(Collectors.toList()), batchChunkSize);
+                int batchStart = results.size();
+                for (WorkHourExcelData excelData : batch) {
+                    int rowNumber = results.size() + 2; // Excel行号从2开始（第1行是标题）
+                    WorkHourBatchUploadResultEntity result = WorkHourBatchUploadResultEntity.builder()
                             .rowNumber(rowNumber)
                             .code(excelData.getCode())
                             .description(excelData.getDescription())
                             .standardHours(excelData.getStandardHours())
                             .stepOrder(excelData.getStepOrder())
-                            .success(false)
-                            .errorMessage(errorMessage)
-                            .build());
-                    continue;
+                            .build();
+                    results.add(result);
+                    // 验证数据
+                    String errorMessage = workHourRepository.validateWorkHourExcelData(excelData);
+                    if (null == errorMessage && existingCodes.contains(new WorkHourCode(excelData.getCode()))) {
+                        // 检查工时代码是否已存在
+                        errorMessage = "工时代码已存在";
+                    }
+                    if (null == errorMessage) {
+                        // 检查文件内是否重复
+                        Integer firstRow = codeFirstRow.putIfAbsent(excelData.getCode(), rowNumber);
+                        if (firstRow != null) {
+                            errorMessage = "文件中工时代码重复（与第" + firstRow + "行重复）";
+                        }
+                    }
+                    if (null != errorMessage) {
+                        result.setSuccess(false);
+                        result.setErrorMessage(errorMessage);
+                        continue;
+                    }
+                    // 创建子工时
+                    pendingEntities.add(WorkHourEntity.create(
+                            new WorkHourCode(excelData.getCode()),
+                            excelData.getDescription(),
+                            new BigDecimal(excelData.getStandardHours()),
+                            WorkHourType.SUB,
+                            parentId,
+                            Integer.parseInt(excelData.getStepOrder()),
+                            creator
+                    ));
+                    pendingResults.add(result);
                 }
-                // 检查工时代码是否已存在
-                if (workHourRepository.existsByCode(new WorkHourCode(excelData.getCode()))) {
-                    results.add(WorkHourBatchUploadResultEntity.builder()
-                            .rowNumber(rowNumber)
-                            .code(excelData.getCode())
-                            .description(excelData.getDescription())
-                            .standardHours(excelData.getStandardHours())
-                            .stepOrder(excelData.getStepOrder())
-                            .success(false)
-                            .errorMessage("工时代码已存在")
-                            .build());
-                    continue;
+                if (!allOrNothing) {
+                    saveByChunk(pendingEntities, pendingResults);
+                    pendingEntities.clear();
+                    pendingResults.clear();
                 }
-                // 创建子工时
-                WorkHourEntity workHourEntity = WorkHourEntity.create(
-                        new WorkHourCode(excelData.getCode()),
-                        excelData.getDescription(),
-                        new BigDecimal(excelData.getStandardHours()),
-                        WorkHourType.SUB,
-                        parentId,
-                        Integer.parseInt(excelData.getStepOrder()),
-                        creator
-                );
-                // 保存到数据库
-                workHourRepository.save(workHourEntity);
-                results.add(WorkHourBatchUploadResultEntity.builder()
-                        .rowNumber(rowNumber)
-                        .code(excelData.getCode())
-                        .description(excelData.getDescription())
-                        .standardHours(excelData.getStandardHours())
-                        .stepOrder(excelData.getStepOrder())
-                        .success(true)
-                        .workHourId(workHourEntity.getId().getId())
-                        .build());
+                batchListener.accept(results.subList(batchStart, results.size()));
+            });
+            if (allOrNothing) {
+                saveAllOrNothing(pendingEntities, pendingResults, pendingResults.size() < results.size());
+            }
+            if (results.stream().anyMatch(result -> null != result.getWorkHourId())) {
+                workHourRepository.evictWorkHourTree(parentId);
             }
 
             return results;
@@ -246,4 +282,60 @@ public class WorkHourCommandService implements IWorkHourCommandService {
         return workHourRepository.getTemplateInfo();
     }
 
-} 
\ No newline at end of file
+    /**
+     * 整批写入：存在失败行时不写入任何数据，否则所有块在同一事务内插入
+     */
+    private void saveAllOrNothing(List<WorkHourEntity> entities, List<WorkHourBatchUploadResultEntity> results, boolean hasFailedRows) {
+        if (hasFailedRows) {
+            results.forEach(result -> markFailed(result, "存在校验失败的行，整批未导入"));
+            return;
+        }
+        try {
+            workHourRepository.saveBatch(entities, batchChunkSize);
+            for (int i = 0; i < entities.size(); i++) {
+                markSuccess(results.get(i), entities.get(i));
+            }
+        } catch (Exception e) {
+            log.error("整批写入子工时失败，已回滚", e);
+            results.forEach(result -> markFailed(result, "整批写入失败，已回滚"));
+        }
+    }
+
+    /**
+     * 分块写入：每块一条多行 INSERT，块写入失败时退回逐行插入以定位失败行
+     */
+    private void saveByChunk(List<WorkHourEntity> entities, List<WorkHourBatchUploadResultEntity> results) {
+        for (int from = 0; from < entities.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, entities.size());
+            List<WorkHourEntity> chunk = entities.subList(from, to);
+            try {
+                workHourRepository.saveBatch(chunk, batchChunkSize);
+                for (int i = from; i < to; i++) {
+                    markSuccess(results.get(i), entities.get(i));
+                }
+            } catch (Exception e) {
+                log.warn("子工时分块写入失败，改为逐行写入 rows:{}-{}", results.get(from).getRowNumber(), results.get(to - 1).getRowNumber(), e);
+                for (int i = from; i < to; i++) {
+                    try {
+                        workHourRepository.save(entities.get(i));
+                        markSuccess(results.get(i), entities.get(i));
+                    } catch (Exception rowException) {
+                        markFailed(results.get(i), "保存失败: " + rowException.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private void markSuccess(WorkHourBatchUploadResultEntity result, WorkHourEntity entity) {
+        result.setSuccess(true);
+        result.setErrorMessage(null);
+        result.setWorkHourId(entity.getId().getId());
+    }
+
+    private void markFailed(WorkHourBatchUploadResultEntity result, String errorMessage) {
+        result.setSuccess(false);
+        result.setErrorMessage(errorMessage);
+    }
+
+}
@@ -0,0 +1,80 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import cn.cug.sxy.domain.series.adapter.port.IModelIconStagingPort;
+import cn.cug.sxy.domain.series.model.valobj.StagedFile;
+import cn.cug.sxy.infrastructure.minio.FileUploadUtil;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/13 10:00
+ * @Description 车型图标暂存端口抽象：统一校验、生成暂存键，并在写入暂存存储的同时计算校验和
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public abstract class AbstractModelIconStagingPort implements IModelIconStagingPort {
+
+    /**
+     * 暂存键前缀，清理孤儿文件时只扫描该前缀
+     */
+    protected static final String STAGING_PREFIX = "model-icons/";
+
+    /**
+     * 图标最大文件大小（10MB），与正式上传一致
+     */
+    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+
+    @Override
+    public StagedFile stage(MultipartFile file) {
+        // 暂存前完成全部内容校验，非法文件在请求阶段即失败，不会进入消息队列
+        FileUploadUtil.validateImageFile(file, MAX_FILE_SIZE);
+        String stagingKey = generateStagingKey(file.getOriginalFilename());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+                write(stagingKey, inputStream, file.getSize(), file.getContentType());
+            }
+            StagedFile stagedFile = new StagedFile(stagingKey, HexFormat.of().formatHex(digest.digest()), file.getSize());
+            log.info("车型图标暂存成功 stagingKey={}, size={}", stagingKey, file.getSize());
+
+            return stagedFile;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("车型图标暂存失败 fileName={}", file.getOriginalFilename(), e);
+            remove(stagingKey);
+            throw new AppException("车型图标暂存失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 将文件内容写入暂存存储
+     *
+     * @param stagingKey  暂存对象键
+     * @param inputStream 文件输入流
+     * @param size        文件大小
+     * @param contentType 内容类型
+     * @throws IOException 写入失败
+     */
+    protected abstract void write(String stagingKey, InputStream inputStream, long size, String contentType) throws IOException;
+
+    private String generateStagingKey(String fileName) {
+        // 路径格式: model-icons/yyyyMMdd/uuid{ext}
+        String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+
+        return STAGING_PREFIX + datePath + "/" + uuid + FileUploadUtil.getFileExtension(fileName).toLowerCase();
+    }
+
+}
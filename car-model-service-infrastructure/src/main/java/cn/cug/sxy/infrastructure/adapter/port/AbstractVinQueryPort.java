@@ -1,11 +1,22 @@
 package cn.cug.sxy.infrastructure.adapter.port;
 
 import cn.cug.sxy.domain.series.adapter.port.IVinQueryPort;
+import cn.cug.sxy.domain.series.model.valobj.Brand;
+import cn.cug.sxy.domain.series.model.valobj.ModelCode;
+import cn.cug.sxy.domain.series.model.valobj.PowerType;
 import cn.cug.sxy.domain.series.model.valobj.VinCode;
 import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
 import cn.cug.sxy.infrastructure.adapter.port.config.VinQueryPortConfig;
+import cn.cug.sxy.infrastructure.gateway.dto.VinQueryResponseDTO;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.types.common.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @version 1.0
@@ -14,23 +25,40 @@ import org.slf4j.LoggerFactory;
  * @Author jerryhotton
  */
 
-public abstract class AbstractVinQueryPort implements IVinQueryPort {
+public abstract class AbstractVinQueryPort implements IVinQueryPort, DisposableBean {
+
+    private static final VinQueryResult CIRCUIT_OPEN_RESULT = VinQueryResult.failure("VIN码查询服务熔断中，请稍后重试");
 
     protected final VinQueryPortConfig config;
 
+    protected final IRedisService redisService;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     /**
-     * 最大重试次数
+     * 上游查询线程池，线程数即并发上限
      */
-    protected static final int MAX_RETRY_COUNT = 3;
-    /**
-     * 重试间隔（毫秒）
-     */
-    protected static final long RETRY_INTERVAL = 1000;
+    private final ThreadPoolExecutor queryExecutor;
+
+    private final VinQueryCircuitBreaker circuitBreaker;
 
-    public AbstractVinQueryPort(VinQueryPortConfig config) {
+    public AbstractVinQueryPort(VinQueryPortConfig config, IRedisService redisService) {
         this.config = config;
+        this.redisService = redisService;
+        int maxConcurrency = Math.max(1, config.getMaxConcurrency());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.queryExecutor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "vin-query-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queryExecutor.allowCoreThreadTimeOut(true);
+        this.circuitBreaker = new VinQueryCircuitBreaker(
+                config.getCircuitBreaker().getFailureThreshold(),
+                config.getCircuitBreaker().getOpenDurationMillis());
     }
 
     /**
@@ -44,48 +72,170 @@ public abstract class AbstractVinQueryPort implements IVinQueryPort {
         if (vinCode == null) {
             throw new IllegalArgumentException("VIN码不能为空");
         }
+
+        return queryByVins(Collections.singletonList(vinCode)).get(vinCode);
+    }
+
+    /**
+     * 批量查询VIN码信息：先批量读取缓存，未命中的VIN码并发查询上游
+     *
+     * @param vinCodes VIN码列表
+     * @return VIN码与查询结果的映射，顺序与入参一致
+     */
+    @Override
+    public Map<VinCode, VinQueryResult> queryByVins(Collection<VinCode> vinCodes) {
+        List<VinCode> distinctVinCodes = new ArrayList<>(new LinkedHashSet<>(vinCodes));
+        Map<VinCode, VinQueryResult> results = new LinkedHashMap<>();
+        if (distinctVinCodes.isEmpty()) {
+            return results;
+        }
         if (!isAvailable()) {
             logger.warn("适配端口 {} 不可用", getName());
-            return VinQueryResult.failure("VIN码查询服务不可用");
+            distinctVinCodes.forEach(vinCode -> results.put(vinCode, VinQueryResult.failure("VIN码查询服务不可用")));
+            return results;
         }
-        // 带重试的查询
-        for (int i = 0; i < MAX_RETRY_COUNT; i++) {
-            try {
-                VinQueryResult result = doQueryByVin(vinCode);
-                if (result.isSuccess()) {
-                    return result;
-                }
-                // 如果查询失败但不是因为服务不可用，直接返回失败结果
-                if (i == MAX_RETRY_COUNT - 1) {
-                    return result;
-                }
-                logger.warn("适配端口 {} 查询VIN码 {} 失败: {}，准备重试第 {} 次",
-                        getName(), vinCode.getCode(), result.getErrorMessage(), i + 1);
-                // 重试前等待
-                Thread.sleep(RETRY_INTERVAL);
-            } catch (Exception e) {
-                logger.error("适配端口 {} 查询VIN码 {} 异常", getName(), vinCode.getCode(), e);
-                if (i == MAX_RETRY_COUNT - 1) {
-                    return VinQueryResult.failure("VIN码查询服务异常: " + e.getMessage());
+        // 批量读取缓存
+        List<VinQueryResponseDTO> cachedValues = redisService.mget(distinctVinCodes.stream()
+                .map(this::cacheKey)
+                .toList());
+        Map<VinCode, CompletableFuture<VinQueryResult>> pending = new LinkedHashMap<>();
+        for (int i = 0; i < distinctVinCodes.size(); i++) {
+            VinCode vinCode = distinctVinCodes.get(i);
+            VinQueryResponseDTO cachedValue = cachedValues.get(i);
+            if (cachedValue != null) {
+                results.put(vinCode, fromCacheValue(cachedValue));
+            } else {
+                results.put(vinCode, null);
+                pending.put(vinCode, queryByVinAsync(vinCode));
+            }
+        }
+        if (pending.isEmpty()) {
+            return results;
+        }
+        // 整体等待上限，超时未返回的VIN码按失败处理
+        try {
+            CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                    .get(config.getQueryTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("适配端口 {} 批量查询VIN码超时，未完成数量: {}", getName(),
+                    pending.values().stream().filter(future -> !future.isDone()).count());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 各查询已在内部转换为失败结果，不会以异常结束
+        }
+        pending.forEach((vinCode, future) -> {
+            VinQueryResult result = future.getNow(VinQueryResult.failure("VIN码查询超时"));
+            results.put(vinCode, result);
+            if (result.isSuccess()) {
+                redisService.setValue(cacheKey(vinCode), toCacheValue(result), config.getCacheTtlHours(), TimeUnit.HOURS);
+            }
+        });
+
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        queryExecutor.shutdownNow();
+    }
+
+    /**
+     * 异步查询单个VIN码：上游异常时按指数退避加随机抖动重试，重试通过延迟调度触发，不占用等待线程
+     */
+    protected CompletableFuture<VinQueryResult> queryByVinAsync(VinCode vinCode) {
+        return attempt(vinCode, 0);
+    }
+
+    private CompletableFuture<VinQueryResult> attempt(VinCode vinCode, int attempt) {
+        CompletableFuture<VinQueryResult> future;
+        try {
+            // 在工作线程内判断熔断，排队中的请求在熔断打开后同样快速失败
+            future = CompletableFuture.supplyAsync(() -> {
+                if (!circuitBreaker.tryAcquire()) {
+                    return CIRCUIT_OPEN_RESULT;
                 }
                 try {
-                    Thread.sleep(RETRY_INTERVAL);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return VinQueryResult.failure("VIN码查询被中断");
+                    return doQueryByVin(vinCode);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
                 }
-            }
+            }, queryExecutor);
+        } catch (RejectedExecutionException e) {
+            // 排队已满属于本地限流，不计入熔断
+            return CompletableFuture.completedFuture(VinQueryResult.failure("VIN码查询繁忙，请稍后重试"));
         }
 
-        return VinQueryResult.failure("VIN码查询服务重试多次仍然失败");
+        return future.handle((result, throwable) -> {
+            if (throwable == null) {
+                if (result != CIRCUIT_OPEN_RESULT) {
+                    circuitBreaker.recordSuccess();
+                }
+                return CompletableFuture.completedFuture(result);
+            }
+            circuitBreaker.recordFailure();
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+            if (attempt + 1 >= config.getMaxRetries()) {
+                logger.error("适配端口 {} 查询VIN码 {} 异常，已重试 {} 次", getName(), vinCode.getCode(), attempt, cause);
+                return CompletableFuture.completedFuture(VinQueryResult.failure("VIN码查询服务异常: " + cause.getMessage()));
+            }
+            long delay = backoffDelay(attempt);
+            logger.warn("适配端口 {} 查询VIN码 {} 异常: {}，{}ms 后进行第 {} 次重试",
+                    getName(), vinCode.getCode(), cause.getMessage(), delay, attempt + 1);
+            Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+
+            return CompletableFuture.supplyAsync(() -> attempt(vinCode, attempt + 1), delayed)
+                    .thenCompose(next -> next);
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * 指数退避（full jitter）：在 [0, min(最大间隔, 初始间隔 * 2^attempt)] 区间内随机取值
+     */
+    private long backoffDelay(int attempt) {
+        long ceiling = Math.min(config.getRetryMaxDelayMillis(), config.getRetryBaseDelayMillis() << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(Math.max(1, ceiling) + 1);
+    }
+
+    private String cacheKey(VinCode vinCode) {
+        return Constants.RedisKey.VIN_QUERY_RESULT_KEY + vinCode.getCode();
+    }
+
+    private VinQueryResponseDTO toCacheValue(VinQueryResult result) {
+        VinQueryResponseDTO cacheValue = new VinQueryResponseDTO();
+        cacheValue.setModelCode(result.getModelCode() == null ? null : result.getModelCode().getCode());
+        cacheValue.setModelName(result.getModelName());
+        cacheValue.setBrand(result.getBrand() == null ? null : result.getBrand().getName());
+        cacheValue.setPowerType(result.getPowerType() == null ? null : result.getPowerType().getCode());
+
+        return cacheValue;
+    }
+
+    private VinQueryResult fromCacheValue(VinQueryResponseDTO cacheValue) {
+        return VinQueryResult.success(
+                new ModelCode(cacheValue.getModelCode()),
+                new Brand(cacheValue.getBrand()),
+                cacheValue.getModelName(),
+                PowerType.fromCode(cacheValue.getPowerType())
+        );
+    }
+
+    /**
+     * 熔断器状态
+     */
+    public VinQueryCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
     }
 
     /**
-     * 实际执行VIN码查询的方法，由子类实现
+     * 实际执行VIN码查询的方法，由子类实现。
+     * 上游不可用（网络异常、非2xx响应）时抛出异常以触发重试与熔断；业务失败返回失败结果
      *
      * @param vinCode VIN码
      * @return 查询结果
+     * @throws Exception 上游调用异常
      */
-    protected abstract VinQueryResult doQueryByVin(VinCode vinCode);
+    protected abstract VinQueryResult doQueryByVin(VinCode vinCode) throws Exception;
 
 }
@@ -0,0 +1,74 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import cn.cug.sxy.domain.usage.adapter.port.IConfigCatalogSyncPort;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.types.common.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/10 10:40
+ * @Description 配置目录跨节点同步端口实现：Redis 原子计数器保存全局版本号，Redisson 主题广播刷新信号
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class ConfigCatalogSyncPort implements IConfigCatalogSyncPort, DisposableBean {
+
+    private final IRedisService redisService;
+
+    private final RTopic refreshTopic;
+
+    private final List<Integer> listenerIds = new CopyOnWriteArrayList<>();
+
+    public ConfigCatalogSyncPort(IRedisService redisService,
+                                 RedissonClient redissonClient,
+                                 @Value("${config.catalog.refresh-topic:config_catalog:refresh}") String refreshTopic) {
+        this.redisService = redisService;
+        this.refreshTopic = redissonClient.getTopic(refreshTopic);
+    }
+
+    @Override
+    public long currentVersion() {
+        return redisService.getAtomicLong(Constants.RedisKey.CONFIG_CATALOG_VERSION_KEY).get();
+    }
+
+    @Override
+    public long nextVersion() {
+        return redisService.incr(Constants.RedisKey.CONFIG_CATALOG_VERSION_KEY);
+    }
+
+    @Override
+    public void publishRefresh(long version) {
+        refreshTopic.publish(version);
+    }
+
+    @Override
+    public void subscribeRefresh(LongConsumer listener) {
+        int listenerId = refreshTopic.addListener(Long.class, (channel, version) -> {
+            try {
+                listener.accept(version);
+            } catch (Exception e) {
+                log.error("处理配置目录刷新信号失败 version={}", version, e);
+            }
+        });
+        listenerIds.add(listenerId);
+    }
+
+    @Override
+    public void destroy() {
+        listenerIds.forEach(refreshTopic::removeListener);
+        listenerIds.clear();
+    }
+
+}
@@ -10,10 +10,12 @@ import cn.cug.sxy.infrastructure.gateway.ICarServiceGateway;
 import cn.cug.sxy.infrastructure.gateway.dto.VinQueryRequestDTO;
 import cn.cug.sxy.infrastructure.gateway.dto.VinQueryResponseDTO;
 import cn.cug.sxy.infrastructure.gateway.response.Response;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
 import cn.cug.sxy.types.enums.ResponseCode;
 import org.springframework.stereotype.Component;
 import retrofit2.Call;
 
+import java.io.IOException;
 import java.util.Optional;
 
 /**
@@ -30,40 +32,39 @@ public class DefaultVinQueryPort extends AbstractVinQueryPort {
 
     private final ICarServiceGateway carServiceGateway;
 
-    public DefaultVinQueryPort(VinQueryPortConfig config, ICarServiceGateway carServiceGateway) {
-        super(config);
+    public DefaultVinQueryPort(VinQueryPortConfig config, IRedisService redisService, ICarServiceGateway carServiceGateway) {
+        super(config, redisService);
         this.carServiceGateway = carServiceGateway;
     }
 
     @Override
-    protected VinQueryResult doQueryByVin(VinCode vinCode) {
+    protected VinQueryResult doQueryByVin(VinCode vinCode) throws IOException {
         VinQueryPortConfig.PortConfig portConfig = config.getPorts().get((PORT_NAME));
         if (portConfig == null) {
             logger.error("适配器 {} 配置不存在", PORT_NAME);
             return VinQueryResult.failure("适配器配置不存在");
         }
-        try {
-            // 调用第三方API查询Vin
-            VinQueryRequestDTO requestDTO = VinQueryRequestDTO.builder()
-                    .vin(vinCode.getCode())
-                    .build();
-            Call<Response<VinQueryResponseDTO>> queryCarModelByVinCall = carServiceGateway.queryCarModelByVin(requestDTO);
-            Response<VinQueryResponseDTO> response = queryCarModelByVinCall.execute().body();
-            if (response == null || !ResponseCode.SUCCESS.getCode().equals(response.getCode())) {
-                return VinQueryResult.failure(null == response ? ResponseCode.NULL_RESPONSE.getInfo() : response.getInfo());
-            }
-            VinQueryResponseDTO responseDTO = response.getData();
-
-            return VinQueryResult.success(
-                    new ModelCode(responseDTO.getModelCode()),
-                    new Brand(responseDTO.getBrand()),
-                    responseDTO.getModelName(),
-                    PowerType.fromCode(responseDTO.getPowerType())
-            );
-        } catch (Exception e) {
-            logger.error("适配端口 {} 查询VIN码 {} 异常", PORT_NAME, vinCode.getCode(), e);
-            return VinQueryResult.failure("查询异常: " + e.getMessage());
+        // 调用第三方API查询Vin，网络异常直接抛出由基类重试
+        VinQueryRequestDTO requestDTO = VinQueryRequestDTO.builder()
+                .vin(vinCode.getCode())
+                .build();
+        Call<Response<VinQueryResponseDTO>> queryCarModelByVinCall = carServiceGateway.queryCarModelByVin(requestDTO);
+        retrofit2.Response<Response<VinQueryResponseDTO>> httpResponse = queryCarModelByVinCall.execute();
+        if (!httpResponse.isSuccessful()) {
+            throw new IOException("VIN码查询上游响应异常 HTTP " + httpResponse.code());
+        }
+        Response<VinQueryResponseDTO> response = httpResponse.body();
+        if (response == null || !ResponseCode.SUCCESS.getCode().equals(response.getCode())) {
+            return VinQueryResult.failure(null == response ? ResponseCode.NULL_RESPONSE.getInfo() : response.getInfo());
         }
+        VinQueryResponseDTO responseDTO = response.getData();
+
+        return VinQueryResult.success(
+                new ModelCode(responseDTO.getModelCode()),
+                new Brand(responseDTO.getBrand()),
+                responseDTO.getModelName(),
+                PowerType.fromCode(responseDTO.getPowerType())
+        );
     }
 
     @Override
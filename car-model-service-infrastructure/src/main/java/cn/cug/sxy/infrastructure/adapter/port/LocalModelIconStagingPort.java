@@ -0,0 +1,106 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/13 10:35
+ * @Description 本地目录车型图标暂存端口：开发环境使用，要求生产者与消费者部署在同一节点
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "model-icon.staging.type", havingValue = "local")
+public class LocalModelIconStagingPort extends AbstractModelIconStagingPort {
+
+    private final Path spoolDir;
+
+    public LocalModelIconStagingPort(@Value("${model-icon.staging.spool-dir:${java.io.tmpdir}/car-model-icon-staging}") String spoolDir) {
+        this.spoolDir = Paths.get(spoolDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    protected void write(String stagingKey, InputStream inputStream, long size, String contentType) throws IOException {
+        Path target = resolve(stagingKey);
+        Files.createDirectories(target.getParent());
+        // 先写临时文件再原子改名，消费者不会读到写了一半的文件
+        Path temp = Files.createTempFile(target.getParent(), "staging", ".tmp");
+        try {
+            Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String stagingKey) throws IOException {
+        return Files.newInputStream(resolve(stagingKey));
+    }
+
+    @Override
+    public boolean remove(String stagingKey) {
+        if (StringUtils.isBlank(stagingKey)) {
+            return true;
+        }
+        try {
+            Files.deleteIfExists(resolve(stagingKey));
+            return true;
+        } catch (Exception e) {
+            log.warn("删除暂存文件失败 stagingKey={}", stagingKey, e);
+            return false;
+        }
+    }
+
+    @Override
+    public int purgeStagedBefore(LocalDateTime stagedBefore) {
+        Path root = spoolDir.resolve(STAGING_PREFIX);
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        long threshold = stagedBefore.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int purged = 0;
+        try (Stream<Path> paths = Files.walk(root)) {
+            List<Path> files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < threshold && Files.deleteIfExists(file)) {
+                        purged++;
+                    }
+                } catch (IOException e) {
+                    log.warn("清理暂存文件失败 path={}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            log.error("扫描暂存目录失败 spoolDir={}", spoolDir, e);
+        }
+
+        return purged;
+    }
+
+    /**
+     * 解析暂存键对应的文件路径，拒绝越出暂存目录的键
+     */
+    private Path resolve(String stagingKey) throws IOException {
+        Path path = spoolDir.resolve(stagingKey).normalize();
+        if (!path.startsWith(spoolDir)) {
+            throw new IOException("非法的暂存键: " + stagingKey);
+        }
+        return path;
+    }
+
+}
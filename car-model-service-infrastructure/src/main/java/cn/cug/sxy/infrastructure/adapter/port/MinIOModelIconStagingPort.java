@@ -0,0 +1,130 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import io.minio.*;
+import io.minio.messages.Item;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/13 10:20
+ * @Description MinIO车型图标暂存端口：原始文件写入独立的暂存桶
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "model-icon.staging.type", havingValue = "minio", matchIfMissing = true)
+public class MinIOModelIconStagingPort extends AbstractModelIconStagingPort {
+
+    private final MinioClient minioClient;
+
+    @Value("${model-icon.staging.bucket-name:car-model-service-staging}")
+    private String bucketName;
+
+    public MinIOModelIconStagingPort(MinioClient minioClient) {
+        this.minioClient = minioClient;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build())) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            }
+            log.info("车型图标暂存桶就绪 bucket={}", bucketName);
+        } catch (Exception e) {
+            // 不阻塞启动，首次暂存时再报错
+            log.error("车型图标暂存桶初始化失败 bucket={}", bucketName, e);
+        }
+    }
+
+    @Override
+    protected void write(String stagingKey, InputStream inputStream, long size, String contentType) throws IOException {
+        try {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(stagingKey)
+                            .stream(inputStream, size, -1)
+                            .contentType(contentType)
+                            .build()
+            );
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("写入暂存桶失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream open(String stagingKey) throws IOException {
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(stagingKey)
+                            .build()
+            );
+        } catch (Exception e) {
+            throw new IOException("读取暂存文件失败 stagingKey=" + stagingKey + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean remove(String stagingKey) {
+        if (StringUtils.isBlank(stagingKey)) {
+            return true;
+        }
+        try {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(stagingKey)
+                            .build()
+            );
+            return true;
+        } catch (Exception e) {
+            log.warn("删除暂存文件失败 stagingKey={}", stagingKey, e);
+            return false;
+        }
+    }
+
+    @Override
+    public int purgeStagedBefore(LocalDateTime stagedBefore) {
+        int purged = 0;
+        try {
+            Iterable<Result<Item>> results = minioClient.listObjects(
+                    ListObjectsArgs.builder()
+                            .bucket(bucketName)
+                            .prefix(STAGING_PREFIX)
+                            .recursive(true)
+                            .build()
+            );
+            for (Result<Item> result : results) {
+                Item item = result.get();
+                if (item.isDir() || item.lastModified() == null) {
+                    continue;
+                }
+                LocalDateTime stagedTime = item.lastModified().withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+                if (stagedTime.isBefore(stagedBefore) && remove(item.objectName())) {
+                    purged++;
+                }
+            }
+        } catch (Exception e) {
+            log.error("清理暂存文件异常 bucket={}", bucketName, e);
+        }
+
+        return purged;
+    }
+
+}
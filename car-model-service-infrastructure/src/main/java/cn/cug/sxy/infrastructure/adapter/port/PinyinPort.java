@@ -0,0 +1,73 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import cn.cug.sxy.domain.search.adapter.port.IPinyinPort;
+import cn.cug.sxy.domain.search.model.valobj.PinyinForms;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 11:20
+ * @Description 汉字转拼音端口实现（pinyin4j）：无声调、ü 写作 v，字母与数字原样保留，其余字符丢弃
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class PinyinPort implements IPinyinPort {
+
+    private final HanyuPinyinOutputFormat format;
+
+    public PinyinPort() {
+        this.format = new HanyuPinyinOutputFormat();
+        format.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        format.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        format.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    @Override
+    public PinyinForms toPinyin(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        StringBuilder full = new StringBuilder(text.length() * 4);
+        StringBuilder initials = new StringBuilder(text.length());
+        boolean hasHan = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String[] readings = null;
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                readings = readingsOf(c);
+            }
+            if (readings != null && readings.length > 0) {
+                hasHan = true;
+                full.append(readings[0]);
+                initials.append(readings[0].charAt(0));
+            } else if (Character.isLetterOrDigit(c)) {
+                String lower = String.valueOf(c).toLowerCase(Locale.ROOT);
+                full.append(lower);
+                initials.append(lower);
+            }
+        }
+
+        return hasHan ? new PinyinForms(full.toString(), initials.toString()) : null;
+    }
+
+    private String[] readingsOf(char c) {
+        try {
+            return PinyinHelper.toHanyuPinyinStringArray(c, format);
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            log.warn("汉字转拼音失败 char={}", c, e);
+            return null;
+        }
+    }
+
+}
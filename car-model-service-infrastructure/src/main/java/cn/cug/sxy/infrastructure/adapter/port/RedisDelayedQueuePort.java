@@ -0,0 +1,94 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import cn.cug.sxy.domain.event.adapter.port.IDelayedQueuePort;
+import cn.cug.sxy.domain.event.model.valobj.DelayedMessage;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.client.protocol.ScoredEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/18 10:10
+ * @Description Redis 延迟队列端口：单个有序集合，成员为消息ID，分值为到期时间戳
+ * 所有延迟时长共用一个集合，无需按延迟时长分别建队列
+ * @Author jerryhotton
+ */
+
+@Component
+public class RedisDelayedQueuePort implements IDelayedQueuePort {
+
+    @Value("${event.delayed-delivery.redis-key:event:delayed_delivery}")
+    private String redisKey;
+
+    private final IRedisService redisService;
+
+    public RedisDelayedQueuePort(IRedisService redisService) {
+        this.redisService = redisService;
+    }
+
+    @Override
+    public void add(DelayedMessage message) {
+        scoredSortedSet().add(message.getDueAtMillis(), message.getMessageId());
+    }
+
+    @Override
+    public void addAll(Collection<DelayedMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        Map<String, Double> scores = new HashMap<>(messages.size() * 2);
+        messages.forEach(message -> scores.put(message.getMessageId(), (double) message.getDueAtMillis()));
+        scoredSortedSet().addAll(scores);
+    }
+
+    @Override
+    public List<DelayedMessage> findDue(long dueBeforeMillis, int limit) {
+        Collection<ScoredEntry<String>> entries = scoredSortedSet()
+                .entryRange(Double.NEGATIVE_INFINITY, true, dueBeforeMillis, true, 0, limit);
+        List<DelayedMessage> messages = new ArrayList<>(entries.size());
+        for (ScoredEntry<String> entry : entries) {
+            messages.add(new DelayedMessage(entry.getValue(), entry.getScore().longValue()));
+        }
+
+        return messages;
+    }
+
+    @Override
+    public List<String> claim(Collection<String> messageIds) {
+        if (messageIds == null || messageIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<>(messageIds);
+        // 一次往返内逐个 ZREM，返回 1 的节点获得该消息的投递权
+        List<?> removed = redisService.executePipelined(batch -> {
+            RScoredSortedSetAsync<String> set = batch.getScoredSortedSet(redisKey);
+            List<RFuture<Boolean>> futures = new ArrayList<>(ids.size());
+            ids.forEach(id -> futures.add(set.removeAsync(id)));
+            return futures;
+        });
+        List<String> claimed = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (Boolean.TRUE.equals(removed.get(i))) {
+                claimed.add(ids.get(i));
+            }
+        }
+
+        return claimed;
+    }
+
+    @Override
+    public long size() {
+        return scoredSortedSet().size();
+    }
+
+    private RScoredSortedSet<String> scoredSortedSet() {
+        return redisService.getScoredSortedSet(redisKey);
+    }
+
+}
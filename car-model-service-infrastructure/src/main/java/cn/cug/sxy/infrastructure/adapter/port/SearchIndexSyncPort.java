@@ -0,0 +1,59 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import cn.cug.sxy.domain.search.adapter.port.ISearchIndexSyncPort;
+import cn.cug.sxy.domain.search.model.valobj.SearchIndexChange;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 11:30
+ * @Description 名称检索索引跨节点同步端口实现：Redisson 主题广播增量变更信号
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class SearchIndexSyncPort implements ISearchIndexSyncPort, DisposableBean {
+
+    private final RTopic changeTopic;
+
+    private final List<Integer> listenerIds = new CopyOnWriteArrayList<>();
+
+    public SearchIndexSyncPort(RedissonClient redissonClient,
+                               @Value("${search.index.change-topic:search_index:change}") String changeTopic) {
+        this.changeTopic = redissonClient.getTopic(changeTopic);
+    }
+
+    @Override
+    public void publishChange(SearchIndexChange change) {
+        changeTopic.publish(change);
+    }
+
+    @Override
+    public void subscribeChange(Consumer<SearchIndexChange> listener) {
+        int listenerId = changeTopic.addListener(SearchIndexChange.class, (channel, change) -> {
+            try {
+                listener.accept(change);
+            } catch (Exception e) {
+                log.error("处理名称检索索引变更信号失败 change={}", change, e);
+            }
+        });
+        listenerIds.add(listenerId);
+    }
+
+    @Override
+    public void destroy() {
+        listenerIds.forEach(changeTopic::removeListener);
+        listenerIds.clear();
+    }
+
+}
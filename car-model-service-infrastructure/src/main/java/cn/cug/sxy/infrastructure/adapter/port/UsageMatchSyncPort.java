@@ -0,0 +1,74 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import cn.cug.sxy.domain.usage.adapter.port.IUsageMatchSyncPort;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.types.common.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/30 15:10
+ * @Description 用法匹配索引跨节点同步端口实现：Redis 原子计数器保存全局用法版本号，Redisson 主题广播失效信号
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class UsageMatchSyncPort implements IUsageMatchSyncPort, DisposableBean {
+
+    private final IRedisService redisService;
+
+    private final RTopic evictTopic;
+
+    private final List<Integer> listenerIds = new CopyOnWriteArrayList<>();
+
+    public UsageMatchSyncPort(IRedisService redisService,
+                              RedissonClient redissonClient,
+                              @Value("${usage.matching.evict-topic:usage_match:evict}") String evictTopic) {
+        this.redisService = redisService;
+        this.evictTopic = redissonClient.getTopic(evictTopic);
+    }
+
+    @Override
+    public long currentVersion() {
+        return redisService.getAtomicLong(Constants.RedisKey.USAGE_MATCH_VERSION_KEY).get();
+    }
+
+    @Override
+    public long nextVersion() {
+        return redisService.incr(Constants.RedisKey.USAGE_MATCH_VERSION_KEY);
+    }
+
+    @Override
+    public void publishEvict(long version) {
+        evictTopic.publish(version);
+    }
+
+    @Override
+    public void subscribeEvict(LongConsumer listener) {
+        int listenerId = evictTopic.addListener(Long.class, (channel, version) -> {
+            try {
+                listener.accept(version);
+            } catch (Exception e) {
+                log.error("处理用法匹配索引失效信号失败 version={}", version, e);
+            }
+        });
+        listenerIds.add(listenerId);
+    }
+
+    @Override
+    public void destroy() {
+        listenerIds.forEach(evictTopic::removeListener);
+        listenerIds.clear();
+    }
+
+}
@@ -0,0 +1,72 @@
+package cn.cug.sxy.infrastructure.adapter.port;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/9 10:20
+ * @Description VIN码查询熔断器：连续失败达到阈值后打开，打开期间直接拒绝，到期后放行单个探测请求
+ * @Author jerryhotton
+ */
+
+public class VinQueryCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(-1);
+    private final AtomicBoolean probing = new AtomicBoolean(false);
+
+    public VinQueryCircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    /**
+     * 是否允许发起请求
+     */
+    public boolean tryAcquire() {
+        long opened = openedAt.get();
+        if (opened < 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() - opened < openDurationMillis) {
+            return false;
+        }
+        // 熔断到期，只放行一个探测请求
+        return probing.compareAndSet(false, true);
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(-1);
+        probing.set(false);
+    }
+
+    public void recordFailure() {
+        if (probing.compareAndSet(true, false)) {
+            // 探测失败，重新计时
+            openedAt.set(System.currentTimeMillis());
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.compareAndSet(-1, System.currentTimeMillis());
+        }
+    }
+
+    public State getState() {
+        long opened = openedAt.get();
+        if (opened < 0) {
+            return State.CLOSED;
+        }
+        return System.currentTimeMillis() - opened < openDurationMillis ? State.OPEN : State.HALF_OPEN;
+    }
+
+}
@@ -31,6 +31,38 @@ public class VinQueryPortConfig {
      * 适配器配置
      */
     private Map<String, PortConfig> ports = new HashMap<>();
+    /**
+     * 同时进行的上游查询数上限
+     */
+    private int maxConcurrency = 8;
+    /**
+     * 等待查询的排队上限，超出后直接返回失败
+     */
+    private int queueCapacity = 1000;
+    /**
+     * 单个VIN码的最大尝试次数
+     */
+    private int maxRetries = 3;
+    /**
+     * 指数退避的初始间隔（毫秒）
+     */
+    private long retryBaseDelayMillis = 200;
+    /**
+     * 指数退避的最大间隔（毫秒）
+     */
+    private long retryMaxDelayMillis = 2000;
+    /**
+     * 单次（批量）查询的整体超时（毫秒）
+     */
+    private long queryTimeoutMillis = 10000;
+    /**
+     * 查询成功结果的缓存时长（小时），VIN码与车型的对应关系不会变化
+     */
+    private long cacheTtlHours = 720;
+    /**
+     * 熔断配置
+     */
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
 
     /**
      * 适配端口配置
@@ -53,4 +85,21 @@ public class VinQueryPortConfig {
 
     }
 
+    /**
+     * 熔断配置
+     */
+    @Data
+    public static class CircuitBreakerConfig {
+
+        /**
+         * 连续失败多少次后打开熔断
+         */
+        private int failureThreshold = 5;
+        /**
+         * 熔断打开持续时间（毫秒），到期后放行一次探测请求
+         */
+        private long openDurationMillis = 30000;
+
+    }
+
 }
@@ -1,8 +1,17 @@
 package cn.cug.sxy.infrastructure.adapter.repository;
 
+import cn.cug.sxy.infrastructure.redis.CacheLoadPolicy;
 import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.infrastructure.redis.NearCacheManager;
 import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -13,30 +22,146 @@ import java.util.function.Supplier;
  * @Author jerryhotton
  */
 
+@Slf4j
 public class AbstractRepository {
 
+    /**
+     * 空值占位符，用于缓存数据库中不存在的数据
+     */
+    private static final String NULL_VALUE = "@@CACHE_NULL@@";
+
+    private static final String LOAD_LOCK_KEY_PREFIX = "cache_load_lock:";
+
     @Resource
     private IRedisService redisService;
 
+    @Resource
+    private NearCacheManager nearCacheManager;
+
+    /**
+     * 本节点正在回源的缓存键
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存回源策略，子类可覆盖
+     */
+    protected CacheLoadPolicy cacheLoadPolicy() {
+        return CacheLoadPolicy.DEFAULT;
+    }
+
+    @SuppressWarnings("unchecked")
     protected <T> T getDataFromCacheOrDB(String cacheKey, long expireTime, Supplier<T> call) {
-        T cacheResult = redisService.getValue(cacheKey);
-        // 缓存中存在则直接返回
+        // 本地近端缓存命中则直接返回
+        T nearResult = nearCacheManager.get(cacheKey);
+        if (null != nearResult) {
+            return nearResult;
+        }
+        Object cacheResult = redisService.getValue(cacheKey);
+        // 缓存中存在则回填本地缓存后返回
         if (null != cacheResult) {
-            return cacheResult;
+            return (T) unwrapCacheValue(cacheKey, cacheResult);
+        }
+        CacheLoadPolicy policy = cacheLoadPolicy();
+        if (!policy.isSingleFlight()) {
+            return loadAndCache(cacheKey, expireTime, call, policy);
+        }
+        // 单飞加载：同一键只有一个线程回源，其余线程等待其结果
+        CompletableFuture<Object> loadFuture = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(cacheKey, loadFuture);
+        if (inFlight != null) {
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            T result = policy.isDistributedLock()
+                    ? loadWithLock(cacheKey, expireTime, call, policy)
+                    : loadAndCache(cacheKey, expireTime, call, policy);
+            loadFuture.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            loadFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(cacheKey, loadFuture);
+        }
+    }
+
+    protected <T> T getDataFromCacheOrDB(String cacheKey, Supplier<T> call) {
+        return getDataFromCacheOrDB(cacheKey, -1, call);
+    }
+
+    /**
+     * 持有分布式锁回源，拿到锁后再次检查缓存，避免多节点重复查询数据库
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T loadWithLock(String cacheKey, long expireTime, Supplier<T> call, CacheLoadPolicy policy) {
+        RLock lock = redisService.getLock(LOAD_LOCK_KEY_PREFIX + cacheKey);
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(policy.getLockWaitMillis(), policy.getLockLeaseMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        try {
+            Object cacheResult = redisService.getValue(cacheKey);
+            if (null != cacheResult) {
+                return (T) unwrapCacheValue(cacheKey, cacheResult);
+            }
+            if (!locked) {
+                log.warn("获取缓存回源锁超时，直接查询数据库 cacheKey:{}", cacheKey);
+            }
+            return loadAndCache(cacheKey, expireTime, call, policy);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 查询数据库并写入缓存
+     */
+    private <T> T loadAndCache(String cacheKey, long expireTime, Supplier<T> call, CacheLoadPolicy policy) {
         // 缓存中不存在则查询数据库
         T dbResult = call.get();
+        // 空值按策略短期缓存
+        if (null == dbResult) {
+            if (policy.getNullValueTtlMillis() > 0) {
+                redisService.setValue(cacheKey, NULL_VALUE, jitter(policy.getNullValueTtlMillis(), policy), TimeUnit.MILLISECONDS);
+            }
+            return null;
+        }
         // 写入缓存
         if (expireTime > 0) {
-            redisService.setValue(cacheKey, dbResult, expireTime, TimeUnit.MILLISECONDS);
+            redisService.setValue(cacheKey, dbResult, jitter(expireTime, policy), TimeUnit.MILLISECONDS);
         } else {
             redisService.setValue(cacheKey, dbResult);
         }
+        nearCacheManager.put(cacheKey, dbResult);
         return dbResult;
     }
 
-    protected <T> T getDataFromCacheOrDB(String cacheKey, Supplier<T> call) {
-        return getDataFromCacheOrDB(cacheKey, -1, call);
+    private Object unwrapCacheValue(String cacheKey, Object cacheResult) {
+        if (NULL_VALUE.equals(cacheResult)) {
+            return null;
+        }
+        nearCacheManager.put(cacheKey, cacheResult);
+        return cacheResult;
+    }
+
+    /**
+     * 为过期时间增加随机抖动，避免同批写入的键同时过期
+     */
+    private long jitter(long expireTime, CacheLoadPolicy policy) {
+        if (policy.getTtlJitterRatio() <= 0) {
+            return expireTime;
+        }
+        long bound = (long) (expireTime * policy.getTtlJitterRatio());
+        return bound > 0 ? expireTime + ThreadLocalRandom.current().nextLong(bound) : expireTime;
     }
 
 }
@@ -12,9 +12,13 @@ import cn.cug.sxy.infrastructure.converter.CarModelConverter;
 import cn.cug.sxy.infrastructure.dao.ICarModelDao;
 import cn.cug.sxy.infrastructure.dao.po.CarModelPO;
 import cn.cug.sxy.infrastructure.minio.IFileStorageService;
+import cn.cug.sxy.infrastructure.redis.CacheLoadPolicy;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
 import cn.cug.sxy.types.common.Constants;
 import org.springframework.stereotype.Repository;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -30,14 +34,30 @@ import java.util.concurrent.TimeUnit;
 @Repository
 public class CarModelRepository extends AbstractRepository implements ICarModelRepository {
 
+    /**
+     * 车型按ID/编码的查询会被VIN解析高频调用，不存在的车型短期缓存空值并跨节点单飞回源
+     */
+    private static final CacheLoadPolicy CACHE_LOAD_POLICY = CacheLoadPolicy.builder()
+            .distributedLock(true)
+            .nullValueTtlMillis(30000)
+            .build();
+
     private final ICarModelDao carModelDao;
     private final IFileStorageService fileStorageService;
+    private final IRedisService redisService;
 
     public CarModelRepository(
             ICarModelDao carModelDao,
-            IFileStorageService fileStorageService) {
+            IFileStorageService fileStorageService,
+            IRedisService redisService) {
         this.carModelDao = carModelDao;
         this.fileStorageService = fileStorageService;
+        this.redisService = redisService;
+    }
+
+    @Override
+    protected CacheLoadPolicy cacheLoadPolicy() {
+        return CACHE_LOAD_POLICY;
     }
 
     @Override
@@ -47,6 +67,8 @@ public class CarModelRepository extends AbstractRepository implements ICarModelR
         if (po.getId() != null && carModelEntity.getId() == null) {
             carModelEntity.setId(new ModelId(po.getId()));
         }
+        // 清除可能存在的空值缓存
+        clearCache(po);
     }
 
     @Override
@@ -54,9 +76,18 @@ public class CarModelRepository extends AbstractRepository implements ICarModelR
         return fileStorageService.uploadModelIcon(fileData, fileName, contentType, modelId);
     }
 
+    @Override
+    public String uploadModelIcon(InputStream inputStream, long size, String fileName, String contentType, Long modelId) {
+        return fileStorageService.uploadModelIcon(inputStream, size, fileName, contentType, modelId);
+    }
+
     @Override
     public int update(CarModelEntity carModelEntity) {
-        return carModelDao.update(CarModelConverter.toPO(carModelEntity));
+        CarModelPO po = CarModelConverter.toPO(carModelEntity);
+        int result = carModelDao.update(po);
+        clearCache(po);
+
+        return result;
     }
 
     @Override
@@ -64,8 +95,11 @@ public class CarModelRepository extends AbstractRepository implements ICarModelR
         String filePath = modelEntity.getIconPath();
         String downloadUrl = fileStorageService.generatePresignedUrl(filePath, 7, TimeUnit.DAYS);
         modelEntity.setDownloadUrl(downloadUrl);
+        CarModelPO po = CarModelConverter.toPO(modelEntity);
+        int result = carModelDao.update(po);
+        clearCache(po);
 
-        return carModelDao.update(CarModelConverter.toPO(modelEntity));
+        return result;
     }
 
     @Override
@@ -179,7 +213,13 @@ public class CarModelRepository extends AbstractRepository implements ICarModelR
 
     @Override
     public boolean remove(ModelId modelId) {
-        return carModelDao.deleteByModelId(modelId.getId()) == 1;
+        CarModelPO po = carModelDao.selectByModelId(modelId.getId());
+        boolean result = carModelDao.deleteByModelId(modelId.getId()) == 1;
+        if (po != null) {
+            clearCache(po);
+        }
+
+        return result;
     }
 
     @Override
@@ -192,4 +232,18 @@ public class CarModelRepository extends AbstractRepository implements ICarModelR
         return carModelDao.countByModelCode(modelCode.getCode()) > 0;
     }
 
+    /**
+     * 清除车型按ID与编码的缓存
+     */
+    private void clearCache(CarModelPO po) {
+        List<String> cacheKeys = new ArrayList<>(2);
+        if (po.getId() != null) {
+            cacheKeys.add(Constants.RedisKey.CAR_MODEL_BY_ID_KEY + po.getId());
+        }
+        if (po.getModelCode() != null) {
+            cacheKeys.add(Constants.RedisKey.CAR_MODEL_BY_CODE_KEY + po.getModelCode());
+        }
+        redisService.remove(cacheKeys);
+    }
+
 }
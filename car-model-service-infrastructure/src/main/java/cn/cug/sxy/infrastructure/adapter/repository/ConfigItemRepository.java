@@ -7,12 +7,12 @@ import cn.cug.sxy.domain.usage.model.valobj.ConfigItemId;
 import cn.cug.sxy.infrastructure.converter.ConfigItemConverter;
 import cn.cug.sxy.infrastructure.dao.IConfigItemDao;
 import cn.cug.sxy.infrastructure.dao.po.ConfigItemPO;
+import cn.cug.sxy.infrastructure.redis.NearCacheManager;
+import cn.cug.sxy.types.common.Constants;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -26,9 +26,11 @@ import java.util.stream.Collectors;
 public class ConfigItemRepository implements IConfigItemRepository {
 
     private final IConfigItemDao configItemDao;
+    private final NearCacheManager nearCacheManager;
 
-    public ConfigItemRepository(IConfigItemDao configItemDao) {
+    public ConfigItemRepository(IConfigItemDao configItemDao, NearCacheManager nearCacheManager) {
         this.configItemDao = configItemDao;
+        this.nearCacheManager = nearCacheManager;
     }
 
     @Override
@@ -46,6 +48,7 @@ public class ConfigItemRepository implements IConfigItemRepository {
         } else {
             // 更新操作
             configItemDao.update(itemPO);
+            nearCacheManager.invalidate(getItemByIdCacheKey(configItem.getId().getId()));
         }
         return configItem;
     }
@@ -91,6 +94,16 @@ public class ConfigItemRepository implements IConfigItemRepository {
         return ConfigItemConverter.toEntityList(itemPOs);
     }
 
+    @Override
+    public List<ConfigItemEntity> findAllEnabled() {
+        List<ConfigItemPO> itemPOs = configItemDao.selectAllEnabled();
+        if (itemPOs == null || itemPOs.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return ConfigItemConverter.toEntityList(itemPOs);
+    }
+
     @Override
     public List<ConfigItemEntity> findByValueLikeOrNameLike(String keyword) {
         if (StringUtils.isNotBlank(keyword)) {
@@ -112,13 +125,37 @@ public class ConfigItemRepository implements IConfigItemRepository {
         }
         List<Long> ids = itemIds.stream()
                 .map(ConfigItemId::getId)
+                .distinct()
                 .collect(Collectors.toList());
-        List<ConfigItemPO> itemPOs = configItemDao.selectByIds(ids);
-        if (itemPOs == null || itemPOs.isEmpty()) {
+        // 先读本地缓存，未命中的配置项一次查询数据库
+        Map<Long, ConfigItemPO> itemPOMap = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ConfigItemPO cachedPO = nearCacheManager.get(getItemByIdCacheKey(id));
+            if (cachedPO != null) {
+                itemPOMap.put(id, cachedPO);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            List<ConfigItemPO> itemPOs = configItemDao.selectByIds(missingIds);
+            if (itemPOs != null) {
+                for (ConfigItemPO itemPO : itemPOs) {
+                    itemPOMap.put(itemPO.getId(), itemPO);
+                    nearCacheManager.put(getItemByIdCacheKey(itemPO.getId()), itemPO);
+                }
+            }
+        }
+        if (itemPOMap.isEmpty()) {
             return Collections.emptyList();
         }
+        List<ConfigItemPO> sortedPOs = itemPOMap.values().stream()
+                .sorted(Comparator.comparing(ConfigItemPO::getCategoryId, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(ConfigItemPO::getItemCode, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
 
-        return ConfigItemConverter.toEntityList(itemPOs);
+        return ConfigItemConverter.toEntityList(sortedPOs);
     }
 
     @Override
@@ -136,7 +173,10 @@ public class ConfigItemRepository implements IConfigItemRepository {
             return false;
         }
 
-        return configItemDao.deleteById(itemId.getId()) > 0;
+        boolean deleted = configItemDao.deleteById(itemId.getId()) > 0;
+        nearCacheManager.invalidate(getItemByIdCacheKey(itemId.getId()));
+
+        return deleted;
     }
 
     @Override
@@ -145,7 +185,20 @@ public class ConfigItemRepository implements IConfigItemRepository {
             return 0;
         }
 
-        return configItemDao.deleteByCategoryId(categoryId.getId());
+        // 按类别查询全部配置项ID（包括已停用的），删除后逐一失效缓存
+        List<Long> itemIds = configItemDao.selectIdsByCategoryId(categoryId.getId());
+        int deleted = configItemDao.deleteByCategoryId(categoryId.getId());
+        if (itemIds != null && !itemIds.isEmpty()) {
+            nearCacheManager.invalidate(itemIds.stream()
+                    .map(this::getItemByIdCacheKey)
+                    .collect(Collectors.toList()));
+        }
+
+        return deleted;
+    }
+
+    private String getItemByIdCacheKey(Long itemId) {
+        return Constants.RedisKey.CONFIG_ITEM_BY_ID_KEY + itemId;
     }
 
 }
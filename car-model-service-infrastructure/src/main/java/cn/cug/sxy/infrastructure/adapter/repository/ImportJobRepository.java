@@ -0,0 +1,119 @@
+package cn.cug.sxy.infrastructure.adapter.repository;
+
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.importjob.adapter.repository.IImportJobRepository;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.infrastructure.converter.ImportJobConverter;
+import cn.cug.sxy.infrastructure.dao.ITaskDao;
+import cn.cug.sxy.infrastructure.dao.po.TaskPO;
+import cn.cug.sxy.infrastructure.minio.FileUploadUtil;
+import cn.cug.sxy.infrastructure.minio.IFileStorageService;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 11:40
+ * @Description 导入任务仓储实现类：任务记录复用 task 表，文件暂存于 MinIO
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Repository
+public class ImportJobRepository implements IImportJobRepository {
+
+    private final ITaskDao taskDao;
+    private final IFileStorageService fileStorageService;
+
+    public ImportJobRepository(ITaskDao taskDao, IFileStorageService fileStorageService) {
+        this.taskDao = taskDao;
+        this.fileStorageService = fileStorageService;
+    }
+
+    @Override
+    public boolean save(ImportJobEntity job) {
+        return taskDao.insert(ImportJobConverter.toPO(job)) > 0;
+    }
+
+    @Override
+    public boolean update(ImportJobEntity job) {
+        return taskDao.updateStateAndMessage(ImportJobConverter.toPO(job)) > 0;
+    }
+
+    @Override
+    public boolean updateIfState(ImportJobEntity job, TaskState expectedState, LocalDateTime staleBefore) {
+        return taskDao.updateStateAndMessageIfMatch(ImportJobConverter.toPO(job), expectedState.getCode(), staleBefore) > 0;
+    }
+
+    @Override
+    public void refreshHeartbeat(Collection<String> jobIds) {
+        taskDao.updateImportJobHeartbeat(new ArrayList<>(jobIds));
+    }
+
+    @Override
+    public List<ImportJobEntity> findStaleJobs(TaskState state, LocalDateTime staleBefore, int limit) {
+        return taskDao.selectStaleImportJobs(state.getCode(), staleBefore, limit).stream()
+                .map(ImportJobConverter::toEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ImportJobEntity findByJobId(String jobId) {
+        TaskPO taskPO = taskDao.selectByMessageId(jobId);
+        // 同表中的事件消息任务不作为导入任务返回
+        if (taskPO == null || !StringUtils.startsWith(taskPO.getTopic(), ImportJobType.TOPIC_PREFIX)) {
+            return null;
+        }
+
+        return ImportJobConverter.toEntity(taskPO);
+    }
+
+    @Override
+    public String stageSourceFile(String jobId, MultipartFile file) {
+        return fileStorageService.uploadImportFile(file, jobId);
+    }
+
+    @Override
+    public MultipartFile loadSourceFile(ImportJobEntity job) {
+        try {
+            byte[] fileBytes = fileStorageService.getObject(job.getSourcePath());
+            return FileUploadUtil.createMultipartFile(fileBytes, job.getFileName(), job.getContentType());
+        } catch (IOException e) {
+            throw new AppException(ResponseCode.UN_ERROR.getCode(), "读取导入暂存文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void removeSourceFile(ImportJobEntity job) {
+        if (!fileStorageService.removeObject(job.getSourcePath())) {
+            log.warn("导入暂存文件删除失败 jobId={}, sourcePath={}", job.getJobId(), job.getSourcePath());
+        }
+    }
+
+    @Override
+    public String saveReport(String jobId, byte[] report) {
+        return fileStorageService.uploadImportReport(report, jobId);
+    }
+
+    @Override
+    public byte[] loadReport(ImportJobEntity job) {
+        try {
+            return fileStorageService.getObject(job.getReportPath());
+        } catch (IOException e) {
+            throw new AppException(ResponseCode.UN_ERROR.getCode(), "读取导入结果报告失败: " + e.getMessage(), e);
+        }
+    }
+
+}
@@ -5,19 +5,23 @@ import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
 import cn.cug.sxy.domain.structure.model.valobj.*;
 import cn.cug.sxy.domain.usage.model.valobj.UsageId;
 import cn.cug.sxy.infrastructure.converter.InstanceStructureNodeConverter;
+import cn.cug.sxy.infrastructure.dao.IInstanceNodeClosureDao;
 import cn.cug.sxy.infrastructure.dao.IInstanceStructureNodeDao;
 import cn.cug.sxy.infrastructure.dao.po.InstanceStructureNodePO;
+import cn.cug.sxy.infrastructure.redis.CacheLoadPolicy;
 import cn.cug.sxy.infrastructure.redis.IRedisService;
 import cn.cug.sxy.types.common.Constants;
 import cn.cug.sxy.types.enums.Status;
+import cn.cug.sxy.types.exception.AppException;
+import com.google.common.collect.Lists;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * @version 1.0
@@ -29,20 +33,53 @@ import java.util.Optional;
 @Repository
 public class InstanceNodeRepository extends AbstractRepository implements IInstanceNodeRepository {
 
+    /**
+     * 单条批量SQL的最大行数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 不存在的节点ID短期缓存空值，避免重复穿透到数据库
+     */
+    private static final CacheLoadPolicy CACHE_LOAD_POLICY = CacheLoadPolicy.builder()
+            .nullValueTtlMillis(30000)
+            .build();
+
     private final IInstanceStructureNodeDao instanceStructureNodeDao;
+    private final IInstanceNodeClosureDao instanceNodeClosureDao;
     private final IRedisService redisService;
+    private final TransactionTemplate transactionTemplate;
 
     public InstanceNodeRepository(
             IInstanceStructureNodeDao instanceStructureNodeDao,
-            IRedisService redisService) {
+            IInstanceNodeClosureDao instanceNodeClosureDao,
+            IRedisService redisService,
+            TransactionTemplate transactionTemplate) {
         this.instanceStructureNodeDao = instanceStructureNodeDao;
+        this.instanceNodeClosureDao = instanceNodeClosureDao;
         this.redisService = redisService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    protected CacheLoadPolicy cacheLoadPolicy() {
+        return CACHE_LOAD_POLICY;
     }
 
     @Override
     public StructureInstanceNodeEntity save(StructureInstanceNodeEntity node) {
         InstanceStructureNodePO po = InstanceStructureNodeConverter.toPO(node);
-        instanceStructureNodeDao.insert(po);
+        // 节点与其闭包关系同一事务写入
+        transactionTemplate.execute(status -> {
+            try {
+                instanceStructureNodeDao.insert(po);
+                instanceNodeClosureDao.insertForNodes(Collections.singletonList(po.getId()));
+                return 1;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("保存实例节点失败", e);
+            }
+        });
         // 设置ID
         if (po.getId() != null || node.getId() == null) {
             node.setId(new InstanceNodeId(po.getId()));
@@ -58,24 +95,143 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         if (CollectionUtils.isEmpty(nodes)) {
             return 0;
         }
-        List<InstanceStructureNodePO> poList = InstanceStructureNodeConverter.toPOList(nodes);
-        int result = instanceStructureNodeDao.batchInsert(poList);
-        // 更新实体ID
-        for (int i = 0; i < poList.size(); i++) {
-            if (poList.get(i).getId() != null && nodes.get(i).getId() == null) {
-                nodes.get(i).setId(new InstanceNodeId(poList.get(i).getId()));
+        List<List<StructureInstanceNodeEntity>> batches = Lists.partition(nodes, BATCH_SIZE);
+        List<List<InstanceStructureNodePO>> poBatches = new ArrayList<>();
+        Integer affected = transactionTemplate.execute(status -> {
+            try {
+                int count = 0;
+                List<InstanceStructureNodePO> insertedList = new ArrayList<>();
+                // 分批插入，避免单条SQL过大
+                for (List<StructureInstanceNodeEntity> batch : batches) {
+                    List<InstanceStructureNodePO> poList = InstanceStructureNodeConverter.toPOList(batch);
+                    count += instanceStructureNodeDao.batchInsert(poList);
+                    poBatches.add(poList);
+                    insertedList.addAll(poList);
+                }
+                insertClosure(insertedList);
+                return count;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("批量保存实例节点失败", e);
             }
-            // 清除父节点的子节点列表缓存
-            if (poList.get(i).getParentId() != null) {
-                String cacheKey = getNodesByParentIdCacheKey(poList.get(i).getParentId());
-                redisService.remove(cacheKey);
+        });
+        Set<String> cacheKeys = new HashSet<>();
+        for (int b = 0; b < batches.size(); b++) {
+            List<StructureInstanceNodeEntity> batch = batches.get(b);
+            List<InstanceStructureNodePO> poList = poBatches.get(b);
+            // 更新实体ID
+            for (int i = 0; i < poList.size(); i++) {
+                if (poList.get(i).getId() != null && batch.get(i).getId() == null) {
+                    batch.get(i).setId(new InstanceNodeId(poList.get(i).getId()));
+                }
+                // 收集可能存在的空值缓存
+                if (poList.get(i).getId() != null) {
+                    cacheKeys.add(getNodeByIdCacheKey(poList.get(i).getId()));
+                }
+                // 收集父节点的子节点列表缓存
+                if (poList.get(i).getParentId() != null) {
+                    cacheKeys.add(getNodesByParentIdCacheKey(poList.get(i).getParentId()));
+                }
             }
         }
         // 清除实例节点列表缓存
-        if (!nodes.isEmpty() && nodes.get(0).getInstanceId() != null) {
-            String cacheKey = getNodesByInstanceIdCacheKey(nodes.get(0).getInstanceId().getId());
-            redisService.remove(cacheKey);
+        if (nodes.get(0).getInstanceId() != null) {
+            cacheKeys.add(getNodesByInstanceIdCacheKey(nodes.get(0).getInstanceId().getId()));
         }
+        redisService.remove(cacheKeys);
+
+        return affected == null ? 0 : affected;
+    }
+
+    /**
+     * 为新插入的节点写入闭包关系。同批节点中父节点须先于子节点写入，按轮次逐层处理
+     */
+    private void insertClosure(List<InstanceStructureNodePO> poList) {
+        Map<Long, Long> pending = new LinkedHashMap<>();
+        for (InstanceStructureNodePO po : poList) {
+            pending.put(po.getId(), po.getParentId());
+        }
+        while (!pending.isEmpty()) {
+            // 父节点不在本批待处理集合中的节点，其父节点闭包关系已存在
+            List<Long> ready = pending.entrySet().stream()
+                    .filter(entry -> entry.getValue() == null || !pending.containsKey(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            if (ready.isEmpty()) {
+                throw new AppException("节点父子关系存在循环引用");
+            }
+            for (List<Long> chunk : Lists.partition(ready, BATCH_SIZE)) {
+                instanceNodeClosureDao.insertForNodes(chunk);
+            }
+            ready.forEach(pending::remove);
+        }
+    }
+
+    @Override
+    public int updatePathAndLevelBatch(List<StructureInstanceNodeEntity> nodes) {
+        if (CollectionUtils.isEmpty(nodes)) {
+            return 0;
+        }
+        int result = 0;
+        Set<String> cacheKeys = new HashSet<>();
+        for (List<StructureInstanceNodeEntity> batch : Lists.partition(nodes, BATCH_SIZE)) {
+            List<InstanceStructureNodePO> poList = InstanceStructureNodeConverter.toPOList(batch);
+            result += instanceStructureNodeDao.batchUpdatePathAndLevel(poList);
+            for (InstanceStructureNodePO po : poList) {
+                cacheKeys.add(getNodeByIdCacheKey(po.getId()));
+                if (po.getParentId() != null) {
+                    cacheKeys.add(getNodesByParentIdCacheKey(po.getParentId()));
+                }
+                if (po.getInstanceId() != null) {
+                    cacheKeys.add(getNodesByInstanceIdCacheKey(po.getInstanceId()));
+                }
+            }
+        }
+        // 清除相关缓存
+        redisService.remove(cacheKeys);
+
+        return result;
+    }
+
+    @Override
+    public int updateSubtreeHashBatch(List<StructureInstanceNodeEntity> nodes) {
+        if (CollectionUtils.isEmpty(nodes)) {
+            return 0;
+        }
+        int result = 0;
+        Set<String> cacheKeys = new HashSet<>();
+        for (List<StructureInstanceNodeEntity> batch : Lists.partition(nodes, BATCH_SIZE)) {
+            List<InstanceStructureNodePO> poList = InstanceStructureNodeConverter.toPOList(batch);
+            result += instanceStructureNodeDao.batchUpdateSubtreeHash(poList);
+            for (InstanceStructureNodePO po : poList) {
+                cacheKeys.add(getNodeByIdCacheKey(po.getId()));
+                if (po.getParentId() != null) {
+                    cacheKeys.add(getNodesByParentIdCacheKey(po.getParentId()));
+                }
+                if (po.getInstanceId() != null) {
+                    cacheKeys.add(getNodesByInstanceIdCacheKey(po.getInstanceId()));
+                }
+            }
+        }
+        // 清除相关缓存
+        redisService.remove(cacheKeys);
+
+        return result;
+    }
+
+    @Override
+    public int updateSubtreePathAndLevel(InstanceNodeId nodeId, String oldPath, String newPath, int levelDiff) {
+        if (nodeId == null || StringUtils.isBlank(oldPath) || StringUtils.isBlank(newPath)) {
+            return 0;
+        }
+        // 先取出受影响节点的键，用于清理缓存
+        List<InstanceStructureNodePO> descendantKeys = instanceStructureNodeDao.selectDescendantKeys(nodeId.getId());
+        if (CollectionUtils.isEmpty(descendantKeys)) {
+            return 0;
+        }
+        int result = instanceStructureNodeDao.updateSubtreePathAndLevel(nodeId.getId(), oldPath, newPath, levelDiff);
+        // 批量清除相关缓存
+        redisService.remove(getDescendantCacheKeys(descendantKeys));
 
         return result;
     }
@@ -110,12 +266,8 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
 
     @Override
     public int updateStatus(StructureInstanceNodeEntity node, Status status) {
-        // 通过节点路径更新状态（当前节点与子节点）
-        InstanceStructureNodePO po = new InstanceStructureNodePO();
-        po.setStatus(status.getCode());
-        String nodePathPrefix = node.getNodePath() + "%";
-        po.setNodePath(nodePathPrefix);
-        int result = instanceStructureNodeDao.updateStatusByNodePathStartWith(po);
+        // 通过闭包表更新当前节点与全部后代节点的状态
+        int result = instanceStructureNodeDao.updateStatusBySubtree(node.getId().getId(), status.getCode());
         // 清理相关缓存
         if (result > 0) {
             clearCacheWithChild(node);
@@ -126,7 +278,7 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
 
     @Override
     public int updateParentId(InstanceNodeId nodeId, InstanceNodeId parentId) {
-        if (nodeId == null || parentId == null) {
+        if (nodeId == null) {
             return 0;
         }
         // 先查询节点
@@ -137,7 +289,25 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         StructureInstanceNodeEntity node = nodeOpt.get();
         node.updateParent(parentId);
         InstanceStructureNodePO po = InstanceStructureNodeConverter.toPO(node);
-        int result = instanceStructureNodeDao.updateParentId(po);
+        // 更新父节点引用并将整棵子树从原祖先链移接到新父节点下（parentId为null时移为根节点）
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                int count = instanceStructureNodeDao.updateParentId(po);
+                if (count > 0) {
+                    instanceNodeClosureDao.deleteOuterLinks(nodeId.getId());
+                    if (parentId != null) {
+                        instanceNodeClosureDao.insertOuterLinks(nodeId.getId(), parentId.getId());
+                    }
+                }
+                return count;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("移动实例节点失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
+        }
         // 删除缓存
         if (result > 0) {
             clearCacheForNodeMove(nodeId, parentId);
@@ -234,6 +404,32 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         return InstanceStructureNodeConverter.toEntityList(instanceStructureNodePOList);
     }
 
+    @Override
+    public List<StructureInstanceNodeEntity> findByInstanceIdUpdatedSince(InstanceId instanceId, LocalDateTime updatedSince) {
+        if (instanceId == null || updatedSince == null) {
+            return Collections.emptyList();
+        }
+        List<InstanceStructureNodePO> poList = instanceStructureNodeDao.selectByInstanceIdUpdatedSince(instanceId.getId(), updatedSince);
+        if (CollectionUtils.isEmpty(poList)) {
+            return Collections.emptyList();
+        }
+
+        return InstanceStructureNodeConverter.toEntityList(poList);
+    }
+
+    @Override
+    public List<InstanceNodeId> findIdsByInstanceId(InstanceId instanceId) {
+        if (instanceId == null) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = instanceStructureNodeDao.selectIdsByInstanceId(instanceId.getId());
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+
+        return ids.stream().map(InstanceNodeId::new).collect(Collectors.toList());
+    }
+
     @Override
     public List<StructureInstanceNodeEntity> findByInstanceIdAndNodeType(InstanceId instanceId, NodeType nodeType) {
         if (instanceId == null || nodeType == null) {
@@ -297,24 +493,49 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         if (!rootNodeOpt.isPresent()) {
             return Collections.emptyList();
         }
-        StructureInstanceNodeEntity rootNode = rootNodeOpt.get();
-        // 如果节点有路径，使用路径查询子树
-        if (StringUtils.isNotBlank(rootNode.getNodePath())) {
-            return findByPathStartingWith(rootNode.getNodePath());
-        }
-        // 否则使用递归查询
+        // 根节点在前，后代按层级差、排序序号排列
         List<StructureInstanceNodeEntity> result = new ArrayList<>();
-        result.add(rootNode);
-        // 查询直接子节点
-        List<StructureInstanceNodeEntity> children = findByParentId(rootNodeId);
-        // 递归查询每个子节点的子树
-        for (StructureInstanceNodeEntity child : children) {
-            result.addAll(findSubTree(child.getId()));
-        }
+        result.add(rootNodeOpt.get());
+        result.addAll(findDescendants(rootNodeId, null));
 
         return result;
     }
 
+    @Override
+    public List<StructureInstanceNodeEntity> findDescendants(InstanceNodeId nodeId, Integer maxDepth) {
+        if (nodeId == null || (maxDepth != null && maxDepth <= 0)) {
+            return Collections.emptyList();
+        }
+        List<InstanceStructureNodePO> poList = instanceStructureNodeDao.selectDescendants(nodeId.getId(), maxDepth);
+        if (CollectionUtils.isEmpty(poList)) {
+            return Collections.emptyList();
+        }
+
+        return InstanceStructureNodeConverter.toEntityList(poList);
+    }
+
+    @Override
+    public List<StructureInstanceNodeEntity> findAncestors(InstanceNodeId nodeId) {
+        if (nodeId == null) {
+            return Collections.emptyList();
+        }
+        List<InstanceStructureNodePO> poList = instanceStructureNodeDao.selectAncestors(nodeId.getId());
+        if (CollectionUtils.isEmpty(poList)) {
+            return Collections.emptyList();
+        }
+
+        return InstanceStructureNodeConverter.toEntityList(poList);
+    }
+
+    @Override
+    public boolean isAncestor(InstanceNodeId ancestorId, InstanceNodeId descendantId) {
+        if (ancestorId == null || descendantId == null) {
+            return false;
+        }
+
+        return instanceNodeClosureDao.countLink(ancestorId.getId(), descendantId.getId()) > 0;
+    }
+
     @Override
     public List<StructureInstanceNodeEntity> findByPathStartingWith(String nodePath) {
         if (StringUtils.isBlank(nodePath)) {
@@ -367,7 +588,18 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
             return 0;
         }
         StructureInstanceNodeEntity node = nodeOpt.get();
-        int result = instanceStructureNodeDao.deleteById(nodeId.getId());
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                instanceNodeClosureDao.deleteByNodeIds(Collections.singletonList(nodeId.getId()));
+                return instanceStructureNodeDao.deleteById(nodeId.getId());
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("删除实例节点失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
+        }
         // 删除缓存
         if (result > 0) {
             clearCache(node);
@@ -381,7 +613,30 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         if (usageId == null) {
             return 0;
         }
-        return instanceStructureNodeDao.deleteByUsageId(usageId.getId());
+        // 先查询关联的节点，用于删除闭包关系与清理缓存
+        Optional<StructureInstanceNodeEntity> nodeOpt = findByUsageId(usageId);
+        if (!nodeOpt.isPresent()) {
+            return 0;
+        }
+        StructureInstanceNodeEntity node = nodeOpt.get();
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                instanceNodeClosureDao.deleteByNodeIds(Collections.singletonList(node.getId().getId()));
+                return instanceStructureNodeDao.deleteByUsageId(usageId.getId());
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("删除用法节点失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
+        }
+        // 删除缓存
+        if (result > 0) {
+            clearCache(node);
+        }
+
+        return result;
     }
 
     @Override
@@ -389,7 +644,18 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         if (instanceId == null) {
             return 0;
         }
-        int result = instanceStructureNodeDao.deleteByInstanceId(instanceId.getId());
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                instanceNodeClosureDao.deleteByInstanceId(instanceId.getId());
+                return instanceStructureNodeDao.deleteByInstanceId(instanceId.getId());
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("删除实例节点失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
+        }
         // 清除实例节点列表缓存
         if (result > 0) {
             redisService.remove(getNodesByInstanceIdCacheKey(instanceId.getId()));
@@ -406,40 +672,36 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
             return 0;
         }
         StructureInstanceNodeEntity node = nodeOpt.get();
-        int result;
-        // 如果节点有路径，使用路径删除子树
-        if (StringUtils.isNotBlank(node.getNodePath())) {
-            String nodePathStartWith = node.getNodePath() + "%";
-            result = instanceStructureNodeDao.deleteByNodePathStartWith(nodePathStartWith);
-        } else {
-            // 否则先删除所有子节点，再删除自身
-            result = deleteChildrenRecursively(nodeId);
-            result += instanceStructureNodeDao.deleteById(nodeId.getId());
+        // 通过闭包表取出整棵子树，后代节点的键用于清理缓存
+        List<InstanceStructureNodePO> descendantKeys = instanceStructureNodeDao.selectDescendantKeys(nodeId.getId());
+        List<Long> subtreeIds = new ArrayList<>();
+        subtreeIds.add(nodeId.getId());
+        descendantKeys.forEach(po -> subtreeIds.add(po.getId()));
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                int count = 0;
+                for (List<Long> chunk : Lists.partition(subtreeIds, BATCH_SIZE)) {
+                    instanceNodeClosureDao.deleteByNodeIds(chunk);
+                    count += instanceStructureNodeDao.deleteByIds(chunk);
+                }
+                return count;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("删除实例节点子树失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
         }
         // 清除缓存
         if (result > 0) {
             clearCache(node);
+            redisService.remove(getDescendantCacheKeys(descendantKeys));
         }
 
         return result;
     }
 
-    /**
-     * 递归删除子节点
-     */
-    private int deleteChildrenRecursively(InstanceNodeId parentId) {
-        int count = 0;
-        List<StructureInstanceNodeEntity> children = findByParentId(parentId);
-        for (StructureInstanceNodeEntity child : children) {
-            count += deleteChildrenRecursively(child.getId());
-            count += instanceStructureNodeDao.deleteById(child.getId().getId());
-            // 删除缓存
-            clearCache(child);
-        }
-
-        return count;
-    }
-
     @Override
     public int countByParentId(InstanceNodeId parentId) {
         if (parentId == null) {
@@ -458,6 +720,15 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         return instanceStructureNodeDao.countByInstanceId(instanceId.getId());
     }
 
+    @Override
+    public int countMissingSubtreeHash(InstanceId instanceId) {
+        if (instanceId == null) {
+            return 0;
+        }
+
+        return instanceStructureNodeDao.countMissingSubtreeHash(instanceId.getId());
+    }
+
     /**
      * 清除节点相关的所有缓存
      */
@@ -487,10 +758,28 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
             return;
         }
         clearCache(node);
-        List<StructureInstanceNodeEntity> children = findByParentId(node.getId());
-        for (StructureInstanceNodeEntity child : children) {
-            clearCacheWithChild(child);
+        redisService.remove(getDescendantCacheKeys(instanceStructureNodeDao.selectDescendantKeys(node.getId().getId())));
+    }
+
+    /**
+     * 收集后代节点的节点缓存、所属父节点的子节点列表缓存与实例节点列表缓存
+     */
+    private Set<String> getDescendantCacheKeys(List<InstanceStructureNodePO> descendantKeys) {
+        Set<String> cacheKeys = new HashSet<>();
+        if (CollectionUtils.isEmpty(descendantKeys)) {
+            return cacheKeys;
+        }
+        for (InstanceStructureNodePO po : descendantKeys) {
+            cacheKeys.add(getNodeByIdCacheKey(po.getId()));
+            if (po.getParentId() != null) {
+                cacheKeys.add(getNodesByParentIdCacheKey(po.getParentId()));
+            }
+            if (po.getInstanceId() != null) {
+                cacheKeys.add(getNodesByInstanceIdCacheKey(po.getInstanceId()));
+            }
         }
+
+        return cacheKeys;
     }
 
     /**
@@ -500,6 +789,10 @@ public class InstanceNodeRepository extends AbstractRepository implements IInsta
         if (node == null) {
             return;
         }
+        // 清除可能存在的空值缓存
+        if (node.getId() != null) {
+            redisService.remove(getNodeByIdCacheKey(node.getId().getId()));
+        }
         // 清除实例节点列表缓存
         if (node.getInstanceId() != null) {
             redisService.remove(getNodesByInstanceIdCacheKey(node.getInstanceId().getId()));
@@ -6,6 +6,7 @@ import cn.cug.sxy.domain.structure.adapter.repository.IInstanceRepository;
 import cn.cug.sxy.domain.structure.model.entity.StructureInstanceEntity;
 import cn.cug.sxy.domain.structure.model.valobj.InstanceCode;
 import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.SeekCursor;
 import cn.cug.sxy.types.enums.Status;
 import cn.cug.sxy.domain.structure.model.valobj.StructureInstancePageVO;
 import cn.cug.sxy.infrastructure.converter.InstanceStructureConverter;
@@ -31,6 +32,11 @@ import java.util.Optional;
 @Repository
 public class InstanceRepository extends AbstractRepository implements IInstanceRepository {
 
+    /**
+     * 游标分页总数缓存时长
+     */
+    private static final long COUNT_CACHE_EXPIRE_MILLIS = 60_000;
+
     private final IInstanceStructureDao instanceStructureDao;
     private final IRedisService redisService;
 
@@ -197,16 +203,7 @@ public class InstanceRepository extends AbstractRepository implements IInstanceR
         // 启用分页
         PageHelper.startPage(pageNo, pageSize);
         // 查询
-        if (nameKeyword != null) {
-            nameKeyword = nameKeyword.replace("%", "\\%").replace("_", "\\_");
-            nameKeyword = "%" + nameKeyword + "%";
-        }
-        InstanceStructurePO instanceStructurePOReq = new InstanceStructurePO();
-        instanceStructurePOReq.setInstanceCode(instanceCode == null ? null : instanceCode.getCode());
-        instanceStructurePOReq.setInstanceName(nameKeyword);
-        instanceStructurePOReq.setStatus(status == null ? null : status.getCode());
-        instanceStructurePOReq.setSeriesId(seriesId == null ? null : seriesId.getId());
-        instanceStructurePOReq.setModelId(modelId == null ? null : modelId.getId());
+        InstanceStructurePO instanceStructurePOReq = buildQueryCondition(instanceCode, nameKeyword, status, seriesId, modelId);
         List<InstanceStructurePO> poList = instanceStructureDao.selectByCondition(instanceStructurePOReq);
         // 封装分页
         PageInfo<InstanceStructurePO> pageInfo = new PageInfo<>(poList);
@@ -219,6 +216,40 @@ public class InstanceRepository extends AbstractRepository implements IInstanceR
                 .build();
     }
 
+    @Override
+    public StructureInstancePageVO findInstancesBySeek(InstanceCode instanceCode, String nameKeyword, Status status, SeriesId seriesId, ModelId modelId, String cursor, int pageSize, boolean withTotal) {
+        InstanceStructurePO condition = buildQueryCondition(instanceCode, nameKeyword, status, seriesId, modelId);
+        String filterDigest = SeekCursor.digest(condition.getInstanceCode(), condition.getInstanceName(),
+                condition.getStatus(), condition.getSeriesId(), condition.getModelId());
+        SeekCursor seekCursor = SeekCursor.decode(cursor, filterDigest);
+        // 多取一条判断是否还有下一页
+        List<InstanceStructurePO> poList = instanceStructureDao.selectByConditionSeek(condition,
+                seekCursor == null ? null : seekCursor.getSortKey(),
+                seekCursor == null ? null : seekCursor.getId(),
+                pageSize + 1);
+        boolean hasMore = poList.size() > pageSize;
+        List<InstanceStructurePO> pageList = hasMore ? poList.subList(0, pageSize) : poList;
+        String nextCursor = null;
+        if (hasMore) {
+            InstanceStructurePO last = pageList.get(pageList.size() - 1);
+            nextCursor = new SeekCursor(last.getCreatedTime(), last.getId(), filterDigest).encode();
+        }
+        Long total = null;
+        if (withTotal) {
+            // 总数按条件摘要短期缓存，翻页时不重复 COUNT
+            Number count = getDataFromCacheOrDB(getInstanceCountCacheKey(filterDigest), COUNT_CACHE_EXPIRE_MILLIS,
+                    () -> instanceStructureDao.countByCondition(condition));
+            total = count.longValue();
+        }
+
+        return StructureInstancePageVO.builder()
+                .instances(InstanceStructureConverter.toEntityList(pageList))
+                .total(total)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     public List<StructureInstanceEntity> findAll() {
         List<InstanceStructurePO> poList = getDataFromCacheOrDB(getInstanceAllCacheKey(), instanceStructureDao::selectAll);
@@ -269,6 +300,21 @@ public class InstanceRepository extends AbstractRepository implements IInstanceR
         clearRelationCache(instance.getId());
     }
 
+    private InstanceStructurePO buildQueryCondition(InstanceCode instanceCode, String nameKeyword, Status status, SeriesId seriesId, ModelId modelId) {
+        if (nameKeyword != null) {
+            nameKeyword = nameKeyword.replace("%", "\\%").replace("_", "\\_");
+            nameKeyword = "%" + nameKeyword + "%";
+        }
+        InstanceStructurePO instanceStructurePOReq = new InstanceStructurePO();
+        instanceStructurePOReq.setInstanceCode(instanceCode == null ? null : instanceCode.getCode());
+        instanceStructurePOReq.setInstanceName(nameKeyword);
+        instanceStructurePOReq.setStatus(status == null ? null : status.getCode());
+        instanceStructurePOReq.setSeriesId(seriesId == null ? null : seriesId.getId());
+        instanceStructurePOReq.setModelId(modelId == null ? null : modelId.getId());
+
+        return instanceStructurePOReq;
+    }
+
     /**
      * 更新时清除相关缓存
      */
@@ -317,6 +363,10 @@ public class InstanceRepository extends AbstractRepository implements IInstanceR
         return Constants.RedisKey.INSTANCE_STRUCTURE_ALL_KEY;
     }
 
+    private String getInstanceCountCacheKey(String filterDigest) {
+        return Constants.RedisKey.INSTANCE_STRUCTURE_COUNT_KEY + filterDigest;
+    }
+
     private String getInstanceBySeriesIdCacheKey(Long id) {
         return Constants.RedisKey.INSTANCE_STRUCTURE_BY_SERIES_ID_KEY + id;
     }
@@ -0,0 +1,96 @@
+package cn.cug.sxy.infrastructure.adapter.repository;
+
+import cn.cug.sxy.domain.structure.adapter.repository.IInstanceSnapshotRepository;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceTreeSnapshot;
+import cn.cug.sxy.infrastructure.converter.InstanceTreeSnapshotConverter;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.types.common.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.DigestUtils;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 11:30
+ * @Description 实例全树快照仓储实现（Redis 二进制存储，ETag 单独存放以便条件请求无需读取整棵树）
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Repository
+public class InstanceSnapshotRepository implements IInstanceSnapshotRepository {
+
+    private final IRedisService redisService;
+
+    public InstanceSnapshotRepository(IRedisService redisService) {
+        this.redisService = redisService;
+    }
+
+    @Override
+    public InstanceTreeSnapshot save(InstanceTreeSnapshot snapshot) {
+        byte[] data = InstanceTreeSnapshotConverter.toBytes(snapshot);
+        String etag = "\"" + DigestUtils.md5DigestAsHex(data) + "\"";
+        Long instanceId = snapshot.getInstanceId().getId();
+        redisService.setBytes(getSnapshotCacheKey(instanceId), data);
+        redisService.setValue(getETagCacheKey(instanceId), etag);
+
+        return InstanceTreeSnapshot.builder()
+                .instanceId(snapshot.getInstanceId())
+                .etag(etag)
+                .nodes(snapshot.getNodes())
+                .watermark(snapshot.getWatermark())
+                .build();
+    }
+
+    @Override
+    public Optional<InstanceTreeSnapshot> findByInstanceId(InstanceId instanceId) {
+        if (instanceId == null) {
+            return Optional.empty();
+        }
+        byte[] data = redisService.getBytes(getSnapshotCacheKey(instanceId.getId()));
+        if (data == null || data.length == 0) {
+            return Optional.empty();
+        }
+        String etag = redisService.getValue(getETagCacheKey(instanceId.getId()));
+        if (etag == null) {
+            etag = "\"" + DigestUtils.md5DigestAsHex(data) + "\"";
+        }
+        InstanceTreeSnapshot snapshot = InstanceTreeSnapshotConverter.toSnapshot(data, etag);
+        if (snapshot == null) {
+            log.warn("实例全树快照格式版本不匹配，按缺失处理 instanceId:{}", instanceId.getId());
+        }
+
+        return Optional.ofNullable(snapshot);
+    }
+
+    @Override
+    public String findETagByInstanceId(InstanceId instanceId) {
+        if (instanceId == null) {
+            return null;
+        }
+        return redisService.getValue(getETagCacheKey(instanceId.getId()));
+    }
+
+    @Override
+    public void deleteByInstanceId(InstanceId instanceId) {
+        if (instanceId == null) {
+            return;
+        }
+        redisService.remove(Arrays.asList(
+                getSnapshotCacheKey(instanceId.getId()),
+                getETagCacheKey(instanceId.getId())));
+    }
+
+    private String getSnapshotCacheKey(Long instanceId) {
+        return Constants.RedisKey.INSTANCE_STRUCTURE_TREE_SNAPSHOT_KEY + instanceId;
+    }
+
+    private String getETagCacheKey(Long instanceId) {
+        return Constants.RedisKey.INSTANCE_STRUCTURE_TREE_SNAPSHOT_ETAG_KEY + instanceId;
+    }
+
+}
@@ -21,13 +21,15 @@ import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.enums.Status;
 import cn.cug.sxy.types.enums.TemplateFileType;
 import cn.cug.sxy.types.exception.AppException;
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -39,6 +41,11 @@ import java.util.Optional;
 @Repository
 public class PartRepository implements IPartRepository {
 
+    /**
+     * 单条 IN 查询的最大参数个数
+     */
+    private static final int BATCH_QUERY_SIZE = 1000;
+
     private final IPartDao partDao;
     private final IPartHourDao partHourDao;
     private final IWorkHourDao workHourDao;
@@ -96,6 +103,23 @@ public class PartRepository implements IPartRepository {
         return Optional.of(PartConverter.toEntity(partPO));
     }
 
+    @Override
+    public List<PartEntity> findByCodes(Collection<PartCode> partCodes) {
+        if (partCodes == null || partCodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> codes = partCodes.stream()
+                .map(PartCode::getCode)
+                .distinct()
+                .collect(Collectors.toList());
+        List<PartEntity> result = new ArrayList<>(codes.size());
+        for (List<String> chunk : Lists.partition(codes, BATCH_QUERY_SIZE)) {
+            partDao.selectByCodes(chunk).forEach(po -> result.add(PartConverter.toEntity(po)));
+        }
+
+        return result;
+    }
+
     @Override
     public boolean existsByCode(PartCode partCode) {
         if (partCode == null) {
@@ -157,8 +181,8 @@ public class PartRepository implements IPartRepository {
     }
 
     @Override
-    public List<PartBindHourExcelData> readPartHourExcel(MultipartFile file) throws IOException {
-        return ExcelUtils.readExcel(file, new PartBindHourExcelRowParser());
+    public int readPartHourExcel(MultipartFile file, Consumer<List<PartBindHourExcelData>> batchConsumer) throws IOException {
+        return ExcelUtils.readExcel(file, new PartBindHourExcelRowParser(), ExcelUtils.DEFAULT_BATCH_SIZE, ExcelUtils.DEFAULT_MAX_ROWS, batchConsumer);
     }
 
     @Override
@@ -0,0 +1,138 @@
+package cn.cug.sxy.infrastructure.adapter.repository;
+
+import cn.cug.sxy.domain.search.adapter.repository.ISearchSourceRepository;
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.model.valobj.SearchDocument;
+import cn.cug.sxy.infrastructure.dao.ICarSeriesDao;
+import cn.cug.sxy.infrastructure.dao.IConfigItemDao;
+import cn.cug.sxy.infrastructure.dao.IInstanceStructureNodeDao;
+import cn.cug.sxy.infrastructure.dao.IPartDao;
+import cn.cug.sxy.infrastructure.dao.po.CarSeriesPO;
+import cn.cug.sxy.infrastructure.dao.po.ConfigItemPO;
+import cn.cug.sxy.infrastructure.dao.po.InstanceStructureNodePO;
+import cn.cug.sxy.infrastructure.dao.po.PartPO;
+import cn.cug.sxy.types.enums.Status;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 11:40
+ * @Description 名称检索数据源仓储实现
+ * 实例节点与备件数据量大，按主键分批读取；配置项（仅启用）与车型系列数据量小，整表读取后在内存中分批
+ * @Author jerryhotton
+ */
+
+@Repository
+public class SearchSourceRepository implements ISearchSourceRepository {
+
+    private final IInstanceStructureNodeDao instanceStructureNodeDao;
+    private final IPartDao partDao;
+    private final IConfigItemDao configItemDao;
+    private final ICarSeriesDao carSeriesDao;
+
+    public SearchSourceRepository(IInstanceStructureNodeDao instanceStructureNodeDao,
+                                  IPartDao partDao,
+                                  IConfigItemDao configItemDao,
+                                  ICarSeriesDao carSeriesDao) {
+        this.instanceStructureNodeDao = instanceStructureNodeDao;
+        this.partDao = partDao;
+        this.configItemDao = configItemDao;
+        this.carSeriesDao = carSeriesDao;
+    }
+
+    @Override
+    public List<SearchDocument> findBatch(SearchDocType docType, long afterId, int limit) {
+        switch (docType) {
+            case INSTANCE_NODE:
+                return instanceStructureNodeDao.selectSearchBatch(afterId, limit).stream()
+                        .map(this::toDocument)
+                        .collect(Collectors.toList());
+            case PART:
+                return partDao.selectSearchBatch(afterId, limit).stream()
+                        .map(this::toDocument)
+                        .collect(Collectors.toList());
+            case CONFIG_ITEM:
+                return page(configItemDao.selectAllEnabled(), ConfigItemPO::getId, this::toDocument, afterId, limit);
+            case CAR_SERIES:
+                return page(carSeriesDao.selectAll(), CarSeriesPO::getId, this::toDocument, afterId, limit);
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Optional<SearchDocument> findById(SearchDocType docType, Long docId) {
+        switch (docType) {
+            case INSTANCE_NODE:
+                return Optional.ofNullable(instanceStructureNodeDao.selectById(docId))
+                        .filter(po -> !Status.DELETED.getCode().equals(po.getStatus()))
+                        .map(this::toDocument);
+            case PART:
+                return Optional.ofNullable(partDao.selectById(docId))
+                        .filter(po -> !Status.DELETED.getCode().equals(po.getStatus()))
+                        .map(this::toDocument);
+            case CONFIG_ITEM:
+                return Optional.ofNullable(configItemDao.selectById(docId))
+                        .filter(po -> Status.ENABLED.getCode().equals(po.getStatus()))
+                        .map(this::toDocument);
+            case CAR_SERIES:
+                return Optional.ofNullable(carSeriesDao.selectById(docId)).map(this::toDocument);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<SearchDocument> findByScope(SearchDocType docType, Long scopeId) {
+        if (docType != SearchDocType.INSTANCE_NODE) {
+            return Collections.emptyList();
+        }
+        return instanceStructureNodeDao.selectByInstanceId(scopeId).stream()
+                .filter(po -> !Status.DELETED.getCode().equals(po.getStatus()))
+                .map(this::toDocument)
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<SearchDocument> page(List<T> pos, Function<T, Long> idOf, Function<T, SearchDocument> mapper,
+                                          long afterId, int limit) {
+        return pos.stream()
+                .filter(po -> idOf.apply(po) > afterId)
+                .sorted(Comparator.comparing(idOf))
+                .limit(limit)
+                .map(mapper)
+                .collect(Collectors.toList());
+    }
+
+    private SearchDocument toDocument(InstanceStructureNodePO po) {
+        return document(SearchDocType.INSTANCE_NODE, po.getId(), po.getInstanceId(), po.getNodeName(),
+                po.getNodeNameEn(), po.getNodeCode());
+    }
+
+    private SearchDocument toDocument(PartPO po) {
+        return document(SearchDocType.PART, po.getId(), null, po.getPartName(), po.getPartCode());
+    }
+
+    private SearchDocument toDocument(ConfigItemPO po) {
+        return document(SearchDocType.CONFIG_ITEM, po.getId(), null, po.getItemName(), po.getItemValue(), po.getItemCode());
+    }
+
+    private SearchDocument toDocument(CarSeriesPO po) {
+        return document(SearchDocType.CAR_SERIES, po.getId(), null, po.getSeriesName(), po.getSeriesCode(), po.getBrand());
+    }
+
+    private SearchDocument document(SearchDocType docType, Long docId, Long scopeId, String name, String... aliases) {
+        return SearchDocument.builder()
+                .docType(docType)
+                .docId(docId)
+                .scopeId(scopeId)
+                .name(name)
+                .aliases(Stream.of(aliases).filter(Objects::nonNull).collect(Collectors.toList()))
+                .build();
+    }
+
+}
@@ -2,15 +2,22 @@ package cn.cug.sxy.infrastructure.adapter.repository;
 
 import cn.cug.sxy.domain.event.adapter.repository.ITaskRepository;
 import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.TaskArchiveQuery;
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
 import cn.cug.sxy.infrastructure.converter.TaskConverter;
 import cn.cug.sxy.infrastructure.dao.ITaskDao;
+import cn.cug.sxy.infrastructure.dao.po.TaskArchivePartitionPO;
 import cn.cug.sxy.infrastructure.dao.po.TaskPO;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -23,10 +30,22 @@ import java.util.stream.Collectors;
 @Repository
 public class TaskRepository implements ITaskRepository {
 
+    /**
+     * 清理历史任务时单条语句最多删除的行数
+     */
+    private static final int CLEANUP_CHUNK_SIZE = 1000;
+    /**
+     * 归档表月份分区名：p + yyyyMM
+     */
+    private static final Pattern ARCHIVE_PARTITION_NAME = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter ARCHIVE_PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
     private final ITaskDao taskDao;
+    private final TransactionTemplate transactionTemplate;
 
-    public TaskRepository(ITaskDao taskDao) {
+    public TaskRepository(ITaskDao taskDao, TransactionTemplate transactionTemplate) {
         this.taskDao = taskDao;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -36,6 +55,18 @@ public class TaskRepository implements ITaskRepository {
         return taskDao.insert(taskPO) > 0;
     }
 
+    @Override
+    public int saveBatch(List<TaskEntity> tasks) {
+        if (CollectionUtils.isEmpty(tasks)) {
+            return 0;
+        }
+        List<TaskPO> taskPOs = tasks.stream()
+                .map(TaskConverter::toPO)
+                .collect(Collectors.toList());
+
+        return taskDao.insertBatch(taskPOs);
+    }
+
     @Override
     public TaskEntity findByMessageId(String messageId) {
         TaskPO taskPO = taskDao.selectByMessageId(messageId);
@@ -46,15 +77,25 @@ public class TaskRepository implements ITaskRepository {
         return TaskConverter.toEntity(taskPO);
     }
 
+    @Override
+    public List<TaskEntity> findByMessageIds(List<String> messageIds) {
+        if (CollectionUtils.isEmpty(messageIds)) {
+            return Collections.emptyList();
+        }
+
+        return taskDao.selectByMessageIds(messageIds).stream()
+                .map(TaskConverter::toEntity)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<TaskEntity> findByState(String state, int limit) {
-        List<TaskPO> taskPOs = taskDao.selectByState(state);
+        List<TaskPO> taskPOs = taskDao.selectByState(state, limit);
         if (CollectionUtils.isEmpty(taskPOs)) {
             return Collections.emptyList();
         }
 
         return taskPOs.stream()
-                .limit(limit)
                 .map(TaskConverter::toEntity)
                 .collect(Collectors.toList());
     }
@@ -84,6 +125,49 @@ public class TaskRepository implements ITaskRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<TaskEntity> claimUnpublishedTasks(int limit, LocalDateTime leaseUntil) {
+        List<TaskPO> taskPOs = transactionTemplate.execute(status -> {
+            List<TaskPO> claimed = taskDao.selectCreatedTasksForRelay(limit);
+            if (!CollectionUtils.isEmpty(claimed)) {
+                taskDao.updateRelayLease(claimed.stream().map(TaskPO::getMessageId).collect(Collectors.toList()), leaseUntil);
+            }
+            return claimed;
+        });
+        if (CollectionUtils.isEmpty(taskPOs)) {
+            return Collections.emptyList();
+        }
+
+        return taskPOs.stream()
+                .map(TaskConverter::toEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void completeRelay(LocalDateTime leaseUntil, List<String> publishedIds, List<String> failedIds, List<String> releasedIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            updateRelayResult(publishedIds, TaskState.PUBLISHED, leaseUntil);
+            updateRelayResult(failedIds, TaskState.FAILED, leaseUntil);
+            updateRelayResult(releasedIds, TaskState.CREATE, leaseUntil);
+        });
+    }
+
+    private void updateRelayResult(List<String> messageIds, TaskState state, LocalDateTime leaseUntil) {
+        if (!CollectionUtils.isEmpty(messageIds)) {
+            taskDao.updateRelayResult(messageIds, state.getCode(), leaseUntil);
+        }
+    }
+
+    @Override
+    public long countUnpublishedTasks() {
+        return taskDao.countEventTasksByState(TaskState.CREATE.getCode());
+    }
+
+    @Override
+    public LocalDateTime findEarliestUnpublishedTime() {
+        return taskDao.selectEarliestCreatedTime(TaskState.CREATE.getCode());
+    }
+
     @Override
     public List<TaskEntity> findPendingTasks(int limit) {
         List<TaskPO> taskPOS = taskDao.selectPendingTasks(limit);
@@ -98,15 +182,13 @@ public class TaskRepository implements ITaskRepository {
 
     @Override
     public List<TaskEntity> findRetryableFailedTasks(int limit) {
-        List<TaskPO> taskPOs = taskDao.selectFailedTasks(limit * 2);
+        List<TaskPO> taskPOs = taskDao.selectRetryableFailedTasks(limit);
         if (CollectionUtils.isEmpty(taskPOs)) {
             return Collections.emptyList();
         }
 
         return taskPOs.stream()
                 .map(TaskConverter::toEntity)
-                .filter(TaskEntity::canRetry)
-                .limit(limit)
                 .collect(Collectors.toList());
     }
 
@@ -130,6 +212,15 @@ public class TaskRepository implements ITaskRepository {
         return taskDao.updateState(taskPO) > 0;
     }
 
+    @Override
+    public int updateStateBatch(List<String> messageIds, String state) {
+        if (CollectionUtils.isEmpty(messageIds)) {
+            return 0;
+        }
+
+        return taskDao.updateStateBatch(messageIds, state);
+    }
+
     @Override
     public boolean updateRetryInfo(String messageId, Integer retryCount, String errorMessage) {
         TaskPO taskPO = new TaskPO();
@@ -148,18 +239,77 @@ public class TaskRepository implements ITaskRepository {
     @Override
     public int cleanupCompletedTasks(int beforeDays) {
         LocalDateTime beforeTime = LocalDateTime.now().minusDays(beforeDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = taskDao.deleteCompletedTasksBefore(beforeTime, CLEANUP_CHUNK_SIZE);
+            total += deleted;
+        } while (deleted == CLEANUP_CHUNK_SIZE);
+
+        return total;
+    }
 
-        return taskDao.deleteCompletedTasksBefore(beforeTime);
+    @Override
+    public List<Long> findArchivableTaskIds(String state, LocalDateTime beforeTime, int limit) {
+        return taskDao.selectArchivableIds(state, beforeTime, limit);
     }
 
     @Override
-    public long countByState(String state) {
-        List<TaskPO> tasks = taskDao.selectByState(state);
-        if (CollectionUtils.isEmpty(tasks)) {
+    public int archiveTasks(List<Long> ids, LocalDateTime beforeTime) {
+        if (CollectionUtils.isEmpty(ids)) {
             return 0;
         }
+        taskDao.insertArchiveByIds(ids, beforeTime);
+
+        return taskDao.deleteArchivableByIds(ids, beforeTime);
+    }
+
+    @Override
+    public int purgeArchivedTasks(LocalDateTime beforeTime, int limit) {
+        return taskDao.deleteArchivedBefore(beforeTime, limit);
+    }
+
+    @Override
+    public List<YearMonth> findArchivePartitionMonths() {
+        List<String> partitionNames = taskDao.selectArchivePartitionNames();
+        if (CollectionUtils.isEmpty(partitionNames)) {
+            return Collections.emptyList();
+        }
 
-        return tasks.size();
+        return partitionNames.stream()
+                .filter(name -> ARCHIVE_PARTITION_NAME.matcher(name).matches())
+                .map(name -> YearMonth.parse(name.substring(1), ARCHIVE_PARTITION_MONTH))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void addArchivePartitions(List<YearMonth> months) {
+        if (CollectionUtils.isEmpty(months)) {
+            return;
+        }
+        taskDao.addArchivePartitions(months.stream()
+                .map(month -> new TaskArchivePartitionPO("p" + month.format(ARCHIVE_PARTITION_MONTH),
+                        month.plusMonths(1).atDay(1).toString()))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<TaskEntity> findArchivedTasks(TaskArchiveQuery query) {
+        List<TaskPO> taskPOs = taskDao.selectArchived(query.getMessageId(), query.getTopic(), query.getState(),
+                query.getStartTime(), query.getEndTime(), query.getLastId(), query.getLimit());
+        if (CollectionUtils.isEmpty(taskPOs)) {
+            return Collections.emptyList();
+        }
+
+        return taskPOs.stream()
+                .map(TaskConverter::toEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countByState(String state) {
+        return taskDao.countEventTasksByState(state);
     }
 
 }
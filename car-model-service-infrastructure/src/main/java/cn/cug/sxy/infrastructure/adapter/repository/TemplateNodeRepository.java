@@ -4,19 +4,20 @@ import cn.cug.sxy.domain.structure.adapter.repository.ITemplateNodeRepository;
 import cn.cug.sxy.domain.structure.model.entity.StructureTemplateNodeEntity;
 import cn.cug.sxy.domain.structure.model.valobj.*;
 import cn.cug.sxy.infrastructure.converter.TemplateStructureNodeConverter;
+import cn.cug.sxy.infrastructure.dao.ITemplateNodeClosureDao;
 import cn.cug.sxy.infrastructure.dao.ITemplateStructureNodeDao;
 import cn.cug.sxy.infrastructure.dao.po.TemplateStructureNodePO;
 import cn.cug.sxy.infrastructure.redis.IRedisService;
 import cn.cug.sxy.types.common.Constants;
 import cn.cug.sxy.types.enums.Status;
-import org.apache.commons.lang3.StringUtils;
+import cn.cug.sxy.types.exception.AppException;
+import com.google.common.collect.Lists;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * @version 1.0
@@ -28,12 +29,25 @@ import java.util.Optional;
 @Repository
 public class TemplateNodeRepository extends AbstractRepository implements ITemplateNodeRepository {
 
+    /**
+     * 单条批量SQL的最大行数
+     */
+    private static final int BATCH_SIZE = 500;
+
     private final ITemplateStructureNodeDao templateStructureNodeDao;
+    private final ITemplateNodeClosureDao templateNodeClosureDao;
     private final IRedisService redisService;
+    private final TransactionTemplate transactionTemplate;
 
-    public TemplateNodeRepository(ITemplateStructureNodeDao templateStructureNodeDao, IRedisService redisService) {
+    public TemplateNodeRepository(
+            ITemplateStructureNodeDao templateStructureNodeDao,
+            ITemplateNodeClosureDao templateNodeClosureDao,
+            IRedisService redisService,
+            TransactionTemplate transactionTemplate) {
         this.templateStructureNodeDao = templateStructureNodeDao;
+        this.templateNodeClosureDao = templateNodeClosureDao;
         this.redisService = redisService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -42,7 +56,17 @@ public class TemplateNodeRepository extends AbstractRepository implements ITempl
             return;
         }
         TemplateStructureNodePO po = TemplateStructureNodeConverter.toPO(node);
-        templateStructureNodeDao.insert(po);
+        // 节点与其闭包关系同一事务写入
+        transactionTemplate.execute(status -> {
+            try {
+                templateStructureNodeDao.insert(po);
+                templateNodeClosureDao.insertForNodes(Collections.singletonList(po.getId()));
+                return 1;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("保存模板节点失败", e);
+            }
+        });
         // 为插入后的实体设置ID
         if (po.getId() != null && node.getId() == null) {
             node.setId(new TemplateNodeId(po.getId()));
@@ -57,7 +81,16 @@ public class TemplateNodeRepository extends AbstractRepository implements ITempl
             return 0;
         }
         List<TemplateStructureNodePO> poList = TemplateStructureNodeConverter.toPOList(nodes);
-        int result = templateStructureNodeDao.batchInsert(poList);
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                int count = templateStructureNodeDao.batchInsert(poList);
+                insertClosure(poList);
+                return count;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("批量保存模板节点失败", e);
+            }
+        });
         // 更新实体ID
         for (int i = 0; i < poList.size(); i++) {
             if (poList.get(i).getId() != null && nodes.get(i).getId() == null) {
@@ -70,7 +103,31 @@ public class TemplateNodeRepository extends AbstractRepository implements ITempl
             redisService.remove(cacheKey);
         }
 
-        return result;
+        return result == null ? 0 : result;
+    }
+
+    /**
+     * 为新插入的节点写入闭包关系。同批节点中父节点须先于子节点写入，按轮次逐层处理
+     */
+    private void insertClosure(List<TemplateStructureNodePO> poList) {
+        Map<Long, Long> pending = new LinkedHashMap<>();
+        for (TemplateStructureNodePO po : poList) {
+            pending.put(po.getId(), po.getParentId());
+        }
+        while (!pending.isEmpty()) {
+            // 父节点不在本批待处理集合中的节点，其父节点闭包关系已存在
+            List<Long> ready = pending.entrySet().stream()
+                    .filter(entry -> entry.getValue() == null || !pending.containsKey(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            if (ready.isEmpty()) {
+                throw new AppException("节点父子关系存在循环引用");
+            }
+            for (List<Long> chunk : Lists.partition(ready, BATCH_SIZE)) {
+                templateNodeClosureDao.insertForNodes(chunk);
+            }
+            ready.forEach(pending::remove);
+        }
     }
 
     @Override
@@ -113,8 +170,24 @@ public class TemplateNodeRepository extends AbstractRepository implements ITempl
         Long parentIdValue = parentId != null ? parentId.getId() : null;
         templateStructureNodePOReq.setId(nodeId.getId());
         templateStructureNodePOReq.setParentId(parentIdValue);
+        // 更新父节点引用并将整棵子树从原祖先链移接到新父节点下（parentId为null时移为根节点）
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                int count = templateStructureNodeDao.updateParentId(templateStructureNodePOReq);
+                if (count > 0) {
+                    templateNodeClosureDao.deleteOuterLinks(nodeId.getId());
+                    if (parentIdValue != null) {
+                        templateNodeClosureDao.insertOuterLinks(nodeId.getId(), parentIdValue);
+                    }
+                }
+                return count;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("移动模板节点失败", e);
+            }
+        });
 
-        return templateStructureNodeDao.updateParentId(templateStructureNodePOReq);
+        return result == null ? 0 : result;
     }
 
     @Override
@@ -252,24 +325,49 @@ public class TemplateNodeRepository extends AbstractRepository implements ITempl
         if (!rootNodeOpt.isPresent()) {
             return Collections.emptyList();
         }
-        StructureTemplateNodeEntity rootNode = rootNodeOpt.get();
-        // 如果节点有路径，使用路径查询子树
-        if (StringUtils.isNotBlank(rootNode.getNodePath())) {
-            return findByPathStartingWith(rootNode.getNodePath());
-        }
-        // 否则使用递归查询
+        // 根节点在前，后代按层级差、排序序号排列
         List<StructureTemplateNodeEntity> result = new ArrayList<>();
-        result.add(rootNode);
-        // 查询直接子节点
-        List<StructureTemplateNodeEntity> children = findByParentId(rootNodeId);
-        // 递归查询每个子节点的子树
-        for (StructureTemplateNodeEntity child : children) {
-            result.addAll(findSubTree(child.getId()));
-        }
+        result.add(rootNodeOpt.get());
+        result.addAll(findDescendants(rootNodeId, null));
 
         return result;
     }
 
+    @Override
+    public List<StructureTemplateNodeEntity> findDescendants(TemplateNodeId nodeId, Integer maxDepth) {
+        if (nodeId == null || (maxDepth != null && maxDepth <= 0)) {
+            return Collections.emptyList();
+        }
+        List<TemplateStructureNodePO> poList = templateStructureNodeDao.selectDescendants(nodeId.getId(), maxDepth);
+        if (CollectionUtils.isEmpty(poList)) {
+            return Collections.emptyList();
+        }
+
+        return TemplateStructureNodeConverter.toEntityList(poList);
+    }
+
+    @Override
+    public List<StructureTemplateNodeEntity> findAncestors(TemplateNodeId nodeId) {
+        if (nodeId == null) {
+            return Collections.emptyList();
+        }
+        List<TemplateStructureNodePO> poList = templateStructureNodeDao.selectAncestors(nodeId.getId());
+        if (CollectionUtils.isEmpty(poList)) {
+            return Collections.emptyList();
+        }
+
+        return TemplateStructureNodeConverter.toEntityList(poList);
+    }
+
+    @Override
+    public boolean isAncestor(TemplateNodeId ancestorId, TemplateNodeId descendantId) {
+        if (ancestorId == null || descendantId == null) {
+            return false;
+        }
+
+        return templateNodeClosureDao.countLink(ancestorId.getId(), descendantId.getId()) > 0;
+    }
+
 
     @Override
     public List<StructureTemplateNodeEntity> findByPathStartingWith(String pathPrefix) {
@@ -314,7 +412,18 @@ public class TemplateNodeRepository extends AbstractRepository implements ITempl
             return 0;
         }
         StructureTemplateNodeEntity node = nodeOpt.get();
-        int result = templateStructureNodeDao.deleteById(nodeId.getId());
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                templateNodeClosureDao.deleteByNodeIds(Collections.singletonList(nodeId.getId()));
+                return templateStructureNodeDao.deleteById(nodeId.getId());
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("删除模板节点失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
+        }
         // 清除相关缓存
         clearCache(node);
 
@@ -326,50 +435,57 @@ public class TemplateNodeRepository extends AbstractRepository implements ITempl
         if (rootNodeId == null) {
             return 0;
         }
-        // 先查询根节点，获取其路径
+        // 先查询根节点
         Optional<StructureTemplateNodeEntity> rootNodeOpt = findById(rootNodeId);
         if (!rootNodeOpt.isPresent()) {
             return 0;
         }
         StructureTemplateNodeEntity rootNode = rootNodeOpt.get();
-        int result;
-        if (StringUtils.isNotBlank(rootNode.getNodePath())) {
-            result = templateStructureNodeDao.deleteByNodePathStartWith(rootNode.getNodePath());
-        } else {
-            // 否则先删除所有子节点，再删除自身
-            result = deleteChildrenRecursively(rootNodeId);
-            result += templateStructureNodeDao.deleteById(rootNodeId.getId());
+        // 通过闭包表取出整棵子树
+        List<StructureTemplateNodeEntity> descendants = findDescendants(rootNodeId, null);
+        List<Long> subtreeIds = new ArrayList<>();
+        subtreeIds.add(rootNodeId.getId());
+        descendants.forEach(node -> subtreeIds.add(node.getId().getId()));
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                int count = 0;
+                for (List<Long> chunk : Lists.partition(subtreeIds, BATCH_SIZE)) {
+                    templateNodeClosureDao.deleteByNodeIds(chunk);
+                    count += templateStructureNodeDao.deleteByIds(chunk);
+                }
+                return count;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("删除模板节点子树失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
         }
         // 清除相关缓存
-        if (rootNode.getTemplateId() != null) {
-            redisService.remove(getNodesByTemplateIdCacheKey(rootNode.getTemplateId().getId()));
-        }
+        clearCache(rootNode);
+        descendants.forEach(this::clearCache);
 
         return result;
     }
 
-    /**
-     * 递归删除子节点
-     */
-    private int deleteChildrenRecursively(TemplateNodeId parentId) {
-        int count = 0;
-        List<StructureTemplateNodeEntity> children = findByParentId(parentId);
-        for (StructureTemplateNodeEntity child : children) {
-            count += deleteChildrenRecursively(child.getId());
-            count += templateStructureNodeDao.deleteById(child.getId().getId());
-            // 删除缓存
-            clearCache(child);
-        }
-
-        return count;
-    }
-
     @Override
     public int deleteByTemplateId(TemplateId templateId) {
         if (templateId == null) {
             return 0;
         }
-        int result = templateStructureNodeDao.deleteByTemplateId(templateId.getId());
+        Integer result = transactionTemplate.execute(status -> {
+            try {
+                templateNodeClosureDao.deleteByTemplateId(templateId.getId());
+                return templateStructureNodeDao.deleteByTemplateId(templateId.getId());
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("删除模板节点失败", e);
+            }
+        });
+        if (result == null) {
+            return 0;
+        }
         // 清除相关缓存
         redisService.remove(getNodesByTemplateIdCacheKey(templateId.getId()));
 
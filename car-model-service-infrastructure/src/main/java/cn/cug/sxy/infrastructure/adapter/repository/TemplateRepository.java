@@ -2,6 +2,7 @@ package cn.cug.sxy.infrastructure.adapter.repository;
 
 import cn.cug.sxy.domain.structure.adapter.repository.ITemplateRepository;
 import cn.cug.sxy.domain.structure.model.entity.StructureTemplateEntity;
+import cn.cug.sxy.domain.structure.model.valobj.SeekCursor;
 import cn.cug.sxy.types.enums.Status;
 import cn.cug.sxy.domain.structure.model.valobj.StructureTemplatePageVO;
 import cn.cug.sxy.domain.structure.model.valobj.TemplateCode;
@@ -27,6 +28,11 @@ import java.util.*;
 @Repository
 public class TemplateRepository extends AbstractRepository implements ITemplateRepository {
 
+    /**
+     * 游标分页总数缓存时长
+     */
+    private static final long COUNT_CACHE_EXPIRE_MILLIS = 60_000;
+
     private final ITemplateStructureDao templateStructureDao;
     private final IRedisService redisService;
 
@@ -157,14 +163,7 @@ public class TemplateRepository extends AbstractRepository implements ITemplateR
 
     @Override
     public List<StructureTemplateEntity> findTemplates(TemplateCode templateCode, Status status, String nameKeyword) {
-        if (nameKeyword != null) {
-            nameKeyword = nameKeyword.replace("%", "\\%").replace("_", "\\_");
-            nameKeyword = "%" + nameKeyword + "%";
-        }
-        TemplateStructurePO templateStructurePOReq = new TemplateStructurePO();
-        templateStructurePOReq.setTemplateCode(null == templateCode ? null : templateCode.getCode());
-        templateStructurePOReq.setStatus(null == status ? null : status.getCode());
-        templateStructurePOReq.setTemplateName(nameKeyword);
+        TemplateStructurePO templateStructurePOReq = buildQueryCondition(templateCode, status, nameKeyword);
         List<TemplateStructurePO> poList = templateStructureDao.selectByCondition(templateStructurePOReq);
 
         return TemplateStructureConverter.toEntityList(poList);
@@ -187,6 +186,39 @@ public class TemplateRepository extends AbstractRepository implements ITemplateR
                 .build();
     }
 
+    @Override
+    public StructureTemplatePageVO findTemplatesBySeek(TemplateCode templateCode, Status status, String nameKeyword, String cursor, int pageSize, boolean withTotal) {
+        TemplateStructurePO condition = buildQueryCondition(templateCode, status, nameKeyword);
+        String filterDigest = SeekCursor.digest(condition.getTemplateCode(), condition.getStatus(), condition.getTemplateName());
+        SeekCursor seekCursor = SeekCursor.decode(cursor, filterDigest);
+        // 多取一条判断是否还有下一页
+        List<TemplateStructurePO> poList = templateStructureDao.selectByConditionSeek(condition,
+                seekCursor == null ? null : seekCursor.getSortKey(),
+                seekCursor == null ? null : seekCursor.getId(),
+                pageSize + 1);
+        boolean hasMore = poList.size() > pageSize;
+        List<TemplateStructurePO> pageList = hasMore ? poList.subList(0, pageSize) : poList;
+        String nextCursor = null;
+        if (hasMore) {
+            TemplateStructurePO last = pageList.get(pageList.size() - 1);
+            nextCursor = new SeekCursor(last.getCreatedTime(), last.getId(), filterDigest).encode();
+        }
+        Long total = null;
+        if (withTotal) {
+            // 总数按条件摘要短期缓存，翻页时不重复 COUNT
+            Number count = getDataFromCacheOrDB(getTemplateCountCacheKey(filterDigest), COUNT_CACHE_EXPIRE_MILLIS,
+                    () -> templateStructureDao.countByCondition(condition));
+            total = count.longValue();
+        }
+
+        return StructureTemplatePageVO.builder()
+                .templates(TemplateStructureConverter.toEntityList(pageList))
+                .total(total)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     public List<StructureTemplateEntity> findByStatus(Status status) {
         if (status == null) {
@@ -285,6 +317,19 @@ public class TemplateRepository extends AbstractRepository implements ITemplateR
         });
     }
 
+    private TemplateStructurePO buildQueryCondition(TemplateCode templateCode, Status status, String nameKeyword) {
+        if (nameKeyword != null) {
+            nameKeyword = nameKeyword.replace("%", "\\%").replace("_", "\\_");
+            nameKeyword = "%" + nameKeyword + "%";
+        }
+        TemplateStructurePO templateStructurePOReq = new TemplateStructurePO();
+        templateStructurePOReq.setTemplateCode(null == templateCode ? null : templateCode.getCode());
+        templateStructurePOReq.setStatus(null == status ? null : status.getCode());
+        templateStructurePOReq.setTemplateName(nameKeyword);
+
+        return templateStructurePOReq;
+    }
+
     private String getTemplateByIdCacheKey(Long id) {
         return Constants.RedisKey.TEMPLATE_STRUCTURE_BY_ID_KEY + id;
     }
@@ -301,4 +346,8 @@ public class TemplateRepository extends AbstractRepository implements ITemplateR
         return Constants.RedisKey.TEMPLATE_STRUCTURE_ALL_KEY;
     }
 
+    private String getTemplateCountCacheKey(String filterDigest) {
+        return Constants.RedisKey.TEMPLATE_STRUCTURE_COUNT_KEY + filterDigest;
+    }
+
 }
@@ -13,6 +13,7 @@ import cn.cug.sxy.types.common.Constants;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -93,6 +94,27 @@ public class UsageConfigCombinationDetailRepository implements IUsageConfigCombi
         return UsageConfigCombinationDetailConverter.toEntityList(detailPOs);
     }
 
+    @Override
+    public Map<UsageConfigCombinationId, List<UsageConfigCombinationDetailEntity>> findByCombinationIds(List<UsageConfigCombinationId> combinationIds) {
+        if (combinationIds == null || combinationIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = combinationIds.stream()
+                .map(UsageConfigCombinationId::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        List<UsageConfigCombinationDetailPO> detailPOs = detailDao.selectByCombinationIds(ids);
+        if (detailPOs == null || detailPOs.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return UsageConfigCombinationDetailConverter.toEntityList(detailPOs).stream()
+                .collect(Collectors.groupingBy(
+                        UsageConfigCombinationDetailEntity::getCombinationId,
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+    }
+
     @Override
     public List<ConfigItemId> findConfigItemIdsByUsageId(UsageId usageId) {
         if (usageId == null) {
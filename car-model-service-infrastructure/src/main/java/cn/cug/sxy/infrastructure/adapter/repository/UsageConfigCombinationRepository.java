@@ -17,9 +17,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * @version 1.0
@@ -118,21 +121,40 @@ public class UsageConfigCombinationRepository implements IUsageConfigCombination
         if (usageId == null || usageId.getId() == null) {
             return Collections.emptyList();
         }
-        List<UsageConfigCombinationPO> combinationPOs = combinationDao.selectByUsageId(usageId.getId());
+
+        return findByUsageIds(Collections.singletonList(usageId)).getOrDefault(usageId, Collections.emptyList());
+    }
+
+    @Override
+    public Map<UsageId, List<UsageConfigCombinationEntity>> findByUsageIds(List<UsageId> usageIds) {
+        if (usageIds == null || usageIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> ids = usageIds.stream()
+                .map(UsageId::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        List<UsageConfigCombinationPO> combinationPOs = combinationDao.selectByUsageIds(ids);
         if (combinationPOs == null || combinationPOs.isEmpty()) {
-            return Collections.emptyList();
+            return Collections.emptyMap();
         }
         List<UsageConfigCombinationEntity> entities = UsageConfigCombinationConverter.toEntityList(combinationPOs);
-        // 为每个组合查询并设置配置项列表
+        // 一次查询所有组合的明细，再按组合回填配置项ID列表
+        Map<UsageConfigCombinationId, List<UsageConfigCombinationDetailEntity>> detailsByCombinationId =
+                detailRepository.findByCombinationIds(entities.stream()
+                        .map(UsageConfigCombinationEntity::getId)
+                        .collect(Collectors.toList()));
         for (UsageConfigCombinationEntity entity : entities) {
-            List<UsageConfigCombinationDetailEntity> details =
-                    detailRepository.findByCombinationId(entity.getId());
-            List<ConfigItemId> configItemIds =
-                    UsageConfigCombinationDetailConverter.extractConfigItemIds(details);
+            List<ConfigItemId> configItemIds = UsageConfigCombinationDetailConverter.extractConfigItemIds(
+                    detailsByCombinationId.getOrDefault(entity.getId(), Collections.emptyList()));
             entity.setConfigItemIds(configItemIds);
         }
 
-        return entities;
+        return entities.stream()
+                .collect(Collectors.groupingBy(
+                        UsageConfigCombinationEntity::getUsageId,
+                        LinkedHashMap::new,
+                        Collectors.toList()));
     }
 
     @Override
@@ -17,14 +17,15 @@ import cn.cug.sxy.infrastructure.minio.IFileStorageService;
 import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.enums.TemplateFileType;
 import cn.cug.sxy.types.exception.AppException;
+import com.google.common.collect.Lists;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -36,17 +37,25 @@ import java.util.stream.Collectors;
 @Repository
 public class UsagePartRepository implements IUsagePartRepository {
 
+    /**
+     * 单条批量SQL的最大行数
+     */
+    private static final int BATCH_SIZE = 1000;
+
     private final IUsagePartDao usagePartDao;
     private final IPartDao partDao;
     private final IFileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
 
     public UsagePartRepository(
             IUsagePartDao usagePartDao,
             IPartDao partDao,
-            IFileStorageService fileStorageService) {
+            IFileStorageService fileStorageService,
+            TransactionTemplate transactionTemplate) {
         this.usagePartDao = usagePartDao;
         this.partDao = partDao;
         this.fileStorageService = fileStorageService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -108,18 +117,44 @@ public class UsagePartRepository implements IUsagePartRepository {
         if (usageId == null) {
             return List.of();
         }
-        List<UsagePartPO> usagePartPOList = usagePartDao.selectByUsageId(usageId.getId());
-        List<UsagePartEntity> result = new ArrayList<>();
 
+        return findByUsageIds(List.of(usageId)).getOrDefault(usageId, List.of());
+    }
+
+    @Override
+    public Map<UsageId, List<UsagePartEntity>> findByUsageIds(Collection<UsageId> usageIds) {
+        if (usageIds == null || usageIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = usageIds.stream()
+                .map(UsageId::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        List<UsagePartPO> usagePartPOList = new ArrayList<>();
+        for (List<Long> batch : Lists.partition(ids, BATCH_SIZE)) {
+            usagePartPOList.addAll(usagePartDao.selectByUsageIds(batch));
+        }
+        if (usagePartPOList.isEmpty()) {
+            return Map.of();
+        }
+        // 一次性补全备件编码与名称
+        List<Long> partIds = usagePartPOList.stream()
+                .map(UsagePartPO::getPartId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, PartPO> partMap = new HashMap<>();
+        for (List<Long> batch : Lists.partition(partIds, BATCH_SIZE)) {
+            partDao.selectByIds(batch).forEach(partPO -> partMap.put(partPO.getId(), partPO));
+        }
+        Map<UsageId, List<UsagePartEntity>> result = new LinkedHashMap<>();
         for (UsagePartPO po : usagePartPOList) {
             UsagePartEntity entity = UsagePartConverter.toEntity(po);
-            // 查询备件信息
-            PartPO partPO = partDao.selectById(po.getPartId());
+            PartPO partPO = partMap.get(po.getPartId());
             if (partPO != null) {
                 entity.setPartCode(partPO.getPartCode());
                 entity.setPartName(partPO.getPartName());
             }
-            result.add(entity);
+            result.computeIfAbsent(entity.getUsageId(), key -> new ArrayList<>()).add(entity);
         }
 
         return result;
@@ -146,6 +181,57 @@ public class UsagePartRepository implements IUsagePartRepository {
         return Optional.of(UsagePartConverter.toEntity(usagePartPO));
     }
 
+    @Override
+    public List<UsagePartEntity> findByUsageIdAndPartIds(UsageId usageId, Collection<PartId> partIds) {
+        if (usageId == null || partIds == null || partIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = partIds.stream()
+                .map(PartId::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        List<UsagePartEntity> result = new ArrayList<>();
+        for (List<Long> chunk : Lists.partition(ids, BATCH_SIZE)) {
+            result.addAll(UsagePartConverter.toEntityList(usagePartDao.selectByUsageIdAndPartIds(usageId.getId(), chunk)));
+        }
+
+        return result;
+    }
+
+    @Override
+    public int batchUpsert(UsageId usageId, List<UsagePartEntity> usagePartEntities) {
+        if (usageId == null || usagePartEntities == null || usagePartEntities.isEmpty()) {
+            return 0;
+        }
+        List<UsagePartPO> toInsert = new ArrayList<>();
+        List<UsagePartPO> toUpdate = new ArrayList<>();
+        for (UsagePartEntity entity : usagePartEntities) {
+            UsagePartPO po = UsagePartConverter.toPO(entity);
+            if (po.getId() == null) {
+                toInsert.add(po);
+            } else {
+                toUpdate.add(po);
+            }
+        }
+        Integer affected = transactionTemplate.execute(status -> {
+            try {
+                int count = 0;
+                for (List<UsagePartPO> chunk : Lists.partition(toInsert, BATCH_SIZE)) {
+                    count += usagePartDao.batchInsert(chunk);
+                }
+                for (List<UsagePartPO> chunk : Lists.partition(toUpdate, BATCH_SIZE)) {
+                    count += usagePartDao.batchUpdateCount(usageId.getId(), chunk);
+                }
+                return count;
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                throw new AppException("批量写入用法备件关联失败", e);
+            }
+        });
+
+        return affected == null ? 0 : affected;
+    }
+
     @Override
     public boolean exists(UsageId usageId, PartId partId) {
         if (usageId == null || partId == null) {
@@ -156,8 +242,8 @@ public class UsagePartRepository implements IUsagePartRepository {
     }
 
     @Override
-    public List<UsageBindPartExcelData> readUsagePartExcel(MultipartFile file) throws IOException {
-        return ExcelUtils.readExcel(file, new UsageBindPartExcelRowParser());
+    public int readUsagePartExcel(MultipartFile file, Consumer<List<UsageBindPartExcelData>> batchConsumer) throws IOException {
+        return ExcelUtils.readExcel(file, new UsageBindPartExcelRowParser(), ExcelUtils.DEFAULT_BATCH_SIZE, ExcelUtils.DEFAULT_MAX_ROWS, batchConsumer);
     }
 
     @Override
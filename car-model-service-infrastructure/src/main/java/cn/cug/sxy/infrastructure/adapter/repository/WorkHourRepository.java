@@ -13,17 +13,21 @@ import cn.cug.sxy.infrastructure.local.excel.WorkHourDataValidator;
 import cn.cug.sxy.infrastructure.local.excel.WorkHourExcelRowParser;
 import cn.cug.sxy.infrastructure.minio.IFileStorageService;
 import cn.cug.sxy.infrastructure.local.excel.ExcelUtils;
+import cn.cug.sxy.infrastructure.redis.IRedisService;
+import cn.cug.sxy.types.common.Constants;
 import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.enums.TemplateFileType;
 import cn.cug.sxy.types.exception.AppException;
+import com.google.common.collect.Lists;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
@@ -35,17 +39,38 @@ import java.util.stream.Collectors;
 @Repository
 public class WorkHourRepository implements IWorkHourRepository {
 
+    /**
+     * 单次 IN 查询的最大ID数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 工时树最大层级，防止脏数据成环时无限加载
+     */
+    private static final int MAX_TREE_DEPTH = 16;
+
+    /**
+     * 工时树缓存时长（分钟），写操作会主动失效，过期仅作兜底
+     */
+    private static final long TREE_CACHE_EXPIRE_MINUTES = 60;
+
     private final IWorkHourDao workHourDao;
     private final IPartHourDao partHourDao;
     private final IFileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final IRedisService redisService;
 
     public WorkHourRepository(
             IWorkHourDao workHourDao,
             IPartHourDao partHourDao,
-            IFileStorageService fileStorageService) {
+            IFileStorageService fileStorageService,
+            TransactionTemplate transactionTemplate,
+            IRedisService redisService) {
         this.workHourDao = workHourDao;
         this.partHourDao = partHourDao;
         this.fileStorageService = fileStorageService;
+        this.transactionTemplate = transactionTemplate;
+        this.redisService = redisService;
     }
 
     @Override
@@ -60,6 +85,32 @@ public class WorkHourRepository implements IWorkHourRepository {
         return workHourEntity;
     }
 
+    @Override
+    public int saveBatch(List<WorkHourEntity> workHourEntities, int chunkSize) {
+        if (workHourEntities == null || workHourEntities.isEmpty()) {
+            return 0;
+        }
+        List<WorkHourPO> workHourPOList = workHourEntities.stream()
+                .map(WorkHourConverter::toPO)
+                .collect(Collectors.toList());
+        Integer inserted = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (List<WorkHourPO> chunk : Lists.partition(workHourPOList, Math.max(1, chunkSize))) {
+                count += workHourDao.batchInsert(chunk);
+            }
+            return count;
+        });
+        // 回填生成的ID
+        for (int i = 0; i < workHourEntities.size(); i++) {
+            Long id = workHourPOList.get(i).getId();
+            if (id != null && workHourEntities.get(i).getId() == null) {
+                workHourEntities.get(i).setId(new WorkHourId(id));
+            }
+        }
+
+        return inserted == null ? 0 : inserted;
+    }
+
     @Override
     public Optional<WorkHourEntity> findById(WorkHourId workHourId) {
         if (workHourId == null) {
@@ -138,6 +189,23 @@ public class WorkHourRepository implements IWorkHourRepository {
         return workHourDao.existsByCode(workHourCode.getCode());
     }
 
+    @Override
+    public Set<WorkHourCode> findExistingCodes(Collection<WorkHourCode> workHourCodes, int chunkSize) {
+        if (workHourCodes == null || workHourCodes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> codes = workHourCodes.stream()
+                .map(WorkHourCode::getCode)
+                .distinct()
+                .collect(Collectors.toList());
+        Set<WorkHourCode> existingCodes = new HashSet<>();
+        for (List<String> chunk : Lists.partition(codes, Math.max(1, chunkSize))) {
+            workHourDao.selectExistingCodes(chunk).forEach(code -> existingCodes.add(new WorkHourCode(code)));
+        }
+
+        return existingCodes;
+    }
+
     @Override
     public boolean remove(WorkHourId workHourId) {
         if (workHourId == null) {
@@ -163,16 +231,9 @@ public class WorkHourRepository implements IWorkHourRepository {
         if (workHourId == null) {
             return null;
         }
-        // 先查找根节点
-        Optional<WorkHourEntity> rootOpt = findById(workHourId);
-        if (!rootOpt.isPresent()) {
-            return null;
-        }
-        WorkHourEntity root = rootOpt.get();
-        // 递归构建树结构
-        buildWorkHourTree(root);
+        List<WorkHourEntity> trees = findWorkHourTrees(Collections.singletonList(workHourId.getId()));
 
-        return root;
+        return trees.isEmpty() ? null : trees.get(0);
     }
 
     @Override
@@ -186,9 +247,25 @@ public class WorkHourRepository implements IWorkHourRepository {
             return List.of();
         }
 
-        return partHourPOList.stream()
-                .map(partHourPO -> findWorkHourTree(new WorkHourId(partHourPO.getHourId())))
-                .collect(Collectors.toList());
+        return findWorkHourTrees(partHourPOList.stream()
+                .map(PartHourPO::getHourId)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void evictWorkHourTree(WorkHourId workHourId) {
+        if (workHourId == null) {
+            return;
+        }
+        // 变更节点出现在自身及所有祖先为根的树中
+        List<String> cacheKeys = new ArrayList<>();
+        Long currentId = workHourId.getId();
+        for (int depth = 0; currentId != null && depth < MAX_TREE_DEPTH; depth++) {
+            cacheKeys.add(getTreeByRootIdCacheKey(currentId));
+            WorkHourPO workHourPO = workHourDao.selectById(currentId);
+            currentId = workHourPO == null ? null : workHourPO.getParentId();
+        }
+        redisService.remove(cacheKeys);
     }
 
     @Override
@@ -202,8 +279,8 @@ public class WorkHourRepository implements IWorkHourRepository {
     }
 
     @Override
-    public List<WorkHourExcelData> readWorkHourExcel(MultipartFile file) throws IOException {
-        return ExcelUtils.readExcel(file, new WorkHourExcelRowParser());
+    public int readWorkHourExcel(MultipartFile file, Consumer<List<WorkHourExcelData>> batchConsumer) throws IOException {
+        return ExcelUtils.readExcel(file, new WorkHourExcelRowParser(), ExcelUtils.DEFAULT_BATCH_SIZE, ExcelUtils.DEFAULT_MAX_ROWS, batchConsumer);
     }
 
     @Override
@@ -226,19 +303,128 @@ public class WorkHourRepository implements IWorkHourRepository {
     }
 
     /**
-     * 递归构建工时树
+     * 批量查找工时树：先批量读取缓存，未命中的根节点按层一次性加载整棵树
+     *
+     * @param rootIds 根工时ID列表
+     * @return 工时树列表，顺序与入参一致，不存在的根节点被忽略
+     */
+    private List<WorkHourEntity> findWorkHourTrees(List<Long> rootIds) {
+        List<Long> distinctRootIds = rootIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (distinctRootIds.isEmpty()) {
+            return List.of();
+        }
+        List<List<WorkHourPO>> cachedRows = redisService.mget(distinctRootIds.stream()
+                .map(this::getTreeByRootIdCacheKey)
+                .collect(Collectors.toList()));
+        Map<Long, List<WorkHourPO>> treeRows = new HashMap<>();
+        List<Long> missingRootIds = new ArrayList<>();
+        for (int i = 0; i < distinctRootIds.size(); i++) {
+            List<WorkHourPO> rows = cachedRows.get(i);
+            if (rows != null) {
+                treeRows.put(distinctRootIds.get(i), rows);
+            } else {
+                missingRootIds.add(distinctRootIds.get(i));
+            }
+        }
+        if (!missingRootIds.isEmpty()) {
+            loadTreeRows(missingRootIds).forEach((rootId, rows) -> {
+                treeRows.put(rootId, rows);
+                redisService.setValue(getTreeByRootIdCacheKey(rootId), rows, TREE_CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES);
+            });
+        }
+
+        return rootIds.stream()
+                .map(treeRows::get)
+                .filter(Objects::nonNull)
+                .map(this::assembleTree)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 按层加载多棵工时树的全部节点：根节点一次查询，此后每一层一次查询
+     *
+     * @param rootIds 根工时ID列表
+     * @return 根工时ID -> 该树的全部节点（根节点在首位）
+     */
+    private Map<Long, List<WorkHourPO>> loadTreeRows(List<Long> rootIds) {
+        Map<Long, WorkHourPO> rowsById = new HashMap<>();
+        Map<Long, List<WorkHourPO>> childrenByParentId = new HashMap<>();
+        List<Long> frontier = new ArrayList<>();
+        for (List<Long> chunk : Lists.partition(rootIds, BATCH_SIZE)) {
+            for (WorkHourPO workHourPO : workHourDao.selectByIds(chunk)) {
+                rowsById.put(workHourPO.getId(), workHourPO);
+                frontier.add(workHourPO.getId());
+            }
+        }
+        for (int depth = 0; !frontier.isEmpty() && depth < MAX_TREE_DEPTH; depth++) {
+            List<Long> nextFrontier = new ArrayList<>();
+            for (List<Long> chunk : Lists.partition(frontier, BATCH_SIZE)) {
+                for (WorkHourPO child : workHourDao.selectByParentIds(chunk)) {
+                    childrenByParentId.computeIfAbsent(child.getParentId(), key -> new ArrayList<>()).add(child);
+                    // 请求的根节点也可能是另一棵树的子节点，已加载过的节点不再向下展开
+                    if (rowsById.putIfAbsent(child.getId(), child) == null) {
+                        nextFrontier.add(child.getId());
+                    }
+                }
+            }
+            frontier = nextFrontier;
+        }
+        Map<Long, List<WorkHourPO>> treeRows = new HashMap<>();
+        for (Long rootId : rootIds) {
+            WorkHourPO root = rowsById.get(rootId);
+            if (root == null) {
+                continue;
+            }
+            List<WorkHourPO> rows = new ArrayList<>();
+            Deque<WorkHourPO> stack = new ArrayDeque<>();
+            Set<Long> visited = new HashSet<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                WorkHourPO current = stack.pop();
+                if (!visited.add(current.getId())) {
+                    continue;
+                }
+                rows.add(current);
+                childrenByParentId.getOrDefault(current.getId(), List.of()).forEach(stack::push);
+            }
+            treeRows.put(rootId, rows);
+        }
+
+        return treeRows;
+    }
+
+    /**
+     * 在内存中组装工时树，子节点按步骤顺序号排序
+     *
+     * @param rows 树的全部节点，根节点在首位
+     * @return 根节点
      */
-    private void buildWorkHourTree(WorkHourEntity parent) {
-        List<WorkHourEntity> children = findByParentId(parent.getId());
-        children.sort(Comparator.comparing(WorkHourEntity::getStepOrder));
-        if (!children.isEmpty()) {
-            // 为每个子节点递归构建子树
-            for (WorkHourEntity child : children) {
-                buildWorkHourTree(child);
+    private WorkHourEntity assembleTree(List<WorkHourPO> rows) {
+        Map<Long, WorkHourEntity> entitiesById = new LinkedHashMap<>();
+        rows.forEach(row -> entitiesById.put(row.getId(), WorkHourConverter.toEntity(row)));
+        WorkHourEntity root = entitiesById.get(rows.get(0).getId());
+        Map<Long, List<WorkHourEntity>> childrenByParentId = new HashMap<>();
+        for (WorkHourEntity entity : entitiesById.values()) {
+            if (entity != root && entity.getParentId() != null) {
+                childrenByParentId.computeIfAbsent(entity.getParentId().getId(), key -> new ArrayList<>()).add(entity);
             }
-            // 将子节点设置到父节点的children属性中
-            parent.setChildren(children);
         }
+        childrenByParentId.forEach((parentId, children) -> {
+            WorkHourEntity parent = entitiesById.get(parentId);
+            if (parent != null) {
+                children.sort(Comparator.comparing(WorkHourEntity::getStepOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+                parent.setChildren(children);
+            }
+        });
+
+        return root;
+    }
+
+    private String getTreeByRootIdCacheKey(Long rootId) {
+        return Constants.RedisKey.WORK_HOUR_TREE_BY_ROOT_ID_KEY + rootId;
     }
 
 } 
\ No newline at end of file
@@ -0,0 +1,111 @@
+package cn.cug.sxy.infrastructure.converter;
+
+import cn.cug.sxy.domain.event.model.valobj.TaskState;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.model.valobj.ImportJobType;
+import cn.cug.sxy.infrastructure.dao.po.TaskPO;
+import com.alibaba.fastjson2.JSON;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 11:30
+ * @Description 导入任务转换器：任务状态映射到 task 表的状态列，其余字段序列化到 message 列
+ * @Author jerryhotton
+ */
+
+public class ImportJobConverter {
+
+    /**
+     * 将导入任务实体转换为TaskPO
+     *
+     * @param entity 导入任务实体
+     * @return 任务PO
+     */
+    public static TaskPO toPO(ImportJobEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        ImportJobPayload payload = new ImportJobPayload();
+        payload.setParams(entity.getParams());
+        payload.setCreator(entity.getCreator());
+        payload.setFileName(entity.getFileName());
+        payload.setContentType(entity.getContentType());
+        payload.setFileSize(entity.getFileSize());
+        payload.setSourcePath(entity.getSourcePath());
+        payload.setReportPath(entity.getReportPath());
+        payload.setTotalRows(entity.getTotalRows());
+        payload.setSuccessRows(entity.getSuccessRows());
+        payload.setFailedRows(entity.getFailedRows());
+        payload.setStartedTime(entity.getStartedTime());
+        payload.setFinishedTime(entity.getFinishedTime());
+
+        TaskPO taskPO = new TaskPO();
+        taskPO.setMessageId(entity.getJobId());
+        taskPO.setTopic(entity.getJobType().getTopic());
+        taskPO.setMessage(JSON.toJSONString(payload));
+        taskPO.setState(entity.getState().getCode());
+        // 导入任务不参与消息重试
+        taskPO.setRetryCount(0);
+        taskPO.setMaxRetries(0);
+        taskPO.setErrorMessage(entity.getErrorMessage());
+
+        return taskPO;
+    }
+
+    /**
+     * 将TaskPO转换为导入任务实体
+     *
+     * @param taskPO 任务PO
+     * @return 导入任务实体
+     */
+    public static ImportJobEntity toEntity(TaskPO taskPO) {
+        if (taskPO == null) {
+            return null;
+        }
+        ImportJobPayload payload = JSON.parseObject(taskPO.getMessage(), ImportJobPayload.class);
+
+        return ImportJobEntity.builder()
+                .jobId(taskPO.getMessageId())
+                .jobType(ImportJobType.fromTopic(taskPO.getTopic()))
+                .state(TaskState.fromCode(taskPO.getState()))
+                .params(payload.getParams())
+                .creator(payload.getCreator())
+                .fileName(payload.getFileName())
+                .contentType(payload.getContentType())
+                .fileSize(payload.getFileSize())
+                .sourcePath(payload.getSourcePath())
+                .reportPath(payload.getReportPath())
+                .totalRows(payload.getTotalRows())
+                .successRows(payload.getSuccessRows())
+                .failedRows(payload.getFailedRows())
+                .errorMessage(taskPO.getErrorMessage())
+                .startedTime(payload.getStartedTime())
+                .finishedTime(payload.getFinishedTime())
+                .createdTime(taskPO.getCreatedTime())
+                .updatedTime(taskPO.getUpdatedTime())
+                .build();
+    }
+
+    @Data
+    public static class ImportJobPayload {
+
+        private Map<String, String> params;
+        private String creator;
+        private String fileName;
+        private String contentType;
+        private Long fileSize;
+        private String sourcePath;
+        private String reportPath;
+        private Integer totalRows;
+        private Integer successRows;
+        private Integer failedRows;
+        private LocalDateTime startedTime;
+        private LocalDateTime finishedTime;
+
+    }
+
+}
@@ -39,6 +39,7 @@ public class InstanceStructureNodeConverter {
         po.setUsageId(entity.getUsageId());
         po.setNodePath(entity.getNodePath());
         po.setNodeLevel(entity.getNodeLevel());
+        po.setSubtreeHash(entity.getSubtreeHash());
         po.setStatus(entity.getStatus().getCode());
         po.setCreator(entity.getCreator());
         po.setCreatedTime(entity.getCreatedTime());
@@ -66,6 +67,7 @@ public class InstanceStructureNodeConverter {
                 .usageId(po.getUsageId())
                 .nodePath(po.getNodePath())
                 .nodeLevel(po.getNodeLevel())
+                .subtreeHash(po.getSubtreeHash())
                 .status(Status.fromCode(po.getStatus()))
                 .creator(po.getCreator())
                 .createdTime(po.getCreatedTime())
@@ -0,0 +1,150 @@
+package cn.cug.sxy.infrastructure.converter;
+
+import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceNodeId;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceTreeSnapshot;
+import cn.cug.sxy.domain.structure.model.valobj.NodeType;
+import cn.cug.sxy.types.enums.Status;
+import cn.cug.sxy.types.exception.AppException;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 11:05
+ * @Description 实例全树快照二进制转换（紧凑字段编码 + GZIP），避免读取时逐个节点做 JSON 反序列化
+ * @Author jerryhotton
+ */
+
+public class InstanceTreeSnapshotConverter {
+
+    /**
+     * 格式版本，字段布局变化时递增，旧版本数据解码失败后按缺失快照处理
+     */
+    private static final byte FORMAT_VERSION = 2;
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    public static byte[] toBytes(InstanceTreeSnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(bytes)))) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(snapshot.getInstanceId().getId());
+            writeTime(out, snapshot.getWatermark());
+            List<StructureInstanceNodeEntity> nodes = snapshot.getNodes();
+            out.writeInt(nodes.size());
+            for (StructureInstanceNodeEntity node : nodes) {
+                out.writeLong(node.getId().getId());
+                out.writeLong(node.getParentId() == null ? NULL_LONG : node.getParentId().getId());
+                writeString(out, node.getNodeType() == null ? null : node.getNodeType().getCode());
+                writeString(out, node.getNodeCode());
+                writeString(out, node.getNodeName());
+                writeString(out, node.getNodeNameEn());
+                out.writeInt(node.getSortOrder() == null ? NULL_INT : node.getSortOrder());
+                out.writeLong(node.getCategoryId() == null ? NULL_LONG : node.getCategoryId());
+                out.writeLong(node.getGroupId() == null ? NULL_LONG : node.getGroupId());
+                out.writeLong(node.getUsageId() == null ? NULL_LONG : node.getUsageId());
+                writeString(out, node.getNodePath());
+                out.writeInt(node.getNodeLevel() == null ? NULL_INT : node.getNodeLevel());
+                writeString(out, node.getSubtreeHash());
+                writeString(out, node.getStatus() == null ? null : node.getStatus().getCode());
+                writeString(out, node.getCreator());
+                writeTime(out, node.getCreatedTime());
+                writeTime(out, node.getUpdatedTime());
+            }
+        } catch (IOException e) {
+            throw new AppException("实例全树快照序列化失败", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static InstanceTreeSnapshot toSnapshot(byte[] data, String etag) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(data))))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                return null;
+            }
+            InstanceId instanceId = new InstanceId(in.readLong());
+            LocalDateTime watermark = readTime(in);
+            int size = in.readInt();
+            List<StructureInstanceNodeEntity> nodes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long id = in.readLong();
+                long parentId = in.readLong();
+                String nodeType = readString(in);
+                StructureInstanceNodeEntity.StructureInstanceNodeEntityBuilder builder = StructureInstanceNodeEntity.builder()
+                        .id(new InstanceNodeId(id))
+                        .instanceId(instanceId)
+                        .parentId(parentId == NULL_LONG ? null : new InstanceNodeId(parentId))
+                        .nodeType(NodeType.fromCode(nodeType))
+                        .nodeCode(readString(in))
+                        .nodeName(readString(in))
+                        .nodeNameEn(readString(in))
+                        .sortOrder(readInt(in))
+                        .categoryId(readLong(in))
+                        .groupId(readLong(in))
+                        .usageId(readLong(in))
+                        .nodePath(readString(in))
+                        .nodeLevel(readInt(in))
+                        .subtreeHash(readString(in));
+                String status = readString(in);
+                nodes.add(builder
+                        .status(status == null ? null : Status.fromCode(status))
+                        .creator(readString(in))
+                        .createdTime(readTime(in))
+                        .updatedTime(readTime(in))
+                        .build());
+            }
+            return InstanceTreeSnapshot.builder()
+                    .instanceId(instanceId)
+                    .etag(etag)
+                    .nodes(nodes)
+                    .watermark(watermark)
+                    .build();
+        } catch (IOException e) {
+            throw new AppException("实例全树快照反序列化失败", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        int value = in.readInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        long value = in.readLong();
+        return value == NULL_LONG ? null : value;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time == null ? NULL_LONG : time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time == null ? 0 : time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return seconds == NULL_LONG ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+}
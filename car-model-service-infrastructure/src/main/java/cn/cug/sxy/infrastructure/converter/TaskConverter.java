@@ -33,6 +33,8 @@ public class TaskConverter {
         taskPO.setMessageId(entity.getMessageId());
         taskPO.setTopic(entity.getTopic());
         taskPO.setMessage(entity.getMessage());
+        taskPO.setExchange(entity.getExchange());
+        taskPO.setRoutingKey(entity.getRoutingKey());
         taskPO.setState(entity.getState() != null ? entity.getState().getCode() : null);
         taskPO.setRetryCount(entity.getRetryCount());
         taskPO.setMaxRetries(entity.getMaxRetries());
@@ -40,6 +42,7 @@ public class TaskConverter {
         taskPO.setLastRetryTime(entity.getLastRetryTime());
         taskPO.setCreatedTime(entity.getCreatedTime());
         taskPO.setUpdatedTime(entity.getUpdatedTime());
+        taskPO.setArchivedTime(entity.getArchivedTime());
 
         return taskPO;
     }
@@ -59,6 +62,8 @@ public class TaskConverter {
                 .messageId(taskPO.getMessageId())
                 .topic(taskPO.getTopic())
                 .message(taskPO.getMessage())
+                .exchange(taskPO.getExchange())
+                .routingKey(taskPO.getRoutingKey())
                 .state(TaskState.fromCode(taskPO.getState()))
                 .retryCount(taskPO.getRetryCount())
                 .maxRetries(taskPO.getMaxRetries())
@@ -66,6 +71,7 @@ public class TaskConverter {
                 .lastRetryTime(taskPO.getLastRetryTime())
                 .createdTime(taskPO.getCreatedTime())
                 .updatedTime(taskPO.getUpdatedTime())
+                .archivedTime(taskPO.getArchivedTime())
                 .build();
     }
 
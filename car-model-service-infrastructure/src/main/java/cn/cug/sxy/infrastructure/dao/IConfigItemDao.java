@@ -47,6 +47,21 @@ public interface IConfigItemDao {
      */
     List<ConfigItemPO> selectEnabledByCategoryId(Long categoryId);
 
+    /**
+     * 根据类别ID查询全部配置项ID（不区分状态）
+     *
+     * @param categoryId 类别ID
+     * @return 配置项ID列表
+     */
+    List<Long> selectIdsByCategoryId(Long categoryId);
+
+    /**
+     * 查询全部可用的配置项
+     *
+     * @return 配置项列表（按类别ID、配置项编码排序）
+     */
+    List<ConfigItemPO> selectAllEnabled();
+
     /**
      * 根据配置项编码查询配置项
      *
@@ -0,0 +1,77 @@
+package cn.cug.sxy.infrastructure.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/24 10:20
+ * @Description 车型结构树实例节点闭包表数据访问接口
+ * @Author jerryhotton
+ */
+
+@Mapper
+public interface IInstanceNodeClosureDao {
+
+    /**
+     * 为新插入的节点写入闭包关系：复制父节点的全部祖先关系（层级差+1）并补充自身关系，
+     * 调用前父节点的闭包关系须已写入
+     *
+     * @param nodeIds 节点ID列表
+     * @return 影响的行数
+     */
+    int insertForNodes(@Param("nodeIds") List<Long> nodeIds);
+
+    /**
+     * 删除子树与子树外祖先之间的关系（移动节点时断开原祖先链）
+     *
+     * @param nodeId 子树根节点ID
+     * @return 影响的行数
+     */
+    int deleteOuterLinks(@Param("nodeId") Long nodeId);
+
+    /**
+     * 将子树挂接到新父节点的祖先链上
+     *
+     * @param nodeId   子树根节点ID
+     * @param parentId 新父节点ID
+     * @return 影响的行数
+     */
+    int insertOuterLinks(@Param("nodeId") Long nodeId, @Param("parentId") Long parentId);
+
+    /**
+     * 删除节点作为祖先或后代的全部关系
+     *
+     * @param nodeIds 节点ID列表
+     * @return 影响的行数
+     */
+    int deleteByNodeIds(@Param("nodeIds") List<Long> nodeIds);
+
+    /**
+     * 删除实例的全部关系
+     *
+     * @param instanceId 实例ID
+     * @return 影响的行数
+     */
+    int deleteByInstanceId(Long instanceId);
+
+    /**
+     * 查询子树内全部节点ID（含子树根节点）
+     *
+     * @param ancestorId 子树根节点ID
+     * @return 节点ID列表
+     */
+    List<Long> selectSubtreeIds(@Param("ancestorId") Long ancestorId);
+
+    /**
+     * 统计两节点间的祖先关系（含自身关系）
+     *
+     * @param ancestorId   祖先节点ID
+     * @param descendantId 后代节点ID
+     * @return 存在关系时为1
+     */
+    int countLink(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+}
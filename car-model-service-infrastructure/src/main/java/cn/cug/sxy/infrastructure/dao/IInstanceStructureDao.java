@@ -2,7 +2,9 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.InstanceStructurePO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -110,6 +112,28 @@ public interface IInstanceStructureDao {
      */
     List<InstanceStructurePO> selectByCondition(InstanceStructurePO instancePO);
 
+    /**
+     * 游标分页条件查询，按创建时间、ID倒序
+     *
+     * @param condition  查询条件
+     * @param cursorTime 上一页末行的创建时间，首页为空
+     * @param cursorId   上一页末行的ID，首页为空
+     * @param limit      数量上限
+     * @return 查询结果
+     */
+    List<InstanceStructurePO> selectByConditionSeek(@Param("condition") InstanceStructurePO condition,
+                                                    @Param("cursorTime") LocalDateTime cursorTime,
+                                                    @Param("cursorId") Long cursorId,
+                                                    @Param("limit") int limit);
+
+    /**
+     * 按条件统计数量
+     *
+     * @param condition 查询条件
+     * @return 记录数
+     */
+    long countByCondition(@Param("condition") InstanceStructurePO condition);
+
     /**
      * 删除实例
      *
@@ -2,7 +2,9 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.InstanceStructureNodePO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -64,12 +66,43 @@ public interface IInstanceStructureNodeDao {
     int updateSortOrder(InstanceStructureNodePO nodePO);
 
     /**
-     * 根据节点路径前缀更新状态
+     * 更新子树（含子树根节点）全部节点的状态
      *
-     * @param po 节点PO
+     * @param ancestorId 子树根节点ID
+     * @param status     状态
      * @return 影响的行数
      */
-    int updateStatusByNodePathStartWith(InstanceStructureNodePO po);
+    int updateStatusBySubtree(@Param("ancestorId") Long ancestorId, @Param("status") String status);
+
+    /**
+     * 批量更新节点路径和层级
+     *
+     * @param nodeList 节点PO列表（需包含ID、路径和层级）
+     * @return 影响的行数
+     */
+    int batchUpdatePathAndLevel(List<InstanceStructureNodePO> nodeList);
+
+    /**
+     * 批量更新节点子树哈希（派生值，不改变更新时间）
+     *
+     * @param nodeList 节点PO列表（需包含ID与子树哈希）
+     * @return 影响的行数
+     */
+    int batchUpdateSubtreeHash(List<InstanceStructureNodePO> nodeList);
+
+    /**
+     * 整体替换子树（不含子树根节点）的路径前缀并平移层级
+     *
+     * @param ancestorId    子树根节点ID
+     * @param oldPathPrefix 原路径前缀（子树根节点原路径）
+     * @param newPathPrefix 新路径前缀（子树根节点新路径）
+     * @param levelDiff     层级差值
+     * @return 影响的行数
+     */
+    int updateSubtreePathAndLevel(@Param("ancestorId") Long ancestorId,
+                                  @Param("oldPathPrefix") String oldPathPrefix,
+                                  @Param("newPathPrefix") String newPathPrefix,
+                                  @Param("levelDiff") int levelDiff);
 
     /**
      * 根据ID查询节点
@@ -143,6 +176,59 @@ public interface IInstanceStructureNodeDao {
      */
     List<InstanceStructureNodePO> selectByNodePathLike(String pathPattern);
 
+    /**
+     * 查询实例中更新时间不早于指定时间的节点
+     *
+     * @param instanceId   实例ID
+     * @param updatedSince 起始更新时间
+     * @return 节点PO列表
+     */
+    List<InstanceStructureNodePO> selectByInstanceIdUpdatedSince(@Param("instanceId") Long instanceId,
+                                                                 @Param("updatedSince") LocalDateTime updatedSince);
+
+    /**
+     * 查询实例全部节点ID
+     *
+     * @param instanceId 实例ID
+     * @return 节点ID列表
+     */
+    List<Long> selectIdsByInstanceId(Long instanceId);
+
+    /**
+     * 按ID升序分批查询未删除节点的检索字段，用于构建名称检索索引
+     *
+     * @param afterId 上一批最后一个节点ID
+     * @param limit   批大小
+     * @return 仅包含id、instanceId、nodeCode、nodeName、nodeNameEn、status的节点PO列表
+     */
+    List<InstanceStructureNodePO> selectSearchBatch(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * 查询子树（不含子树根节点）的节点ID与父节点ID，用于清理缓存
+     *
+     * @param ancestorId 子树根节点ID
+     * @return 仅包含id、parentId、instanceId的节点PO列表
+     */
+    List<InstanceStructureNodePO> selectDescendantKeys(@Param("ancestorId") Long ancestorId);
+
+    /**
+     * 查询节点的后代节点（不含自身），按层级差、排序序号排序
+     *
+     * @param ancestorId 祖先节点ID
+     * @param maxDepth   最大层级差，为null时不限
+     * @return 节点PO列表
+     */
+    List<InstanceStructureNodePO> selectDescendants(@Param("ancestorId") Long ancestorId,
+                                                    @Param("maxDepth") Integer maxDepth);
+
+    /**
+     * 查询节点的祖先链（不含自身），根节点在前
+     *
+     * @param descendantId 后代节点ID
+     * @return 节点PO列表
+     */
+    List<InstanceStructureNodePO> selectAncestors(@Param("descendantId") Long descendantId);
+
     /**
      * 根据用法ID查询节点
      *
@@ -168,12 +254,12 @@ public interface IInstanceStructureNodeDao {
     int deleteByInstanceId(Long instanceId);
 
     /**
-     * 根据节点路径前缀删除节点
+     * 批量删除节点
      *
-     * @param nodePath 节点路径前缀
+     * @param ids 节点ID列表
      * @return 影响的行数
      */
-    int deleteByNodePathStartWith(String nodePath);
+    int deleteByIds(@Param("ids") List<Long> ids);
 
     /**
      * 根据用法ID删除节点
@@ -199,4 +285,12 @@ public interface IInstanceStructureNodeDao {
      */
     int countByInstanceId(Long instanceId);
 
+    /**
+     * 查询实例中子树哈希为空的节点数量
+     *
+     * @param instanceId 实例ID
+     * @return 节点数量
+     */
+    int countMissingSubtreeHash(Long instanceId);
+
 }
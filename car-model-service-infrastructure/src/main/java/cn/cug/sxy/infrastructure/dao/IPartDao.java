@@ -2,6 +2,7 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.PartPO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -46,6 +47,22 @@ public interface IPartDao {
      */
     PartPO selectByCode(String partCode);
 
+    /**
+     * 根据ID批量查询备件
+     *
+     * @param ids 备件ID列表
+     * @return 备件数据对象列表
+     */
+    List<PartPO> selectByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 根据编码批量查询备件
+     *
+     * @param partCodes 备件编码列表
+     * @return 备件数据对象列表
+     */
+    List<PartPO> selectByCodes(@Param("partCodes") List<String> partCodes);
+
     /**
      * 检查备件编码是否存在
      *
@@ -61,6 +78,15 @@ public interface IPartDao {
      */
     List<PartPO> selectAll();
 
+    /**
+     * 按ID升序分批查询未删除备件，用于构建名称检索索引
+     *
+     * @param afterId 上一批最后一个备件ID
+     * @param limit   批大小
+     * @return 备件数据对象列表
+     */
+    List<PartPO> selectSearchBatch(@Param("afterId") Long afterId, @Param("limit") int limit);
+
     /**
      * 根据状态查询备件
      *
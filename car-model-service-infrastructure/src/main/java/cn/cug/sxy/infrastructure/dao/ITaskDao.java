@@ -1,5 +1,6 @@
 package cn.cug.sxy.infrastructure.dao;
 
+import cn.cug.sxy.infrastructure.dao.po.TaskArchivePartitionPO;
 import cn.cug.sxy.infrastructure.dao.po.TaskPO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -25,6 +26,14 @@ public interface ITaskDao {
      */
     int insert(TaskPO taskPO);
 
+    /**
+     * 批量插入任务记录
+     *
+     * @param tasks 任务PO列表
+     * @return 影响的行数
+     */
+    int insertBatch(@Param("tasks") List<TaskPO> tasks);
+
     /**
      * 更新任务状态
      *
@@ -40,6 +49,73 @@ public interface ITaskDao {
      */
     int updateRetryInfo(TaskPO taskPO);
 
+    /**
+     * 批量更新任务状态
+     *
+     * @param messageIds 消息ID列表
+     * @param state      任务状态
+     * @return 影响的行数
+     */
+    int updateStateBatch(@Param("messageIds") List<String> messageIds, @Param("state") String state);
+
+    /**
+     * 写入投递租约（仅待发布任务）
+     *
+     * @param messageIds 消息ID列表
+     * @param leaseUntil 租约到期时间
+     * @return 影响的行数
+     */
+    int updateRelayLease(@Param("messageIds") List<String> messageIds, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 按租约更新投递结果（仅待发布且租约未被接管的任务），state 为 CREATE 时即释放租约
+     *
+     * @param messageIds 消息ID列表
+     * @param state      任务状态
+     * @param leaseUntil 认领时写入的租约到期时间
+     * @return 影响的行数
+     */
+    int updateRelayResult(@Param("messageIds") List<String> messageIds, @Param("state") String state,
+                          @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 更新任务状态与消息体（导入任务进度）
+     *
+     * @param taskPO 任务PO
+     * @return 影响的行数
+     */
+    int updateStateAndMessage(TaskPO taskPO);
+
+    /**
+     * 按期望状态更新任务状态与消息体（导入任务认领与恢复）
+     *
+     * @param taskPO        任务PO
+     * @param expectedState 期望的当前状态
+     * @param staleBefore   更新时间上限，为空时不校验
+     * @return 影响的行数
+     */
+    int updateStateAndMessageIfMatch(@Param("task") TaskPO taskPO, @Param("expectedState") String expectedState,
+                                     @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * 刷新导入任务心跳（仅已提交与处理中的任务）
+     *
+     * @param messageIds 消息ID列表
+     * @return 影响的行数
+     */
+    int updateImportJobHeartbeat(@Param("messageIds") List<String> messageIds);
+
+    /**
+     * 查询心跳过期的导入任务
+     *
+     * @param state       任务状态
+     * @param staleBefore 更新时间上限
+     * @param limit       限制数量
+     * @return 任务PO列表
+     */
+    List<TaskPO> selectStaleImportJobs(@Param("state") String state, @Param("staleBefore") LocalDateTime staleBefore,
+                                       @Param("limit") int limit);
+
     /**
      * 根据消息ID查询任务
      *
@@ -48,6 +124,14 @@ public interface ITaskDao {
      */
     TaskPO selectByMessageId(String messageId);
 
+    /**
+     * 根据消息ID批量查询任务
+     *
+     * @param messageIds 消息ID列表
+     * @return 任务PO列表
+     */
+    List<TaskPO> selectByMessageIds(@Param("messageIds") List<String> messageIds);
+
     /**
      * 根据主题查询任务列表
      *
@@ -60,9 +144,10 @@ public interface ITaskDao {
      * 根据状态查询任务列表
      *
      * @param state 任务状态
+     * @param limit 限制数量
      * @return 任务PO列表
      */
-    List<TaskPO> selectByState(String state);
+    List<TaskPO> selectByState(@Param("state") String state, @Param("limit") int limit);
 
     /**
      * 查询失败的任务列表
@@ -72,6 +157,14 @@ public interface ITaskDao {
      */
     List<TaskPO> selectFailedTasks(int limit);
 
+    /**
+     * 查询可重试（重试次数未耗尽）的失败任务列表
+     *
+     * @param limit 限制数量
+     * @return 任务PO列表
+     */
+    List<TaskPO> selectRetryableFailedTasks(int limit);
+
     /**
      * 查询创建状态的任务列表（用于重试）
      *
@@ -80,6 +173,30 @@ public interface ITaskDao {
      */
     List<TaskPO> selectCreatedTasks(int limit);
 
+    /**
+     * 认领待发布的任务（FOR UPDATE SKIP LOCKED，需在事务内调用）
+     *
+     * @param limit 限制数量
+     * @return 任务PO列表
+     */
+    List<TaskPO> selectCreatedTasksForRelay(int limit);
+
+    /**
+     * 统计指定状态的事件任务数量
+     *
+     * @param state 任务状态
+     * @return 任务数量
+     */
+    long countEventTasksByState(String state);
+
+    /**
+     * 查询指定状态下最早创建的事件任务时间
+     *
+     * @param state 任务状态
+     * @return 最早创建时间，无任务时为空
+     */
+    LocalDateTime selectEarliestCreatedTime(String state);
+
     /**
      * 查询待处理的任务列表
      *
@@ -106,11 +223,83 @@ public interface ITaskDao {
     int deleteByMessageId(String messageId);
 
     /**
-     * 批量删除已完成的任务（清理历史数据）
+     * 分块删除已完成的任务（清理历史数据）
      *
      * @param beforeTime 时间，删除此时间之前的已完成任务
+     * @param limit      单次最多删除的行数
      * @return 影响的行数
      */
-    int deleteCompletedTasksBefore(LocalDateTime beforeTime);
+    int deleteCompletedTasksBefore(@Param("beforeTime") LocalDateTime beforeTime, @Param("limit") int limit);
+
+    /**
+     * 查询并锁定可归档的事件任务ID（FOR UPDATE SKIP LOCKED，需在事务内调用）
+     *
+     * @param state      任务状态（COMPLETED，或 FAILED 且重试次数耗尽）
+     * @param beforeTime 创建时间上限
+     * @param limit      限制数量
+     * @return 任务ID列表
+     */
+    List<Long> selectArchivableIds(@Param("state") String state, @Param("beforeTime") LocalDateTime beforeTime, @Param("limit") int limit);
+
+    /**
+     * 按ID将仍满足归档条件的任务复制到归档表
+     *
+     * @param ids        任务ID列表
+     * @param beforeTime 创建时间上限
+     * @return 影响的行数
+     */
+    int insertArchiveByIds(@Param("ids") List<Long> ids, @Param("beforeTime") LocalDateTime beforeTime);
+
+    /**
+     * 按ID删除仍满足归档条件的任务
+     *
+     * @param ids        任务ID列表
+     * @param beforeTime 创建时间上限
+     * @return 影响的行数
+     */
+    int deleteArchivableByIds(@Param("ids") List<Long> ids, @Param("beforeTime") LocalDateTime beforeTime);
+
+    /**
+     * 分块清理过期归档任务
+     *
+     * @param beforeTime 创建时间上限
+     * @param limit      单次最多删除的行数
+     * @return 影响的行数
+     */
+    int deleteArchivedBefore(@Param("beforeTime") LocalDateTime beforeTime, @Param("limit") int limit);
+
+    /**
+     * 查询归档表已建分区名（按分区顺序）
+     *
+     * @return 分区名列表
+     */
+    List<String> selectArchivePartitionNames();
+
+    /**
+     * 从 p_max 拆分出新的月份分区，分区上界须晚于已建月份分区
+     *
+     * @param partitions 新增分区（按上界升序）
+     */
+    void addArchivePartitions(@Param("partitions") List<TaskArchivePartitionPO> partitions);
+
+    /**
+     * 查询归档任务（按ID倒序游标分页）
+     *
+     * @param messageId 消息ID
+     * @param topic     消息主题
+     * @param state     任务状态
+     * @param startTime 创建时间下限（含）
+     * @param endTime   创建时间上限（不含）
+     * @param lastId    上一页最后一条的ID，首页为空
+     * @param limit     限制数量
+     * @return 任务PO列表
+     */
+    List<TaskPO> selectArchived(@Param("messageId") String messageId,
+                                @Param("topic") String topic,
+                                @Param("state") String state,
+                                @Param("startTime") LocalDateTime startTime,
+                                @Param("endTime") LocalDateTime endTime,
+                                @Param("lastId") Long lastId,
+                                @Param("limit") int limit);
 
 }
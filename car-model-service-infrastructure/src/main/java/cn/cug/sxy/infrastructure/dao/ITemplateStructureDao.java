@@ -2,7 +2,9 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.TemplateStructurePO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -102,6 +104,28 @@ public interface ITemplateStructureDao {
      */
     List<TemplateStructurePO> selectByCondition(TemplateStructurePO templateStructurePOReq);
 
+    /**
+     * 游标分页条件查询，按创建时间、ID倒序
+     *
+     * @param condition  查询条件
+     * @param cursorTime 上一页末行的创建时间，首页为空
+     * @param cursorId   上一页末行的ID，首页为空
+     * @param limit      数量上限
+     * @return 查询结果
+     */
+    List<TemplateStructurePO> selectByConditionSeek(@Param("condition") TemplateStructurePO condition,
+                                                    @Param("cursorTime") LocalDateTime cursorTime,
+                                                    @Param("cursorId") Long cursorId,
+                                                    @Param("limit") int limit);
+
+    /**
+     * 按条件统计数量
+     *
+     * @param condition 查询条件
+     * @return 记录数
+     */
+    long countByCondition(@Param("condition") TemplateStructurePO condition);
+
     /**
      * 检查模板编码是否存在
      *
@@ -2,6 +2,7 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.TemplateStructureNodePO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -135,6 +136,24 @@ public interface ITemplateStructureNodeDao {
      */
     List<TemplateStructureNodePO> selectByNodePathLike(String pathPattern);
 
+    /**
+     * 查询节点的后代节点（不含自身），按层级差、排序序号排序
+     *
+     * @param ancestorId 祖先节点ID
+     * @param maxDepth   最大层级差，为null时不限
+     * @return 节点PO列表
+     */
+    List<TemplateStructureNodePO> selectDescendants(@Param("ancestorId") Long ancestorId,
+                                                    @Param("maxDepth") Integer maxDepth);
+
+    /**
+     * 查询节点的祖先链（不含自身），根节点在前
+     *
+     * @param descendantId 后代节点ID
+     * @return 节点PO列表
+     */
+    List<TemplateStructureNodePO> selectAncestors(@Param("descendantId") Long descendantId);
+
     /**
      * 删除节点
      *
@@ -152,12 +171,12 @@ public interface ITemplateStructureNodeDao {
     int deleteByTemplateId(Long templateId);
 
     /**
-     * 根据节点路径前缀删除节点
+     * 批量删除节点
      *
-     * @param nodePath 节点路径前缀
+     * @param ids 节点ID列表
      * @return 影响的行数
      */
-    int deleteByNodePathStartWith(String nodePath);
+    int deleteByIds(@Param("ids") List<Long> ids);
 
     /**
      * 查询节点的子节点数量
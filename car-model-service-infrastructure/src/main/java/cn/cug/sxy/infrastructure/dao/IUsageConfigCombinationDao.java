@@ -2,6 +2,7 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.UsageConfigCombinationPO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -47,6 +48,14 @@ public interface IUsageConfigCombinationDao {
      */
     List<UsageConfigCombinationPO> selectByUsageId(Long usageId);
 
+    /**
+     * 根据用法ID列表查询所有配置组合
+     *
+     * @param usageIds 用法ID列表
+     * @return 配置组合列表
+     */
+    List<UsageConfigCombinationPO> selectByUsageIds(@Param("usageIds") List<Long> usageIds);
+
     /**
      * 删除用法配置组合
      *
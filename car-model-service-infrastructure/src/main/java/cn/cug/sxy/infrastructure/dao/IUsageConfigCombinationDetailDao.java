@@ -2,6 +2,7 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.UsageConfigCombinationDetailPO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -39,6 +40,14 @@ public interface IUsageConfigCombinationDetailDao {
      */
     List<UsageConfigCombinationDetailPO> selectByCombinationId(Long combinationId);
 
+    /**
+     * 根据组合ID列表查询所有明细
+     *
+     * @param combinationIds 组合ID列表
+     * @return 明细列表
+     */
+    List<UsageConfigCombinationDetailPO> selectByCombinationIds(@Param("combinationIds") List<Long> combinationIds);
+
     /**
      * 根据用法ID查询所有配置项ID
      *
@@ -73,6 +73,14 @@ public interface IUsagePartDao {
      */
     List<UsagePartPO> selectByUsageId(Long usageId);
 
+    /**
+     * 根据用法ID批量查询关联的备件
+     *
+     * @param usageIds 用法ID列表
+     * @return 用法备件关联列表（按用法ID排序）
+     */
+    List<UsagePartPO> selectByUsageIds(@Param("usageIds") List<Long> usageIds);
+
     /**
      * 根据备件ID查询所有关联的用法
      *
@@ -90,6 +98,24 @@ public interface IUsagePartDao {
      */
     UsagePartPO selectByUsageIdAndPartId(@Param("usageId") Long usageId, @Param("partId") Long partId);
 
+    /**
+     * 根据用法ID和备件ID列表查询关联
+     *
+     * @param usageId 用法ID
+     * @param partIds 备件ID列表
+     * @return 用法备件关联PO列表
+     */
+    List<UsagePartPO> selectByUsageIdAndPartIds(@Param("usageId") Long usageId, @Param("partIds") List<Long> partIds);
+
+    /**
+     * 批量更新同一用法下多个备件的关联数量
+     *
+     * @param usageId         用法ID
+     * @param usagePartPOList 用法备件关联PO列表（需包含备件ID和数量）
+     * @return 影响的行数
+     */
+    int batchUpdateCount(@Param("usageId") Long usageId, @Param("usagePartPOList") List<UsagePartPO> usagePartPOList);
+
     /**
      * 检查用法和备件是否已关联
      *
@@ -2,6 +2,7 @@ package cn.cug.sxy.infrastructure.dao;
 
 import cn.cug.sxy.infrastructure.dao.po.WorkHourPO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -22,6 +23,14 @@ public interface IWorkHourDao {
      */
     void insert(WorkHourPO workHourPO);
 
+    /**
+     * 批量插入工时记录（多行 INSERT，回填自增ID）
+     *
+     * @param workHourPOList 工时PO列表
+     * @return 影响的行数
+     */
+    int batchInsert(@Param("list") List<WorkHourPO> workHourPOList);
+
     /**
      * 更新工时记录
      *
@@ -54,6 +63,14 @@ public interface IWorkHourDao {
      */
     WorkHourPO selectByCode(String code);
 
+    /**
+     * 根据工时ID列表查询工时记录
+     *
+     * @param ids 工时ID列表
+     * @return 工时PO列表
+     */
+    List<WorkHourPO> selectByIds(@Param("ids") List<Long> ids);
+
     /**
      * 根据父ID查询子工时记录列表
      *
@@ -62,6 +79,14 @@ public interface IWorkHourDao {
      */
     List<WorkHourPO> selectByParentId(Long parentId);
 
+    /**
+     * 根据父ID列表查询子工时记录列表
+     *
+     * @param parentIds 父工时ID列表
+     * @return 工时PO列表
+     */
+    List<WorkHourPO> selectByParentIds(@Param("parentIds") List<Long> parentIds);
+
     /**
      * 查询所有主工时记录
      *
@@ -92,4 +117,12 @@ public interface IWorkHourDao {
      * @return 是否存在
      */
     boolean existsByCode(String code);
+
+    /**
+     * 查询已存在的工时代码
+     *
+     * @param codes 待检查的工时代码列表
+     * @return 已存在的工时代码
+     */
+    List<String> selectExistingCodes(@Param("codes") List<String> codes);
 }
@@ -66,6 +66,10 @@ public class InstanceStructureNodePO {
      * 节点层级
      */
     private Integer nodeLevel;
+    /**
+     * 子树哈希
+     */
+    private String subtreeHash;
     /**
      * 状态
      */
@@ -0,0 +1,28 @@
+package cn.cug.sxy.infrastructure.dao.po;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @version 1.0
+ * @Date 2025/10/9 14:20
+ * @Description 任务归档表月份分区
+ * @Author jerryhotton
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskArchivePartitionPO {
+
+    /**
+     * 分区名（p + yyyyMM）
+     */
+    private String partitionName;
+    /**
+     * 分区上界（下月第一天，yyyy-MM-dd）
+     */
+    private String lessThan;
+
+}
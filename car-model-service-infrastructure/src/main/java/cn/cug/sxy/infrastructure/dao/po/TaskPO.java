@@ -30,6 +30,14 @@ public class TaskPO {
      * 消息主体
      */
     private String message;
+    /**
+     * 目标交换机
+     */
+    private String exchange;
+    /**
+     * 路由键
+     */
+    private String routingKey;
     /**
      * CREATE-创建、PUBLISHED-已发布、PROCESSING-处理中、completed-完成、FAILED-失败、RETRY-重试中
      */
@@ -58,5 +66,9 @@ public class TaskPO {
      * 更新时间
      */
     private LocalDateTime updatedTime;
+    /**
+     * 归档时间（仅归档表）
+     */
+    private LocalDateTime archivedTime;
 
 }
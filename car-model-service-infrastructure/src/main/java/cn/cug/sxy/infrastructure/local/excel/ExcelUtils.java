@@ -1,28 +1,63 @@
 package cn.cug.sxy.infrastructure.local.excel;
 
-import cn.cug.sxy.domain.workhour.model.valobj.WorkHourExcelData;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @version 1.0
  * @Date 2025/9/1 17:21
- * @Description Excel工具类
+ * @Description Excel工具类（.xlsx 采用 SAX 事件模型逐行流式读取，.xls 沿用 HSSF 读取）
  * @Author jerryhotton
  */
 
 @Slf4j
 public class ExcelUtils {
 
+    /**
+     * 单个文件允许的最大数据行数
+     */
+    public static final int DEFAULT_MAX_ROWS = 100_000;
+
+    /**
+     * 单个文件允许的最大字节数
+     */
+    public static final long DEFAULT_MAX_FILE_SIZE = 50L * 1024 * 1024;
+
+    /**
+     * 流式读取时每批交给消费者的行数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
 
     /**
      * 通用Excel读取方法 - 模板方法
@@ -35,44 +70,112 @@ public class ExcelUtils {
      */
     public static <T> List<T> readExcel(MultipartFile file, ExcelRowParser<T> rowParser) throws IOException {
         List<T> dataList = new ArrayList<>();
-        Workbook workbook = createWorkbook(file);
-        Sheet sheet = workbook.getSheetAt(0);
-        // 跳过标题行，从第二行开始读取数据
-        for (int rowIndex = 1; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
-            Row row = sheet.getRow(rowIndex);
-            if (row == null) {
-                continue;
-            }
-            // 检查是否为空行
-            if (isEmptyRow(row, rowParser.getColumnCount())) {
-                continue;
-            }
-            T data = rowParser.parseRow(row, rowIndex + 1);
-            if (data != null) {
-                dataList.add(data);
-            }
-        }
-        workbook.close();
+        readExcel(file, rowParser, DEFAULT_BATCH_SIZE, dataList::addAll);
         log.info("成功读取Excel文件，共{}条记录", dataList.size());
         return dataList;
     }
 
     /**
-     * 创建Workbook对象
+     * 流式读取Excel，解析结果按批次交给消费者，内存中最多只保留一个批次
      *
-     * @param file Excel文件
-     * @return Workbook对象
-     * @throws IOException 创建异常
+     * @param file          Excel文件
+     * @param rowParser     行解析器
+     * @param batchSize     批次大小
+     * @param batchConsumer 批次消费者（同步调用，处理完当前批次才会继续读取）
+     * @param <T>           数据类型
+     * @return 解析成功的记录数
+     * @throws IOException 读取异常
      */
-    private static Workbook createWorkbook(MultipartFile file) throws IOException {
+    public static <T> int readExcel(MultipartFile file, ExcelRowParser<T> rowParser, int batchSize,
+                                    Consumer<List<T>> batchConsumer) throws IOException {
+        return readExcel(file, rowParser, batchSize, DEFAULT_MAX_ROWS, batchConsumer);
+    }
+
+    /**
+     * 流式读取Excel，超过行数上限时终止读取
+     *
+     * @param file          Excel文件
+     * @param rowParser     行解析器
+     * @param batchSize     批次大小
+     * @param maxRows       最大数据行数（不含标题行与空行）
+     * @param batchConsumer 批次消费者
+     * @param <T>           数据类型
+     * @return 解析成功的记录数
+     * @throws IOException 读取异常
+     */
+    public static <T> int readExcel(MultipartFile file, ExcelRowParser<T> rowParser, int batchSize, int maxRows,
+                                    Consumer<List<T>> batchConsumer) throws IOException {
+        if (file.getSize() > DEFAULT_MAX_FILE_SIZE) {
+            throw new AppException(ResponseCode.EXCEL_FILE_SIZE_EXCEEDED);
+        }
+        BatchingRowSink<T> sink = new BatchingRowSink<>(rowParser, batchSize, maxRows, batchConsumer);
         String fileName = file.getOriginalFilename();
         if (fileName != null && fileName.endsWith(".xlsx")) {
-            return new XSSFWorkbook(file.getInputStream());
+            readXlsx(file, sink);
         } else if (fileName != null && fileName.endsWith(".xls")) {
-            return new HSSFWorkbook(file.getInputStream());
+            readXls(file, sink);
         } else {
             throw new IllegalArgumentException("不支持的文件格式，只支持.xlsx和.xls文件");
         }
+        sink.flush();
+
+        return sink.getParsedCount();
+    }
+
+    /**
+     * SAX 方式读取 .xlsx 首个工作表：上传内容先落到临时文件，避免整个压缩包常驻内存，
+     * 每行数据写入一个可复用的临时 Row 后交给行解析器，解析完即移除
+     */
+    private static <T> void readXlsx(MultipartFile file, BatchingRowSink<T> sink) throws IOException {
+        Path tempFile = Files.createTempFile("excel-import-", ".xlsx");
+        try {
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ);
+            try (XSSFWorkbook scratchWorkbook = new XSSFWorkbook()) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+                StylesTable styles = reader.getStylesTable();
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+                try (InputStream sheetStream = sheets.next()) {
+                    XMLReader xmlReader = XMLHelper.newXMLReader();
+                    xmlReader.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings,
+                            new StreamingSheetHandler<>(scratchWorkbook.createSheet(), sink),
+                            new RawNumberDataFormatter(), false));
+                    xmlReader.parse(new InputSource(sheetStream));
+                }
+            } catch (SAXException e) {
+                if (e.getCause() instanceof AppException) {
+                    throw (AppException) e.getCause();
+                }
+                throw new IOException("解析Excel文件失败", e);
+            } catch (OpenXML4JException | ParserConfigurationException e) {
+                throw new IOException("解析Excel文件失败", e);
+            } finally {
+                pkg.revert();
+            }
+        } catch (InvalidFormatException e) {
+            throw new IOException("Excel文件格式错误", e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * 读取 .xls 首个工作表（HSSF 格式本身最多 65536 行，沿用用户模型读取）
+     */
+    private static <T> void readXls(MultipartFile file, BatchingRowSink<T> sink) throws IOException {
+        try (Workbook workbook = new HSSFWorkbook(file.getInputStream())) {
+            Sheet sheet = workbook.getSheetAt(0);
+            // 跳过标题行，从第二行开始读取数据
+            for (int rowIndex = 1; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
+                sink.accept(sheet.getRow(rowIndex), rowIndex + 1);
+            }
+        }
     }
 
     /**
@@ -113,13 +216,7 @@ public class ExcelUtils {
                 if (DateUtil.isCellDateFormatted(cell)) {
                     return cell.getDateCellValue().toString();
                 } else {
-                    // 避免科学计数法，转换为整数或保留小数
-                    double value = cell.getNumericCellValue();
-                    if (value == (long) value) {
-                        return String.valueOf((long) value);
-                    } else {
-                        return String.valueOf(value);
-                    }
+                    return formatNumeric(cell.getNumericCellValue());
                 }
             case BOOLEAN:
                 return String.valueOf(cell.getBooleanCellValue());
@@ -134,4 +231,131 @@ public class ExcelUtils {
         }
     }
 
+    /**
+     * 避免科学计数法，转换为整数或保留小数
+     */
+    private static String formatNumeric(double value) {
+        if (value == (long) value) {
+            return String.valueOf((long) value);
+        } else {
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * 行数据汇聚：过滤空行、校验行数上限、调用行解析器并按批次交给消费者
+     */
+    private static class BatchingRowSink<T> {
+
+        private final ExcelRowParser<T> rowParser;
+        private final int batchSize;
+        private final int maxRows;
+        private final Consumer<List<T>> batchConsumer;
+        private List<T> buffer;
+        private int rowCount;
+        private int parsedCount;
+
+        BatchingRowSink(ExcelRowParser<T> rowParser, int batchSize, int maxRows, Consumer<List<T>> batchConsumer) {
+            this.rowParser = rowParser;
+            this.batchSize = Math.max(1, batchSize);
+            this.maxRows = maxRows;
+            this.batchConsumer = batchConsumer;
+            this.buffer = new ArrayList<>(this.batchSize);
+        }
+
+        void accept(Row row, int rowNumber) {
+            // 检查是否为空行
+            if (isEmptyRow(row, rowParser.getColumnCount())) {
+                return;
+            }
+            if (++rowCount > maxRows) {
+                log.warn("Excel数据行数超出上限 maxRows:{} rowNumber:{}", maxRows, rowNumber);
+                throw new AppException(ResponseCode.EXCEL_ROW_LIMIT_EXCEEDED);
+            }
+            T data = rowParser.parseRow(row, rowNumber);
+            if (data == null) {
+                return;
+            }
+            buffer.add(data);
+            parsedCount++;
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            batchConsumer.accept(buffer);
+            buffer = new ArrayList<>(batchSize);
+        }
+
+        int getParsedCount() {
+            return parsedCount;
+        }
+
+    }
+
+    /**
+     * SAX 行回调：将单元格写入临时工作表中的行，行结束时交给汇聚器后立即移除
+     */
+    private static class StreamingSheetHandler<T> implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Sheet scratchSheet;
+        private final BatchingRowSink<T> sink;
+        private Row currentRow;
+        private int currentColumn;
+
+        StreamingSheetHandler(Sheet scratchSheet, BatchingRowSink<T> sink) {
+            this.scratchSheet = scratchSheet;
+            this.sink = sink;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            // 跳过标题行
+            currentRow = rowNum == 0 ? null : scratchSheet.createRow(rowNum);
+            currentColumn = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (currentRow == null) {
+                return;
+            }
+            try {
+                sink.accept(currentRow, rowNum + 1);
+            } finally {
+                scratchSheet.removeRow(currentRow);
+                currentRow = null;
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (currentRow == null) {
+                return;
+            }
+            currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            currentRow.createCell(currentColumn, CellType.STRING).setCellValue(formattedValue);
+        }
+
+    }
+
+    /**
+     * 非日期数值按原始值输出，与 {@link #getCellValueAsString(Cell)} 的数值处理保持一致
+     */
+    private static class RawNumberDataFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString)) {
+                return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+            }
+            return formatNumeric(value);
+        }
+
+    }
+
 }
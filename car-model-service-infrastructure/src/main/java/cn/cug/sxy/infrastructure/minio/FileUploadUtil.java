@@ -230,8 +230,18 @@ public class FileUploadUtil {
      * @return MultipartFile
      */
     public static MultipartFile createMultipartFileFromBase64(String base64Data, String fileName, String contentType) {
-        byte[] fileBytes = Base64.getDecoder().decode(base64Data);
+        return createMultipartFile(Base64.getDecoder().decode(base64Data), fileName, contentType);
+    }
 
+    /**
+     * 从字节数组创建MultipartFile
+     *
+     * @param fileBytes   文件数据
+     * @param fileName    文件名
+     * @param contentType 文件类型
+     * @return MultipartFile
+     */
+    public static MultipartFile createMultipartFile(byte[] fileBytes, String fileName, String contentType) {
         return new MultipartFile() {
             @Override
             public String getName() {
@@ -3,6 +3,7 @@ package cn.cug.sxy.infrastructure.minio;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -35,6 +36,18 @@ public interface IFileStorageService {
      */
     String uploadModelIcon(String fileData, String fileName, String uploadType, Long modelId);
 
+    /**
+     * 以流方式上传车型图标，不在内存中缓冲完整文件
+     *
+     * @param inputStream 文件输入流
+     * @param size        文件大小
+     * @param fileName    文件名
+     * @param contentType 内容类型
+     * @param modelId     车型ID
+     * @return 文件访问URL
+     */
+    String uploadModelIcon(InputStream inputStream, long size, String fileName, String contentType, Long modelId);
+
     /**
      * 上传工时批量上传模板
      *
@@ -113,4 +126,39 @@ public interface IFileStorageService {
      */
     byte[] getTemplateFile(String templateFileType) throws IOException;
 
+    /**
+     * 暂存导入任务的上传文件
+     *
+     * @param file  上传文件
+     * @param jobId 导入任务ID
+     * @return 对象名称
+     */
+    String uploadImportFile(MultipartFile file, String jobId);
+
+    /**
+     * 上传导入任务结果报告
+     *
+     * @param report 报告内容
+     * @param jobId  导入任务ID
+     * @return 对象名称
+     */
+    String uploadImportReport(byte[] report, String jobId);
+
+    /**
+     * 读取对象内容
+     *
+     * @param objectName 对象名称
+     * @return 文件字节数组
+     * @throws IOException 读取异常
+     */
+    byte[] getObject(String objectName) throws IOException;
+
+    /**
+     * 按对象名称删除文件
+     *
+     * @param objectName 对象名称
+     * @return 是否删除成功
+     */
+    boolean removeObject(String objectName);
+
 }
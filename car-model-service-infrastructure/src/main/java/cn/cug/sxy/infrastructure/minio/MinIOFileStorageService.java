@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
@@ -146,6 +147,38 @@ public class MinIOFileStorageService implements IFileStorageService {
         }
     }
 
+    @Override
+    public String uploadModelIcon(InputStream inputStream, long size, String fileName, String contentType, Long modelId) {
+        try {
+            // 内容已在暂存时完整校验，这里只校验元数据
+            if (contentType == null || !SUPPORTED_IMAGE_TYPES.contains(contentType.toLowerCase())) {
+                throw new AppException("上传文件必须是图片格式");
+            }
+            if (size <= 0 || size > MAX_FILE_SIZE) {
+                throw new AppException(String.format("文件大小不能超过%dMB", MAX_FILE_SIZE / (1024 * 1024)));
+            }
+            log.info("开始流式上传车型图标，modelId={}, fileName={}, size={}", modelId, fileName, size);
+            String objectName = generateModelIconPath(modelId, fileName);
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .stream(inputStream, size, -1)
+                            .contentType(contentType)
+                            .build()
+            );
+            String fileUrl = generateFileUrl(objectName);
+            log.info("车型图标上传成功，modelId={}, fileName={}, fileUrl={}", modelId, fileName, fileUrl);
+
+            return fileUrl;
+        } catch (AppException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("车型图标上传失败，modelId={}, fileName={}", modelId, fileName, e);
+            throw new AppException("车型图标上传失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public String uploadTemplate(MultipartFile file, String templateFileType) {
         try {
@@ -334,6 +367,85 @@ public class MinIOFileStorageService implements IFileStorageService {
         }
     }
 
+    @Override
+    public String uploadImportFile(MultipartFile file, String jobId) {
+        // 生成路径格式: import-jobs/yyyyMMdd/{jobId}/source{ext}
+        String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String objectName = String.format("import-jobs/%s/%s/source%s",
+                datePath, jobId, getFileExtension(file.getOriginalFilename()));
+        try (InputStream inputStream = file.getInputStream()) {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .stream(inputStream, file.getSize(), -1)
+                            .contentType(file.getContentType())
+                            .build()
+            );
+            log.info("导入文件暂存成功 jobId={}, objectName={}, fileSize={}", jobId, objectName, file.getSize());
+
+            return objectName;
+        } catch (Exception e) {
+            log.error("导入文件暂存失败 jobId={}", jobId, e);
+            throw new AppException("导入文件暂存失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String uploadImportReport(byte[] report, String jobId) {
+        String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String objectName = String.format("import-jobs/%s/%s/report.csv", datePath, jobId);
+        try (InputStream inputStream = new ByteArrayInputStream(report)) {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .stream(inputStream, report.length, -1)
+                            .contentType("text/csv")
+                            .build()
+            );
+            log.info("导入结果报告上传成功 jobId={}, objectName={}", jobId, objectName);
+
+            return objectName;
+        } catch (Exception e) {
+            log.error("导入结果报告上传失败 jobId={}", jobId, e);
+            throw new AppException("导入结果报告上传失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public byte[] getObject(String objectName) throws IOException {
+        try (InputStream inputStream = minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .build())) {
+            return inputStream.readAllBytes();
+        } catch (Exception e) {
+            log.error("读取文件失败 objectName={}", objectName, e);
+            throw new IOException("读取文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean removeObject(String objectName) {
+        if (StringUtils.isBlank(objectName)) {
+            return true;
+        }
+        try {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build()
+            );
+            return true;
+        } catch (Exception e) {
+            log.warn("删除文件失败 objectName={}", objectName, e);
+            return false;
+        }
+    }
+
     /**
      * 校验图片文件
      *
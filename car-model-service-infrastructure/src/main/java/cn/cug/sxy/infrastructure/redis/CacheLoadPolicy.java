@@ -0,0 +1,53 @@
+package cn.cug.sxy.infrastructure.redis;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 16:05
+ * @Description 缓存回源策略（单飞加载、空值缓存、过期抖动），由各仓储按需覆盖
+ * @Author jerryhotton
+ */
+
+@Getter
+@Builder
+public class CacheLoadPolicy {
+
+    /**
+     * 默认策略：本节点单飞加载 + 10%过期抖动，不启用分布式锁与空值缓存
+     */
+    public static final CacheLoadPolicy DEFAULT = CacheLoadPolicy.builder().build();
+
+    /**
+     * 是否启用本节点单飞加载（同一键同一时刻只有一个线程回源）
+     */
+    @Builder.Default
+    private boolean singleFlight = true;
+    /**
+     * 是否启用跨节点分布式锁（Redisson），仅在单飞加载开启时生效
+     */
+    @Builder.Default
+    private boolean distributedLock = false;
+    /**
+     * 分布式锁等待时间（毫秒），超时后直接回源
+     */
+    @Builder.Default
+    private long lockWaitMillis = 3000;
+    /**
+     * 分布式锁租约时间（毫秒）
+     */
+    @Builder.Default
+    private long lockLeaseMillis = 10000;
+    /**
+     * 空值缓存时间（毫秒），小于等于0表示不缓存空值
+     */
+    @Builder.Default
+    private long nullValueTtlMillis = 0;
+    /**
+     * 过期时间随机抖动比例，取值[0, 1)
+     */
+    @Builder.Default
+    private double ttlJitterRatio = 0.1;
+
+}
@@ -2,6 +2,7 @@ package cn.cug.sxy.infrastructure.redis;
 
 import org.redisson.api.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -43,6 +44,22 @@ public interface IRedisService {
      */
     <T> T getValue(String key);
 
+    /**
+     * 以原始字节写入值（不经过默认编解码器）
+     *
+     * @param key   键
+     * @param value 字节值
+     */
+    void setBytes(String key, byte[] value);
+
+    /**
+     * 读取原始字节值
+     *
+     * @param key 键
+     * @return 字节值，不存在时为 null
+     */
+    byte[] getBytes(String key);
+
     /**
      * 获取Set集合
      *
@@ -118,6 +135,14 @@ public interface IRedisService {
      */
     void remove(String key);
 
+    /**
+     * 批量移除指定 key 的值（单次 DEL 命令）
+     *
+     * @param keys 键集合
+     * @return 实际删除的数量
+     */
+    long remove(Collection<String> keys);
+
     /**
      * 判断指定 key 的值是否存在
      *
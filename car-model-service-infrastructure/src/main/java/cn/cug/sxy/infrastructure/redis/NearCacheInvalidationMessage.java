@@ -0,0 +1,30 @@
+package cn.cug.sxy.infrastructure.redis;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 09:52
+ * @Description 本地近端缓存跨节点失效消息
+ * @Author jerryhotton
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearCacheInvalidationMessage {
+
+    /**
+     * 发布节点标识，用于忽略自身消息
+     */
+    private String sourceNodeId;
+    /**
+     * 失效的缓存键
+     */
+    private List<String> keys;
+
+}
@@ -0,0 +1,197 @@
+package cn.cug.sxy.infrastructure.redis;
+
+import cn.cug.sxy.infrastructure.redis.config.NearCacheConfig;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 09:45
+ * @Description 本地近端缓存（L1）管理器
+ * 位于 Redis 之前的进程内缓存，按键前缀划分区域并独立设置容量与过期时间；
+ * 删除 Redis 键时同步失效本地缓存，并通过 Redisson 主题通知其他节点
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class NearCacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Resource
+    private NearCacheConfig nearCacheConfig;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 缓存区域，按前缀长度倒序以实现最长前缀匹配
+     */
+    private final Map<String, Cache<String, Object>> regions = new LinkedHashMap<>();
+
+    private RTopic invalidationTopic;
+
+    private int listenerId = -1;
+
+    @PostConstruct
+    public void init() {
+        if (!nearCacheConfig.isEnabled()) {
+            return;
+        }
+        nearCacheConfig.getRegions().entrySet().stream()
+                .sorted((a, b) -> b.getKey().length() - a.getKey().length())
+                .forEach(entry -> regions.put(entry.getKey(), buildRegion(entry.getValue())));
+        invalidationTopic = redissonClient.getTopic(nearCacheConfig.getInvalidationTopic());
+        listenerId = invalidationTopic.addListener(NearCacheInvalidationMessage.class, (channel, message) -> {
+            if (nodeId.equals(message.getSourceNodeId()) || message.getKeys() == null) {
+                return;
+            }
+            message.getKeys().forEach(this::invalidateLocal);
+        });
+        log.info("本地近端缓存已启用 区域:{}", regions.keySet());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (invalidationTopic != null && listenerId != -1) {
+            invalidationTopic.removeListener(listenerId);
+        }
+    }
+
+    /**
+     * 读取本地缓存
+     *
+     * @param key 缓存键
+     * @return 缓存值，未命中或键不属于任何区域时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        Cache<String, Object> region = resolveRegion(key);
+        if (region == null) {
+            return null;
+        }
+        return (T) region.getIfPresent(key);
+    }
+
+    /**
+     * 写入本地缓存，null 值与不属于任何区域的键会被忽略
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     */
+    public void put(String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        Cache<String, Object> region = resolveRegion(key);
+        if (region != null) {
+            region.put(key, value);
+        }
+    }
+
+    /**
+     * 失效本地缓存并通知其他节点
+     *
+     * @param keys 缓存键
+     */
+    public void invalidate(Collection<String> keys) {
+        if (regions.isEmpty() || keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<String> regionKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (resolveRegion(key) != null) {
+                invalidateLocal(key);
+                regionKeys.add(key);
+            }
+        }
+        if (regionKeys.isEmpty()) {
+            return;
+        }
+        try {
+            invalidationTopic.publish(new NearCacheInvalidationMessage(nodeId, regionKeys));
+        } catch (Exception e) {
+            log.error("发布本地缓存失效消息失败 keys:{}", regionKeys, e);
+        }
+    }
+
+    /**
+     * 失效本地缓存并通知其他节点
+     *
+     * @param key 缓存键
+     */
+    public void invalidate(String key) {
+        invalidate(Collections.singletonList(key));
+    }
+
+    /**
+     * 获取各区域的命中/未命中/淘汰统计
+     *
+     * @return 区域前缀 -> 统计信息
+     */
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        regions.forEach((prefix, region) -> stats.put(prefix, region.stats()));
+        return stats;
+    }
+
+    /**
+     * 获取各区域当前条目数
+     *
+     * @return 区域前缀 -> 条目数
+     */
+    public Map<String, Long> getSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        regions.forEach((prefix, region) -> sizes.put(prefix, region.size()));
+        return sizes;
+    }
+
+    private void invalidateLocal(String key) {
+        Cache<String, Object> region = resolveRegion(key);
+        if (region != null) {
+            region.invalidate(key);
+        }
+    }
+
+    private Cache<String, Object> resolveRegion(String key) {
+        if (regions.isEmpty() || key == null) {
+            return null;
+        }
+        for (Map.Entry<String, Cache<String, Object>> entry : regions.entrySet()) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private Cache<String, Object> buildRegion(NearCacheConfig.RegionConfig regionConfig) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .expireAfterWrite(regionConfig.getTtl(), TimeUnit.MILLISECONDS)
+                .recordStats();
+        if (regionConfig.getMaximumWeight() > 0) {
+            return builder
+                    .maximumWeight(regionConfig.getMaximumWeight())
+                    .<String, Object>weigher((key, value) -> value instanceof Collection
+                            ? Math.max(1, ((Collection<?>) value).size())
+                            : 1)
+                    .build();
+        }
+        return builder
+                .maximumSize(regionConfig.getMaximumSize())
+                .build();
+    }
+
+}
@@ -1,12 +1,15 @@
 package cn.cug.sxy.infrastructure.redis;
 
+import cn.cug.sxy.infrastructure.redis.codec.RedisCodecRouter;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.*;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -26,23 +29,39 @@ public class RedissonService implements IRedisService {
     @Resource
     private RedissonClient redissonClient;
 
+    @Resource
+    private NearCacheManager nearCacheManager;
+
+    @Resource
+    private RedisCodecRouter redisCodecRouter;
+
     @Override
     public <T> void setValue(String key, T value) {
-        redissonClient.<T>getBucket(key).set(value);
+        redissonClient.<T>getBucket(key, redisCodecRouter.codecFor(key)).set(value);
     }
 
     @Override
     public <T> void setValue(String key, T value, long expired, TimeUnit timeUtil) {
-        redissonClient.<T>getBucket(key).set(value, Duration.ofMillis(timeUtil.toMillis(expired)));
+        redissonClient.<T>getBucket(key, redisCodecRouter.codecFor(key)).set(value, Duration.ofMillis(timeUtil.toMillis(expired)));
     }
 
     @Override
     public <T> void setValueIfAbsent(String key, T value, long expired, TimeUnit timeUtil) {
-        redissonClient.getBucket(key).setIfAbsent(value, Duration.ofMillis(timeUtil.toMillis(expired)));
+        redissonClient.getBucket(key, redisCodecRouter.codecFor(key)).setIfAbsent(value, Duration.ofMillis(timeUtil.toMillis(expired)));
     }
 
     public <T> T getValue(String key) {
-        return redissonClient.<T>getBucket(key).get();
+        return redissonClient.<T>getBucket(key, redisCodecRouter.codecFor(key)).get();
+    }
+
+    @Override
+    public void setBytes(String key, byte[] value) {
+        redissonClient.<byte[]>getBucket(key, ByteArrayCodec.INSTANCE).set(value);
+    }
+
+    @Override
+    public byte[] getBytes(String key) {
+        return redissonClient.<byte[]>getBucket(key, ByteArrayCodec.INSTANCE).get();
     }
 
     @Override
@@ -88,6 +107,17 @@ public class RedissonService implements IRedisService {
     @Override
     public void remove(String key) {
         redissonClient.getBucket(key).delete();
+        nearCacheManager.invalidate(key);
+    }
+
+    @Override
+    public long remove(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+        long result = redissonClient.getKeys().delete(keys.toArray(new String[0]));
+        nearCacheManager.invalidate(keys);
+        return result;
     }
 
     @Override
@@ -286,7 +316,7 @@ public class RedissonService implements IRedisService {
         RBatch batch = redissonClient.createBatch();
         List<RFuture<T>> futures = new ArrayList<>();
         for (String key : keys) {
-            futures.add(batch.<T>getBucket(key).getAsync());
+            futures.add(batch.<T>getBucket(key, redisCodecRouter.codecFor(key)).getAsync());
         }
         batch.execute();
 
@@ -0,0 +1,293 @@
+package cn.cug.sxy.infrastructure.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/28 10:20
+ * @Description 持久化对象的二进制结构描述
+ * 字段按名称排序后依次写出，每条记录以非空位图开头，空字段不占空间；整数使用 zigzag 变长编码，字符串为长度前缀的 UTF-8。
+ * 指纹由类名与各字段名、类型计算，类结构变化后指纹随之改变，旧数据按未命中处理
+ * @Author jerryhotton
+ */
+
+public class BinarySchema {
+
+    private final Class<?> type;
+
+    private final Constructor<?> constructor;
+
+    private final Field[] fields;
+
+    private final FieldType[] fieldTypes;
+
+    private final int fingerprint;
+
+    private final int bitmapBytes;
+
+    public BinarySchema(Class<?> type) {
+        this.type = type;
+        try {
+            this.constructor = type.getDeclaredConstructor();
+            this.constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("二进制编码类型缺少无参构造函数: " + type.getName(), e);
+        }
+        List<Field> fieldList = new ArrayList<>();
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fieldList.add(field);
+            }
+        }
+        fieldList.sort(Comparator.comparing(Field::getName));
+        this.fields = fieldList.toArray(new Field[0]);
+        this.fieldTypes = new FieldType[fields.length];
+        CRC32 crc = new CRC32();
+        crc.update(type.getName().getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < fields.length; i++) {
+            fieldTypes[i] = FieldType.of(fields[i]);
+            crc.update((";" + fields[i].getName() + ":" + fields[i].getType().getName()).getBytes(StandardCharsets.UTF_8));
+        }
+        this.fingerprint = (int) crc.getValue();
+        this.bitmapBytes = (fields.length + 7) / 8;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public int getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 写出一条记录：非空位图 + 非空字段值
+     */
+    public void write(ByteBuf out, Object value) throws IllegalAccessException {
+        Object[] values = new Object[fields.length];
+        byte[] bitmap = new byte[bitmapBytes];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = fields[i].get(value);
+            if (values[i] != null) {
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        out.writeBytes(bitmap);
+        for (int i = 0; i < fields.length; i++) {
+            if (values[i] != null) {
+                fieldTypes[i].write(out, values[i]);
+            }
+        }
+    }
+
+    /**
+     * 读取一条记录
+     */
+    public Object read(ByteBuf in) throws ReflectiveOperationException {
+        Object value = constructor.newInstance();
+        int bitmapStart = in.readerIndex();
+        in.skipBytes(bitmapBytes);
+        for (int i = 0; i < fields.length; i++) {
+            if ((in.getByte(bitmapStart + (i >>> 3)) & (1 << (i & 7))) != 0) {
+                fields[i].set(value, fieldTypes[i].read(in));
+            }
+        }
+        return value;
+    }
+
+    static void writeVarLong(ByteBuf out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(ByteBuf in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("变长整数格式错误");
+    }
+
+    static void writeZigZag(ByteBuf out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readZigZag(ByteBuf in) {
+        long raw = readVarLong(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuf in) {
+        int length = (int) readVarLong(in);
+        String value = in.toString(in.readerIndex(), length, StandardCharsets.UTF_8);
+        in.skipBytes(length);
+        return value;
+    }
+
+    /**
+     * 支持的字段类型
+     */
+    private enum FieldType {
+
+        LONG {
+            @Override
+            void write(ByteBuf out, Object value) {
+                writeZigZag(out, (Long) value);
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                return readZigZag(in);
+            }
+        },
+        INTEGER {
+            @Override
+            void write(ByteBuf out, Object value) {
+                writeZigZag(out, (Integer) value);
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                return (int) readZigZag(in);
+            }
+        },
+        STRING {
+            @Override
+            void write(ByteBuf out, Object value) {
+                writeString(out, (String) value);
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                return readString(in);
+            }
+        },
+        BOOLEAN {
+            @Override
+            void write(ByteBuf out, Object value) {
+                out.writeBoolean((Boolean) value);
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                return in.readBoolean();
+            }
+        },
+        DOUBLE {
+            @Override
+            void write(ByteBuf out, Object value) {
+                out.writeDouble((Double) value);
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                return in.readDouble();
+            }
+        },
+        BIG_DECIMAL {
+            @Override
+            void write(ByteBuf out, Object value) {
+                BigDecimal decimal = (BigDecimal) value;
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                writeZigZag(out, decimal.scale());
+                writeVarLong(out, unscaled.length);
+                out.writeBytes(unscaled);
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                int scale = (int) readZigZag(in);
+                byte[] unscaled = new byte[(int) readVarLong(in)];
+                in.readBytes(unscaled);
+                return new BigDecimal(new BigInteger(unscaled), scale);
+            }
+        },
+        LOCAL_DATE_TIME {
+            @Override
+            void write(ByteBuf out, Object value) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                writeZigZag(out, dateTime.toEpochSecond(ZoneOffset.UTC));
+                writeVarLong(out, dateTime.getNano());
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                long epochSecond = readZigZag(in);
+                int nano = (int) readVarLong(in);
+                return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+            }
+        },
+        LOCAL_DATE {
+            @Override
+            void write(ByteBuf out, Object value) {
+                writeZigZag(out, ((LocalDate) value).toEpochDay());
+            }
+
+            @Override
+            Object read(ByteBuf in) {
+                return LocalDate.ofEpochDay(readZigZag(in));
+            }
+        };
+
+        abstract void write(ByteBuf out, Object value);
+
+        abstract Object read(ByteBuf in);
+
+        static FieldType of(Field field) {
+            Class<?> clazz = field.getType();
+            if (clazz == Long.class) {
+                return LONG;
+            } else if (clazz == Integer.class) {
+                return INTEGER;
+            } else if (clazz == String.class) {
+                return STRING;
+            } else if (clazz == Boolean.class) {
+                return BOOLEAN;
+            } else if (clazz == Double.class) {
+                return DOUBLE;
+            } else if (clazz == BigDecimal.class) {
+                return BIG_DECIMAL;
+            } else if (clazz == LocalDateTime.class) {
+                return LOCAL_DATE_TIME;
+            } else if (clazz == LocalDate.class) {
+                return LOCAL_DATE;
+            }
+            throw new IllegalArgumentException("二进制编码不支持的字段类型: "
+                    + field.getDeclaringClass().getName() + "." + field.getName() + " " + clazz.getName());
+        }
+
+    }
+
+}
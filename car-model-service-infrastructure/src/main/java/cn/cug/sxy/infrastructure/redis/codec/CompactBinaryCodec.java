@@ -0,0 +1,246 @@
+package cn.cug.sxy.infrastructure.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/28 10:50
+ * @Description 紧凑二进制编码，带大值 LZ4 压缩
+ * 帧格式：魔数(1) + 标志(1，低4位为版本，0x10 表示压缩) + 载荷；压缩时载荷为原始长度(变长) + LZ4 块。
+ * 原始载荷：类型(1) + 内容，已注册的持久化对象及其列表按结构描述编码，其余值交给委托编码（JSON），
+ * 委托编码的结果只有在压缩后更小时才加帧，否则原样写出，与未启用前的存量数据格式一致。
+ * 读取时首字节不是魔数的数据视为委托编码；结构指纹不匹配或帧损坏时返回 null，由调用方按缓存未命中回源
+ * @Author jerryhotton
+ */
+
+@Slf4j
+public class CompactBinaryCodec extends BaseCodec {
+
+    /**
+     * 魔数，不会是 JSON 文本的首字节
+     */
+    static final int MAGIC = 0xC5;
+    static final int VERSION = 1;
+    static final int FLAG_LZ4 = 0x10;
+
+    static final int KIND_OBJECT = 1;
+    static final int KIND_LIST = 2;
+    static final int KIND_DELEGATE = 3;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final Codec delegate;
+
+    private final Map<Class<?>, BinarySchema> schemasByType = new HashMap<>();
+
+    private final Map<Integer, BinarySchema> schemasByFingerprint = new HashMap<>();
+
+    /**
+     * 压缩阈值（字节），小于等于0不压缩
+     */
+    private final int compressThreshold;
+
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    private final Encoder encoder = this::encode;
+
+    private final Decoder<Object> decoder = this::decode;
+
+    public CompactBinaryCodec(Codec delegate, Collection<Class<?>> types, int compressThreshold) {
+        this.delegate = delegate;
+        this.compressThreshold = compressThreshold;
+        for (Class<?> type : types) {
+            BinarySchema schema = new BinarySchema(type);
+            if (schemasByFingerprint.putIfAbsent(schema.getFingerprint(), schema) != null) {
+                throw new IllegalArgumentException("二进制编码类型指纹冲突: " + type.getName());
+            }
+            schemasByType.put(type, schema);
+        }
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return delegate.getClassLoader();
+    }
+
+    private ByteBuf encode(Object in) throws IOException {
+        BinarySchema schema = resolveSchema(in);
+        if (schema == null) {
+            ByteBuf json = delegate.getValueEncoder().encode(in);
+            if (compressThreshold <= 0 || json.readableBytes() < compressThreshold) {
+                return json;
+            }
+            ByteBuf body = ByteBufAllocator.DEFAULT.buffer(json.readableBytes() + 1);
+            body.writeByte(KIND_DELEGATE);
+            body.writeBytes(json);
+            json.release();
+            ByteBuf compressed = tryCompress(body);
+            if (compressed != null) {
+                return compressed;
+            }
+            // 压缩无收益，退回原始委托编码
+            body.readerIndex(1);
+            return body;
+        }
+
+        ByteBuf body = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            if (in instanceof List<?> list) {
+                body.writeByte(KIND_LIST);
+                body.writeInt(schema.getFingerprint());
+                BinarySchema.writeVarLong(body, list.size());
+                for (Object element : list) {
+                    schema.write(body, element);
+                }
+            } else {
+                body.writeByte(KIND_OBJECT);
+                body.writeInt(schema.getFingerprint());
+                schema.write(body, in);
+            }
+        } catch (IllegalAccessException e) {
+            body.release();
+            throw new IOException("二进制编码失败: " + schema.getType().getName(), e);
+        }
+        if (compressThreshold > 0 && body.readableBytes() >= compressThreshold) {
+            ByteBuf compressed = tryCompress(body);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer(body.readableBytes() + 2);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeBytes(body);
+        body.release();
+        return out;
+    }
+
+    /**
+     * 压缩后更小时返回压缩帧并释放原始载荷，否则返回 null 且保留原始载荷
+     */
+    private ByteBuf tryCompress(ByteBuf body) {
+        int rawLength = body.readableBytes();
+        byte[] raw = ByteBufUtil.getBytes(body);
+        byte[] compressed = new byte[compressor.maxCompressedLength(rawLength)];
+        int compressedLength = compressor.compress(raw, 0, rawLength, compressed, 0, compressed.length);
+        if (compressedLength + 5 >= rawLength) {
+            return null;
+        }
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer(compressedLength + 7);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION | FLAG_LZ4);
+        BinarySchema.writeVarLong(out, rawLength);
+        out.writeBytes(compressed, 0, compressedLength);
+        body.release();
+        return out;
+    }
+
+    private Object decode(ByteBuf buf, State state) throws IOException {
+        if (!buf.isReadable() || buf.getUnsignedByte(buf.readerIndex()) != MAGIC) {
+            return delegate.getValueDecoder().decode(buf, state);
+        }
+        buf.skipBytes(1);
+        int flags = buf.readUnsignedByte();
+        if ((flags & 0x0F) != VERSION) {
+            log.warn("二进制缓存版本不匹配，按未命中处理 version:{}", flags & 0x0F);
+            buf.skipBytes(buf.readableBytes());
+            return null;
+        }
+        ByteBuf body = buf;
+        if ((flags & FLAG_LZ4) != 0) {
+            int rawLength = (int) BinarySchema.readVarLong(buf);
+            byte[] compressed = ByteBufUtil.getBytes(buf);
+            buf.skipBytes(buf.readableBytes());
+            byte[] raw = new byte[rawLength];
+            try {
+                decompressor.decompress(compressed, 0, raw, 0, rawLength);
+            } catch (RuntimeException e) {
+                log.warn("二进制缓存解压失败，按未命中处理", e);
+                return null;
+            }
+            body = Unpooled.wrappedBuffer(raw);
+        }
+
+        int kind = body.readUnsignedByte();
+        if (kind == KIND_DELEGATE) {
+            return delegate.getValueDecoder().decode(body, state);
+        }
+        try {
+            BinarySchema schema = schemasByFingerprint.get(body.readInt());
+            if (schema == null) {
+                // 类结构已变化，丢弃旧数据
+                body.skipBytes(body.readableBytes());
+                return null;
+            }
+            if (kind == KIND_LIST) {
+                int size = (int) BinarySchema.readVarLong(body);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(schema.read(body));
+                }
+                return list;
+            } else if (kind == KIND_OBJECT) {
+                return schema.read(body);
+            }
+            log.warn("二进制缓存类型未知，按未命中处理 kind:{}", kind);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("二进制缓存解码失败，按未命中处理", e);
+        }
+        body.skipBytes(body.readableBytes());
+        return null;
+    }
+
+    /**
+     * 已注册类型的对象，或元素全部为同一已注册类型的非空列表，返回对应结构；其余返回 null 交给委托编码
+     */
+    private BinarySchema resolveSchema(Object in) {
+        if (in == null) {
+            return null;
+        }
+        if (!(in instanceof List<?> list)) {
+            return schemasByType.get(in.getClass());
+        }
+        if (list.isEmpty() || list.get(0) == null) {
+            return null;
+        }
+        Class<?> elementType = list.get(0).getClass();
+        BinarySchema schema = schemasByType.get(elementType);
+        if (schema == null) {
+            return null;
+        }
+        for (Object element : list) {
+            if (element == null || element.getClass() != elementType) {
+                return null;
+            }
+        }
+        return schema;
+    }
+
+}
@@ -0,0 +1,92 @@
+package cn.cug.sxy.infrastructure.redis.codec;
+
+import cn.cug.sxy.infrastructure.dao.po.*;
+import cn.cug.sxy.infrastructure.redis.config.RedisCodecConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/28 11:30
+ * @Description Redis 值编码路由，按缓存键最长前缀选择编码；未匹配的键使用客户端默认编码
+ * 切换格式前须确认所有节点均已部署本版本：新版本可读取旧的 JSON 数据，旧版本无法读取二进制数据
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class RedisCodecRouter {
+
+    /**
+     * 使用二进制结构编码的持久化对象类型（仓储缓存的对象与列表）
+     */
+    static final List<Class<?>> BINARY_TYPES = List.of(
+            InstanceStructureNodePO.class,
+            TemplateStructureNodePO.class,
+            InstanceStructurePO.class,
+            TemplateStructurePO.class,
+            CarModelPO.class,
+            CarSeriesPO.class,
+            SystemCategoryPO.class,
+            SystemGroupPO.class,
+            ConfigItemPO.class,
+            WorkHourPO.class);
+
+    @Resource
+    private RedisCodecConfig redisCodecConfig;
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 编码路由，按前缀长度倒序以实现最长前缀匹配
+     */
+    private final Map<String, Codec> routes = new LinkedHashMap<>();
+
+    private Codec defaultCodec;
+
+    @PostConstruct
+    public void init() {
+        defaultCodec = redissonClient.getConfig().getCodec();
+        if (!redisCodecConfig.isEnabled()) {
+            return;
+        }
+        redisCodecConfig.getRoutes().entrySet().stream()
+                .sorted((a, b) -> b.getKey().length() - a.getKey().length())
+                .forEach(entry -> routes.put(entry.getKey(), buildCodec(entry.getValue())));
+        log.info("Redis 值编码路由已启用 前缀:{}", routes.keySet());
+    }
+
+    /**
+     * 获取缓存键对应的编码
+     *
+     * @param key 缓存键
+     * @return 匹配前缀的编码，未匹配时为客户端默认编码
+     */
+    public Codec codecFor(String key) {
+        if (!routes.isEmpty() && key != null) {
+            for (Map.Entry<String, Codec> entry : routes.entrySet()) {
+                if (key.startsWith(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return defaultCodec;
+    }
+
+    private Codec buildCodec(RedisCodecConfig.RouteConfig route) {
+        List<Class<?>> types = route.getFormat() == RedisCodecConfig.Format.COMPACT ? BINARY_TYPES : Collections.emptyList();
+        if (types.isEmpty() && route.getCompressThreshold() <= 0) {
+            return defaultCodec;
+        }
+        // JSON 格式仅借用压缩帧，值本身仍由默认编码处理
+        return new CompactBinaryCodec(defaultCodec, types, route.getCompressThreshold());
+    }
+
+}
@@ -0,0 +1,56 @@
+package cn.cug.sxy.infrastructure.redis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ * @Date 2025/8/21 09:40
+ * @Description 本地近端缓存（L1）配置，按缓存键前缀划分区域
+ * @Author jerryhotton
+ */
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "redis.near-cache")
+public class NearCacheConfig {
+
+    /**
+     * 是否启用本地近端缓存，默认关闭
+     */
+    private boolean enabled = false;
+    /**
+     * 跨节点失效通知主题
+     */
+    private String invalidationTopic = "near_cache:invalidation";
+    /**
+     * 缓存区域配置，key 为缓存键前缀（如 instance_structure:instance_structure_nodes_by_instance_id_key_）
+     */
+    private Map<String, RegionConfig> regions = new LinkedHashMap<>();
+
+    /**
+     * 缓存区域配置
+     */
+    @Data
+    public static class RegionConfig {
+
+        /**
+         * 写入后过期时间（毫秒）
+         */
+        private long ttl = 60000;
+        /**
+         * 最大条目数，与 maximumWeight 二选一
+         */
+        private long maximumSize = 1000;
+        /**
+         * 最大权重，大于0时按权重淘汰（集合按元素个数计重，其他值计1）
+         */
+        private long maximumWeight = 0;
+
+    }
+
+}
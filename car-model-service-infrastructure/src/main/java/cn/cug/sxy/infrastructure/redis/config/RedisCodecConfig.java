@@ -0,0 +1,64 @@
+package cn.cug.sxy.infrastructure.redis.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/28 11:20
+ * @Description Redis 值编码配置，按缓存键前缀选择编码格式与压缩阈值
+ * @Author jerryhotton
+ */
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "redis.codec")
+public class RedisCodecConfig {
+
+    /**
+     * 是否启用按前缀选择编码，默认关闭，全部使用客户端默认编码（JSON）
+     */
+    private boolean enabled = false;
+    /**
+     * 编码路由，key 为缓存键前缀（如 instance_structure:），按最长前缀匹配
+     */
+    private Map<String, RouteConfig> routes = new LinkedHashMap<>();
+
+    /**
+     * 编码路由配置
+     */
+    @Data
+    public static class RouteConfig {
+
+        /**
+         * 编码格式
+         */
+        private Format format = Format.COMPACT;
+        /**
+         * 压缩阈值（字节），编码结果不小于该值时尝试 LZ4 压缩，小于等于0不压缩
+         */
+        private int compressThreshold = 1024;
+
+    }
+
+    /**
+     * 编码格式
+     */
+    public enum Format {
+
+        /**
+         * 紧凑二进制，未注册的类型仍使用 JSON
+         */
+        COMPACT,
+        /**
+         * 客户端默认编码（JSON）
+         */
+        JSON
+
+    }
+
+}
@@ -3,9 +3,11 @@ package cn.cug.sxy.trigger.http;
 import cn.cug.sxy.api.ICarSeriesModelService;
 import cn.cug.sxy.api.dto.CarModelCreateRequestDTO;
 import cn.cug.sxy.api.dto.CarSeriesCreateRequestDTO;
+import cn.cug.sxy.api.dto.VinBatchQueryRequestDTO;
 import cn.cug.sxy.api.response.Response;
 import cn.cug.sxy.api.vo.CarModelVO;
 import cn.cug.sxy.api.vo.CarSeriesVO;
+import cn.cug.sxy.api.vo.VinQueryResultVO;
 import cn.cug.sxy.domain.series.model.entity.CarModelEntity;
 import cn.cug.sxy.domain.series.model.valobj.ModelCode;
 import cn.cug.sxy.domain.series.model.valobj.PowerType;
@@ -17,6 +19,9 @@ import cn.cug.sxy.domain.series.model.valobj.SeriesCode;
 import cn.cug.sxy.domain.series.model.valobj.SeriesId;
 import cn.cug.sxy.domain.series.service.ICarSeriesCommandService;
 import cn.cug.sxy.domain.series.service.ICarSeriesQueryService;
+import cn.cug.sxy.domain.series.model.valobj.VinCode;
+import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
+import cn.cug.sxy.domain.series.service.IVinQueryService;
 import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.exception.AppException;
 import jakarta.validation.Valid;
@@ -24,7 +29,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.dubbo.config.annotation.DubboService;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -45,16 +54,19 @@ public class CarSeriesModelController implements ICarSeriesModelService {
     private final ICarModelQueryService carModelQueryService;
     private final ICarSeriesCommandService carSeriesCommandService;
     private final ICarModelCommandService carModelCommandService;
+    private final IVinQueryService vinQueryService;
 
     public CarSeriesModelController(
             ICarSeriesQueryService carSeriesQueryService,
             ICarModelQueryService carModelQueryService,
             ICarSeriesCommandService carSeriesCommandService,
-            ICarModelCommandService carModelCommandService) {
+            ICarModelCommandService carModelCommandService,
+            IVinQueryService vinQueryService) {
         this.carSeriesQueryService = carSeriesQueryService;
         this.carModelQueryService = carModelQueryService;
         this.carSeriesCommandService = carSeriesCommandService;
         this.carModelCommandService = carModelCommandService;
+        this.vinQueryService = vinQueryService;
     }
 
     @RequestMapping(value = "create_series", method = RequestMethod.POST)
@@ -125,6 +137,15 @@ public class CarSeriesModelController implements ICarSeriesModelService {
             );
             log.info("创建车型成功 modelId={}, modelCode={}, modelName={}, powerType={}, creator={}",
                     carModel.getId(), modelCode, modelName, powerType, requestDTO.getCreator());
+            // 图标异步上传：文件先暂存，事件只携带暂存引用；图标失败不影响车型创建
+            if (requestDTO.getIconFile() != null && !requestDTO.getIconFile().isEmpty()) {
+                try {
+                    carModelCommandService.requestModelIconUpload(carModel.getId(), requestDTO.getIconFile());
+                } catch (Exception e) {
+                    log.warn("车型图标上传请求失败 modelId={}, fileName={}",
+                            carModel.getId(), requestDTO.getIconFile().getOriginalFilename(), e);
+                }
+            }
             CarModelVO carModelVO = convertToCarModelVO(carModel);
 
             return Response.<CarModelVO>builder()
@@ -250,6 +271,70 @@ public class CarSeriesModelController implements ICarSeriesModelService {
         }
     }
 
+    @RequestMapping(value = "query_models_by_vins", method = RequestMethod.POST)
+    @Override
+    public Response<List<VinQueryResultVO>> queryModelsByVins(@RequestBody @Valid VinBatchQueryRequestDTO requestDTO) {
+        List<String> vins = requestDTO.getVins();
+        try {
+            log.info("根据VIN码批量查询车型 count={}", vins.size());
+            // 格式不合法的VIN码单独返回失败，不影响其余VIN码查询
+            Map<String, VinCode> validVinCodes = new LinkedHashMap<>();
+            Map<String, String> invalidVins = new HashMap<>();
+            for (String vin : vins) {
+                try {
+                    validVinCodes.put(vin, new VinCode(vin));
+                } catch (IllegalArgumentException e) {
+                    invalidVins.put(vin, e.getMessage());
+                }
+            }
+            Map<VinCode, VinQueryResult> results = vinQueryService.queryByVins(new ArrayList<>(validVinCodes.values()));
+            List<VinQueryResultVO> resultVOs = vins.stream()
+                    .distinct()
+                    .map(vin -> invalidVins.containsKey(vin)
+                            ? VinQueryResultVO.builder().vin(vin).success(false).errorMessage(invalidVins.get(vin)).build()
+                            : convertToVinQueryResultVO(vin, results.get(validVinCodes.get(vin))))
+                    .collect(Collectors.toList());
+            log.info("根据VIN码批量查询车型完成 count={}, successCount={}", resultVOs.size(),
+                    resultVOs.stream().filter(VinQueryResultVO::getSuccess).count());
+
+            return Response.<List<VinQueryResultVO>>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(resultVOs)
+                    .build();
+        } catch (AppException e) {
+            log.error("根据VIN码批量查询车型失败 count={}", vins.size(), e);
+            return Response.<List<VinQueryResultVO>>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("根据VIN码批量查询车型异常 count={}", vins.size(), e);
+            return Response.<List<VinQueryResultVO>>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    /**
+     * 转换VIN码查询结果为VO
+     */
+    private VinQueryResultVO convertToVinQueryResultVO(String vin, VinQueryResult result) {
+        if (result == null) {
+            return VinQueryResultVO.builder().vin(vin).success(false).errorMessage("VIN码查询无结果").build();
+        }
+        return VinQueryResultVO.builder()
+                .vin(vin)
+                .success(result.isSuccess())
+                .modelCode(result.getModelCode() == null ? null : result.getModelCode().getCode())
+                .modelName(result.getModelName())
+                .brand(result.getBrand() == null ? null : result.getBrand().getName())
+                .powerType(result.getPowerType() == null ? null : result.getPowerType().getCode())
+                .errorMessage(result.getErrorMessage())
+                .build();
+    }
+
     /**
      * 转换车系实体为VO
      */
@@ -6,10 +6,12 @@ import cn.cug.sxy.api.dto.ConfigCategoryUpdateRequestDTO;
 import cn.cug.sxy.api.dto.ConfigItemCreateRequestDTO;
 import cn.cug.sxy.api.dto.SearchConfigCategoryRequestDTO;
 import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ConfigCatalogVO;
 import cn.cug.sxy.api.vo.ConfigCategoryVO;
 import cn.cug.sxy.api.vo.ConfigItemVO;
 import cn.cug.sxy.domain.usage.model.entity.ConfigCategoryEntity;
 import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
+import cn.cug.sxy.domain.usage.model.valobj.ConfigCatalogSnapshot;
 import cn.cug.sxy.domain.usage.model.valobj.ConfigCategoryId;
 import cn.cug.sxy.domain.usage.model.valobj.ConfigItemId;
 import cn.cug.sxy.domain.usage.service.ConfigQueryService;
@@ -19,6 +21,9 @@ import cn.cug.sxy.types.exception.AppException;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -343,6 +348,57 @@ public class ConfigController implements IConfigService {
         }
     }
 
+    /**
+     * 获取配置目录（支持 version 参数或 If-None-Match 条件请求，未变化时返回 304）
+     */
+    @RequestMapping(value = "get_catalog", method = RequestMethod.GET)
+    public ResponseEntity<Response<ConfigCatalogVO>> getCatalog(
+            @RequestParam(required = false) Long version,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            ConfigCatalogSnapshot snapshot = configQueryService.getCatalogSnapshot();
+            String etag = "\"" + snapshot.getVersion() + "\"";
+            if (snapshot.isUnchanged(version) || matchesETag(ifNoneMatch, etag)) {
+                log.info("配置目录未变化 version={}", snapshot.getVersion());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            List<ConfigCategoryVO> categoryVOS = snapshot.getCategories().stream()
+                    .map(category -> {
+                        ConfigCategoryVO categoryVO = convertToCategoryVO(category);
+                        categoryVO.setItems(snapshot.getItems(category.getId()).stream()
+                                .map(this::convertToItemVO)
+                                .collect(Collectors.toList()));
+                        return categoryVO;
+                    })
+                    .collect(Collectors.toList());
+            ConfigCatalogVO catalogVO = ConfigCatalogVO.builder()
+                    .version(snapshot.getVersion())
+                    .builtTime(snapshot.getBuiltTime())
+                    .categories(categoryVOS)
+                    .build();
+
+            return ResponseEntity.ok().eTag(etag).body(Response.<ConfigCatalogVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(catalogVO)
+                    .build());
+        } catch (AppException e) {
+            log.error("获取配置目录失败 version={}", version, e);
+
+            return ResponseEntity.ok(Response.<ConfigCatalogVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build());
+        } catch (Exception e) {
+            log.error("获取配置目录异常 version={}", version, e);
+
+            return ResponseEntity.ok(Response.<ConfigCatalogVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build());
+        }
+    }
+
     @RequestMapping(value = "delete_config_item", method = RequestMethod.POST)
     @Override
     public Response<Boolean> deleteConfigItem(@RequestParam Long itemId) {
@@ -394,6 +450,19 @@ public class ConfigController implements IConfigService {
         return vo;
     }
 
+    private boolean matchesETag(String ifNoneMatch, String currentETag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = StringUtils.removeStart(candidate.trim(), "W/");
+            if ("*".equals(tag) || currentETag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 转换配置项实体为VO
      */
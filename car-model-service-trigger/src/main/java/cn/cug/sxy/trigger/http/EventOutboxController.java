@@ -0,0 +1,144 @@
+package cn.cug.sxy.trigger.http;
+
+import cn.cug.sxy.api.IEventOutboxService;
+import cn.cug.sxy.api.dto.ArchivedTaskQueryRequestDTO;
+import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ArchivedTaskPageVO;
+import cn.cug.sxy.api.vo.ArchivedTaskVO;
+import cn.cug.sxy.api.vo.OutboxRelayMetricsVO;
+import cn.cug.sxy.domain.event.model.entity.TaskEntity;
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayMetrics;
+import cn.cug.sxy.domain.event.model.valobj.TaskArchiveQuery;
+import cn.cug.sxy.domain.event.service.IOutboxRelayService;
+import cn.cug.sxy.domain.event.service.ITaskArchiveService;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 11:15
+ * @Description 事件发件箱控制器
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@RestController
+@CrossOrigin("*")
+@RequestMapping("/api/v1/event_outbox/")
+@DubboService(version = "1.0")
+public class EventOutboxController implements IEventOutboxService {
+
+    private static final int DEFAULT_ARCHIVE_PAGE_SIZE = 20;
+    private static final int MAX_ARCHIVE_PAGE_SIZE = 200;
+
+    private final IOutboxRelayService outboxRelayService;
+    private final ITaskArchiveService taskArchiveService;
+
+    public EventOutboxController(IOutboxRelayService outboxRelayService, ITaskArchiveService taskArchiveService) {
+        this.outboxRelayService = outboxRelayService;
+        this.taskArchiveService = taskArchiveService;
+    }
+
+    @RequestMapping(value = "query_relay_metrics", method = RequestMethod.GET)
+    @Override
+    public Response<OutboxRelayMetricsVO> queryRelayMetrics() {
+        try {
+            OutboxRelayMetrics metrics = outboxRelayService.getMetrics();
+            OutboxRelayMetricsVO metricsVO = OutboxRelayMetricsVO.builder()
+                    .pendingCount(metrics.getPendingCount())
+                    .lagMillis(metrics.getLagMillis())
+                    .publishedPerSecond(metrics.getPublishedPerSecond())
+                    .publishedTotal(metrics.getPublishedTotal())
+                    .failedTotal(metrics.getFailedTotal())
+                    .unconfirmedTotal(metrics.getUnconfirmedTotal())
+                    .batchTotal(metrics.getBatchTotal())
+                    .lastBatchSize(metrics.getLastBatchSize())
+                    .lastBatchMillis(metrics.getLastBatchMillis())
+                    .lastRelayTime(metrics.getLastRelayTime())
+                    .build();
+
+            return Response.<OutboxRelayMetricsVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(metricsVO)
+                    .build();
+        } catch (Exception e) {
+            log.error("查询发件箱投递指标异常", e);
+
+            return Response.<OutboxRelayMetricsVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    @RequestMapping(value = "query_archived_tasks", method = RequestMethod.POST)
+    @Override
+    public Response<ArchivedTaskPageVO> queryArchivedTasks(@RequestBody ArchivedTaskQueryRequestDTO requestDTO) {
+        try {
+            if (requestDTO.getStartTime() != null && requestDTO.getEndTime() != null
+                    && !requestDTO.getStartTime().isBefore(requestDTO.getEndTime())) {
+                throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "开始时间必须早于结束时间");
+            }
+            int pageSize = requestDTO.getPageSize() == null || requestDTO.getPageSize() <= 0
+                    ? DEFAULT_ARCHIVE_PAGE_SIZE : Math.min(requestDTO.getPageSize(), MAX_ARCHIVE_PAGE_SIZE);
+            // 多取一条判断是否还有下一页
+            List<TaskEntity> tasks = taskArchiveService.queryArchivedTasks(TaskArchiveQuery.builder()
+                    .messageId(requestDTO.getMessageId())
+                    .topic(requestDTO.getTopic())
+                    .state(requestDTO.getState())
+                    .startTime(requestDTO.getStartTime())
+                    .endTime(requestDTO.getEndTime())
+                    .lastId(requestDTO.getLastId())
+                    .limit(pageSize + 1)
+                    .build());
+            boolean hasMore = tasks.size() > pageSize;
+            List<ArchivedTaskVO> taskVOs = tasks.stream()
+                    .limit(pageSize)
+                    .map(task -> ArchivedTaskVO.builder()
+                            .id(Long.valueOf(task.getId()))
+                            .messageId(task.getMessageId())
+                            .topic(task.getTopic())
+                            .message(task.getMessage())
+                            .state(task.getState() != null ? task.getState().getCode() : null)
+                            .retryCount(task.getRetryCount())
+                            .errorMessage(task.getErrorMessage())
+                            .createdTime(task.getCreatedTime())
+                            .updatedTime(task.getUpdatedTime())
+                            .archivedTime(task.getArchivedTime())
+                            .build())
+                    .toList();
+            ArchivedTaskPageVO pageVO = ArchivedTaskPageVO.builder()
+                    .tasks(taskVOs)
+                    .nextCursor(hasMore ? taskVOs.get(taskVOs.size() - 1).getId() : null)
+                    .hasMore(hasMore)
+                    .build();
+
+            return Response.<ArchivedTaskPageVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(pageVO)
+                    .build();
+        } catch (AppException e) {
+            log.error("查询归档任务失败 request={}", requestDTO, e);
+
+            return Response.<ArchivedTaskPageVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("查询归档任务异常 request={}", requestDTO, e);
+
+            return Response.<ArchivedTaskPageVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package cn.cug.sxy.trigger.http;
+
+import cn.cug.sxy.api.IImportJobService;
+import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.service.IImportJobManageService;
+import cn.cug.sxy.trigger.http.converter.ToVOConverter;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.dubbo.config.annotation.DubboService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/8 14:30
+ * @Description 导入任务控制器
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@RestController
+@CrossOrigin("*")
+@RequestMapping("/api/v1/import_job/")
+@DubboService(version = "1.0")
+public class ImportJobController implements IImportJobService {
+
+    private final IImportJobManageService importJobManageService;
+    private final ToVOConverter toVOConverter;
+
+    public ImportJobController(IImportJobManageService importJobManageService, ToVOConverter toVOConverter) {
+        this.importJobManageService = importJobManageService;
+        this.toVOConverter = toVOConverter;
+    }
+
+    @RequestMapping(value = "query", method = RequestMethod.GET)
+    @Override
+    public Response<ImportJobVO> queryJob(@RequestParam("jobId") String jobId) {
+        try {
+            ImportJobEntity job = importJobManageService.findJob(jobId);
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(toVOConverter.convertToImportJobVO(job))
+                    .build();
+        } catch (AppException e) {
+            log.error("查询导入任务失败 jobId={}", jobId, e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("查询导入任务异常 jobId={}", jobId, e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    @RequestMapping(value = "download_report", method = RequestMethod.GET)
+    @Override
+    public ResponseEntity<byte[]> downloadReport(@RequestParam("jobId") String jobId) {
+        try {
+            log.info("下载导入结果报告 jobId={}", jobId);
+            byte[] reportData = importJobManageService.getReport(jobId);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
+            String filename = "导入结果_" + jobId + ".csv";
+            String encodedFilename = UriUtils.encode(filename, StandardCharsets.UTF_8);
+            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFilename);
+            headers.setContentLength(reportData.length);
+
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(reportData);
+        } catch (AppException e) {
+            log.warn("导入结果报告不可下载 jobId={}, code={}", jobId, e.getCode());
+            HttpStatus status = ResponseCode.IMPORT_JOB_NOT_FOUND.getCode().equals(e.getCode())
+                    ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT;
+
+            return ResponseEntity.status(status).build();
+        } catch (Exception e) {
+            log.error("下载导入结果报告失败 jobId={}", jobId, e);
+
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+}
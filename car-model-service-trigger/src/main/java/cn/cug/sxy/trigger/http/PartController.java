@@ -5,10 +5,13 @@ import cn.cug.sxy.api.dto.ChangePartStatusRequestDTO;
 import cn.cug.sxy.api.dto.PartCreateRequestDTO;
 import cn.cug.sxy.api.dto.PartUpdateRequestDTO;
 import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
 import cn.cug.sxy.api.vo.PartBindHourResultVO;
 import cn.cug.sxy.api.vo.PartDetailVO;
 import cn.cug.sxy.api.vo.PartVO;
 import cn.cug.sxy.api.vo.WorkHourTreeVO;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.service.IImportJobManageService;
 import cn.cug.sxy.domain.part.model.entity.PartBindHourResultEntity;
 import cn.cug.sxy.domain.part.model.entity.PartEntity;
 import cn.cug.sxy.domain.part.model.valobj.PartCode;
@@ -52,16 +55,19 @@ public class PartController implements IPartService {
     private final IPartQueryService partQueryService;
     private final IPartCommandService partCommandService;
     private final IWorkHourQueryService workHourQueryService;
+    private final IImportJobManageService importJobManageService;
     private final ToVOConverter toVOConverter;
 
     public PartController(
             final IPartQueryService partQueryService,
             final IPartCommandService partCommandService,
             final IWorkHourQueryService workHourQueryService,
+            final IImportJobManageService importJobManageService,
             final ToVOConverter toVOConverter) {
         this.partQueryService = partQueryService;
         this.partCommandService = partCommandService;
         this.workHourQueryService = workHourQueryService;
+        this.importJobManageService = importJobManageService;
         this.toVOConverter = toVOConverter;
     }
 
@@ -417,6 +423,41 @@ public class PartController implements IPartService {
         }
     }
 
+    @RequestMapping(value = "batch_bind_hours_async", method = RequestMethod.POST)
+    @Override
+    public Response<ImportJobVO> batchBindHoursAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("creator") String creator) {
+        try {
+            log.info("提交批量绑定备件工时任务 creator={}, fileName={}, fileSize={}",
+                    creator, file.getOriginalFilename(), file.getSize());
+            // 验证文件
+            TemplateFileUtil.validateTemplateFile(file, TemplateFileUtil.IMPORT_MAX_FILE_SIZE);
+            ImportJobEntity job = importJobManageService.submitPartHourBindingImport(file, creator);
+            log.info("提交批量绑定备件工时任务成功 jobId={}", job.getJobId());
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(toVOConverter.convertToImportJobVO(job))
+                    .build();
+        } catch (AppException e) {
+            log.error("提交批量绑定备件工时任务失败", e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("提交批量绑定备件工时任务异常", e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
     @RequestMapping(value = "unbind_hour", method = RequestMethod.POST)
     @Override
     public Response<Boolean> unbindHour(Long partId, Long hourId) {
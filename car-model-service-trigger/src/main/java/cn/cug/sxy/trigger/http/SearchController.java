@@ -0,0 +1,158 @@
+package cn.cug.sxy.trigger.http;
+
+import cn.cug.sxy.api.ISearchService;
+import cn.cug.sxy.api.dto.SearchRequestDTO;
+import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.SearchHitVO;
+import cn.cug.sxy.domain.search.model.valobj.SearchDocType;
+import cn.cug.sxy.domain.search.model.valobj.SearchHit;
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
+import cn.cug.sxy.types.enums.ResponseCode;
+import cn.cug.sxy.types.exception.AppException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.dubbo.config.annotation.DubboService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 14:20
+ * @Description 名称检索控制器
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@RestController
+@CrossOrigin("*")
+@RequestMapping("/api/v1/search/")
+@DubboService(version = "1.0")
+public class SearchController implements ISearchService {
+
+    private final ISearchIndexService searchIndexService;
+
+    public SearchController(ISearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    @RequestMapping(value = "search", method = RequestMethod.POST)
+    @Override
+    public Response<List<SearchHitVO>> search(@RequestBody SearchRequestDTO requestDTO) {
+        try {
+            validate(requestDTO);
+            List<SearchHit> hits = searchIndexService.search(requestDTO.getKeyword(), parseDocTypes(requestDTO.getDocTypes()),
+                    requestDTO.getInstanceId(), requestDTO.getLimit() == null ? 0 : requestDTO.getLimit());
+
+            return Response.<List<SearchHitVO>>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(hits.stream().map(this::toVO).toList())
+                    .build();
+        } catch (AppException e) {
+            log.error("名称检索失败 request={}", requestDTO, e);
+
+            return Response.<List<SearchHitVO>>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("名称检索异常 request={}", requestDTO, e);
+
+            return Response.<List<SearchHitVO>>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    @RequestMapping(value = "suggest", method = RequestMethod.POST)
+    @Override
+    public Response<List<SearchHitVO>> suggest(@RequestBody SearchRequestDTO requestDTO) {
+        try {
+            validate(requestDTO);
+            List<SearchHit> hits = searchIndexService.suggest(requestDTO.getKeyword(), parseDocTypes(requestDTO.getDocTypes()),
+                    requestDTO.getInstanceId(), requestDTO.getLimit() == null ? 0 : requestDTO.getLimit());
+
+            return Response.<List<SearchHitVO>>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(hits.stream().map(this::toVO).toList())
+                    .build();
+        } catch (AppException e) {
+            log.error("名称补全失败 request={}", requestDTO, e);
+
+            return Response.<List<SearchHitVO>>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("名称补全异常 request={}", requestDTO, e);
+
+            return Response.<List<SearchHitVO>>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    @RequestMapping(value = "rebuild_index", method = RequestMethod.POST)
+    @Override
+    public Response<Integer> rebuildIndex() {
+        try {
+            int size = searchIndexService.rebuild();
+
+            return Response.<Integer>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(size)
+                    .build();
+        } catch (Exception e) {
+            log.error("重建名称检索索引异常", e);
+
+            return Response.<Integer>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    private void validate(SearchRequestDTO requestDTO) {
+        if (requestDTO == null || StringUtils.isBlank(requestDTO.getKeyword())) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "检索关键字不能为空");
+        }
+    }
+
+    private Set<SearchDocType> parseDocTypes(List<String> docTypes) {
+        Set<SearchDocType> result = EnumSet.noneOf(SearchDocType.class);
+        if (docTypes == null) {
+            return result;
+        }
+        for (String code : docTypes) {
+            if (StringUtils.isBlank(code)) {
+                continue;
+            }
+            try {
+                result.add(SearchDocType.fromCode(code));
+            } catch (IllegalArgumentException e) {
+                throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), e.getMessage());
+            }
+        }
+
+        return result;
+    }
+
+    private SearchHitVO toVO(SearchHit hit) {
+        return SearchHitVO.builder()
+                .docType(hit.getDocType().getCode())
+                .docId(hit.getDocId())
+                .instanceId(hit.getScopeId())
+                .name(hit.getName())
+                .matchedText(hit.getMatchedText())
+                .score(hit.getScore())
+                .build();
+    }
+
+}
@@ -10,6 +10,13 @@ import cn.cug.sxy.domain.structure.model.entity.StructureInstanceEntity;
 import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
 import cn.cug.sxy.domain.structure.model.valobj.*;
 import cn.cug.sxy.domain.structure.service.IInstanceService;
+import cn.cug.sxy.domain.series.model.valobj.VinQueryResult;
+import cn.cug.sxy.domain.usage.model.entity.UsagePartEntity;
+import cn.cug.sxy.domain.usage.model.valobj.ConfigItemId;
+import cn.cug.sxy.domain.usage.model.valobj.UsageId;
+import cn.cug.sxy.domain.usage.model.valobj.VinPartsTree;
+import cn.cug.sxy.domain.usage.service.IUsageMatchingService;
+import cn.cug.sxy.domain.usage.service.IVinPartsLookupService;
 import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.enums.Status;
 import cn.cug.sxy.types.exception.AppException;
@@ -17,6 +24,9 @@ import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.dubbo.config.annotation.DubboService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -37,10 +47,19 @@ import java.util.stream.Collectors;
 @DubboService(version = "1.0")
 public class StructureInstanceController implements IStructureInstanceService {
 
+    private static final int DEFAULT_SEEK_PAGE_SIZE = 20;
+    private static final int MAX_SEEK_PAGE_SIZE = 200;
+
     private final IInstanceService instanceService;
+    private final IUsageMatchingService usageMatchingService;
+    private final IVinPartsLookupService vinPartsLookupService;
 
-    public StructureInstanceController(IInstanceService instanceService) {
+    public StructureInstanceController(IInstanceService instanceService,
+                                       IUsageMatchingService usageMatchingService,
+                                       IVinPartsLookupService vinPartsLookupService) {
         this.instanceService = instanceService;
+        this.usageMatchingService = usageMatchingService;
+        this.vinPartsLookupService = vinPartsLookupService;
     }
 
     @RequestMapping(value = "create_instance", method = RequestMethod.POST)
@@ -127,6 +146,130 @@ public class StructureInstanceController implements IStructureInstanceService {
         }
     }
 
+    @RequestMapping(value = "get_filtered_tree", method = RequestMethod.POST)
+    @Override
+    public Response<InstanceDetailVO> getFilteredTree(@RequestBody @Valid UsageMatchRequestDTO requestDTO) {
+        Long instanceId = requestDTO.getInstanceId();
+        try {
+            log.info("按车辆配置获取实例结构树 instanceId={}, configItemIds={}", instanceId, requestDTO.getConfigItemIds());
+            InstanceId id = new InstanceId(instanceId);
+            Set<UsageId> matchedUsageIds = usageMatchingService.matchUsages(
+                    id,
+                    requestDTO.getConfigItemIds().stream()
+                            .map(ConfigItemId::new)
+                            .collect(Collectors.toList()),
+                    Boolean.TRUE.equals(requestDTO.getIgnoreUnspecifiedCategories()));
+            Map<String, Object> instanceData = new HashMap<>(instanceService.getInstanceWithFullTree(id));
+            @SuppressWarnings("unchecked")
+            List<StructureInstanceNodeEntity> nodes = (List<StructureInstanceNodeEntity>) instanceData.get("nodes");
+            instanceData.put("nodes", usageMatchingService.pruneNodes(nodes, matchedUsageIds));
+            InstanceDetailVO detailVO = toInstanceDetailVO(instanceData);
+            log.info("按车辆配置获取实例结构树成功 instanceId={}, matchedUsages={}", instanceId, matchedUsageIds.size());
+
+            return Response.<InstanceDetailVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(detailVO)
+                    .build();
+        } catch (AppException e) {
+            log.error("按车辆配置获取实例结构树失败 instanceId={}", instanceId, e);
+
+            return Response.<InstanceDetailVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("按车辆配置获取实例结构树异常 instanceId={}", instanceId, e);
+
+            return Response.<InstanceDetailVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    @RequestMapping(value = "get_vin_parts_tree", method = RequestMethod.POST)
+    @Override
+    public Response<VinPartsTreeVO> getVinPartsTree(@RequestBody @Valid VinPartsTreeRequestDTO requestDTO) {
+        String vin = requestDTO.getVin();
+        try {
+            log.info("根据VIN码查询备件树 vin={}, configItemIds={}", vin, requestDTO.getConfigItemIds());
+            List<ConfigItemId> configItemIds = requestDTO.getConfigItemIds() == null ? Collections.emptyList()
+                    : requestDTO.getConfigItemIds().stream()
+                    .filter(Objects::nonNull)
+                    .map(ConfigItemId::new)
+                    .collect(Collectors.toList());
+            VinPartsTree partsTree = vinPartsLookupService.lookup(vin, configItemIds,
+                    !Boolean.FALSE.equals(requestDTO.getIgnoreUnspecifiedCategories()));
+            VinPartsTreeVO partsTreeVO = convertToVinPartsTreeVO(vin, partsTree);
+            log.info("根据VIN码查询备件树成功 vin={}, instanceId={}, matchedUsages={}, parts={}",
+                    vin, partsTreeVO.getInstance().getId(), partsTreeVO.getMatchedUsageCount(), partsTreeVO.getPartCount());
+
+            return Response.<VinPartsTreeVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(partsTreeVO)
+                    .build();
+        } catch (AppException e) {
+            log.error("根据VIN码查询备件树失败 vin={}", vin, e);
+
+            return Response.<VinPartsTreeVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("根据VIN码查询备件树异常 vin={}", vin, e);
+
+            return Response.<VinPartsTreeVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    /**
+     * 获取已发布实例的完整树（支持 If-None-Match 条件请求，未变化时返回 304）
+     */
+    @RequestMapping(value = "get_published_tree", method = RequestMethod.GET)
+    public ResponseEntity<Response<InstanceDetailVO>> getPublishedTree(
+            @RequestParam Long instanceId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            log.info("获取已发布实例完整树 instanceId={}, ifNoneMatch={}", instanceId, ifNoneMatch);
+            InstanceId id = new InstanceId(instanceId);
+            String currentETag = instanceService.findPublishedTreeETag(id);
+            if (currentETag != null && matchesETag(ifNoneMatch, currentETag)) {
+                log.info("已发布实例完整树未变化 instanceId={}, etag={}", instanceId, currentETag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+            Map<String, Object> instanceData = instanceService.getInstanceWithFullTree(id);
+            InstanceDetailVO detailVO = toInstanceDetailVO(instanceData);
+            String etag = (String) instanceData.get("etag");
+            log.info("获取已发布实例完整树成功 instanceId={}, etag={}", instanceId, etag);
+            Response<InstanceDetailVO> response = Response.<InstanceDetailVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(detailVO)
+                    .build();
+
+            return etag == null ? ResponseEntity.ok(response) : ResponseEntity.ok().eTag(etag).body(response);
+        } catch (AppException e) {
+            log.error("获取已发布实例完整树失败 instanceId={}", instanceId, e);
+
+            return ResponseEntity.ok(Response.<InstanceDetailVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build());
+        } catch (Exception e) {
+            log.error("获取已发布实例完整树异常 instanceId={}", instanceId, e);
+
+            return ResponseEntity.ok(Response.<InstanceDetailVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build());
+        }
+    }
+
     @RequestMapping(value = "query_instances", method = RequestMethod.POST)
     @Override
     public Response<InstanceBasePageVO> queryInstances(@RequestBody InstanceQueryRequestDTO requestDTO) {
@@ -140,6 +283,13 @@ public class StructureInstanceController implements IStructureInstanceService {
         try {
             log.info("查询车型结构树实例列表 instanceCode={}, nameKeyword={}, status={}, seriesId={}, modelId={}, pageNo={}, pageSize={}",
                     instanceCode, nameKeyword, status, seriesId, modelId, pageNo, pageSize);
+            if (Boolean.TRUE.equals(requestDTO.getCursorMode()) || StringUtils.isNotBlank(requestDTO.getCursor())) {
+                return Response.<InstanceBasePageVO>builder()
+                        .code(ResponseCode.SUCCESS.getCode())
+                        .info(ResponseCode.SUCCESS.getInfo())
+                        .data(queryInstancesBySeek(requestDTO))
+                        .build();
+            }
             StructureInstancePageVO instancePage = instanceService.findInstances(
                     StringUtils.isBlank(instanceCode) ? null : new InstanceCode(instanceCode),
                     StringUtils.isBlank(nameKeyword) ? null : nameKeyword,
@@ -183,6 +333,35 @@ public class StructureInstanceController implements IStructureInstanceService {
         }
     }
 
+    /**
+     * 游标分页查询实例列表：按创建时间倒序续页，总数按需返回
+     */
+    private InstanceBasePageVO queryInstancesBySeek(InstanceQueryRequestDTO requestDTO) {
+        int pageSize = requestDTO.getPageSize() == null || requestDTO.getPageSize() <= 0
+                ? DEFAULT_SEEK_PAGE_SIZE : Math.min(requestDTO.getPageSize(), MAX_SEEK_PAGE_SIZE);
+        StructureInstancePageVO instancePage = instanceService.findInstancesBySeek(
+                StringUtils.isBlank(requestDTO.getInstanceCode()) ? null : new InstanceCode(requestDTO.getInstanceCode()),
+                StringUtils.isBlank(requestDTO.getNameKeyword()) ? null : requestDTO.getNameKeyword(),
+                StringUtils.isBlank(requestDTO.getStatus()) ? null : Status.fromCode(requestDTO.getStatus()),
+                requestDTO.getSeriesId() == null ? null : new SeriesId(requestDTO.getSeriesId()),
+                requestDTO.getModelId() == null ? null : new ModelId(requestDTO.getModelId()),
+                requestDTO.getCursor(),
+                pageSize,
+                Boolean.TRUE.equals(requestDTO.getWithTotal()));
+        log.info("游标分页查询车型结构树实例列表成功 pageSize={}, size={}, hasMore={}",
+                pageSize, instancePage.getInstances().size(), instancePage.getHasMore());
+
+        return InstanceBasePageVO.builder()
+                .pageSize(pageSize)
+                .total(instancePage.getTotal())
+                .nextCursor(instancePage.getNextCursor())
+                .hasMore(instancePage.getHasMore())
+                .instances(instancePage.getInstances().stream()
+                        .map(this::convertToInstanceBaseVO)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     @RequestMapping(value = "create_new_version", method = RequestMethod.POST)
     @Override
     public Response<InstanceDetailVO> createNewVersion(@RequestBody @Valid InstanceNewVersionRequestDTO requestDTO) {
@@ -565,28 +744,11 @@ public class StructureInstanceController implements IStructureInstanceService {
             if (instanceId1 == null || instanceId2 == null) {
                 throw new AppException(ResponseCode.ILLEGAL_PARAMETER);
             }
-            Map<String, Object> compareResult = instanceService.compareInstances(
+            List<NodeChange> changes = instanceService.compareInstances(
                     new InstanceId(instanceId1),
                     new InstanceId(instanceId2)
             );
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> added = (List<Map<String, Object>>) compareResult.get("added");
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> removed = (List<Map<String, Object>>) compareResult.get("removed");
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> modified = (List<Map<String, Object>>) compareResult.get("modified");
-            // 转换为VO
-            List<InstanceNodeDiffVO> addedVOs = convertToDiffVOs(added, "added");
-            List<InstanceNodeDiffVO> removedVOs = convertToDiffVOs(removed, "removed");
-            List<InstanceNodeDiffVO> modifiedVOs = convertToDiffVOs(modified, "modified");
-            InstanceCompareResultVO compareResultVO = InstanceCompareResultVO.builder()
-                    .added(addedVOs)
-                    .removed(removedVOs)
-                    .modified(modifiedVOs)
-                    .totalAdded(addedVOs.size())
-                    .totalRemoved(removedVOs.size())
-                    .totalModified(modifiedVOs.size())
-                    .build();
+            InstanceCompareResultVO compareResultVO = toCompareResultVO(changes);
 
             return Response.<InstanceCompareResultVO>builder()
                     .code(ResponseCode.SUCCESS.getCode())
@@ -612,11 +774,53 @@ public class StructureInstanceController implements IStructureInstanceService {
         }
     }
 
+    @RequestMapping(value = "compare_instance_with_template", method = RequestMethod.POST)
+    @Override
+    public Response<InstanceCompareResultVO> compareInstanceWithTemplate(@RequestParam Long instanceId, @RequestParam Long templateId) {
+        try {
+            if (instanceId == null || templateId == null) {
+                throw new AppException(ResponseCode.ILLEGAL_PARAMETER);
+            }
+            List<NodeChange> changes = instanceService.compareInstanceWithTemplate(
+                    new InstanceId(instanceId),
+                    new TemplateId(templateId)
+            );
+
+            return Response.<InstanceCompareResultVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(toCompareResultVO(changes))
+                    .build();
+        } catch (AppException e) {
+            log.error("检查实例结构偏离失败 instanceId={}, templateId={}", instanceId, templateId, e);
+
+            return Response.<InstanceCompareResultVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .data(null)
+                    .build();
+        } catch (Exception e) {
+            log.error("检查实例结构偏离异常 instanceId={}, templateId={}", instanceId, templateId, e);
+
+            return Response.<InstanceCompareResultVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .data(null)
+                    .build();
+        }
+    }
+
     /**
      * 获取实例详情VO
      */
     private InstanceDetailVO getInstanceDetailVO(InstanceId instanceId) {
-        Map<String, Object> instanceData = instanceService.getInstanceWithFullTree(instanceId);
+        return toInstanceDetailVO(instanceService.getInstanceWithFullTree(instanceId));
+    }
+
+    /**
+     * 将实例及节点数据转换为详情VO
+     */
+    private InstanceDetailVO toInstanceDetailVO(Map<String, Object> instanceData) {
         StructureInstanceEntity instance = (StructureInstanceEntity) instanceData.get("instance");
         @SuppressWarnings("unchecked")
         List<StructureInstanceNodeEntity> nodes = (List<StructureInstanceNodeEntity>) instanceData.get("nodes");
@@ -642,6 +846,67 @@ public class StructureInstanceController implements IStructureInstanceService {
                 .build();
     }
 
+    /**
+     * 将VIN码备件树转换为VO，备件挂到对应的USAGE节点上
+     */
+    private VinPartsTreeVO convertToVinPartsTreeVO(String vin, VinPartsTree partsTree) {
+        List<InstanceNodeTreeVO> nodeTree = buildNodeTree(partsTree.getNodes());
+        Map<UsageId, List<UsagePartEntity>> partsByUsageId = partsTree.getPartsByUsageId();
+        Deque<InstanceNodeTreeVO> stack = new ArrayDeque<>(nodeTree);
+        while (!stack.isEmpty()) {
+            InstanceNodeTreeVO nodeVO = stack.pop();
+            if (nodeVO.getUsageId() != null) {
+                List<UsagePartEntity> parts = partsByUsageId.getOrDefault(new UsageId(nodeVO.getUsageId()), Collections.emptyList());
+                nodeVO.setParts(parts.stream()
+                        .map(part -> UsagePartVO.builder()
+                                .usageId(part.getUsageId().getId())
+                                .partId(part.getPartId().getId())
+                                .partCode(part.getPartCode())
+                                .partName(part.getPartName())
+                                .count(part.getCount())
+                                .build())
+                        .collect(Collectors.toList()));
+            }
+            if (nodeVO.getChildren() != null) {
+                nodeVO.getChildren().forEach(stack::push);
+            }
+        }
+        VinQueryResult vinQueryResult = partsTree.getVinQueryResult();
+
+        return VinPartsTreeVO.builder()
+                .vinQueryResult(VinQueryResultVO.builder()
+                        .vin(vin)
+                        .success(vinQueryResult.isSuccess())
+                        .modelCode(vinQueryResult.getModelCode().getCode())
+                        .modelName(vinQueryResult.getModelName())
+                        .brand(vinQueryResult.getBrand() == null ? null : vinQueryResult.getBrand().getName())
+                        .powerType(vinQueryResult.getPowerType() == null ? null : vinQueryResult.getPowerType().getCode())
+                        .build())
+                .instance(convertToInstanceBaseVO(partsTree.getInstance()))
+                .configItemIds(partsTree.getConfigItemIds().stream().map(ConfigItemId::getId).collect(Collectors.toList()))
+                .nodeTree(nodeTree)
+                .totalUsageCount(partsTree.getTotalUsageCount())
+                .matchedUsageCount(partsTree.getMatchedUsageCount())
+                .partCount(partsTree.getPartCount())
+                .build();
+    }
+
+    /**
+     * 判断 If-None-Match 是否命中当前 ETag（支持多值与弱校验前缀）
+     */
+    private boolean matchesETag(String ifNoneMatch, String currentETag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = StringUtils.removeStart(candidate.trim(), "W/");
+            if ("*".equals(tag) || currentETag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 构建完整树形结构
      */
@@ -741,58 +1006,35 @@ public class StructureInstanceController implements IStructureInstanceService {
     }
 
     /**
-     * 转换为差异VO列表
+     * 变更列表按类型分组转换为比较结果VO
      */
-    private List<InstanceNodeDiffVO> convertToDiffVOs(List<Map<String, Object>> diffItems, String diffType) {
-        if (diffItems == null || diffItems.isEmpty()) {
-            return Collections.emptyList();
+    private InstanceCompareResultVO toCompareResultVO(List<NodeChange> changes) {
+        Map<NodeChangeType, List<InstanceNodeDiffVO>> grouped = new EnumMap<>(NodeChangeType.class);
+        for (NodeChangeType changeType : NodeChangeType.values()) {
+            grouped.put(changeType, new ArrayList<>());
         }
-        List<InstanceNodeDiffVO> result = new ArrayList<>();
-        for (Map<String, Object> item : diffItems) {
-            InstanceNodeDiffVO vo = new InstanceNodeDiffVO();
-            vo.setNodeCode((String) item.get("nodeCode"));
-            vo.setDiffType(diffType);
-            if ("added".equals(diffType) || "removed".equals(diffType)) {
-                StructureInstanceNodeEntity node = (StructureInstanceNodeEntity) item.get("node");
-                vo.setNodeName(node.getNodeName());
-                vo.setNodeType(node.getNodeType().getCode());
-            } else if ("modified".equals(diffType)) {
-                StructureInstanceNodeEntity oldNode = (StructureInstanceNodeEntity) item.get("oldNode");
-                StructureInstanceNodeEntity newNode = (StructureInstanceNodeEntity) item.get("newNode");
-                vo.setNodeName(newNode.getNodeName());
-                vo.setNodeType(newNode.getNodeType().getCode());
-                // 记录变更的字段
-                List<String> changedFields = new ArrayList<>();
-                if (!Objects.equals(oldNode.getNodeName(), newNode.getNodeName())) {
-                    changedFields.add("nodeName: " + oldNode.getNodeName() + " -> " + newNode.getNodeName());
-                }
-                if (!Objects.equals(oldNode.getNodeNameEn(), newNode.getNodeNameEn())) {
-                    changedFields.add("nodeNameEn: " + oldNode.getNodeNameEn() + " -> " + newNode.getNodeNameEn());
-                }
-                // 根据节点类型检查特定字段
-                switch (oldNode.getNodeType()) {
-                    case CATEGORY:
-                        if (!Objects.equals(oldNode.getCategoryId(), newNode.getCategoryId())) {
-                            changedFields.add("categoryId: " + oldNode.getCategoryId() + " -> " + newNode.getCategoryId());
-                        }
-                        break;
-                    case GROUP:
-                        if (!Objects.equals(oldNode.getGroupId(), newNode.getGroupId())) {
-                            changedFields.add("groupId: " + oldNode.getGroupId() + " -> " + newNode.getGroupId());
-                        }
-                        break;
-                    case USAGE:
-                        if (!Objects.equals(oldNode.getUsageId(), newNode.getUsageId())) {
-                            changedFields.add("usageId: " + oldNode.getUsageId() + " -> " + newNode.getUsageId());
-                        }
-                        break;
-                }
-                vo.setChangedFields(changedFields);
-            }
-            result.add(vo);
+        for (NodeChange change : changes) {
+            grouped.get(change.getChangeType()).add(InstanceNodeDiffVO.builder()
+                    .nodeCode(change.getNodeCode())
+                    .nodeName(change.getNodeName())
+                    .nodeType(change.getNodeType() == null ? null : change.getNodeType().getCode())
+                    .diffType(change.getChangeType().getCode())
+                    .oldParentCode(change.getOldParentCode())
+                    .newParentCode(change.getNewParentCode())
+                    .changedFields(change.getChangedFields())
+                    .build());
         }
 
-        return result;
+        return InstanceCompareResultVO.builder()
+                .added(grouped.get(NodeChangeType.ADDED))
+                .removed(grouped.get(NodeChangeType.REMOVED))
+                .modified(grouped.get(NodeChangeType.MODIFIED))
+                .moved(grouped.get(NodeChangeType.MOVED))
+                .totalAdded(grouped.get(NodeChangeType.ADDED).size())
+                .totalRemoved(grouped.get(NodeChangeType.REMOVED).size())
+                .totalModified(grouped.get(NodeChangeType.MODIFIED).size())
+                .totalMoved(grouped.get(NodeChangeType.MOVED).size())
+                .build();
     }
 
 
@@ -35,6 +35,9 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/v1/structure/template/")
 public class StructureTemplateController implements IStructureTemplateService {
 
+    private static final int DEFAULT_SEEK_PAGE_SIZE = 20;
+    private static final int MAX_SEEK_PAGE_SIZE = 200;
+
     private final ITemplateService templateService;
 
     public StructureTemplateController(ITemplateService templateService) {
@@ -134,6 +137,13 @@ public class StructureTemplateController implements IStructureTemplateService {
         try {
             log.info("查询车型结构树模版列表 templateCode={}, status={}, nameKeyword={}, pageNo={}, pageSize={}",
                     templateCode, status, nameKeyword, pageNo, pageSize);
+            if (Boolean.TRUE.equals(requestDTO.getCursorMode()) || StringUtils.isNotBlank(requestDTO.getCursor())) {
+                return Response.<TemplateBasePageVO>builder()
+                        .code(ResponseCode.SUCCESS.getCode())
+                        .info(ResponseCode.SUCCESS.getInfo())
+                        .data(queryTemplatesBySeek(requestDTO))
+                        .build();
+            }
             StructureTemplatePageVO templatePage = templateService.findTemplates(
                     StringUtils.isBlank(templateCode) ? null : new TemplateCode(templateCode),
                     StringUtils.isBlank(status) ? null : Status.fromCode(status),
@@ -176,6 +186,33 @@ public class StructureTemplateController implements IStructureTemplateService {
         }
     }
 
+    /**
+     * 游标分页查询模板列表：按创建时间倒序续页，总数按需返回
+     */
+    private TemplateBasePageVO queryTemplatesBySeek(TemplateQueryRequestDTO requestDTO) {
+        int pageSize = requestDTO.getPageSize() == null || requestDTO.getPageSize() <= 0
+                ? DEFAULT_SEEK_PAGE_SIZE : Math.min(requestDTO.getPageSize(), MAX_SEEK_PAGE_SIZE);
+        StructureTemplatePageVO templatePage = templateService.findTemplatesBySeek(
+                StringUtils.isBlank(requestDTO.getTemplateCode()) ? null : new TemplateCode(requestDTO.getTemplateCode()),
+                StringUtils.isBlank(requestDTO.getStatus()) ? null : Status.fromCode(requestDTO.getStatus()),
+                StringUtils.isBlank(requestDTO.getNameKeyword()) ? null : requestDTO.getNameKeyword(),
+                requestDTO.getCursor(),
+                pageSize,
+                Boolean.TRUE.equals(requestDTO.getWithTotal()));
+        log.info("游标分页查询车型结构树模版列表成功 pageSize={}, size={}, hasMore={}",
+                pageSize, templatePage.getTemplates().size(), templatePage.getHasMore());
+
+        return TemplateBasePageVO.builder()
+                .pageSize(pageSize)
+                .total(templatePage.getTotal())
+                .nextCursor(templatePage.getNextCursor())
+                .hasMore(templatePage.getHasMore())
+                .templates(templatePage.getTemplates().stream()
+                        .map(this::convertToTemplateBaseVO)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     @RequestMapping(value = "validate_structure", method = RequestMethod.POST)
     @Override
     public Response<TemplateValidateResultVO> validateStructure(@RequestParam Long templateId) {
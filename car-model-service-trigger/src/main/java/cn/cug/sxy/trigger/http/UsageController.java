@@ -2,10 +2,12 @@ package cn.cug.sxy.trigger.http;
 
 import cn.cug.sxy.api.IUsageService;
 import cn.cug.sxy.api.dto.UsageCreateRequestDTO;
+import cn.cug.sxy.api.dto.UsageMatchRequestDTO;
 import cn.cug.sxy.api.dto.UsageUpdateRequestDTO;
 import cn.cug.sxy.api.response.Response;
 import cn.cug.sxy.api.vo.*;
 import cn.cug.sxy.domain.structure.model.entity.StructureInstanceNodeEntity;
+import cn.cug.sxy.domain.structure.model.valobj.InstanceId;
 import cn.cug.sxy.domain.usage.model.aggregate.UsageAggregate;
 import cn.cug.sxy.domain.usage.model.entity.ConfigItemEntity;
 import cn.cug.sxy.domain.usage.model.entity.UsageConfigCombinationEntity;
@@ -15,6 +17,7 @@ import cn.cug.sxy.domain.usage.model.valobj.UsageConfigCombinationSpec;
 import cn.cug.sxy.domain.usage.model.valobj.UsageCreationAggregate;
 import cn.cug.sxy.domain.usage.model.valobj.UsageId;
 import cn.cug.sxy.domain.usage.service.IUsageManagementService;
+import cn.cug.sxy.domain.usage.service.IUsageMatchingService;
 import cn.cug.sxy.types.enums.ResponseCode;
 import cn.cug.sxy.types.exception.AppException;
 import jakarta.validation.Valid;
@@ -23,6 +26,8 @@ import org.apache.dubbo.config.annotation.DubboService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -40,9 +45,12 @@ import java.util.stream.Collectors;
 public class UsageController implements IUsageService {
 
     private final IUsageManagementService usageManagementService;
+    private final IUsageMatchingService usageMatchingService;
 
-    public UsageController(IUsageManagementService usageManagementService) {
+    public UsageController(IUsageManagementService usageManagementService,
+                           IUsageMatchingService usageMatchingService) {
         this.usageManagementService = usageManagementService;
+        this.usageMatchingService = usageMatchingService;
     }
 
     @RequestMapping(value = "create_usage", method = RequestMethod.POST)
@@ -178,7 +186,7 @@ public class UsageController implements IUsageService {
             }
             log.info("查询用法详情 usageId={}", usageId);
             List<UsageConfigCombinationEntity> configCombinations = usageManagementService.findUsageDetail(new UsageId(usageId));
-            UsageDetailVO usageDetailVO = convertToUsageDetailVO(configCombinations);
+            UsageDetailVO usageDetailVO = convertToUsageDetailVO(usageId, configCombinations);
             log.info("查询用法详情成功 usageId={}", usageId);
 
             return Response.<UsageDetailVO>builder()
@@ -203,6 +211,90 @@ public class UsageController implements IUsageService {
         }
     }
 
+    @RequestMapping(value = "get_usage_details", method = RequestMethod.GET)
+    @Override
+    public Response<List<UsageDetailVO>> getUsageDetails(@RequestParam List<Long> usageIds) {
+        try {
+            if (usageIds == null || usageIds.isEmpty()) {
+                throw new AppException("用法ID不能为空");
+            }
+            log.info("批量查询用法详情 count={}", usageIds.size());
+            Map<UsageId, List<UsageConfigCombinationEntity>> usageDetails = usageManagementService.findUsageDetails(
+                    usageIds.stream()
+                            .map(UsageId::new)
+                            .collect(Collectors.toList()));
+            List<UsageDetailVO> usageDetailVOList = usageDetails.entrySet().stream()
+                    .map(entry -> convertToUsageDetailVO(entry.getKey().getId(), entry.getValue()))
+                    .collect(Collectors.toList());
+            log.info("批量查询用法详情成功 count={}, found={}", usageIds.size(), usageDetailVOList.size());
+
+            return Response.<List<UsageDetailVO>>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(usageDetailVOList)
+                    .build();
+        } catch (AppException e) {
+            log.error("批量查询用法详情失败 usageIds={}", usageIds, e);
+
+            return Response.<List<UsageDetailVO>>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("批量查询用法详情异常 usageIds={}", usageIds, e);
+
+            return Response.<List<UsageDetailVO>>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
+    @RequestMapping(value = "match_usages", method = RequestMethod.POST)
+    @Override
+    public Response<UsageMatchVO> matchUsages(@RequestBody @Valid UsageMatchRequestDTO requestDTO) {
+        Long instanceId = requestDTO.getInstanceId();
+        try {
+            log.info("按车辆配置匹配用法 instanceId={}, configItemIds={}", instanceId, requestDTO.getConfigItemIds());
+            InstanceId id = new InstanceId(instanceId);
+            Set<UsageId> matchedUsageIds = usageMatchingService.matchUsages(
+                    id,
+                    requestDTO.getConfigItemIds().stream()
+                            .map(ConfigItemId::new)
+                            .collect(Collectors.toList()),
+                    Boolean.TRUE.equals(requestDTO.getIgnoreUnspecifiedCategories()));
+            UsageMatchVO matchVO = UsageMatchVO.builder()
+                    .instanceId(instanceId)
+                    .totalUsageCount(usageMatchingService.getMatchIndex(id).getUsageCount())
+                    .matchedUsageIds(matchedUsageIds.stream()
+                            .map(UsageId::getId)
+                            .collect(Collectors.toList()))
+                    .build();
+            log.info("按车辆配置匹配用法成功 instanceId={}, total={}, matched={}",
+                    instanceId, matchVO.getTotalUsageCount(), matchedUsageIds.size());
+
+            return Response.<UsageMatchVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(matchVO)
+                    .build();
+        } catch (AppException e) {
+            log.error("按车辆配置匹配用法失败 instanceId={}", instanceId, e);
+
+            return Response.<UsageMatchVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("按车辆配置匹配用法异常 instanceId={}", instanceId, e);
+
+            return Response.<UsageMatchVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
     @RequestMapping(value = "update_usage", method = RequestMethod.POST)
     @Override
     public Response<UsageBaseVO> updateUsage(UsageUpdateRequestDTO requestDTO) {
@@ -444,8 +536,9 @@ public class UsageController implements IUsageService {
     /**
      * 转换用法详情为VO
      */
-    private UsageDetailVO convertToUsageDetailVO(List<UsageConfigCombinationEntity> combinations) {
+    private UsageDetailVO convertToUsageDetailVO(Long usageId, List<UsageConfigCombinationEntity> combinations) {
         UsageDetailVO vo = new UsageDetailVO();
+        vo.setUsageId(usageId);
         List<UsageDetailVO.CombinationDetail> combinationDetails = combinations.stream()
                 .map(combination -> {
                     UsageDetailVO.CombinationDetail detail = new UsageDetailVO.CombinationDetail();
@@ -5,8 +5,11 @@ import cn.cug.sxy.api.dto.ClearPartsRequestDTO;
 import cn.cug.sxy.api.dto.UnBindPartRequestDTO;
 import cn.cug.sxy.api.dto.UsageBindPartRequestDTO;
 import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
 import cn.cug.sxy.api.vo.UsageBindPartResultVO;
 import cn.cug.sxy.api.vo.UsagePartVO;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.service.IImportJobManageService;
 import cn.cug.sxy.domain.part.model.entity.UsageBindPartResultEntity;
 import cn.cug.sxy.domain.part.model.valobj.PartId;
 import cn.cug.sxy.domain.part.service.IPartUsageManageService;
@@ -44,10 +47,15 @@ import java.util.stream.Collectors;
 public class UsagePartController implements IUsagePartService {
 
     private final IPartUsageManageService partUsageManageService;
+    private final IImportJobManageService importJobManageService;
     private final ToVOConverter toVOConverter;
 
-    public UsagePartController(IPartUsageManageService partUsageManageService, ToVOConverter toVOConverter) {
+    public UsagePartController(
+            IPartUsageManageService partUsageManageService,
+            IImportJobManageService importJobManageService,
+            ToVOConverter toVOConverter) {
         this.partUsageManageService = partUsageManageService;
+        this.importJobManageService = importJobManageService;
         this.toVOConverter = toVOConverter;
     }
 
@@ -226,6 +234,42 @@ public class UsagePartController implements IUsagePartService {
         }
     }
 
+    @RequestMapping(value = "batch_upload_async", method = RequestMethod.POST)
+    @Override
+    public Response<ImportJobVO> batchUploadAsync(
+            @RequestParam("usageId") Long usageId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "creator", required = false) String creator) {
+        try {
+            log.info("提交批量上传备件任务 usageId={}, creator={}, fileName={}, fileSize={}",
+                    usageId, creator, file.getOriginalFilename(), file.getSize());
+            // 验证文件
+            TemplateFileUtil.validateTemplateFile(file, TemplateFileUtil.IMPORT_MAX_FILE_SIZE);
+            ImportJobEntity job = importJobManageService.submitUsagePartImport(new UsageId(usageId), file, creator);
+            log.info("提交批量上传备件任务成功 usageId={}, jobId={}", usageId, job.getJobId());
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(toVOConverter.convertToImportJobVO(job))
+                    .build();
+        } catch (AppException e) {
+            log.error("提交批量上传备件任务失败 usageId={}", usageId, e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("提交批量上传备件任务异常 usageId={}", usageId, e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
     @RequestMapping(value = "upload_template", method = RequestMethod.POST)
     @Override
     public Response<String> uploadTemplate(@RequestParam("file") MultipartFile file) {
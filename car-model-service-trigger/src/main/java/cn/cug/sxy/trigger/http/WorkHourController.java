@@ -4,9 +4,12 @@ import cn.cug.sxy.api.IWorkHourService;
 import cn.cug.sxy.api.dto.WorkHourCreateRequestDTO;
 import cn.cug.sxy.api.dto.WorkHourUpdateRequestDTO;
 import cn.cug.sxy.api.response.Response;
+import cn.cug.sxy.api.vo.ImportJobVO;
 import cn.cug.sxy.api.vo.WorkHourBatchUploadResultVO;
 import cn.cug.sxy.api.vo.WorkHourTreeVO;
 import cn.cug.sxy.api.vo.WorkHourVO;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
+import cn.cug.sxy.domain.importjob.service.IImportJobManageService;
 import cn.cug.sxy.domain.workhour.model.entity.WorkHourBatchUploadResultEntity;
 import cn.cug.sxy.domain.workhour.model.entity.WorkHourEntity;
 import cn.cug.sxy.domain.workhour.model.valobj.WorkHourCode;
@@ -48,14 +51,17 @@ public class WorkHourController implements IWorkHourService {
 
     private final IWorkHourQueryService workHourQueryService;
     private final IWorkHourCommandService workHourCommandService;
+    private final IImportJobManageService importJobManageService;
     private final ToVOConverter toVOConverter;
 
     public WorkHourController(
             IWorkHourQueryService workHourQueryService,
             IWorkHourCommandService workHourCommandService,
+            IImportJobManageService importJobManageService,
             ToVOConverter toVOConverter) {
         this.workHourQueryService = workHourQueryService;
         this.workHourCommandService = workHourCommandService;
+        this.importJobManageService = importJobManageService;
         this.toVOConverter = toVOConverter;
     }
 
@@ -137,15 +143,21 @@ public class WorkHourController implements IWorkHourService {
         }
     }
 
+    @Override
+    public Response<List<WorkHourBatchUploadResultVO>> batchUploadSubWorkHours(MultipartFile file, Long parentId, String creator) {
+        return batchUploadSubWorkHours(file, parentId, creator, false);
+    }
+
     @RequestMapping(value = "batch_upload_sub", method = RequestMethod.POST)
     @Override
     public Response<List<WorkHourBatchUploadResultVO>> batchUploadSubWorkHours(
             @RequestParam("file") MultipartFile file,
             @RequestParam("parentId") Long parentId,
-            @RequestParam("creator") String creator) {
+            @RequestParam("creator") String creator,
+            @RequestParam(value = "allOrNothing", required = false, defaultValue = "false") Boolean allOrNothing) {
         try {
-            log.info("批量上传子工时 parentId={}, creator={}, fileName={}, fileSize={}",
-                    parentId, creator, file.getOriginalFilename(), file.getSize());
+            log.info("批量上传子工时 parentId={}, creator={}, allOrNothing={}, fileName={}, fileSize={}",
+                    parentId, creator, allOrNothing, file.getOriginalFilename(), file.getSize());
             // 验证文件
             if (file.isEmpty()) {
                 return Response.<List<WorkHourBatchUploadResultVO>>builder()
@@ -170,7 +182,7 @@ public class WorkHourController implements IWorkHourService {
             }
             // 调用服务处理批量上传
             List<WorkHourBatchUploadResultEntity> results = workHourCommandService.batchUploadSubWorkHours(
-                    file, new WorkHourId(parentId), creator);
+                    file, new WorkHourId(parentId), creator, Boolean.TRUE.equals(allOrNothing));
             log.info("批量上传子工时成功 parentId={}, 处理记录数={}", parentId, results.size());
 
             return Response.<List<WorkHourBatchUploadResultVO>>builder()
@@ -195,6 +207,44 @@ public class WorkHourController implements IWorkHourService {
         }
     }
 
+    @RequestMapping(value = "batch_upload_sub_async", method = RequestMethod.POST)
+    @Override
+    public Response<ImportJobVO> batchUploadSubWorkHoursAsync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("parentId") Long parentId,
+            @RequestParam("creator") String creator,
+            @RequestParam(value = "allOrNothing", required = false, defaultValue = "false") Boolean allOrNothing) {
+        try {
+            log.info("提交批量上传子工时任务 parentId={}, creator={}, allOrNothing={}, fileName={}, fileSize={}",
+                    parentId, creator, allOrNothing, file.getOriginalFilename(), file.getSize());
+            // 验证文件
+            TemplateFileUtil.validateTemplateFile(file, TemplateFileUtil.IMPORT_MAX_FILE_SIZE);
+            ImportJobEntity job = importJobManageService.submitSubWorkHourImport(
+                    new WorkHourId(parentId), file, creator, Boolean.TRUE.equals(allOrNothing));
+            log.info("提交批量上传子工时任务成功 parentId={}, jobId={}", parentId, job.getJobId());
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.SUCCESS.getCode())
+                    .info(ResponseCode.SUCCESS.getInfo())
+                    .data(toVOConverter.convertToImportJobVO(job))
+                    .build();
+        } catch (AppException e) {
+            log.error("提交批量上传子工时任务失败 parentId={}", parentId, e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(e.getCode())
+                    .info(e.getInfo())
+                    .build();
+        } catch (Exception e) {
+            log.error("提交批量上传子工时任务异常 parentId={}", parentId, e);
+
+            return Response.<ImportJobVO>builder()
+                    .code(ResponseCode.UN_ERROR.getCode())
+                    .info(ResponseCode.UN_ERROR.getInfo())
+                    .build();
+        }
+    }
+
     @RequestMapping(value = "upload_template", method = RequestMethod.POST)
     public Response<String> uploadTemplate(@RequestParam("file") MultipartFile file) {
         try {
@@ -1,6 +1,7 @@
 package cn.cug.sxy.trigger.http.converter;
 
 import cn.cug.sxy.api.vo.*;
+import cn.cug.sxy.domain.importjob.model.entity.ImportJobEntity;
 import cn.cug.sxy.domain.part.model.entity.PartBindHourResultEntity;
 import cn.cug.sxy.domain.part.model.entity.PartEntity;
 import cn.cug.sxy.domain.part.model.entity.UsageBindPartResultEntity;
@@ -193,6 +194,33 @@ public class ToVOConverter {
                 .build();
     }
 
+    /**
+     * 转换导入任务实体为VO
+     */
+    public ImportJobVO convertToImportJobVO(ImportJobEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return ImportJobVO.builder()
+                .jobId(entity.getJobId())
+                .jobType(entity.getJobType().getCode())
+                .jobTypeName(entity.getJobType().getInfo())
+                .state(entity.getState().getCode())
+                .fileName(entity.getFileName())
+                .fileSize(entity.getFileSize())
+                .totalRows(entity.getTotalRows())
+                .successRows(entity.getSuccessRows())
+                .failedRows(entity.getFailedRows())
+                .errorMessage(entity.getErrorMessage())
+                .reportReady(entity.getReportPath() != null)
+                .creator(entity.getCreator())
+                .createdTime(entity.getCreatedTime())
+                .startedTime(entity.getStartedTime())
+                .finishedTime(entity.getFinishedTime())
+                .build();
+    }
+
     /**
      * 转换系统大类实体为VO
      */
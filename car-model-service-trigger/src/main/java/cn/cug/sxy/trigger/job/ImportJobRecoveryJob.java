@@ -0,0 +1,44 @@
+package cn.cug.sxy.trigger.job;
+
+import cn.cug.sxy.domain.importjob.service.IImportJobManageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/30 10:00
+ * @Description 导入任务恢复任务：应用就绪后执行一次，之后定时刷新本节点任务心跳并恢复心跳过期的任务
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class ImportJobRecoveryJob {
+
+    private final IImportJobManageService importJobManageService;
+
+    public ImportJobRecoveryJob(IImportJobManageService importJobManageService) {
+        this.importJobManageService = importJobManageService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        exec();
+    }
+
+    @Scheduled(cron = "${import-job.recovery.cron:0 * * * * ?}")
+    public void exec() {
+        try {
+            int recovered = importJobManageService.recoverStaleJobs();
+            if (recovered > 0) {
+                log.info("导入任务恢复完成 recovered={}", recovered);
+            }
+        } catch (Exception e) {
+            log.error("导入任务恢复异常", e);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package cn.cug.sxy.trigger.job;
+
+import cn.cug.sxy.domain.series.service.ICarModelCommandService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/13 11:00
+ * @Description 车型图标暂存清理任务：删除超过保留时长仍未被消费的暂存文件
+ * 保留时长需覆盖上传事件的全部重试间隔，默认 24 小时
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class ModelIconStagingJanitorJob {
+
+    private final ICarModelCommandService carModelCommandService;
+
+    @Value("${model-icon.staging.retention-hours:24}")
+    private long retentionHours;
+
+    public ModelIconStagingJanitorJob(ICarModelCommandService carModelCommandService) {
+        this.carModelCommandService = carModelCommandService;
+    }
+
+    @Scheduled(cron = "${model-icon.staging.janitor-cron:0 0/30 * * * ?}")
+    public void exec() {
+        try {
+            LocalDateTime stagedBefore = LocalDateTime.now().minusHours(retentionHours);
+            int purged = carModelCommandService.purgeStagedModelIcons(stagedBefore);
+            if (purged > 0) {
+                log.info("清理车型图标暂存文件完成 stagedBefore={}, purged={}", stagedBefore, purged);
+            }
+        } catch (Exception e) {
+            log.error("清理车型图标暂存文件异常", e);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package cn.cug.sxy.trigger.job;
+
+import cn.cug.sxy.domain.event.model.valobj.OutboxRelayResult;
+import cn.cug.sxy.domain.event.service.IOutboxRelayService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/16 11:00
+ * @Description 发件箱投递任务：按固定间隔轮询，每轮连续投递直到积压不足一批或达到单轮批次上限
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class OutboxRelayJob {
+
+    private final IOutboxRelayService outboxRelayService;
+
+    @Value("${event.outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    public OutboxRelayJob(IOutboxRelayService outboxRelayService) {
+        this.outboxRelayService = outboxRelayService;
+    }
+
+    @Scheduled(fixedDelayString = "${event.outbox.relay.poll-interval-millis:200}")
+    public void exec() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                OutboxRelayResult result = outboxRelayService.relayBatch();
+                // 不足一批说明积压已清空；整批未确认说明 Broker 不可用，等下一轮
+                if (result.getClaimed() < outboxRelayService.getBatchSize() || result.getPublished() == 0) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("发件箱投递异常", e);
+        }
+    }
+
+}
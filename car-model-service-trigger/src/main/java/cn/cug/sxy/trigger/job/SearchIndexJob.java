@@ -0,0 +1,41 @@
+package cn.cug.sxy.trigger.job;
+
+import cn.cug.sxy.domain.search.service.ISearchIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/26 14:40
+ * @Description 名称检索索引任务：应用就绪后全量构建，之后定时重建，兜底丢失的增量变更信号
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class SearchIndexJob {
+
+    private final ISearchIndexService searchIndexService;
+
+    public SearchIndexJob(ISearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        exec();
+    }
+
+    @Scheduled(cron = "${search.index.rebuild-cron:0 30 3 * * ?}")
+    public void exec() {
+        try {
+            searchIndexService.rebuild();
+        } catch (Exception e) {
+            log.error("名称检索索引重建异常", e);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package cn.cug.sxy.trigger.job;
+
+import cn.cug.sxy.domain.event.service.ITaskArchiveService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntSupplier;
+
+/**
+ * @version 1.0
+ * @Date 2025/9/17 11:00
+ * @Description 任务归档任务：分块把终态任务移入归档表并清理过期归档，块间暂停让出锁与 IO；
+ * 启动时及每日预建归档表后续月份分区
+ * @Author jerryhotton
+ */
+
+@Slf4j
+@Component
+public class TaskArchiveJob {
+
+    private final ITaskArchiveService taskArchiveService;
+
+    @Value("${event.task.archive.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Value("${event.task.archive.chunk-pause-millis:50}")
+    private long chunkPauseMillis;
+
+    public TaskArchiveJob(ITaskArchiveService taskArchiveService) {
+        this.taskArchiveService = taskArchiveService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    /**
+     * 预建归档表月份分区；多节点同时执行时后执行者因分区已存在而失败，下一轮会重新计算
+     */
+    @Scheduled(cron = "${event.task.archive.partition-cron:0 30 1 * * ?}")
+    public void maintainPartitions() {
+        try {
+            taskArchiveService.ensurePartitions();
+        } catch (Exception e) {
+            log.error("预建归档表分区异常", e);
+        }
+    }
+
+    @Scheduled(cron = "${event.task.archive.cron:0 0/10 * * * ?}")
+    public void exec() {
+        try {
+            int archived = runChunks(taskArchiveService::archiveChunk);
+            int purged = runChunks(taskArchiveService::purgeChunk);
+            if (archived > 0 || purged > 0) {
+                log.info("任务归档完成 archived={}, purged={}", archived, purged);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("任务归档异常", e);
+        }
+    }
+
+    private int runChunks(IntSupplier chunk) throws InterruptedException {
+        int total = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            int processed = chunk.getAsInt();
+            total += processed;
+            if (processed < taskArchiveService.getChunkSize()) {
+                break;
+            }
+            Thread.sleep(chunkPauseMillis);
+        }
+
+        return total;
+    }
+
+}
@@ -7,8 +7,11 @@ import cn.cug.sxy.types.event.BaseEvent;
 import com.rabbitmq.client.Channel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.AmqpHeaders;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @version 1.0
@@ -61,6 +64,65 @@ public abstract class AbstractEventConsumer<T> {
         }
     }
 
+    /**
+     * 批量消息处理模板方法
+     * 整批消息的状态同步、处理中、已完成各一条语句落库，成功消息以 multiple=true 一次确认，
+     * 失败消息逐条走原有的重试逻辑（先行单条确认/拒绝，不会被批量确认覆盖）；
+     * 批量同步或标记处理中失败时整批逐条走重试逻辑，保证每条消息都被确认或拒绝
+     */
+    protected void handleEventBatch(List<org.springframework.messaging.Message<BaseEvent.EventMessage<T>>> messages, Channel channel) throws IOException {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        int size = messages.size();
+        List<BaseEvent.EventMessage<T>> eventMessages = new ArrayList<>(size);
+        List<String> messageIds = new ArrayList<>(size);
+        long[] deliveryTags = new long[size];
+        for (int i = 0; i < size; i++) {
+            org.springframework.messaging.Message<BaseEvent.EventMessage<T>> message = messages.get(i);
+            eventMessages.add(message.getPayload());
+            messageIds.add(message.getPayload().getId());
+            deliveryTags[i] = message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+        }
+        log.info("开始批量处理事件，count: {}", size);
+        List<BaseEvent.EventMessage<T>> syncedEventMessages;
+        try {
+            // 1. 批量同步消息状态
+            syncedEventMessages = messageStateSynchronizer.syncMessageStates(eventMessages);
+            // 2. 批量标记为处理中状态
+            messagePersistenceService.markBatchAsProcessing(messageIds);
+        } catch (Exception e) {
+            log.error("批量事件状态准备异常，整批进入重试，count: {}", size, e);
+            for (int i = 0; i < size; i++) {
+                handleRetry(eventMessages.get(i), channel, deliveryTags[i], "批量准备异常: " + e.getMessage());
+            }
+            return;
+        }
+        // 3. 逐条调用业务处理逻辑
+        List<String> completedIds = new ArrayList<>(size);
+        long lastCompletedTag = -1;
+        for (int i = 0; i < size; i++) {
+            BaseEvent.EventMessage<T> eventMessage = eventMessages.get(i);
+            try {
+                if (processBusinessLogic(syncedEventMessages.get(i))) {
+                    completedIds.add(eventMessage.getId());
+                    lastCompletedTag = Math.max(lastCompletedTag, deliveryTags[i]);
+                } else {
+                    handleRetry(eventMessage, channel, deliveryTags[i], "业务处理失败");
+                }
+            } catch (Exception e) {
+                log.error("事件处理异常，messageId: {}", eventMessage.getId(), e);
+                handleRetry(eventMessage, channel, deliveryTags[i], "处理异常: " + e.getMessage());
+            }
+        }
+        // 4. 成功消息一次确认并批量标记为完成
+        if (!completedIds.isEmpty()) {
+            channel.basicAck(lastCompletedTag, true);
+            messagePersistenceService.markBatchAsCompleted(completedIds);
+        }
+        log.info("批量事件处理结束，count: {}, completed: {}, failed: {}", size, completedIds.size(), size - completedIds.size());
+    }
+
     /**
      * 抽象方法：具体的业务处理逻辑
      * 子类需要实现这个方法来处理具体的业务逻辑
@@ -3,9 +3,11 @@ package cn.cug.sxy.trigger.listener;
 import cn.cug.sxy.domain.series.adapter.event.ModelIconUploadEvent;
 import cn.cug.sxy.domain.series.model.entity.CarModelEntity;
 import cn.cug.sxy.domain.series.model.valobj.ModelId;
+import cn.cug.sxy.domain.series.model.valobj.StagedFile;
 import cn.cug.sxy.domain.series.service.ICarModelCommandService;
 import cn.cug.sxy.domain.series.service.ICarModelQueryService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 /**
@@ -32,8 +34,12 @@ public class ModelIconCreateUploadHandler implements IModelIconUploadHandler {
     @Override
     public boolean handle(ModelIconUploadEvent.ModelIconData data) {
         try {
-            // 1. 上传文件到存储服务
-            String iconPath = carModelCommandService.uploadModelIcon(data.getFileData(), data.getFileName(), data.getContentType(), data.getModelId());
+            // 1. 从暂存存储流式写入正式路径（升级前已持久化的消息仍携带Base64数据）
+            String iconPath = StringUtils.isNotBlank(data.getStagingKey())
+                    ? carModelCommandService.uploadStagedModelIcon(
+                    new StagedFile(data.getStagingKey(), data.getChecksum(), data.getFileSize() == null ? 0 : data.getFileSize()),
+                    data.getFileName(), data.getContentType(), data.getModelId())
+                    : carModelCommandService.uploadModelIcon(data.getFileData(), data.getFileName(), data.getContentType(), data.getModelId());
             if (iconPath == null) {
                 return false;
             }
@@ -44,6 +50,7 @@ public class ModelIconCreateUploadHandler implements IModelIconUploadHandler {
                 int updateCount = carModelCommandService.updateModelIconPath(modelEntity);
                 if (updateCount > 0) {
                     log.info("车型图标路径更新成功，modelId: {}, iconPath: {}", data.getModelId(), iconPath);
+                    carModelCommandService.releaseStagedModelIcon(data.getStagingKey());
                     return true;
                 } else {
                     log.warn("车型图标路径更新失败，modelId: {}", data.getModelId());
@@ -53,8 +60,9 @@ public class ModelIconCreateUploadHandler implements IModelIconUploadHandler {
                 }
             } else {
                 log.warn("车型不存在，modelId: {}", data.getModelId());
-                // 删除已上传的文件
+                // 删除已上传的文件，车型不存在时重试无意义，一并删除暂存文件
                 carModelCommandService.deleteModelIcon(iconPath);
+                carModelCommandService.releaseStagedModelIcon(data.getStagingKey());
                 return false;
             }
         } catch (Exception e) {
@@ -5,11 +5,12 @@ import cn.cug.sxy.domain.series.adapter.event.ModelIconUploadEvent;
 import cn.cug.sxy.types.event.BaseEvent;
 import com.rabbitmq.client.Channel;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -37,9 +38,9 @@ public class ModelIconUploadEventConsumer extends AbstractEventConsumer<ModelIco
         this.handlerMap = handlerMap;
     }
 
-    @RabbitListener(queues = "${spring.rabbitmq.modules.file-upload.queue}")
-    public void consumeModelIconUploadEvent(BaseEvent.EventMessage<ModelIconUploadEvent.ModelIconData> eventMessage, Message message, Channel channel) throws IOException {
-        super.handleEvent(eventMessage, message, channel);
+    @RabbitListener(queues = "${spring.rabbitmq.modules.file-upload.queue}", containerFactory = "batchRabbitListenerContainerFactory")
+    public void consumeModelIconUploadEvents(List<Message<BaseEvent.EventMessage<ModelIconUploadEvent.ModelIconData>>> messages, Channel channel) throws IOException {
+        super.handleEventBatch(messages, channel);
     }
 
     @Override
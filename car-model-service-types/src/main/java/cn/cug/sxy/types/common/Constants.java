@@ -29,6 +29,7 @@ public class Constants {
         public static final String TEMPLATE_STRUCTURE_BY_CODE_KEY = "template_structure:template_structure_by_code_key_";
         public static final String TEMPLATE_STRUCTURE_BY_CODE_VERSION_KEY = "template_structure:template_structure_by_code_version_key_";
         public static final String TEMPLATE_STRUCTURE_ALL_KEY = "template_structure:template_structure_all_key_";
+        public static final String TEMPLATE_STRUCTURE_COUNT_KEY = "template_structure:template_structure_count_key_";
 
         public static final String TEMPLATE_STRUCTURE_NODE_BY_ID_KEY = "template_structure:template_structure_node_by_id_key_";
         public static final String TEMPLATE_STRUCTURE_NODES_BY_TEMPLATE_ID_KEY = "template_structure:template_structure_nodes_by_template_id_key_";
@@ -38,6 +39,7 @@ public class Constants {
         public static final String INSTANCE_STRUCTURE_BY_CODE_KEY = "instance_structure:instance_structure_by_code_key_";
         public static final String INSTANCE_STRUCTURE_BY_CODE_VERSION_KEY = "instance_structure:instance_structure_by_code_version_key_";
         public static final String INSTANCE_STRUCTURE_ALL_KEY = "instance_structure:instance_structure_all_key_";
+        public static final String INSTANCE_STRUCTURE_COUNT_KEY = "instance_structure:instance_structure_count_key_";
         public static final String INSTANCE_STRUCTURE_BY_SERIES_ID_KEY = "instance_structure:instance_structure_by_series_id_key_";
         public static final String INSTANCE_STRUCTURE_BY_MODEL_ID_KEY = "instance_structure:instance_structure_by_model_id_key_";
 
@@ -45,6 +47,19 @@ public class Constants {
         public static final String INSTANCE_STRUCTURE_NODES_BY_PARENT_ID_KEY = "instance_structure:instance_structure_nodes_by_parent_id_key_";
         public static final String INSTANCE_STRUCTURE_NODES_BY_INSTANCE_ID_KEY = "instance_structure:instance_structure_nodes_by_instance_id_key_";
 
+        public static final String INSTANCE_STRUCTURE_TREE_SNAPSHOT_KEY = "instance_structure:instance_structure_tree_snapshot_key_";
+        public static final String INSTANCE_STRUCTURE_TREE_SNAPSHOT_ETAG_KEY = "instance_structure:instance_structure_tree_snapshot_etag_key_";
+
+        public static final String CONFIG_ITEM_BY_ID_KEY = "config_item:config_item_by_id_key_";
+
+        public static final String CONFIG_CATALOG_VERSION_KEY = "config_catalog:config_catalog_version_key";
+
+        public static final String USAGE_MATCH_VERSION_KEY = "usage_match:usage_match_version_key";
+
+        public static final String WORK_HOUR_TREE_BY_ROOT_ID_KEY = "work_hour:work_hour_tree_by_root_id_key_";
+
+        public static final String VIN_QUERY_RESULT_KEY = "vin_query:vin_query_result_key_";
+
     }
 
 }
@@ -30,6 +30,8 @@ public enum ResponseCode {
     // 模板相关错误码
     TEMPLATE_NOT_FOUND("ERR_BIZ_202", "模板不存在"),
     TEMPLATE_READ_ERROR("ERR_BIZ_203", "模板读取失败"),
+    EXCEL_FILE_SIZE_EXCEEDED("ERR_BIZ_204", "Excel文件大小超出上限"),
+    EXCEL_ROW_LIMIT_EXCEEDED("ERR_BIZ_205", "Excel数据行数超出上限"),
 
     // 备件相关错误码
     PART_CODE_EXISTS_ERROR("ERR_BIZ_301", "备件编码已存在"),
@@ -42,6 +44,16 @@ public enum ResponseCode {
     USAGE_NOT_FOUND("ERR_BIZ_401", "用法不存在"),
     PART_NOT_FOUND("ERR_BIZ_402", "备件不存在"),
 
+    // 导入任务相关错误码
+    IMPORT_JOB_NOT_FOUND("ERR_BIZ_501", "导入任务不存在"),
+    IMPORT_JOB_QUEUE_FULL("ERR_BIZ_502", "导入任务队列已满，请稍后重试"),
+    IMPORT_JOB_REPORT_NOT_READY("ERR_BIZ_503", "导入结果报告尚未生成"),
+    IMPORT_JOB_INTERRUPTED("ERR_BIZ_504", "导入任务处理中断，请重新提交"),
+
+    // VIN码备件查询相关错误码
+    VIN_QUERY_FAILED("ERR_BIZ_601", "VIN码解析失败"),
+    PUBLISHED_INSTANCE_NOT_FOUND("ERR_BIZ_602", "车型无已发布的结构实例"),
+
     ;
 
     private String code;
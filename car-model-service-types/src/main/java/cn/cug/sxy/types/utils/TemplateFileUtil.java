@@ -13,7 +13,21 @@ import org.springframework.web.multipart.MultipartFile;
 
 public class TemplateFileUtil {
 
+    /**
+     * 同步上传文件大小上限（2MB）
+     */
+    public static final long TEMPLATE_MAX_FILE_SIZE = 2 * 1024 * 1024;
+
+    /**
+     * 异步导入任务文件大小上限（50MB），与 Excel 流式读取上限一致
+     */
+    public static final long IMPORT_MAX_FILE_SIZE = 50 * 1024 * 1024;
+
     public static void validateTemplateFile(MultipartFile file) {
+        validateTemplateFile(file, TEMPLATE_MAX_FILE_SIZE);
+    }
+
+    public static void validateTemplateFile(MultipartFile file, long maxFileSize) {
         // 验证文件
         if (file.isEmpty()) {
             throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "上传文件不能为空");
@@ -23,9 +37,10 @@ public class TemplateFileUtil {
         if (fileName == null || (!fileName.endsWith(".xlsx") && !fileName.endsWith(".xls"))) {
             throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "只支持Excel文件格式(.xlsx/.xls)");
         }
-        // 验证文件大小（限制为2MB）
-        if (file.getSize() > 2 * 1024 * 1024) {
-            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(), "模板文件大小不能超过2MB");
+        // 验证文件大小
+        if (file.getSize() > maxFileSize) {
+            throw new AppException(ResponseCode.ILLEGAL_PARAMETER.getCode(),
+                    "模板文件大小不能超过" + maxFileSize / 1024 / 1024 + "MB");
         }
     }
 
@@ -0,0 +1,88 @@
+-- 结构树节点闭包表：每对（祖先, 后代）一行，depth 为两者层级差，节点自身以 depth = 0 的一行存在
+-- 子树、祖先链与限定深度的查询均走索引，取代 node_path LIKE 'prefix%' 的前缀扫描（'1-2%' 会误中 '1-23'）
+-- 由节点仓储在写入节点的同一事务内维护
+CREATE TABLE IF NOT EXISTS `structure_instance_node_closure`
+(
+    `instance_id`   bigint NOT NULL COMMENT '实例ID',
+    `ancestor_id`   bigint NOT NULL COMMENT '祖先节点ID',
+    `descendant_id` bigint NOT NULL COMMENT '后代节点ID',
+    `depth`         int    NOT NULL COMMENT '祖先到后代的层级差，自身为0',
+    PRIMARY KEY (`ancestor_id`, `descendant_id`),
+    KEY `idx_ancestor_depth` (`ancestor_id`, `depth`, `descendant_id`),
+    KEY `idx_descendant_depth` (`descendant_id`, `depth`, `ancestor_id`),
+    KEY `idx_instance_id` (`instance_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='结构树实例节点闭包表';
+
+CREATE TABLE IF NOT EXISTS `structure_template_node_closure`
+(
+    `template_id`   bigint NOT NULL COMMENT '模板ID',
+    `ancestor_id`   bigint NOT NULL COMMENT '祖先节点ID',
+    `descendant_id` bigint NOT NULL COMMENT '后代节点ID',
+    `depth`         int    NOT NULL COMMENT '祖先到后代的层级差，自身为0',
+    PRIMARY KEY (`ancestor_id`, `descendant_id`),
+    KEY `idx_ancestor_depth` (`ancestor_id`, `depth`, `descendant_id`),
+    KEY `idx_descendant_depth` (`descendant_id`, `depth`, `ancestor_id`),
+    KEY `idx_template_id` (`template_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='结构树模板节点闭包表';
+
+-- 回填：按 '-' 拆分 node_path，第 k 段即距离末段 n - k 层的祖先（路径段数上限 64）
+INSERT IGNORE INTO structure_instance_node_closure (instance_id, ancestor_id, descendant_id, depth)
+WITH RECURSIVE seq (k) AS (SELECT 1
+                           UNION ALL
+                           SELECT k + 1
+                           FROM seq
+                           WHERE k < 64)
+SELECT n.instance_id,
+       CAST(SUBSTRING_INDEX(SUBSTRING_INDEX(n.node_path, '-', seq.k), '-', -1) AS UNSIGNED),
+       n.id,
+       CHAR_LENGTH(n.node_path) - CHAR_LENGTH(REPLACE(n.node_path, '-', '')) + 1 - seq.k
+FROM structure_instance_node n
+         JOIN seq ON seq.k <= CHAR_LENGTH(n.node_path) - CHAR_LENGTH(REPLACE(n.node_path, '-', '')) + 1
+WHERE n.node_path IS NOT NULL
+  AND n.node_path <> '';
+
+INSERT IGNORE INTO structure_template_node_closure (template_id, ancestor_id, descendant_id, depth)
+WITH RECURSIVE seq (k) AS (SELECT 1
+                           UNION ALL
+                           SELECT k + 1
+                           FROM seq
+                           WHERE k < 64)
+SELECT n.template_id,
+       CAST(SUBSTRING_INDEX(SUBSTRING_INDEX(n.node_path, '-', seq.k), '-', -1) AS UNSIGNED),
+       n.id,
+       CHAR_LENGTH(n.node_path) - CHAR_LENGTH(REPLACE(n.node_path, '-', '')) + 1 - seq.k
+FROM structure_template_node n
+         JOIN seq ON seq.k <= CHAR_LENGTH(n.node_path) - CHAR_LENGTH(REPLACE(n.node_path, '-', '')) + 1
+WHERE n.node_path IS NOT NULL
+  AND n.node_path <> '';
+
+-- 尚未写入路径的节点沿 parent_id 逐级回溯补齐
+INSERT IGNORE INTO structure_instance_node_closure (instance_id, ancestor_id, descendant_id, depth)
+WITH RECURSIVE chain (instance_id, ancestor_id, descendant_id, depth) AS (
+    SELECT instance_id, id, id, 0
+    FROM structure_instance_node
+    WHERE node_path IS NULL
+       OR node_path = ''
+    UNION ALL
+    SELECT c.instance_id, p.parent_id, c.descendant_id, c.depth + 1
+    FROM chain c
+             JOIN structure_instance_node p ON p.id = c.ancestor_id
+    WHERE p.parent_id IS NOT NULL)
+SELECT instance_id, ancestor_id, descendant_id, depth
+FROM chain;
+
+INSERT IGNORE INTO structure_template_node_closure (template_id, ancestor_id, descendant_id, depth)
+WITH RECURSIVE chain (template_id, ancestor_id, descendant_id, depth) AS (
+    SELECT template_id, id, id, 0
+    FROM structure_template_node
+    WHERE node_path IS NULL
+       OR node_path = ''
+    UNION ALL
+    SELECT c.template_id, p.parent_id, c.descendant_id, c.depth + 1
+    FROM chain c
+             JOIN structure_template_node p ON p.id = c.ancestor_id
+    WHERE p.parent_id IS NOT NULL)
+SELECT template_id, ancestor_id, descendant_id, depth
+FROM chain;
@@ -0,0 +1,11 @@
+-- 实例/模板列表游标分页：按 (created_time, id) 倒序定位续页，替代 LIMIT offset 与每页 COUNT(*)
+-- 无状态条件时走 idx_created_id，按状态筛选时走 idx_status_created_id；车系、车型筛选同理
+ALTER TABLE `structure_instance`
+    ADD INDEX `idx_created_id` (`created_time`, `id`),
+    ADD INDEX `idx_status_created_id` (`status`, `created_time`, `id`),
+    ADD INDEX `idx_series_created_id` (`series_id`, `created_time`, `id`),
+    ADD INDEX `idx_model_created_id` (`model_id`, `created_time`, `id`);
+
+ALTER TABLE `structure_template`
+    ADD INDEX `idx_created_id` (`created_time`, `id`),
+    ADD INDEX `idx_status_created_id` (`status`, `created_time`, `id`);
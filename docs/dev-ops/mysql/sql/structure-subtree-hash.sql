@@ -0,0 +1,4 @@
+-- 实例节点子树哈希：SHA-256(自身字段 + 按节点编码排序的子节点子树哈希)，写入节点时沿祖先链增量维护
+-- 存量数据保持 NULL，比较实例时发现缺失会整实例重算并回写，无需单独回填
+ALTER TABLE `structure_instance_node`
+    ADD COLUMN `subtree_hash` char(64) DEFAULT NULL COMMENT '子树哈希' AFTER `node_level`;
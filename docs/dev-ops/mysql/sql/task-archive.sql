@@ -0,0 +1,36 @@
+-- 任务表冷热分离：热表只保留进行中与近期任务，终态任务由归档任务分块移入 task_archive
+-- 热表覆盖索引：恢复查询先在索引上定位ID（延迟关联），再回表取整行
+ALTER TABLE `task`
+    ADD INDEX `idx_state_created` (`state`, `created_time`, `topic`, `retry_count`, `max_retries`),
+    ADD INDEX `idx_state_last_retry` (`state`, `last_retry_time`, `topic`);
+
+-- 归档表按创建时间按月分区，分区键需包含在主键中
+-- 建表时只有 p_max：月份分区由应用（TaskArchiveJob）在启动时及每日从 p_max 拆分预建，
+-- 从部署当月起始终保持到当前月之后 event.task.archive.partition-months-ahead 个月，应用账号需具备 ALTER 权限
+-- 过期数据由应用按 created_time 分块删除；需要整月清理时可直接 DROP PARTITION
+CREATE TABLE IF NOT EXISTS `task_archive`
+(
+    `id`              bigint       NOT NULL COMMENT '任务ID（沿用热表ID）',
+    `message_id`      varchar(64)  NOT NULL COMMENT '消息ID',
+    `topic`           varchar(128) NOT NULL COMMENT '消息主题',
+    `message`         text COMMENT '消息内容',
+    `exchange`        varchar(128) DEFAULT NULL COMMENT '目标交换机',
+    `routing_key`     varchar(128) DEFAULT NULL COMMENT '路由键',
+    `state`           varchar(16)  NOT NULL COMMENT '任务状态',
+    `retry_count`     int          NOT NULL DEFAULT 0 COMMENT '重试次数',
+    `max_retries`     int          NOT NULL DEFAULT 3 COMMENT '最大重试次数',
+    `error_message`   varchar(1024) DEFAULT NULL COMMENT '错误信息',
+    `last_retry_time` datetime     DEFAULT NULL COMMENT '最后重试时间',
+    `created_time`    datetime     NOT NULL COMMENT '创建时间',
+    `updated_time`    datetime     DEFAULT NULL COMMENT '更新时间',
+    `archived_time`   datetime     NOT NULL COMMENT '归档时间',
+    PRIMARY KEY (`id`, `created_time`),
+    KEY `idx_message_id` (`message_id`),
+    KEY `idx_topic_id` (`topic`, `id`),
+    KEY `idx_state_id` (`state`, `id`),
+    KEY `idx_created_time` (`created_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='任务归档表'
+    PARTITION BY RANGE COLUMNS (`created_time`) (
+        PARTITION p_max VALUES LESS THAN (MAXVALUE)
+        );
@@ -0,0 +1,7 @@
+-- 事件发件箱：任务表记录目标交换机与路由键，投递中继按 (state, id) 认领待发布任务
+-- 认领语句使用 FOR UPDATE SKIP LOCKED，需要 MySQL 8.0+
+
+ALTER TABLE `task`
+    ADD COLUMN `exchange`    varchar(128) DEFAULT NULL COMMENT '目标交换机，为空时使用默认交换机' AFTER `message`,
+    ADD COLUMN `routing_key` varchar(128) DEFAULT NULL COMMENT '路由键，为空时使用默认路由键' AFTER `exchange`,
+    ADD INDEX `idx_state_id` (`state`, `id`);